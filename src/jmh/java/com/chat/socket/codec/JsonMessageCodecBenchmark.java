@@ -0,0 +1,46 @@
+package com.chat.socket.codec;
+
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 프레임 하나를 기존 다형성 디코딩과 {@link JsonMessageCodec} 으로 디코딩하는 처리량을 비교합니다.
+ * 할당량은 -prof gc 로 함께 확인합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonMessageCodecBenchmark {
+
+    private static final String PAYLOAD = "{\"messageType\":\"CHAT_MESSAGE\",\"senderId\":1234,\"chatRoomId\":56789," +
+            "\"message\":\"오늘 회의는 3시에 시작합니다.\"}";
+
+    private ObjectMapper objectMapper;
+    private JsonMessageCodec codec;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        codec = new JsonMessageCodec(objectMapper);
+    }
+
+    @Benchmark
+    public BaseWebSocketMessage objectMapper() throws IOException {
+        return objectMapper.readValue(PAYLOAD, BaseWebSocketMessage.class);
+    }
+
+    @Benchmark
+    public BaseWebSocketMessage codec() throws IOException {
+        return codec.decode(PAYLOAD);
+    }
+}
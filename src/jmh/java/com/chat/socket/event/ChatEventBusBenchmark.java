@@ -0,0 +1,123 @@
+package com.chat.socket.event;
+
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.pipeline.ChatEventRing;
+import com.chat.socket.pipeline.ShardedStage;
+import com.chat.socket.pipeline.WaitStrategy;
+import com.chat.utils.message.MessageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 저장 스레드가 커밋된 채팅을 전파 스레드로 넘기는 처리량을 Spring 이벤트 + fan-out 단계와 {@link ChatEventRing} 으로 비교합니다.
+ * 대기열과 링이 가득 차면 넣는 스레드가 기다리므로, 오래 실행하면 소비자까지 포함한 처리량이 됩니다.
+ * 넣는 경로의 할당량은 -prof gc 로 함께 확인합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class ChatEventBusBenchmark {
+
+    private static final int CONSUMER_COUNT = 4;
+    private static final int ROOM_COUNT = 64;
+
+    @Param({"PARK", "BUSY_SPIN"})
+    public WaitStrategy waitStrategy;
+
+    private final List<SendChat> sendChats = new ArrayList<>();
+    private final LongAdder handledCount = new LongAdder();
+
+    private ShardedStage<Runnable> fanOutStage;
+    private AnnotationConfigApplicationContext context;
+    private ChatEventRing ring;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (long chatId = 0; chatId < ROOM_COUNT * 16; chatId++) {
+            sendChats.add(SendChat.builder()
+                    .messageType(MessageType.CHAT_MESSAGE)
+                    .chatRoomId(chatId % ROOM_COUNT)
+                    .chatId(chatId)
+                    .message("message")
+                    .build());
+        }
+
+        fanOutStage = new ShardedStage<>("fan-out", CONSUMER_COUNT, 1024, Runnable::run);
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(SpringListener.class, () -> new SpringListener(fanOutStage, handledCount));
+        context.refresh();
+
+        ring = new ChatEventRing("benchmark", 4096, CONSUMER_COUNT, waitStrategy, sendChat -> handledCount.increment());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ring.shutdown();
+        fanOutStage.shutdown();
+        context.close();
+    }
+
+    @Benchmark
+    public void springEvent(Cursor cursor) {
+        context.publishEvent(new PublishMessageEvent(cursor.next(sendChats)));
+    }
+
+    @Benchmark
+    public boolean ring(Cursor cursor) {
+        SendChat sendChat = cursor.next(sendChats);
+        return ring.publish(sendChat.getChatRoomId(), sendChat);
+    }
+
+    /**
+     * 생산자 스레드마다 다른 채팅방부터 돌아가며 채팅을 고릅니다.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            index = (int) (Thread.currentThread().getId() % ROOM_COUNT);
+        }
+
+        SendChat next(List<SendChat> sendChats) {
+            SendChat sendChat = sendChats.get(index);
+            index = (index + 1) % sendChats.size();
+            return sendChat;
+        }
+    }
+
+    public static class SpringListener {
+
+        private final ShardedStage<Runnable> fanOutStage;
+        private final LongAdder handledCount;
+
+        SpringListener(ShardedStage<Runnable> fanOutStage, LongAdder handledCount) {
+            this.fanOutStage = fanOutStage;
+            this.handledCount = handledCount;
+        }
+
+        @EventListener
+        public void on(PublishMessageEvent event) {
+            fanOutStage.submit(event.getSendChat().getChatRoomId(), handledCount::increment);
+        }
+    }
+}
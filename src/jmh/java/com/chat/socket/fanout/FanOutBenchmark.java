@@ -0,0 +1,80 @@
+package com.chat.socket.fanout;
+
+import com.chat.service.dtos.chat.UpdateChatRoom;
+import com.chat.utils.message.MessageType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방 목록 갱신 메시지를 수신자마다 직렬화하는 방식과 한 번 직렬화한 {@link FrameTemplate} 에 읽지 않은 채팅 수만 끼우는 방식을 비교합니다.
+ * 수신자마다 전송 대기열이 크기를 계산하므로 한 번의 전파에서 모든 수신자의 프레임 크기까지 구하는 시간을 잽니다.
+ * 할당량은 -prof gc 로 함께 확인합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FanOutBenchmark {
+
+    // 읽지 않은 채팅 수의 종류, 같은 값을 가진 수신자는 프레임을 공유한다
+    private static final int DISTINCT_UNREAD_COUNTS = 5;
+
+    @Param({"10", "100", "1000"})
+    public int recipientCount;
+
+    private final LocalDateTime createdDate = LocalDateTime.of(2025, 1, 1, 12, 30);
+
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+    }
+
+    @Benchmark
+    public long serializePerRecipient() throws JsonProcessingException {
+        long payloadLength = 0;
+        for (int i = 0; i < recipientCount; i++) {
+            String payload = objectMapper.writeValueAsString(updateChatRoomOf(i % DISTINCT_UNREAD_COUNTS));
+            payloadLength += new TextMessage(payload).getPayloadLength();
+        }
+        return payloadLength;
+    }
+
+    @Benchmark
+    public long renderFromTemplate() throws JsonProcessingException {
+        FrameTemplate template = FrameTemplate.of(
+                objectMapper.writeValueAsBytes(updateChatRoomOf(FrameTemplate.SENTINEL)), "unReadCount");
+        Map<Long, TextMessage> frames = new HashMap<>();
+
+        long payloadLength = 0;
+        for (int i = 0; i < recipientCount; i++) {
+            TextMessage frame = frames.computeIfAbsent((long) (i % DISTINCT_UNREAD_COUNTS), template::render);
+            payloadLength += frame.getPayloadLength();
+        }
+        return payloadLength;
+    }
+
+    private UpdateChatRoom updateChatRoomOf(long unReadCount) {
+        return UpdateChatRoom.builder()
+                .messageType(MessageType.UPDATE_CHAT_ROOM)
+                .chatRoomId(1L)
+                .lastMessage("마지막 채팅 메시지입니다.")
+                .unReadCount(unReadCount)
+                .createdDate(createdDate)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.chat.socket.manager;
+
+import com.chat.utils.consts.SessionConst;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.standard.StandardWebSocketSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅방 입장과 퇴장을 세션 속성을 훑던 기존 Map, Set 방식과 long 키 인덱스 방식으로 비교합니다.
+ * 한 번 실행할 때 모든 채팅방에 모든 회원이 입장한 뒤 퇴장하며, 결과는 입장 또는 퇴장 한 번당 시간입니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(RoomSessionRegistryBenchmark.OPERATIONS)
+public class RoomSessionRegistryBenchmark {
+
+    static final int ROOM_COUNT = 100;
+    static final int MEMBERS_PER_ROOM = 100;
+    static final int OPERATIONS = 2 * ROOM_COUNT * MEMBERS_PER_ROOM;
+
+    private final List<WebSocketSession> sessions = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        // 측정에 목 객체 호출 비용이 섞이지 않도록 실제 세션 구현을 사용
+        for (long memberId = 0; memberId < MEMBERS_PER_ROOM; memberId++) {
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put(SessionConst.SESSION_ID, memberId);
+            sessions.add(new StandardWebSocketSession(new HttpHeaders(), attributes, null, null));
+        }
+    }
+
+    @Benchmark
+    public LegacyRoomSessions legacy() {
+        LegacyRoomSessions legacy = new LegacyRoomSessions();
+        for (long chatRoomId = 0; chatRoomId < ROOM_COUNT; chatRoomId++) {
+            for (WebSocketSession session : sessions) {
+                legacy.add(chatRoomId, session);
+            }
+        }
+        for (long chatRoomId = 0; chatRoomId < ROOM_COUNT; chatRoomId++) {
+            for (long memberId = 0; memberId < MEMBERS_PER_ROOM; memberId++) {
+                legacy.remove(chatRoomId, memberId);
+            }
+        }
+        return legacy;
+    }
+
+    @Benchmark
+    public RoomSessionRegistry registry() {
+        RoomSessionRegistry registry = new RoomSessionRegistry();
+        for (long chatRoomId = 0; chatRoomId < ROOM_COUNT; chatRoomId++) {
+            for (int memberId = 0; memberId < MEMBERS_PER_ROOM; memberId++) {
+                registry.add(chatRoomId, memberId, sessions.get(memberId));
+            }
+        }
+        for (long chatRoomId = 0; chatRoomId < ROOM_COUNT; chatRoomId++) {
+            for (long memberId = 0; memberId < MEMBERS_PER_ROOM; memberId++) {
+                registry.remove(chatRoomId, memberId);
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * 세션 속성을 훑어 회원의 세션을 찾던 기존 ChatRoomManager 방식입니다.
+     */
+    public static class LegacyRoomSessions {
+
+        private final Map<Long, Set<WebSocketSession>> chatRooms = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> memberToRoomsMap = new ConcurrentHashMap<>();
+
+        void add(Long chatRoomId, WebSocketSession session) {
+            Long memberId = (Long) session.getAttributes().get(SessionConst.SESSION_ID);
+            chatRooms.computeIfAbsent(chatRoomId, key -> ConcurrentHashMap.newKeySet()).add(session);
+            memberToRoomsMap.computeIfAbsent(memberId, key -> ConcurrentHashMap.newKeySet()).add(chatRoomId);
+        }
+
+        void remove(Long chatRoomId, Long memberId) {
+            Set<WebSocketSession> roomSessions = chatRooms.get(chatRoomId);
+            if (roomSessions == null) {
+                return;
+            }
+
+            List<WebSocketSession> toRemove = new ArrayList<>();
+            for (WebSocketSession session : roomSessions) {
+                Object userIdObj = session.getAttributes().get(SessionConst.SESSION_ID);
+                if (userIdObj instanceof Long && userIdObj.equals(memberId)) {
+                    toRemove.add(session);
+                }
+            }
+            roomSessions.removeAll(toRemove);
+
+            Set<Long> rooms = memberToRoomsMap.get(memberId);
+            if (rooms != null) {
+                rooms.remove(chatRoomId);
+                if (rooms.isEmpty()) {
+                    memberToRoomsMap.remove(memberId);
+                }
+            }
+            if (roomSessions.isEmpty()) {
+                chatRooms.remove(chatRoomId);
+            }
+        }
+    }
+}
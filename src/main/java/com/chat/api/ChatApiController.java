@@ -4,6 +4,7 @@ import com.chat.service.ChatRoomService;
 import com.chat.utils.consts.SessionConst;
 import com.chat.service.ChatService;
 import com.chat.service.dtos.ChatHistory;
+import com.chat.service.dtos.ChatHistoryPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -39,4 +40,23 @@ public class ChatApiController {
                 .message("채팅 메시지 조회에 성공했습니다.")
                 .build();
     }
+
+    @GetMapping("/api/chats/page")
+    public Result<ChatHistoryPage> chatHistoryPage(@RequestParam("chatRoomId") Long chatRoomId,
+                                                   @RequestParam(name = "beforeChatId", required = false) Long beforeChatId,
+                                                   @RequestParam(name = "afterChatId", required = false) Long afterChatId,
+                                                   @RequestParam(name = "size", required = false) Integer size,
+                                                   @SessionAttribute(name = SessionConst.SESSION_ID) Long loginMemberId) {
+
+        // 커서 기반 채팅 내역 조회
+        ChatHistoryPage chatHistoryPage
+                = chatService.findChatHistoryPage(chatRoomId, loginMemberId, beforeChatId, afterChatId, size);
+
+        return Result
+                .<ChatHistoryPage>builder()
+                .data(chatHistoryPage)
+                .status(HttpStatus.OK)
+                .message("채팅 메시지 조회에 성공했습니다.")
+                .build();
+    }
 }
@@ -0,0 +1,97 @@
+package com.chat.api;
+
+import com.chat.api.response.metrics.MembershipMetricsResponse;
+import com.chat.api.response.metrics.OutboxMetricsResponse;
+import com.chat.api.response.metrics.RoomUpdateMetricsResponse;
+import com.chat.api.response.metrics.SessionQueueMetricsResponse;
+import com.chat.api.response.metrics.StageMetricsResponse;
+import com.chat.service.membership.RoomMembershipCache;
+import com.chat.socket.coalesce.RoomUpdateCoalescer;
+import com.chat.socket.outbound.OutboundSessionManager;
+import com.chat.socket.outbox.ChatOutboxRelay;
+import com.chat.socket.pipeline.MessagePipeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class MetricsApiController {
+
+    private final MessagePipeline messagePipeline;
+    private final OutboundSessionManager outboundSessionManager;
+    private final RoomUpdateCoalescer roomUpdateCoalescer;
+    private final ChatOutboxRelay chatOutboxRelay;
+    private final RoomMembershipCache roomMembershipCache;
+
+    @GetMapping("/api/metrics/pipeline")
+    public Result<List<StageMetricsResponse>> pipelineMetrics() {
+
+        List<StageMetricsResponse> stageMetrics = messagePipeline.getStageMetrics()
+                .stream()
+                .map(StageMetricsResponse::new)
+                .collect(Collectors.toList());
+
+        return Result
+                .<List<StageMetricsResponse>>builder()
+                .data(stageMetrics)
+                .status(HttpStatus.OK)
+                .message("메시지 파이프라인 지표 조회에 성공했습니다.")
+                .build();
+    }
+
+    @GetMapping("/api/metrics/sessions")
+    public Result<List<SessionQueueMetricsResponse>> sessionQueueMetrics() {
+
+        List<SessionQueueMetricsResponse> sessionMetrics = outboundSessionManager.getSessions()
+                .stream()
+                .map(SessionQueueMetricsResponse::new)
+                .collect(Collectors.toList());
+
+        return Result
+                .<List<SessionQueueMetricsResponse>>builder()
+                .data(sessionMetrics)
+                .status(HttpStatus.OK)
+                .message("세션 전송 대기열 지표 조회에 성공했습니다.")
+                .build();
+    }
+
+    @GetMapping("/api/metrics/room-updates")
+    public Result<RoomUpdateMetricsResponse> roomUpdateMetrics() {
+
+        return Result
+                .<RoomUpdateMetricsResponse>builder()
+                .data(new RoomUpdateMetricsResponse(roomUpdateCoalescer))
+                .status(HttpStatus.OK)
+                .message("채팅방 목록 갱신 지표 조회에 성공했습니다.")
+                .build();
+    }
+
+    @GetMapping("/api/metrics/outbox")
+    public Result<OutboxMetricsResponse> outboxMetrics() {
+
+        return Result
+                .<OutboxMetricsResponse>builder()
+                .data(new OutboxMetricsResponse(chatOutboxRelay))
+                .status(HttpStatus.OK)
+                .message("아웃박스 전파 지표 조회에 성공했습니다.")
+                .build();
+    }
+
+    @GetMapping("/api/metrics/membership")
+    public Result<MembershipMetricsResponse> membershipMetrics() {
+
+        return Result
+                .<MembershipMetricsResponse>builder()
+                .data(new MembershipMetricsResponse(roomMembershipCache))
+                .status(HttpStatus.OK)
+                .message("채팅방 참여자 캐시 지표 조회에 성공했습니다.")
+                .build();
+    }
+}
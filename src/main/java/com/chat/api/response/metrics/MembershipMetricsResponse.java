@@ -0,0 +1,24 @@
+package com.chat.api.response.metrics;
+
+import com.chat.service.membership.RoomMembershipCache;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class MembershipMetricsResponse {
+
+    private long hitCount;
+    private long missCount;
+    private long clearCount;
+    private int size;
+    private int maxSize;
+
+    public MembershipMetricsResponse(RoomMembershipCache cache) {
+        this.hitCount = cache.getHitCount();
+        this.missCount = cache.getMissCount();
+        this.clearCount = cache.getClearCount();
+        this.size = cache.size();
+        this.maxSize = cache.getMaxSize();
+    }
+}
@@ -0,0 +1,30 @@
+package com.chat.api.response.metrics;
+
+import com.chat.socket.outbox.ChatOutboxRelay;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class OutboxMetricsResponse {
+
+    private boolean enabled;
+    private long pollIntervalMillis;
+    private int batchSize;
+    private long deliveredCount;
+    private long pendingCount;
+    private long averageLagMillis;
+    private long maxLagMillis;
+    private long lastLagMillis;
+
+    public OutboxMetricsResponse(ChatOutboxRelay relay) {
+        this.enabled = relay.isEnabled();
+        this.pollIntervalMillis = relay.getPollIntervalMillis();
+        this.batchSize = relay.getBatchSize();
+        this.deliveredCount = relay.getDeliveredCount();
+        this.pendingCount = relay.isEnabled() ? relay.getPendingCount() : 0;
+        this.averageLagMillis = relay.getAverageLagMillis();
+        this.maxLagMillis = relay.getMaxLagMillis();
+        this.lastLagMillis = relay.getLastLagMillis();
+    }
+}
@@ -0,0 +1,24 @@
+package com.chat.api.response.metrics;
+
+import com.chat.socket.coalesce.RoomUpdateCoalescer;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class RoomUpdateMetricsResponse {
+
+    private long flushIntervalMillis;
+    private long submittedCount;
+    private long coalescedCount;
+    private long sentCount;
+    private int pendingMembers;
+
+    public RoomUpdateMetricsResponse(RoomUpdateCoalescer coalescer) {
+        this.flushIntervalMillis = coalescer.getFlushIntervalMillis();
+        this.submittedCount = coalescer.getSubmittedCount();
+        this.coalescedCount = coalescer.getCoalescedCount();
+        this.sentCount = coalescer.getSentCount();
+        this.pendingMembers = coalescer.getPendingMembers();
+    }
+}
@@ -0,0 +1,32 @@
+package com.chat.api.response.metrics;
+
+import com.chat.socket.outbound.OutboundWebSocketSession;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class SessionQueueMetricsResponse {
+
+    private String sessionId;
+    private Long memberId;
+    private int queuedMessages;
+    private long queuedBytes;
+    private int maxQueuedMessages;
+    private long sentCount;
+    private long droppedCount;
+    private long failedCount;
+    private boolean evicted;
+
+    public SessionQueueMetricsResponse(OutboundWebSocketSession session) {
+        this.sessionId = session.getId();
+        this.memberId = session.getMemberId();
+        this.queuedMessages = session.getQueuedMessages();
+        this.queuedBytes = session.getQueuedBytes();
+        this.maxQueuedMessages = session.getMaxObservedQueuedMessages();
+        this.sentCount = session.getSentCount();
+        this.droppedCount = session.getDroppedCount();
+        this.failedCount = session.getFailedCount();
+        this.evicted = session.isEvicted();
+    }
+}
@@ -0,0 +1,28 @@
+package com.chat.api.response.metrics;
+
+import com.chat.socket.pipeline.StageMetrics;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.TimeUnit;
+
+@Getter
+@NoArgsConstructor
+public class StageMetricsResponse {
+
+    private String stage;
+    private int queueDepth;
+    private long processedCount;
+    private long failedCount;
+    private long averageLatencyMicros;
+    private long maxLatencyMicros;
+
+    public StageMetricsResponse(StageMetrics metrics) {
+        this.stage = metrics.getName();
+        this.queueDepth = metrics.getQueueDepth();
+        this.processedCount = metrics.getProcessedCount();
+        this.failedCount = metrics.getFailedCount();
+        this.averageLatencyMicros = TimeUnit.NANOSECONDS.toMicros(metrics.getAverageLatencyNanos());
+        this.maxLatencyMicros = TimeUnit.NANOSECONDS.toMicros(metrics.getMaxLatencyNanos());
+    }
+}
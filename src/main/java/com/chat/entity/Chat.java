@@ -8,10 +8,18 @@ import lombok.NoArgsConstructor;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_chat_chat_room_id_chat_id", columnList = "chat_room_id, chat_id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_chat_member_id_client_message_id",
+                columnNames = {"member_id", "client_message_id"}))
 public class Chat extends BaseEntity {
 
+    public static final int CLIENT_MESSAGE_ID_MAX_LENGTH = 64;
+
+    // 채팅방 안의 채팅 순서를 ID 로 정하므로 ID 를 노드마다 묶음으로 미리 받지 않고 저장할 때마다 시퀀스에서 받는다
+    // 묶음으로 받으면 담당 노드가 바뀐 뒤 새 담당 노드가 이전 담당 노드보다 작은 ID 를 줄 수 있다
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_seq_generator")
+    @SequenceGenerator(name = "chat_seq_generator", sequenceName = "chat_seq", allocationSize = 1)
     @Column(name = "chat_id")
     private Long id;
     private String message; // 메시지
@@ -24,9 +32,18 @@ public class Chat extends BaseEntity {
     @JoinColumn(name = "chat_room_id")
     private ChatRoom chatRoom;
 
+    // 클라이언트가 만든 채팅 ID, 재전송된 채팅을 걸러내는 데 사용 (발신자 기준 유일)
+    @Column(name = "client_message_id", length = CLIENT_MESSAGE_ID_MAX_LENGTH)
+    private String clientMessageId;
+
     public Chat(String message, Member member, ChatRoom chatRoom) {
+        this(message, member, chatRoom, null);
+    }
+
+    public Chat(String message, Member member, ChatRoom chatRoom, String clientMessageId) {
         this.message = message;
         this.member = member;
         this.chatRoom = chatRoom;
+        this.clientMessageId = clientMessageId;
     }
 }
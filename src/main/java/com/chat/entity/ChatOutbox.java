@@ -0,0 +1,61 @@
+package com.chat.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 채팅과 같은 트랜잭션에 저장되는 전파 대기 항목입니다.
+ * 커밋 이후 전파 전에 서버가 내려가도 릴레이가 아직 전파하지 않은 항목을 다시 읽어 보냅니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_chat_outbox_delivered_at_millis_chat_room_id_chat_id",
+        columnList = "delivered_at_millis, chat_room_id, chat_id"))
+public class ChatOutbox {
+
+    public static final int PAYLOAD_MAX_LENGTH = 4000;
+    public static final int ACK_PAYLOAD_MAX_LENGTH = 512;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_outbox_seq_generator")
+    @SequenceGenerator(name = "chat_outbox_seq_generator", sequenceName = "chat_outbox_seq", allocationSize = 50)
+    @Column(name = "outbox_id")
+    private Long id;
+
+    @Column(name = "chat_room_id", nullable = false)
+    private Long chatRoomId;
+
+    @Column(name = "chat_id", nullable = false)
+    private Long chatId;
+
+    @Column(name = "sender_id", nullable = false)
+    private Long senderId;
+
+    // 채팅방 참여자에게 보낼 CHAT_MESSAGE 프레임
+    @Column(name = "payload", nullable = false, length = PAYLOAD_MAX_LENGTH)
+    private String payload;
+
+    // 발신자에게 보낼 CHAT_ACK 프레임, clientMessageId 없이 보낸 채팅이면 null
+    @Column(name = "ack_payload", length = ACK_PAYLOAD_MAX_LENGTH)
+    private String ackPayload;
+
+    // 전파 지연을 밀리초 단위로 재기 위해 저장 시각을 epoch millis 로 보관
+    @Column(name = "created_at_millis", nullable = false)
+    private long createdAtMillis;
+
+    @Column(name = "delivered_at_millis")
+    private Long deliveredAtMillis;
+
+    public ChatOutbox(Long chatRoomId, Long chatId, Long senderId, String payload, String ackPayload,
+                      long createdAtMillis) {
+        this.chatRoomId = chatRoomId;
+        this.chatId = chatId;
+        this.senderId = senderId;
+        this.payload = payload;
+        this.ackPayload = ackPayload;
+        this.createdAtMillis = createdAtMillis;
+    }
+}
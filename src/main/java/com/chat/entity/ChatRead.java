@@ -10,10 +10,16 @@ import static jakarta.persistence.FetchType.LAZY;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(name = "idx_chat_read_member_id_is_read_chat_id", columnList = "member_id, is_read, chat_id"),
+        @Index(name = "idx_chat_read_chat_id_is_read", columnList = "chat_id, is_read")
+})
 public class ChatRead extends BaseEntity {
 
+    // 채팅 한 건에 참여자 수만큼 저장되므로 시퀀스를 크게 할당받아 조회 횟수를 줄인다
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_read_seq_generator")
+    @SequenceGenerator(name = "chat_read_seq_generator", sequenceName = "chat_read_seq", allocationSize = 500)
     @Column(name = "chat_read_id")
     private Long id;
 
@@ -1,16 +1,17 @@
 package com.chat.entity;
 
-import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.Id;
+import com.chat.utils.key.MemberSetKey;
+import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_chat_room_member_set_key", columnNames = "member_set_key"))
 public class ChatRoom extends BaseEntity {
 
     @Id @GeneratedValue
@@ -19,11 +20,28 @@ public class ChatRoom extends BaseEntity {
 
     private String title;
 
-    private ChatRoom(String title) {
+    @Column(length = MemberSetKey.LENGTH)
+    private String memberSetKey; // 참여자 구성 키 (같은 참여자로 구성된 채팅방 중복 생성 방지)
+
+    private Long lastChatId; // 마지막 채팅 ID
+    private String lastMessage; // 마지막 채팅 메시지
+    private Long lastSenderId; // 마지막 채팅 발신자 ID
+    private LocalDateTime lastChatDate; // 마지막 채팅 일자
+
+    private ChatRoom(String title, String memberSetKey) {
         this.title = title;
+        this.memberSetKey = memberSetKey;
     }
 
     public static ChatRoom of(String title) {
-        return new ChatRoom(title);
+        return new ChatRoom(title, null);
+    }
+
+    public static ChatRoom of(String title, String memberSetKey) {
+        return new ChatRoom(title, memberSetKey);
+    }
+
+    public void assignMemberSetKey(String memberSetKey) {
+        this.memberSetKey = memberSetKey;
     }
 }
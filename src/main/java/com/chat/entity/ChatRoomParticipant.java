@@ -11,6 +11,10 @@ import static jakarta.persistence.FetchType.LAZY;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        @Index(name = "idx_chat_room_participant_member_id_chat_room_id", columnList = "member_id, chat_room_id"),
+        @Index(name = "idx_chat_room_participant_chat_room_id_member_id", columnList = "chat_room_id, member_id")
+})
 public class ChatRoomParticipant extends BaseEntity {
 
     @Id
@@ -20,6 +24,8 @@ public class ChatRoomParticipant extends BaseEntity {
 
     private boolean isParticipate;
 
+    private Long lastReadChatId; // 마지막으로 읽은 채팅 ID
+
     @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "member_id")
     private Member member;
@@ -0,0 +1,52 @@
+package com.chat.repository;
+
+import com.chat.entity.ChatOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ChatOutboxRepository extends JpaRepository<ChatOutbox, Long> {
+
+    /**
+     * 아직 전파하지 않은 항목이 있는 채팅방 ID 를 조회합니다.
+     * 릴레이는 이 중 자기 노드가 담당하는 채팅방의 항목만 읽으므로, 다른 노드가 담당하는 항목이 쌓여 있어도 밀리지 않습니다.
+     */
+    @Query("SELECT DISTINCT o.chatRoomId" +
+            " FROM ChatOutbox o" +
+            " WHERE o.deliveredAtMillis IS NULL")
+    List<Long> findUndeliveredChatRoomIds();
+
+    /**
+     * 주어진 채팅방들의 아직 전파하지 않은 항목을 채팅 ID 순서대로 조회합니다.
+     * 채팅 ID 는 DB 시퀀스에서 하나씩 받으므로 담당 노드가 바뀐 뒤에도 채팅방 안의 저장 순서와 같습니다.
+     * 항목 ID 는 노드마다 미리 여러 개씩 받아 두므로 채팅방 안의 순서를 보장하지 않습니다.
+     */
+    @Query("SELECT o" +
+            " FROM ChatOutbox o" +
+            " WHERE o.deliveredAtMillis IS NULL" +
+            " AND o.chatRoomId IN :chatRoomIds" +
+            " ORDER BY o.chatId ASC")
+    List<ChatOutbox> findUndeliveredIn(@Param("chatRoomIds") Collection<Long> chatRoomIds, Pageable pageable);
+
+    @Query("SELECT COUNT(o)" +
+            " FROM ChatOutbox o" +
+            " WHERE o.deliveredAtMillis IS NULL")
+    long countUndelivered();
+
+    @Modifying
+    @Query("UPDATE ChatOutbox o" +
+            " SET o.deliveredAtMillis = :deliveredAtMillis" +
+            " WHERE o.id IN :outboxIds")
+    int markDelivered(@Param("outboxIds") Collection<Long> outboxIds,
+                      @Param("deliveredAtMillis") long deliveredAtMillis);
+
+    @Modifying
+    @Query("DELETE FROM ChatOutbox o" +
+            " WHERE o.deliveredAtMillis < :cutoffMillis")
+    int deleteDeliveredBefore(@Param("cutoffMillis") long cutoffMillis);
+}
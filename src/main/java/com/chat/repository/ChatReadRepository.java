@@ -1,7 +1,10 @@
 package com.chat.repository;
 
 import com.chat.entity.ChatRead;
+import com.chat.service.dtos.ChatRoomUnReadCount;
+import com.chat.service.dtos.ChatUnReadCount;
 import com.chat.service.dtos.LastChatRead;
+import com.chat.service.dtos.MemberUnReadCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -28,6 +31,29 @@ public interface ChatReadRepository extends JpaRepository<ChatRead, Long> {
             " AND cre.isRead = false")
     Long findUnReadCountBy(@Param("chatId") Long chatId);
 
+    @Query("SELECT new com.chat.service.dtos.ChatUnReadCount(cre.chat.id, COUNT(cre))" +
+            " FROM ChatRead cre" +
+            " WHERE cre.chat.id IN :chatIds" +
+            " AND cre.isRead = false" +
+            " GROUP BY cre.chat.id")
+    List<ChatUnReadCount> findUnReadCountsBy(@Param("chatIds") List<Long> chatIds);
+
+    @Query("SELECT new com.chat.service.dtos.ChatRoomUnReadCount(c.chatRoom.id, COUNT(cre))" +
+            " FROM ChatRead cre" +
+            " JOIN cre.chat c" +
+            " WHERE cre.member.id = :memberId" +
+            " AND cre.isRead = false" +
+            " GROUP BY c.chatRoom.id")
+    List<ChatRoomUnReadCount> findUnReadCountsByMember(@Param("memberId") Long memberId);
+
+    @Query("SELECT new com.chat.service.dtos.MemberUnReadCount(cre.member.id, COUNT(cre))" +
+            " FROM ChatRead cre" +
+            " JOIN cre.chat c" +
+            " WHERE c.chatRoom.id = :chatRoomId" +
+            " AND cre.isRead = false" +
+            " GROUP BY cre.member.id")
+    List<MemberUnReadCount> findMemberUnReadCountsBy(@Param("chatRoomId") Long chatRoomId);
+
     @Query("SELECT cr" +
             " FROM ChatRead cr" +
             " WHERE cr.chat.id = :chatId" +
@@ -60,4 +86,15 @@ public interface ChatReadRepository extends JpaRepository<ChatRead, Long> {
             "AND cr.isRead = false")
     int updateUnreadChatReadsToRead(@Param("memberId") Long memberId,
                                     @Param("chatRoomId") Long chatRoomId);
+
+    @Modifying
+    @Query("UPDATE ChatRead cr " +
+            "SET cr.isRead = true " +
+            "WHERE cr.chat.chatRoom.id = :chatRoomId " +
+            "AND cr.member.id = :memberId " +
+            "AND cr.chat.id <= :chatId " +
+            "AND cr.isRead = false")
+    int updateUnreadChatReadsToReadUpTo(@Param("memberId") Long memberId,
+                                        @Param("chatRoomId") Long chatRoomId,
+                                        @Param("chatId") Long chatId);
 }
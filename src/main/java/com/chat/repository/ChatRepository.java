@@ -7,18 +7,59 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ChatRepository extends JpaRepository<Chat, Long> {
 
     @Query("SELECT c" +
             " FROM Chat c" +
             " JOIN FETCH c.member" +
-            " WHERE c.chatRoom.id = :chatRoomId ORDER BY c.createdDate DESC")
+            " WHERE c.chatRoom.id = :chatRoomId ORDER BY c.id DESC")
     List<Chat> findLastChatBy(@Param("chatRoomId") Long chatRoomId, Pageable pageable);
 
     @Query("SELECT c" +
             " FROM Chat c" +
             " JOIN FETCH c.member" +
-            " WHERE c.chatRoom.id = :chatRoomId ORDER BY c.createdDate ASC")
+            " WHERE c.chatRoom.id = :chatRoomId ORDER BY c.id ASC")
     List<Chat> findChatHistory(@Param("chatRoomId") Long chatRoomId);
+
+    @Query("SELECT c" +
+            " FROM Chat c" +
+            " JOIN FETCH c.member" +
+            " WHERE c.chatRoom.id = :chatRoomId ORDER BY c.id DESC")
+    List<Chat> findLatestChats(@Param("chatRoomId") Long chatRoomId, Pageable pageable);
+
+    @Query("SELECT c" +
+            " FROM Chat c" +
+            " JOIN FETCH c.member" +
+            " WHERE c.chatRoom.id = :chatRoomId" +
+            " AND c.id < :beforeChatId ORDER BY c.id DESC")
+    List<Chat> findChatsBefore(@Param("chatRoomId") Long chatRoomId,
+                               @Param("beforeChatId") Long beforeChatId,
+                               Pageable pageable);
+
+    @Query("SELECT c" +
+            " FROM Chat c" +
+            " JOIN FETCH c.member" +
+            " WHERE c.chatRoom.id = :chatRoomId" +
+            " AND c.id > :afterChatId ORDER BY c.id ASC")
+    List<Chat> findChatsAfter(@Param("chatRoomId") Long chatRoomId,
+                              @Param("afterChatId") Long afterChatId,
+                              Pageable pageable);
+
+    @Query("SELECT c.id" +
+            " FROM Chat c" +
+            " WHERE c.member.id = :memberId" +
+            " AND c.clientMessageId = :clientMessageId")
+    Optional<Long> findChatIdBy(@Param("memberId") Long memberId,
+                                @Param("clientMessageId") String clientMessageId);
+
+    @Query("SELECT COUNT(c)" +
+            " FROM Chat c" +
+            " JOIN ChatRoomParticipant crp ON crp.chatRoom.id = c.chatRoom.id" +
+            " WHERE c.chatRoom.id = :chatRoomId" +
+            " AND crp.member.id = :memberId" +
+            " AND (crp.lastReadChatId IS NULL OR c.id > crp.lastReadChatId)")
+    Long countUnReadBy(@Param("chatRoomId") Long chatRoomId,
+                       @Param("memberId") Long memberId);
 }
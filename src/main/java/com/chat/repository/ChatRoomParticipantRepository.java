@@ -1,7 +1,13 @@
 package com.chat.repository;
 
 import com.chat.entity.ChatRoomParticipant;
+import com.chat.service.dtos.ChatRoomUnReadCount;
+import com.chat.service.dtos.ChatUnReadCount;
+import com.chat.service.dtos.LastChatRead;
+import com.chat.service.dtos.MemberUnReadCount;
+import com.chat.service.dtos.ParticipantMembership;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -26,16 +32,110 @@ public interface ChatRoomParticipantRepository extends JpaRepository<ChatRoomPar
             " WHERE crp.member.id = :memberId")
     List<ChatRoomParticipant> findAllBy(@Param("memberId") Long memberId);
 
+    @Query(value = "SELECT crp" +
+            " FROM ChatRoomParticipant crp" +
+            " JOIN FETCH crp.chatRoom" +
+            " WHERE crp.member.id = :memberId")
+    List<ChatRoomParticipant> findAllFetchChatRoomBy(@Param("memberId") Long memberId);
+
     @Query(value = "SELECT crp" +
             " FROM ChatRoomParticipant crp" +
             " JOIN FETCH crp.member" +
             " WHERE crp.chatRoom.id = :chatRoomId")
     List<ChatRoomParticipant> findAllFetchMemberBy(@Param("chatRoomId") Long chatRoomId);
 
+    @Query("SELECT new com.chat.service.dtos.ParticipantMembership(crp.member.id, crp.isParticipate)" +
+            " FROM ChatRoomParticipant crp" +
+            " WHERE crp.chatRoom.id = :chatRoomId")
+    List<ParticipantMembership> findMembershipsBy(@Param("chatRoomId") Long chatRoomId);
+
+    @Query(value = "SELECT crp" +
+            " FROM ChatRoomParticipant crp" +
+            " JOIN FETCH crp.member" +
+            " WHERE crp.chatRoom.id IN :chatRoomIds")
+    List<ChatRoomParticipant> findAllFetchMemberIn(@Param("chatRoomIds") List<Long> chatRoomIds);
+
     @Query("SELECT crp" +
             " FROM ChatRoomParticipant crp" +
             " WHERE crp.chatRoom.id = :chatRoomId" +
             " AND crp.member.id = :memberId")
     ChatRoomParticipant findChatRoomBy(@Param("chatRoomId") Long chatRoomId,
                                        @Param("memberId") Long memberId);
+
+    @Query("SELECT COUNT(crp)" +
+            " FROM ChatRoomParticipant crp" +
+            " JOIN Chat c ON c.chatRoom.id = crp.chatRoom.id" +
+            " WHERE c.id = :chatId" +
+            " AND (crp.lastReadChatId IS NULL OR crp.lastReadChatId < c.id)")
+    Long countUnReadMembersBy(@Param("chatId") Long chatId);
+
+    @Query("SELECT new com.chat.service.dtos.ChatUnReadCount(c.id, COUNT(crp))" +
+            " FROM ChatRoomParticipant crp" +
+            " JOIN Chat c ON c.chatRoom.id = crp.chatRoom.id" +
+            " WHERE c.id IN :chatIds" +
+            " AND (crp.lastReadChatId IS NULL OR crp.lastReadChatId < c.id)" +
+            " GROUP BY c.id")
+    List<ChatUnReadCount> countUnReadMembersBy(@Param("chatIds") List<Long> chatIds);
+
+    @Query("SELECT new com.chat.service.dtos.ChatRoomUnReadCount(crp.chatRoom.id, COUNT(c))" +
+            " FROM ChatRoomParticipant crp" +
+            " JOIN Chat c ON c.chatRoom.id = crp.chatRoom.id" +
+            " WHERE crp.member.id = :memberId" +
+            " AND (crp.lastReadChatId IS NULL OR c.id > crp.lastReadChatId)" +
+            " GROUP BY crp.chatRoom.id")
+    List<ChatRoomUnReadCount> countUnReadChatsBy(@Param("memberId") Long memberId);
+
+    @Query("SELECT new com.chat.service.dtos.MemberUnReadCount(crp.member.id, COUNT(c))" +
+            " FROM ChatRoomParticipant crp" +
+            " JOIN Chat c ON c.chatRoom.id = crp.chatRoom.id" +
+            " WHERE crp.chatRoom.id = :chatRoomId" +
+            " AND (crp.lastReadChatId IS NULL OR c.id > crp.lastReadChatId)" +
+            " GROUP BY crp.member.id")
+    List<MemberUnReadCount> countMemberUnReadChatsBy(@Param("chatRoomId") Long chatRoomId);
+
+    @Query("SELECT new com.chat.service.dtos.LastChatRead(crp.member.id, COALESCE(crp.lastReadChatId, 0L))" +
+            " FROM ChatRoomParticipant crp" +
+            " WHERE crp.chatRoom.id = :chatRoomId")
+    List<LastChatRead> findLastReadChatsBy(@Param("chatRoomId") Long chatRoomId);
+
+    @Query("SELECT new com.chat.service.dtos.LastChatRead(crp.member.id, crp.lastReadChatId)" +
+            " FROM ChatRoomParticipant crp" +
+            " WHERE crp.member.id = :memberId" +
+            " AND crp.chatRoom.id = :chatRoomId" +
+            " AND crp.lastReadChatId IS NOT NULL")
+    List<LastChatRead> findLastReadChatBy(@Param("memberId") Long memberId, @Param("chatRoomId") Long chatRoomId);
+
+    @Modifying
+    @Query("UPDATE ChatRoomParticipant crp" +
+            " SET crp.lastReadChatId = :chatId" +
+            " WHERE crp.chatRoom.id = :chatRoomId" +
+            " AND (crp.member.id = :senderId OR crp.isParticipate = true)" +
+            " AND (crp.lastReadChatId IS NULL OR crp.lastReadChatId < :chatId)")
+    int updateLastReadChatIds(@Param("chatRoomId") Long chatRoomId,
+                              @Param("senderId") Long senderId,
+                              @Param("chatId") Long chatId);
+
+    @Modifying
+    @Query("UPDATE ChatRoomParticipant crp" +
+            " SET crp.lastReadChatId = :chatId" +
+            " WHERE crp.chatRoom.id = :chatRoomId" +
+            " AND crp.member.id = :memberId" +
+            " AND (crp.lastReadChatId IS NULL OR crp.lastReadChatId < :chatId)")
+    int updateLastReadChatIdUpTo(@Param("memberId") Long memberId,
+                                 @Param("chatRoomId") Long chatRoomId,
+                                 @Param("chatId") Long chatId);
+
+    // 기존 ChatRead 데이터로 참여자별 마지막 읽은 채팅 ID 채우기
+    // watermark 방식에서는 ChatRead 를 쓰지 않으므로, 이미 채워진 값은 다시 실행해도 덮어쓰지 않는다
+    @Modifying
+    @Query("UPDATE ChatRoomParticipant crp" +
+            " SET crp.lastReadChatId =" +
+            " (SELECT MAX(c.id)" +
+            " FROM ChatRead cr" +
+            " JOIN cr.chat c" +
+            " WHERE cr.member.id = crp.member.id" +
+            " AND c.chatRoom.id = crp.chatRoom.id" +
+            " AND cr.isRead = true)" +
+            " WHERE crp.lastReadChatId IS NULL")
+    int backfillLastReadChatIds();
 }
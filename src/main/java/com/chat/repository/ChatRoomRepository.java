@@ -2,6 +2,49 @@ package com.chat.repository;
 
 import com.chat.entity.ChatRoom;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
+
+    boolean existsByMemberSetKey(String memberSetKey);
+
+    List<ChatRoom> findAllByMemberSetKeyIsNull();
+
+    /**
+     * 마지막 채팅 스냅샷을 갱신합니다.
+     * 동시에 저장된 채팅이 있어도 채팅 ID 가 더 큰 경우에만 갱신되어 스냅샷이 되돌아가지 않습니다.
+     */
+    @Modifying
+    @Query("UPDATE ChatRoom cr" +
+            " SET cr.lastChatId = :chatId," +
+            " cr.lastMessage = :message," +
+            " cr.lastSenderId = :senderId," +
+            " cr.lastChatDate = :chatDate" +
+            " WHERE cr.id = :chatRoomId" +
+            " AND (cr.lastChatId IS NULL OR cr.lastChatId < :chatId)")
+    int updateLastChat(@Param("chatRoomId") Long chatRoomId,
+                       @Param("chatId") Long chatId,
+                       @Param("message") String message,
+                       @Param("senderId") Long senderId,
+                       @Param("chatDate") LocalDateTime chatDate);
+
+    @Modifying
+    @Query("UPDATE ChatRoom cr" +
+            " SET cr.lastChatId = (SELECT MAX(c.id) FROM Chat c WHERE c.chatRoom.id = cr.id)" +
+            " WHERE cr.lastChatId IS NULL")
+    int backfillLastChatIds();
+
+    @Modifying
+    @Query("UPDATE ChatRoom cr" +
+            " SET cr.lastMessage = (SELECT c.message FROM Chat c WHERE c.id = cr.lastChatId)," +
+            " cr.lastSenderId = (SELECT c.member.id FROM Chat c WHERE c.id = cr.lastChatId)," +
+            " cr.lastChatDate = (SELECT c.createdDate FROM Chat c WHERE c.id = cr.lastChatId)" +
+            " WHERE cr.lastChatId IS NOT NULL" +
+            " AND cr.lastChatDate IS NULL")
+    int backfillLastChats();
 }
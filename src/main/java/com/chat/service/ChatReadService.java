@@ -1,13 +1,16 @@
 package com.chat.service;
 
-import com.chat.repository.ChatReadRepository;
-import com.chat.repository.MemberRepository;
+import com.chat.repository.ChatRoomParticipantRepository;
 import com.chat.service.dtos.LastChatRead;
+import com.chat.service.membership.RoomMembership;
+import com.chat.service.membership.RoomMembershipCache;
+import com.chat.service.read.ChatReadTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -18,27 +21,28 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ChatReadService {
 
-    private final ChatReadRepository chatReadRepository;
-    private final MemberRepository memberRepository;
+    private final ChatReadTracker chatReadTracker;
+    private final RoomMembershipCache roomMembershipCache;
+    private final ChatRoomParticipantRepository chatRoomParticipantRepository;
 
     public List<LastChatRead> findMembersChatReadIn(Long chatRoomId) {
 
         Map<Long, Long> membersLastChatId = getMembersLastChatIdsMapBy(chatRoomId);
 
-        List<Long> memberIdsInChatRoom = memberRepository.findMemberIdsIn(chatRoomId);
-        List<LastChatRead> finalLastReads = memberIdsInChatRoom.stream()
-                .map(memberId -> {
-                    Long lastReadId = membersLastChatId.getOrDefault(memberId, 0L);
-                    return new LastChatRead(memberId, lastReadId);
-                })
-                .collect(Collectors.toList());
+        RoomMembership membership = roomMembershipCache.get(chatRoomId);
+        List<LastChatRead> finalLastReads = new ArrayList<>(membership.size());
+        for (int i = 0; i < membership.size(); i++) {
+            Long memberId = membership.memberIdAt(i);
+            Long lastReadId = membersLastChatId.getOrDefault(memberId, 0L);
+            finalLastReads.add(new LastChatRead(memberId, lastReadId));
+        }
 
         return finalLastReads;
     }
 
     private Map<Long, Long> getMembersLastChatIdsMapBy(Long chatRoomId) {
         // 각 회원별 마지막 읽은 메시지 ID 조회
-        List<LastChatRead> lastReadChats = chatReadRepository.findLastReadChatsBy(chatRoomId);
+        List<LastChatRead> lastReadChats = chatReadTracker.findLastReadChats(chatRoomId);
         // 1. lastReadChats를 Map<Long, Long> 형태로 변환
         //    key: memberId, value: lastChatReadId
         return lastReadChats.stream()
@@ -46,9 +50,11 @@ public class ChatReadService {
     }
 
     public LastChatRead findLastChatBy(Long memberId, Long chatRoomId) {
-        return chatReadRepository.findLastReadChatBy(memberId, chatRoomId)
-                .stream()
-                .findFirst()
-                .orElse(null);
+        return chatReadTracker.findLastReadChat(memberId, chatRoomId);
+    }
+
+    @Transactional
+    public int backfillReadWatermarks() {
+        return chatRoomParticipantRepository.backfillLastReadChatIds();
     }
 }
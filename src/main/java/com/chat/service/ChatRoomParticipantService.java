@@ -4,6 +4,7 @@ import com.chat.entity.ChatRoomParticipant;
 import com.chat.exception.CustomException;
 import com.chat.exception.ErrorCode;
 import com.chat.repository.ChatRoomParticipantRepository;
+import com.chat.service.membership.RoomMembershipCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class ChatRoomParticipantService {
 
     private final ChatRoomParticipantRepository chatRoomParticipantRepository;
+    private final RoomMembershipCache roomMembershipCache;
 
     @Transactional
     public void enterChatRoom(Long chatRoomId, Long memberId) {
@@ -24,6 +26,7 @@ public class ChatRoomParticipantService {
 
         ChatRoomParticipant chatRoomParticipant = chatRoomParticipantRepository.findChatRoomBy(chatRoomId, memberId);
         chatRoomParticipant.enterChatRoom();
+        roomMembershipCache.evict(chatRoomId);
     }
 
     @Transactional
@@ -33,6 +36,7 @@ public class ChatRoomParticipantService {
 
         ChatRoomParticipant chatRoomParticipant = chatRoomParticipantRepository.findChatRoomBy(chatRoomId, memberId);
         chatRoomParticipant.leaveChatRoom();
+        roomMembershipCache.evict(chatRoomId);
     }
 
     private void validateIds(Long chatRoomId, Long memberId) {
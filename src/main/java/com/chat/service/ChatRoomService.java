@@ -9,28 +9,42 @@ import com.chat.repository.*;
 import com.chat.service.dtos.LastChatRead;
 import com.chat.service.dtos.SaveChatData;
 import com.chat.service.dtos.SaveChatRoomDTO;
+import com.chat.service.dtos.chat.ChatAck;
+import com.chat.service.dtos.chat.ChatNack;
 import com.chat.service.dtos.chat.EnterChatRoom;
 import com.chat.service.dtos.chat.SendChat;
 import com.chat.service.dtos.chat.UpdateChatRoom;
-import com.chat.socket.event.PublishMessageEvent;
+import com.chat.service.dedup.ClientMessageDeduplicator;
+import com.chat.service.membership.RoomMembership;
+import com.chat.service.membership.RoomMembershipCache;
+import com.chat.service.read.ChatReadTracker;
+import com.chat.socket.cluster.ClusterFanOut;
+import com.chat.socket.coalesce.RoomUpdateCoalescer;
+import com.chat.socket.event.ChatAckEvent;
+import com.chat.socket.event.ChatNackEvent;
+import com.chat.socket.event.ChatEventPublisher;
+import com.chat.socket.fanout.FanOutEngine;
+import com.chat.socket.fanout.FrameTemplate;
+import com.chat.socket.fanout.OutboundFrame;
 import com.chat.socket.manager.ChatRoomManager;
 import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.utils.key.MemberSetKey;
 import com.chat.utils.message.MessageType;
 import com.chat.utils.valid.IdValidator;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -42,19 +56,23 @@ import java.util.stream.Stream;
 public class ChatRoomService {
 
     private final ApplicationEventPublisher publisher;
+    private final ChatEventPublisher chatEventPublisher;
 
     private final ChatRoomParticipantService chatRoomParticipantService;
     private final ChatReadService chatReadService;
     private final ChatService chatService;
+    private final ChatReadTracker chatReadTracker;
+    private final RoomMembershipCache roomMembershipCache;
+    private final ClientMessageDeduplicator clientMessageDeduplicator;
 
     private final WebsocketSessionManager websocketSessionManager;
     private final ChatRoomManager chatRoomManager;
-    private final ObjectMapper objectMapper;
+    private final ClusterFanOut clusterFanOut;
+    private final FanOutEngine fanOutEngine;
+    private final RoomUpdateCoalescer roomUpdateCoalescer;
 
     private final ChatRoomRepository chatRoomRepository;
     private final ChatRoomParticipantRepository chatRoomParticipantRepository;
-    private final ChatRepository chatRepository;
-    private final ChatReadRepository chatReadRepository;
     private final MemberRepository memberRepository;
 
     @Transactional
@@ -72,59 +90,153 @@ public class ChatRoomService {
                 .lastReadChatId(lastChatRead != null ? lastChatRead.getLastChatReadId() : null)
                 .memberId(lastChatRead != null ? lastChatRead.getMemberId() : null)
                 .build();
-        chatRoomManager.broadcastEnterChatRoom(chatRoomId, enterChatRoom);
+        OutboundFrame enterFrame = fanOutEngine.frame(enterChatRoom);
+        clusterFanOut.publishToRoom(chatRoomId, enterFrame.getText());
+        chatRoomManager.broadcastToRoom(chatRoomId, enterFrame);
     }
 
+    /**
+     * @return 새 채팅을 저장했으면 true, 재전송이라 확인 응답만 보냈거나 거절했으면 false
+     */
     @Transactional
-    public void broadCastMessage(SendChat sendChat) {
+    public boolean broadCastMessage(SendChat sendChat) {
+        return saveAndPublishMessage(sendChat);
+    }
+
+    /**
+     * 여러 채팅을 하나의 트랜잭션으로 저장합니다.
+     * 전파 이벤트는 커밋 이후 발행되므로 발신자는 묶음 전체가 커밋된 뒤에 자신의 채팅을 전달받습니다.
+     *
+     * @return 새 채팅을 저장한 채팅방 ID
+     */
+    @Transactional
+    public Set<Long> broadCastMessages(List<SendChat> sendChats) {
+        Set<Long> savedChatRoomIds = new LinkedHashSet<>();
+        for (SendChat sendChat : sendChats) {
+            if (saveAndPublishMessage(sendChat)) {
+                savedChatRoomIds.add(sendChat.getChatRoomId());
+            }
+        }
+        return savedChatRoomIds;
+    }
+
+    /**
+     * 최근 저장 기록에 없는 재전송이 DB 유니크 제약 조건에 걸렸을 때, 이미 저장된 채팅 ID 로 발신자에게 확인 응답을 보냅니다.
+     *
+     * @return 이미 저장된 채팅이 있어 확인 응답을 보냈으면 true
+     */
+    @Transactional
+    public boolean acknowledgeDuplicate(SendChat sendChat) {
+        String clientMessageId = sendChat.getClientMessageId();
+        if (clientMessageId == null) {
+            return false;
+        }
+
+        Long savedChatId = chatService.findChatIdBy(sendChat.getSenderId(), clientMessageId);
+        if (savedChatId == null) {
+            return false;
+        }
+
+        clientMessageDeduplicator.remember(sendChat.getSenderId(), clientMessageId, savedChatId);
+        publishAck(sendChat, savedChatId);
+        return true;
+    }
+
+    /**
+     * 저장하지 못한 채팅을 발신자에게 거절 응답으로 알립니다.
+     */
+    public void rejectMessage(SendChat sendChat, ErrorCode errorCode) {
+        publisher.publishEvent(new ChatNackEvent(sendChat.getSenderId(), ChatNack.of(sendChat, errorCode)));
+    }
+
+    private boolean saveAndPublishMessage(SendChat sendChat) {
         Long chatRoomId = sendChat.getChatRoomId();
-        Set<WebSocketSession> SessionsInChatRoom = chatRoomManager.getWebSocketSessionBy(chatRoomId);
 
         Long senderId = sendChat.getSenderId();
         String message = sendChat.getMessage();
-        Long saveChatId = chatService.saveChat(senderId, chatRoomId, message);
+        String clientMessageId = sendChat.getClientMessageId();
+
+        if (clientMessageId != null) {
+            // 저장할 수 없는 clientMessageId 는 예외 대신 거절 응답을 보내 클라이언트가 재전송을 멈추게 한다
+            if (!isValidClientMessageId(clientMessageId)) {
+                publisher.publishEvent(new ChatNackEvent(senderId,
+                        ChatNack.of(sendChat, ErrorCode.INVALID_CLIENT_MESSAGE_ID)));
+                return false;
+            }
+
+            // 재전송된 채팅은 다시 저장하지 않고 처음 저장한 채팅 ID 로 확인 응답만 보낸다
+            Long savedChatId = clientMessageDeduplicator.findChatId(senderId, clientMessageId);
+            if (savedChatId != null) {
+                publishAck(sendChat, savedChatId);
+                return false;
+            }
+        }
+
+        Long saveChatId = chatService.saveChat(senderId, chatRoomId, message, clientMessageId);
+        if (clientMessageId != null) {
+            clientMessageDeduplicator.remember(senderId, clientMessageId, saveChatId);
+        }
 
         SaveChatData chatData = chatService.findChatData(saveChatId);
         sendChat.updateSavedChat(chatData);
 
-        publisher.publishEvent(new PublishMessageEvent(sendChat, SessionsInChatRoom));
-//        chatBroadcastListener.publishMessageToSessions(new PublishMessageEvent(sendChat, SessionsInChatRoom));
+        // 전파 대상 세션은 커밋 이후 fan-out 단계에서 조회, 발신자 확인 응답도 함께 보낸다
+        chatEventPublisher.publish(sendChat);
+        return true;
+    }
+
+    private void publishAck(SendChat sendChat, Long chatId) {
+        ChatAck chatAck = ChatAck.builder()
+                .messageType(MessageType.CHAT_ACK)
+                .chatRoomId(sendChat.getChatRoomId())
+                .clientMessageId(sendChat.getClientMessageId())
+                .chatId(chatId)
+                .build();
+
+        publisher.publishEvent(new ChatAckEvent(sendChat.getSenderId(), chatAck));
+    }
+
+    private boolean isValidClientMessageId(String clientMessageId) {
+        return clientMessageId.length() <= Chat.CLIENT_MESSAGE_ID_MAX_LENGTH;
     }
 
     public void broadcastToChatRoomMembers(Long chatRoomId) {
 
-        Pageable limitOne = createLimitOne();
+        ChatRoom findChatRoom = chatRoomRepository.findById(chatRoomId).orElseThrow(
+                () -> new CustomException(ErrorCode.CHAT_ROOM_NOT_EXIST)
+        );
 
-        List<Long> memberIdsInChatRoom = memberRepository.findMemberIdsIn(chatRoomId);
-        for (Long memberId : memberIdsInChatRoom) {
+        // 채팅방 정보는 한 번만 직렬화하고 참여자별 읽지 않은 채팅 수만 바꿔 끼운다
+        FrameTemplate template = fanOutEngine.template(
+                updateChatRoomOf(findChatRoom, FrameTemplate.SENTINEL), "unReadCount");
+        Map<Long, OutboundFrame> frames = new HashMap<>();
 
-            WebSocketSession session = websocketSessionManager.getSessionBy(memberId);
-            if (session == null) {
-                return;
+        RoomMembership membership = roomMembershipCache.get(chatRoomId);
+        Map<Long, Long> unReadCounts = null;
+        for (int i = 0; i < membership.size(); i++) {
+
+            Long memberId = membership.memberIdAt(i);
+
+            // 참여자 전체의 읽지 않은 채팅 수는 처음 필요할 때 한 번에 조회
+            if (unReadCounts == null) {
+                unReadCounts = chatReadTracker.countUnReadChatsByMember(chatRoomId);
             }
+            Long unReadCount = unReadCounts.getOrDefault(memberId, 0L);
 
-            Chat lastChat = chatRepository
-                    .findLastChatBy(chatRoomId, limitOne)
-                    .stream()
-                    .findFirst()
-                    .orElse(null);
-            Long unReadCount = chatReadRepository.findUnReadCountBy(chatRoomId, memberId);
+            // 읽지 않은 채팅 수가 같은 참여자는 같은 프레임을 공유하고, 바이너리 프레임도 메시지에서 한 번만 인코딩
+            OutboundFrame frame = frames.computeIfAbsent(unReadCount,
+                    count -> OutboundFrame.of(template.render(count), updateChatRoomOf(findChatRoom, count)));
 
-            UpdateChatRoom updateChatRoom = UpdateChatRoom
-                    .builder()
-                    .messageType(MessageType.UPDATE_CHAT_ROOM)
-                    .chatRoomId(chatRoomId)
-                    .lastMessage(lastChat != null ? lastChat.getMessage() : null)
-                    .createdDate(lastChat != null ? lastChat.getCreatedDate() : null)
-                    .unReadCount(unReadCount)
-                    .build();
-
-            try {
-                String updateChatRoomString = objectMapper.writeValueAsString(updateChatRoom);
-                session.sendMessage(new TextMessage(updateChatRoomString));
-            } catch (IOException e) {
-                throw new CustomException(ErrorCode.CHAT_ROOM_BROADCAST_IO_EXCEPTION);
+            // 이 노드에 세션이 없는 참여자는 다른 노드에 접속해 있을 수 있으므로 클러스터 버스로 넘기고,
+            // 그 참여자의 세션이 있는 노드만 전송한다
+            WebSocketSession session = websocketSessionManager.getSessionBy(memberId);
+            if (session == null) {
+                clusterFanOut.publishToMember(memberId, frame.getText());
+                continue;
             }
+
+            // 주기 안에 같은 채팅방 갱신이 또 오면 마지막 프레임만 전송
+            roomUpdateCoalescer.submit(memberId, session, chatRoomId, frame);
         }
     }
 
@@ -139,20 +251,73 @@ public class ChatRoomService {
                 () -> new CustomException(ErrorCode.MEMBER_NOT_FOUND));
         List<Member> findReceivers = findReceiverMembers(saveChatRoomDTO.getReceiverIds());
 
-        isExistChatRoom(senderId, receiverIds);
+        String memberSetKey = createMemberSetKey(senderId, receiverIds);
+        isExistChatRoom(memberSetKey);
 
         List<String> participants = createParticipants(findSender, findReceivers);
 
         String title = ensureTitle(saveChatRoomDTO.getTitle(), participants);
 
-        ChatRoom chatRoom = ChatRoom.of(title);
-        ChatRoom savedChatRoom = chatRoomRepository.save(chatRoom);
+        ChatRoom chatRoom = ChatRoom.of(title, memberSetKey);
+        ChatRoom savedChatRoom = saveUniqueChatRoom(chatRoom);
 
         saveChatRoomParticipants(savedChatRoom, findSender, findReceivers);
+        roomMembershipCache.evict(savedChatRoom.getId());
 
         return savedChatRoom.getId();
     }
 
+    /**
+     * 참여자 구성 키가 없는 채팅방에 키를 채웁니다.
+     * 이미 같은 참여자 구성의 채팅방이 있다면 먼저 조회된 채팅방에만 키를 채웁니다.
+     */
+    @Transactional
+    public int backfillMemberSetKeys() {
+        List<ChatRoom> chatRooms = chatRoomRepository.findAllByMemberSetKeyIsNull();
+        if (chatRooms.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> chatRoomIds = chatRooms.stream()
+                .map(ChatRoom::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Long>> memberIdsByChatRoom = chatRoomParticipantRepository
+                .findAllFetchMemberIn(chatRoomIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        chatRoomParticipant -> chatRoomParticipant.getChatRoom().getId(),
+                        Collectors.mapping(chatRoomParticipant -> chatRoomParticipant.getMember().getId(), Collectors.toList())));
+
+        Set<String> assignedKeys = new HashSet<>();
+        int updatedCount = 0;
+        for (ChatRoom chatRoom : chatRooms) {
+            List<Long> memberIds = memberIdsByChatRoom.get(chatRoom.getId());
+            if (memberIds == null) {
+                continue;
+            }
+
+            String memberSetKey = MemberSetKey.of(memberIds);
+            if (!assignedKeys.add(memberSetKey) || chatRoomRepository.existsByMemberSetKey(memberSetKey)) {
+                log.warn("Skip member set key backfill for duplicated chat room: {}", chatRoom.getId());
+                continue;
+            }
+
+            chatRoom.assignMemberSetKey(memberSetKey);
+            updatedCount++;
+        }
+
+        return updatedCount;
+    }
+
+    /**
+     * 마지막 채팅 스냅샷이 없는 채팅방을 기존 채팅 데이터로 채웁니다.
+     */
+    @Transactional
+    public int backfillLastChats() {
+        chatRoomRepository.backfillLastChatIds();
+        return chatRoomRepository.backfillLastChats();
+    }
+
     private void isSenderIncludeInReceivers(Long senderId, Set<Long> receiverIds) {
         if (receiverIds.contains(senderId)) {
             throw new CustomException(ErrorCode.Include_Sender_In_Receivers);
@@ -167,12 +332,24 @@ public class ChatRoomService {
         return receivers;
     }
 
-    private void isExistChatRoom(Long senderId, Set<Long> receiverIds) {
+    private String createMemberSetKey(Long senderId, Set<Long> receiverIds) {
         List<Long> memberIds = Stream.concat(Stream.of(senderId), receiverIds.stream())
                 .collect(Collectors.toList());
 
-        List<Long> chatRoomIds = chatRoomParticipantRepository.findChatRoomIdsByExactMembers(memberIds, memberIds.size());
-        if (!chatRoomIds.isEmpty()) {
+        return MemberSetKey.of(memberIds);
+    }
+
+    private void isExistChatRoom(String memberSetKey) {
+        if (chatRoomRepository.existsByMemberSetKey(memberSetKey)) {
+            throw new CustomException(ErrorCode.CHAT_ROOM_ALREADY_EXIST);
+        }
+    }
+
+    // 같은 참여자 구성의 채팅방이 동시에 생성되면 유니크 제약 조건 위반으로 하나만 저장된다
+    private ChatRoom saveUniqueChatRoom(ChatRoom chatRoom) {
+        try {
+            return chatRoomRepository.saveAndFlush(chatRoom);
+        } catch (DataIntegrityViolationException e) {
             throw new CustomException(ErrorCode.CHAT_ROOM_ALREADY_EXIST);
         }
     }
@@ -221,39 +398,45 @@ public class ChatRoomService {
         return createChatRoomsResponse(findMember.getId());
     }
 
+    /**
+     * 채팅방 수와 무관하게 참여 채팅방 조회, 채팅방별 읽지 않은 채팅 수 조회, 상대방 조회 세 번의 쿼리로 목록을 구성합니다.
+     * 마지막 메시지는 채팅방의 마지막 채팅 스냅샷을 사용합니다.
+     */
     private List<ChatRoomsResponse> createChatRoomsResponse(Long memberId) {
 
-        List<ChatRoomsResponse> chatRoomsResponses = new ArrayList<>();
-        Pageable limitOne = createLimitOne();
-
         List<ChatRoomParticipant> chatRoomParticipants
-                = chatRoomParticipantRepository.findAllBy(memberId);
-        for (ChatRoomParticipant findChatRoomParticipant : chatRoomParticipants) {
+                = chatRoomParticipantRepository.findAllFetchChatRoomBy(memberId);
+        if (chatRoomParticipants.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-            ChatRoom chatRoom = findChatRoomParticipant.getChatRoom();
-            Long chatRoomId = chatRoom.getId();
+        List<Long> chatRoomIds = chatRoomParticipants.stream()
+                .map(chatRoomParticipant -> chatRoomParticipant.getChatRoom().getId())
+                .collect(Collectors.toList());
 
-            Chat lastChat = chatRepository
-                    .findLastChatBy(chatRoomId, limitOne)
-                    .stream()
-                    .findFirst()
-                    .orElse(null);
+        Map<Long, Long> unReadCounts = chatReadTracker.countUnReadChatsByChatRoom(memberId);
 
-            Long unReadCount
-                    = chatReadRepository.findUnReadCountBy(chatRoomId, memberId);
+        Map<Long, List<ChatRoomParticipant>> participantsByChatRoom = chatRoomParticipantRepository
+                .findAllFetchMemberIn(chatRoomIds)
+                .stream()
+                .collect(Collectors.groupingBy(chatRoomParticipant -> chatRoomParticipant.getChatRoom().getId()));
 
-            List<ChatRoomParticipant> findChatRoomParticipantsByChatRoom
-                    = chatRoomParticipantRepository.findAllFetchMemberBy(chatRoomId);
+        List<ChatRoomsResponse> chatRoomsResponses = new ArrayList<>();
+        for (ChatRoomParticipant findChatRoomParticipant : chatRoomParticipants) {
 
-            List<OpponentResponse> opponents = createOpponentResponses(findChatRoomParticipantsByChatRoom, memberId);
+            ChatRoom chatRoom = findChatRoomParticipant.getChatRoom();
+            Long chatRoomId = chatRoom.getId();
+
+            List<OpponentResponse> opponents = createOpponentResponses(
+                    participantsByChatRoom.getOrDefault(chatRoomId, List.of()), memberId);
 
             ChatRoomsResponse.ChatRoomsResponseBuilder chatRoomsResponseBuilder = ChatRoomsResponse
                     .builder()
                     .title(chatRoom.getTitle())
                     .chatRoomId(chatRoomId)
-                    .lastMessage(lastChat != null ? lastChat.getMessage() : null)
-                    .createdDate(lastChat != null ? lastChat.getCreatedDate() : null)
-                    .unReadCount(unReadCount)
+                    .lastMessage(chatRoom.getLastMessage())
+                    .createdDate(chatRoom.getLastChatDate())
+                    .unReadCount(unReadCounts.getOrDefault(chatRoomId, 0L))
                     .opponents(opponents);
 
             chatRoomsResponses.add(chatRoomsResponseBuilder.build());
@@ -262,10 +445,6 @@ public class ChatRoomService {
         return chatRoomsResponses;
     }
 
-    private Pageable createLimitOne() {
-        return PageRequest.of(0, 1);
-    }
-
     private List<OpponentResponse> createOpponentResponses(List<ChatRoomParticipant> chatRoomParticipants, Long memberId) {
         return chatRoomParticipants.stream()
                 .map(ChatRoomParticipant::getMember)
@@ -273,4 +452,15 @@ public class ChatRoomService {
                 .map(member -> new OpponentResponse(member.getId(), member.getNickname()))
                 .collect(Collectors.toList());
     }
+
+    private UpdateChatRoom updateChatRoomOf(ChatRoom chatRoom, Long unReadCount) {
+        return UpdateChatRoom
+                .builder()
+                .messageType(MessageType.UPDATE_CHAT_ROOM)
+                .chatRoomId(chatRoom.getId())
+                .lastMessage(chatRoom.getLastMessage())
+                .createdDate(chatRoom.getLastChatDate())
+                .unReadCount(unReadCount)
+                .build();
+    }
 }
@@ -5,14 +5,21 @@ import com.chat.exception.CustomException;
 import com.chat.exception.ErrorCode;
 import com.chat.repository.*;
 import com.chat.service.dtos.ChatHistory;
+import com.chat.service.dtos.ChatHistoryPage;
 import com.chat.service.dtos.SaveChatData;
+import com.chat.service.read.ChatReadTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -20,17 +27,19 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class ChatService {
 
+    public static final int DEFAULT_HISTORY_SIZE = 50; // 채팅 내역 기본 조회 개수
+    public static final int MAX_HISTORY_SIZE = 200; // 채팅 내역 최대 조회 개수
+
     private final ChatRepository chatRepository;
-    private final ChatReadRepository chatReadRepository;
+    private final ChatReadTracker chatReadTracker;
     private final ChatRoomRepository chatRoomRepository;
-    private final ChatRoomParticipantRepository chatRoomParticipantRepository;
     private final MemberRepository memberRepository;
 
     public SaveChatData findChatData(Long chatId) {
         Chat findChat = chatRepository.findById(chatId).orElseThrow(
                 () -> new CustomException(ErrorCode.CHAT_NOT_EXIST)
         );
-        Long unReadcount = chatReadRepository.findUnReadCountBy(chatId);
+        Long unReadcount = chatReadTracker.countUnReadMembers(chatId);
 
         return SaveChatData
                 .builder()
@@ -42,6 +51,14 @@ public class ChatService {
 
     @Transactional
     public Long saveChat(Long senderId, Long chatRoomId, String message) {
+        return saveChat(senderId, chatRoomId, message, null);
+    }
+
+    /**
+     * clientMessageId 가 있으면 발신자 기준으로 유일해야 하며, 이미 저장된 값이면 커밋 시 유니크 제약 조건 위반으로 실패합니다.
+     */
+    @Transactional
+    public Long saveChat(Long senderId, Long chatRoomId, String message, String clientMessageId) {
 
         Member findSender = memberRepository.findById(senderId).orElseThrow(
                 () -> new CustomException(ErrorCode.MEMBER_NOT_FOUND)
@@ -50,61 +67,110 @@ public class ChatService {
                 () -> new CustomException(ErrorCode.CHAT_ROOM_NOT_EXIST)
         );
 
-        Chat savedChat = chatRepository.save(new Chat(message, findSender, findChatRoom));
-        saveChatRead(findSender.getId(), findChatRoom.getId(), savedChat);
+        Chat savedChat = chatRepository.save(new Chat(message, findSender, findChatRoom, clientMessageId));
+        chatReadTracker.saveChatRead(findSender.getId(), findChatRoom.getId(), savedChat);
+
+        // 채팅방의 마지막 채팅 스냅샷은 조건부 UPDATE 로만 갱신한다
+        // 영속성 컨텍스트의 채팅방을 함께 바꾸면 변경 감지가 조건 없는 UPDATE 를 한 번 더 실행해 조건부 갱신 결과를 덮어쓴다
+        chatRoomRepository.updateLastChat(findChatRoom.getId(), savedChat.getId(), savedChat.getMessage(),
+                findSender.getId(), savedChat.getCreatedDate());
 
         return savedChat.getId();
     }
 
-    private void saveChatRead(Long senderId, Long chatRoomId, Chat chat) {
-
-        // 내가 보낸 메시지 이전의 메시지 모두 읽음처리
-        chatReadRepository.updateUnreadChatReadsToRead(senderId, chatRoomId);
-
-        // 읽음 저장
-        List<ChatRoomParticipant> findChatRoomParticipants
-                = chatRoomParticipantRepository
-                .findAllFetchMemberBy(chatRoomId);
-
-        for (ChatRoomParticipant findChatRoomParticipant : findChatRoomParticipants) {
-
-            Member participant = findChatRoomParticipant.getMember();
-
-            if (!participant.getId().equals(senderId)) {
-                boolean isRead = findChatRoomParticipant.isParticipate();
-                ChatRead chatRead = new ChatRead(isRead, participant, chat);
-                chatReadRepository.save(chatRead);
-            } else {
-                chatReadRepository.save(new ChatRead(true, participant, chat));
-            }
-        }
+    public Long findChatIdBy(Long senderId, String clientMessageId) {
+        return chatRepository.findChatIdBy(senderId, clientMessageId).orElse(null);
     }
 
+    /**
+     * 채팅방의 최근 채팅 내역을 기본 조회 개수만큼 조회합니다.
+     */
     @Transactional
     public List<ChatHistory> findChatHistory(Long chatRoomId, Long memberId) {
+        return findChatHistoryPage(chatRoomId, memberId, null, null, DEFAULT_HISTORY_SIZE).getChatHistories();
+    }
+
+    /**
+     * 채팅 ID 커서 기반으로 채팅 내역을 조회합니다.
+     * beforeChatId 가 있으면 그 이전 채팅을, afterChatId 가 있으면 그 이후 채팅을, 둘 다 없으면 최근 채팅을 조회합니다.
+     * 조회 결과는 항상 채팅 ID 오름차순이며, 다음 페이지가 있을 때만 nextCursor 를 채웁니다.
+     */
+    @Transactional
+    public ChatHistoryPage findChatHistoryPage(Long chatRoomId, Long memberId,
+                                               Long beforeChatId, Long afterChatId, Integer size) {
+
+        if (beforeChatId != null && afterChatId != null) {
+            throw new CustomException(ErrorCode.INVALID_CHAT_CURSOR);
+        }
 
         Member findMember = memberRepository.findById(memberId).orElseThrow(
                 () -> new CustomException(ErrorCode.MEMBER_NOT_FOUND)
         );
 
-        return createChatHistoryResponse(chatRoomId, findMember.getId());
+        int pageSize = normalizeHistorySize(size);
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Chat> findChats;
+        if (afterChatId != null) {
+            findChats = chatRepository.findChatsAfter(chatRoomId, afterChatId, limit);
+        } else if (beforeChatId != null) {
+            findChats = chatRepository.findChatsBefore(chatRoomId, beforeChatId, limit);
+        } else {
+            findChats = chatRepository.findLatestChats(chatRoomId, limit);
+        }
+
+        boolean hasNext = findChats.size() > pageSize;
+        List<Chat> pageChats = new ArrayList<>(hasNext ? findChats.subList(0, pageSize) : findChats);
+
+        // 이전 채팅 조회는 ID 내림차순으로 조회되므로 오름차순으로 정렬
+        if (afterChatId == null) {
+            Collections.reverse(pageChats);
+        }
+
+        // 과거 채팅을 거슬러 조회할 때는 이미 읽음 처리가 끝난 상태
+        // 이후 채팅은 이번 페이지에 담긴 마지막 채팅까지만 읽음 처리
+        if (beforeChatId == null && !pageChats.isEmpty()) {
+            Long lastPageChatId = pageChats.get(pageChats.size() - 1).getId();
+            chatReadTracker.readUpTo(findMember.getId(), chatRoomId, lastPageChatId);
+        }
+
+        Long nextCursor = null;
+        if (hasNext) {
+            Chat cursorChat = afterChatId == null ? pageChats.get(0) : pageChats.get(pageChats.size() - 1);
+            nextCursor = cursorChat.getId();
+        }
+
+        return ChatHistoryPage
+                .builder()
+                .chatHistories(createChatHistoryResponse(pageChats))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private int normalizeHistorySize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_HISTORY_SIZE;
+        }
+        return Math.min(size, MAX_HISTORY_SIZE);
     }
 
-    private List<ChatHistory> createChatHistoryResponse(Long chatRoomId, Long memberId) {
-        List<Chat> findChatHistory = chatRepository.findChatHistory(chatRoomId);
+    private List<ChatHistory> createChatHistoryResponse(List<Chat> chats) {
+
+        // 페이지 내 채팅들의 읽지 않은 회원 수를 한 번에 조회
+        List<Long> chatIds = chats.stream()
+                .map(Chat::getId)
+                .collect(Collectors.toList());
+        Map<Long, Long> unReadCounts = chatReadTracker.countUnReadMembers(chatIds);
 
         List<ChatHistory> chatHistories = new ArrayList<>();
 
-        for (Chat chat : findChatHistory) {
+        for (Chat chat : chats) {
 
             Member sender = chat.getMember();
 
-            ChatRead findChatRead = chatReadRepository.findBy(chat.getId(), memberId);
-            if (findChatRead != null) {
-                findChatRead.updateIsReadTrue();
-            }
-
-            Long unReadCount = chatReadRepository.findUnReadCountBy(chat.getId());
+            Long unReadCount = unReadCounts.getOrDefault(chat.getId(), 0L);
 
             ChatHistory chatHistory = ChatHistory.builder()
                     .chatId(chat.getId())
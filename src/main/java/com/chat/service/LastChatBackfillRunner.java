@@ -0,0 +1,26 @@
+package com.chat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 마지막 채팅 스냅샷 도입 이전에 생성된 채팅방의 스냅샷을 기존 채팅 데이터로 채웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.room.backfill-last-chat-on-startup", havingValue = "true")
+public class LastChatBackfillRunner implements ApplicationRunner {
+
+    private final ChatRoomService chatRoomService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int updatedCount = chatRoomService.backfillLastChats();
+        log.info("Backfilled last chat snapshots for {} chat rooms", updatedCount);
+    }
+}
@@ -15,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.socket.WebSocketSession;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -84,18 +85,21 @@ public class MemberService {
         return getMembersResponses;
     }
 
-    public void removeSession(Long memberId) {
+    /**
+     * 닫힌 세션이 등록된 채팅방에서만 나가고 세션을 정리합니다.
+     * 재접속해 새 세션이 이미 등록되었으면 늦게 닫힌 이전 세션이 새 세션의 채팅방 참여와 연결을 정리하지 않습니다.
+     */
+    public void removeSession(Long memberId, WebSocketSession closedSession) {
 
         Set<Long> chatRoomIds = chatRoomManager.getChatRoomIdsBy(memberId);
-        if (chatRoomIds == null || chatRoomIds.isEmpty()) {
-            return;
+        if (chatRoomIds != null) {
+            for (Long chatRoomId : chatRoomIds) {
+                if (chatRoomManager.removeChatRoomSession(chatRoomId, memberId, closedSession)) {
+                    chatRoomParticipantService.leaveChatRoom(chatRoomId, memberId);
+                }
+            }
         }
 
-        for (Long chatRoomId : chatRoomIds) {
-            chatRoomParticipantService.leaveChatRoom(chatRoomId, memberId);
-            chatRoomManager.removeChatRoomSession(chatRoomId, memberId);
-        }
-
-        websocketSessionManager.removeSession(memberId);
+        websocketSessionManager.removeSession(memberId, closedSession);
     }
 }
@@ -0,0 +1,26 @@
+package com.chat.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 참여자 구성 키 도입 이전에 생성된 채팅방에 기존 참여자 정보로 키를 채웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.room.backfill-member-set-key-on-startup", havingValue = "true")
+public class MemberSetKeyBackfillRunner implements ApplicationRunner {
+
+    private final ChatRoomService chatRoomService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int updatedCount = chatRoomService.backfillMemberSetKeys();
+        log.info("Backfilled member set keys for {} chat rooms", updatedCount);
+    }
+}
@@ -0,0 +1,114 @@
+package com.chat.service.dedup;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 발신자별로 최근에 저장한 clientMessageId 와 채팅 ID 를 보관해 재전송된 채팅을 저장하지 않고 걸러냅니다.
+ * 발신자마다 최근 windowSize 개만 LRU 로 유지하며, 창을 벗어난 재전송은 DB 유니크 제약 조건으로 걸러집니다.
+ */
+@Component
+public class ClientMessageDeduplicator {
+
+    private final int windowSize;
+    private final int maxSenders;
+
+    private final Map<Long, SenderWindow> windows = new ConcurrentHashMap<>();
+    private final LongAdder duplicateCount = new LongAdder();
+
+    public ClientMessageDeduplicator(@Value("${chat.dedup.window-size:256}") int windowSize,
+                                     @Value("${chat.dedup.max-senders:100000}") int maxSenders) {
+        this.windowSize = windowSize;
+        this.maxSenders = maxSenders;
+    }
+
+    /**
+     * @return 같은 clientMessageId 로 이미 저장한 채팅 ID, 없으면 null
+     */
+    public Long findChatId(Long senderId, String clientMessageId) {
+        SenderWindow window = windows.get(senderId);
+        Long chatId = window == null ? null : window.get(clientMessageId);
+
+        if (chatId != null) {
+            duplicateCount.increment();
+        }
+        return chatId;
+    }
+
+    /**
+     * 저장한 채팅을 기록합니다. 트랜잭션 안이라면 롤백될 때 기록을 지워 재전송이 다시 저장되도록 합니다.
+     */
+    public void remember(Long senderId, String clientMessageId, Long chatId) {
+        SenderWindow window = windows.get(senderId);
+        if (window == null) {
+            if (windows.size() >= maxSenders) {
+                evictAny();
+            }
+            window = windows.computeIfAbsent(senderId, key -> new SenderWindow(windowSize));
+        }
+        window.put(clientMessageId, chatId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            SenderWindow rememberedWindow = window;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        rememberedWindow.remove(clientMessageId, chatId);
+                    }
+                }
+            });
+        }
+    }
+
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+
+    public void clear() {
+        windows.clear();
+    }
+
+    // 창이 사라진 발신자의 재전송은 DB 유니크 제약 조건으로 걸러지므로 어떤 발신자를 비워도 정확성에는 영향이 없다
+    private void evictAny() {
+        Iterator<Long> iterator = windows.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static class SenderWindow {
+
+        private final LinkedHashMap<String, Long> chatIds;
+
+        private SenderWindow(int windowSize) {
+            this.chatIds = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > windowSize;
+                }
+            };
+        }
+
+        private synchronized Long get(String clientMessageId) {
+            return chatIds.get(clientMessageId);
+        }
+
+        private synchronized void put(String clientMessageId, Long chatId) {
+            chatIds.put(clientMessageId, chatId);
+        }
+
+        private synchronized void remove(String clientMessageId, Long chatId) {
+            chatIds.remove(clientMessageId, chatId);
+        }
+    }
+}
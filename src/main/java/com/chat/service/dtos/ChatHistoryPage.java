@@ -0,0 +1,21 @@
+package com.chat.service.dtos;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ChatHistoryPage {
+
+    private List<ChatHistory> chatHistories; // 채팅 ID 오름차순
+    private Long nextCursor; // 다음 페이지 조회 시 beforeChatId(또는 afterChatId) 로 사용
+    private boolean hasNext;
+
+    @Builder
+    public ChatHistoryPage(List<ChatHistory> chatHistories, Long nextCursor, boolean hasNext) {
+        this.chatHistories = chatHistories;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+}
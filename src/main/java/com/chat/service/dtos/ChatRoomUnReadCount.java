@@ -0,0 +1,16 @@
+package com.chat.service.dtos;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class ChatRoomUnReadCount {
+    private Long chatRoomId;
+    private Long unReadCount;
+
+    public ChatRoomUnReadCount(Long chatRoomId, Long unReadCount) {
+        this.chatRoomId = chatRoomId;
+        this.unReadCount = unReadCount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.chat.service.dtos;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class ChatUnReadCount {
+    private Long chatId;
+    private Long unReadCount;
+
+    public ChatUnReadCount(Long chatId, Long unReadCount) {
+        this.chatId = chatId;
+        this.unReadCount = unReadCount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.chat.service.dtos;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class MemberUnReadCount {
+    private Long memberId;
+    private Long unReadCount;
+
+    public MemberUnReadCount(Long memberId, Long unReadCount) {
+        this.memberId = memberId;
+        this.unReadCount = unReadCount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.chat.service.dtos;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+public class ParticipantMembership {
+    private Long memberId;
+    private boolean isParticipate;
+
+    public ParticipantMembership(Long memberId, boolean isParticipate) {
+        this.memberId = memberId;
+        this.isParticipate = isParticipate;
+    }
+}
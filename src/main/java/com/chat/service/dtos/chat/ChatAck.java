@@ -0,0 +1,37 @@
+package com.chat.service.dtos.chat;
+
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.chat.utils.message.MessageType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발신자에게 clientMessageId 로 보낸 채팅이 저장되었음을 알립니다.
+ * 재전송된 채팅이면 처음 저장한 채팅의 ID 를 다시 보냅니다.
+ */
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class ChatAck extends BaseWebSocketMessage {
+
+    private Long chatRoomId;
+    private String clientMessageId;
+    private Long chatId;
+    private LocalDateTime createDate;
+
+    /**
+     * 저장이 끝난 채팅의 확인 응답을 만듭니다.
+     */
+    public static ChatAck of(SendChat sendChat) {
+        return ChatAck.builder()
+                .messageType(MessageType.CHAT_ACK)
+                .chatRoomId(sendChat.getChatRoomId())
+                .clientMessageId(sendChat.getClientMessageId())
+                .chatId(sendChat.getChatId())
+                .createDate(sendChat.getCreateDate())
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.chat.service.dtos.chat;
+
+import com.chat.exception.ErrorCode;
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.chat.utils.message.MessageType;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * 발신자에게 clientMessageId 로 보낸 채팅을 저장하지 않고 거절했음을 알립니다.
+ * INVALID_CLIENT_MESSAGE_ID 처럼 요청이 잘못된 경우는 다시 보내도 저장되지 않으므로 클라이언트는 재전송을 멈춰야 하고,
+ * CHAT_PERSIST_FAILED 는 같은 clientMessageId 로 다시 보내면 한 번만 저장됩니다.
+ */
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class ChatNack extends BaseWebSocketMessage {
+
+    private Long chatRoomId;
+    private String clientMessageId;
+    private String code;
+    private String reason;
+
+    public static ChatNack of(SendChat sendChat, ErrorCode errorCode) {
+        return ChatNack.builder()
+                .messageType(MessageType.CHAT_NACK)
+                .chatRoomId(sendChat.getChatRoomId())
+                .clientMessageId(sendChat.getClientMessageId())
+                .code(errorCode.name())
+                .reason(errorCode.getErrorMessage())
+                .build();
+    }
+}
@@ -2,10 +2,12 @@ package com.chat.service.dtos.chat;
 
 import com.chat.utils.message.BaseWebSocketMessage;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 @Getter
 @SuperBuilder
+@NoArgsConstructor
 public class EnterChatRoom extends BaseWebSocketMessage {
     private Long memberId;
     private Long lastReadChatId;
@@ -0,0 +1,25 @@
+package com.chat.service.dtos.chat;
+
+import com.chat.service.dtos.ChatHistory;
+import com.chat.utils.message.BaseWebSocketMessage;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+/**
+ * 재접속한 클라이언트가 놓친 채팅이 최근 채팅 버퍼보다 많을 때 DB 에서 조회해 보내는 채팅 내역입니다.
+ * hasNext 가 true 면 nextCursor 를 afterChatId 로 /api/chats/page 를 이어서 조회합니다.
+ */
+@Getter
+@SuperBuilder
+@NoArgsConstructor
+public class ResumeChatRoom extends BaseWebSocketMessage {
+
+    private Long chatRoomId;
+    private Long lastChatId;
+    private List<ChatHistory> chatHistories; // 채팅 ID 오름차순
+    private Long nextCursor;
+    private boolean hasNext;
+}
@@ -20,6 +20,7 @@ public class SendChat extends BaseWebSocketMessage {
     private Long chatId;
     private Long unReadCount;
     private LocalDateTime createDate;
+    private String clientMessageId; // 클라이언트가 만든 채팅 ID, 재전송 시 같은 값을 보낸다
 
     private SendChat(Long senderId, String senderNickname, Long chatRoomId, String message) {
         this.senderId = senderId;
@@ -0,0 +1,55 @@
+package com.chat.service.membership;
+
+import com.chat.service.dtos.ParticipantMembership;
+
+import java.util.List;
+
+/**
+ * 채팅방 참여자 ID 와 채팅방 접속 여부를 원시 타입 배열로 보관합니다.
+ * 한 번 생성되면 변경되지 않으므로 여러 스레드에서 그대로 공유합니다.
+ */
+public class RoomMembership {
+
+    private final long[] memberIds;
+    private final boolean[] participates;
+
+    private RoomMembership(long[] memberIds, boolean[] participates) {
+        this.memberIds = memberIds;
+        this.participates = participates;
+    }
+
+    public static RoomMembership of(List<ParticipantMembership> participantMemberships) {
+        int size = participantMemberships.size();
+        long[] memberIds = new long[size];
+        boolean[] participates = new boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            ParticipantMembership participantMembership = participantMemberships.get(i);
+            memberIds[i] = participantMembership.getMemberId();
+            participates[i] = participantMembership.isParticipate();
+        }
+
+        return new RoomMembership(memberIds, participates);
+    }
+
+    public int size() {
+        return memberIds.length;
+    }
+
+    public long memberIdAt(int index) {
+        return memberIds[index];
+    }
+
+    public boolean isParticipateAt(int index) {
+        return participates[index];
+    }
+
+    public boolean contains(long memberId) {
+        for (long id : memberIds) {
+            if (id == memberId) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,182 @@
+package com.chat.service.membership;
+
+import com.chat.repository.ChatRoomParticipantRepository;
+import com.chat.socket.cluster.ClusterBus;
+import com.chat.socket.cluster.ClusterEvent;
+import com.chat.socket.cluster.ClusterEventType;
+import com.chat.socket.cluster.ClusterMembershipListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅방 ID 별 참여자 구성을 메모리에 보관해 채팅 전송 시 참여자 조회 쿼리를 생략합니다.
+ * 채팅방 생성, 입장, 퇴장처럼 참여자 정보가 바뀌면 evict 로 무효화하고, 클러스터 버스로 다른 노드의 캐시도 무효화합니다.
+ * 조회 중에 무효화되면 조회한 결과를 캐시하지 않으므로, 무효화 이전의 참여자 정보가 다시 캐시되지 않습니다.
+ * 연결이 끊긴 동안 다른 노드가 발행한 무효화는 전달되지 않으므로, 다른 노드가 연결되거나 다시 연결되면 캐시를 모두 비웁니다.
+ */
+@Slf4j
+@Component
+public class RoomMembershipCache {
+
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+    private final ChatRoomParticipantRepository chatRoomParticipantRepository;
+    private final ClusterBus clusterBus;
+    private final int maxSize;
+
+    private final Map<Long, Entry> memberships = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder clearCount = new LongAdder();
+
+    public RoomMembershipCache(ChatRoomParticipantRepository chatRoomParticipantRepository,
+                               ClusterBus clusterBus,
+                               @Value("${chat.membership-cache.max-size:10000}") int maxSize) {
+        this.chatRoomParticipantRepository = chatRoomParticipantRepository;
+        this.clusterBus = clusterBus;
+        this.maxSize = maxSize;
+
+        clusterBus.subscribe(this::receiveEviction);
+        clusterBus.subscribeMembership(new ClusterMembershipListener() {
+            @Override
+            public void joined(String nodeId) {
+                clear(nodeId);
+            }
+
+            @Override
+            public void left(String nodeId) {
+            }
+        });
+    }
+
+    public RoomMembership get(Long chatRoomId) {
+        Entry entry = memberships.get(chatRoomId);
+        if (entry != null && entry.membership != null) {
+            hitCount.increment();
+            return entry.membership;
+        }
+
+        missCount.increment();
+
+        // 조회 전에 자리를 잡아 두고, 조회가 끝났을 때 그 자리가 그대로일 때만 결과로 바꾼다
+        // 그 사이 evict 가 자리를 지웠다면 조회 결과가 무효화 이전 정보일 수 있으므로 캐시하지 않는다
+        Entry loading = new Entry(null);
+        if (entry == null) {
+            if (memberships.size() >= maxSize) {
+                evictAny();
+            }
+            if (memberships.putIfAbsent(chatRoomId, loading) != null) {
+                // 다른 스레드가 조회 중이면 결과만 사용하고 캐시는 그 스레드에 맡긴다
+                loading = null;
+            }
+        } else {
+            loading = null;
+        }
+
+        RoomMembership loadedMembership;
+        try {
+            loadedMembership = RoomMembership.of(chatRoomParticipantRepository.findMembershipsBy(chatRoomId));
+        } catch (RuntimeException e) {
+            if (loading != null) {
+                memberships.remove(chatRoomId, loading);
+            }
+            throw e;
+        }
+
+        if (loading != null) {
+            memberships.replace(chatRoomId, loading, new Entry(loadedMembership));
+        }
+        return loadedMembership;
+    }
+
+    /**
+     * 즉시 무효화하고, 트랜잭션 안이라면 트랜잭션 종료 후 한 번 더 무효화합니다.
+     * 커밋 전 다른 스레드가 이전 참여자 정보를 다시 캐시하거나, 롤백된 변경이 캐시에 남는 경우를 막습니다.
+     * 다른 노드에는 트랜잭션이 끝난 뒤에 무효화를 발행합니다.
+     */
+    public void evict(Long chatRoomId) {
+        memberships.remove(chatRoomId);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishEviction(chatRoomId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                memberships.remove(chatRoomId);
+                publishEviction(chatRoomId);
+            }
+        });
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getClearCount() {
+        return clearCount.sum();
+    }
+
+    public int size() {
+        return memberships.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private void publishEviction(Long chatRoomId) {
+        clusterBus.publish(new ClusterEvent(ClusterEventType.MEMBERSHIP_EVICT, clusterBus.getNodeId(),
+                chatRoomId, EMPTY_PAYLOAD));
+    }
+
+    private void receiveEviction(ClusterEvent event) {
+        if (event.getType() == ClusterEventType.MEMBERSHIP_EVICT) {
+            memberships.remove(event.getTargetId());
+        }
+    }
+
+    // 조회 중인 자리도 함께 지우므로 비우기 전에 시작한 조회 결과는 캐시되지 않는다
+    private void clear(String joinedNodeId) {
+        if (memberships.isEmpty()) {
+            return;
+        }
+        memberships.clear();
+        clearCount.increment();
+        log.info("Node {} joined, clear room membership cache", joinedNodeId);
+    }
+
+    private void evictAny() {
+        Iterator<Long> iterator = memberships.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * 캐시 항목입니다. membership 이 null 이면 조회 중인 자리입니다.
+     */
+    private static final class Entry {
+
+        private final RoomMembership membership;
+
+        private Entry(RoomMembership membership) {
+            this.membership = membership;
+        }
+    }
+}
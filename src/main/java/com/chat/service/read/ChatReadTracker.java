@@ -0,0 +1,39 @@
+package com.chat.service.read;
+
+import com.chat.entity.Chat;
+import com.chat.service.dtos.LastChatRead;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅 읽음 정보를 기록하고 조회합니다.
+ * chat.read.mode 설정에 따라 메시지별 ChatRead 저장(row) 또는 참여자별 마지막 읽은 채팅 ID(watermark) 방식이 사용됩니다.
+ */
+public interface ChatReadTracker {
+
+    // 채팅 저장 시 발신자와 참여자들의 읽음 정보를 기록
+    void saveChatRead(Long senderId, Long chatRoomId, Chat chat);
+
+    // 채팅방의 chatId 이하 채팅을 읽음 처리
+    void readUpTo(Long memberId, Long chatRoomId, Long chatId);
+
+    // 채팅방에 특정 회원이 읽지 않은 채팅 수
+    Long countUnReadChats(Long chatRoomId, Long memberId);
+
+    // 회원이 참여한 채팅방별 읽지 않은 채팅 수 (채팅방 ID -> 읽지 않은 채팅 수, 모두 읽은 채팅방은 포함되지 않음)
+    Map<Long, Long> countUnReadChatsByChatRoom(Long memberId);
+
+    // 채팅방 참여자별 읽지 않은 채팅 수 (회원 ID -> 읽지 않은 채팅 수, 모두 읽은 참여자는 포함되지 않음)
+    Map<Long, Long> countUnReadChatsByMember(Long chatRoomId);
+
+    // 특정 채팅을 읽지 않은 회원 수
+    Long countUnReadMembers(Long chatId);
+
+    // 여러 채팅을 읽지 않은 회원 수 (채팅 ID -> 읽지 않은 회원 수, 모두 읽은 채팅은 포함되지 않음)
+    Map<Long, Long> countUnReadMembers(List<Long> chatIds);
+
+    List<LastChatRead> findLastReadChats(Long chatRoomId);
+
+    LastChatRead findLastReadChat(Long memberId, Long chatRoomId);
+}
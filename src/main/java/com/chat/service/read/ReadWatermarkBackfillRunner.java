@@ -0,0 +1,27 @@
+package com.chat.service.read;
+
+import com.chat.service.ChatReadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * row 방식에서 watermark 방식으로 전환할 때 기존 ChatRead 데이터로 참여자별 마지막 읽은 채팅 ID 를 채웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.read.backfill-on-startup", havingValue = "true")
+public class ReadWatermarkBackfillRunner implements ApplicationRunner {
+
+    private final ChatReadService chatReadService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int updatedCount = chatReadService.backfillReadWatermarks();
+        log.info("Backfilled read watermarks for {} chat room participants", updatedCount);
+    }
+}
@@ -0,0 +1,109 @@
+package com.chat.service.read;
+
+import com.chat.entity.Chat;
+import com.chat.entity.ChatRead;
+import com.chat.entity.Member;
+import com.chat.repository.ChatReadRepository;
+import com.chat.repository.MemberRepository;
+import com.chat.service.dtos.ChatRoomUnReadCount;
+import com.chat.service.dtos.ChatUnReadCount;
+import com.chat.service.dtos.LastChatRead;
+import com.chat.service.dtos.MemberUnReadCount;
+import com.chat.service.membership.RoomMembership;
+import com.chat.service.membership.RoomMembershipCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.read.mode", havingValue = "row", matchIfMissing = true)
+public class RowChatReadTracker implements ChatReadTracker {
+
+    private final ChatReadRepository chatReadRepository;
+    private final MemberRepository memberRepository;
+    private final RoomMembershipCache roomMembershipCache;
+
+    @Override
+    public void saveChatRead(Long senderId, Long chatRoomId, Chat chat) {
+
+        // 내가 보낸 메시지 이전의 메시지 모두 읽음처리
+        chatReadRepository.updateUnreadChatReadsToRead(senderId, chatRoomId);
+
+        // 읽음 저장 (hibernate.jdbc.batch_size 단위로 묶여 INSERT 된다)
+        RoomMembership membership = roomMembershipCache.get(chatRoomId);
+
+        List<ChatRead> chatReads = new ArrayList<>(membership.size());
+        for (int i = 0; i < membership.size(); i++) {
+
+            long participantId = membership.memberIdAt(i);
+            Member participant = memberRepository.getReferenceById(participantId);
+
+            if (participantId != senderId) {
+                boolean isRead = membership.isParticipateAt(i);
+                chatReads.add(new ChatRead(isRead, participant, chat));
+            } else {
+                chatReads.add(new ChatRead(true, participant, chat));
+            }
+        }
+        chatReadRepository.saveAll(chatReads);
+    }
+
+    @Override
+    public void readUpTo(Long memberId, Long chatRoomId, Long chatId) {
+        chatReadRepository.updateUnreadChatReadsToReadUpTo(memberId, chatRoomId, chatId);
+    }
+
+    @Override
+    public Long countUnReadChats(Long chatRoomId, Long memberId) {
+        return chatReadRepository.findUnReadCountBy(chatRoomId, memberId);
+    }
+
+    @Override
+    public Map<Long, Long> countUnReadChatsByChatRoom(Long memberId) {
+        return chatReadRepository.findUnReadCountsByMember(memberId)
+                .stream()
+                .collect(Collectors.toMap(ChatRoomUnReadCount::getChatRoomId, ChatRoomUnReadCount::getUnReadCount));
+    }
+
+    @Override
+    public Map<Long, Long> countUnReadChatsByMember(Long chatRoomId) {
+        return chatReadRepository.findMemberUnReadCountsBy(chatRoomId)
+                .stream()
+                .collect(Collectors.toMap(MemberUnReadCount::getMemberId, MemberUnReadCount::getUnReadCount));
+    }
+
+    @Override
+    public Long countUnReadMembers(Long chatId) {
+        return chatReadRepository.findUnReadCountBy(chatId);
+    }
+
+    @Override
+    public Map<Long, Long> countUnReadMembers(List<Long> chatIds) {
+        if (chatIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return chatReadRepository.findUnReadCountsBy(chatIds)
+                .stream()
+                .collect(Collectors.toMap(ChatUnReadCount::getChatId, ChatUnReadCount::getUnReadCount));
+    }
+
+    @Override
+    public List<LastChatRead> findLastReadChats(Long chatRoomId) {
+        return chatReadRepository.findLastReadChatsBy(chatRoomId);
+    }
+
+    @Override
+    public LastChatRead findLastReadChat(Long memberId, Long chatRoomId) {
+        return chatReadRepository.findLastReadChatBy(memberId, chatRoomId)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+}
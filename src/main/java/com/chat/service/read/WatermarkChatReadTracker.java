@@ -0,0 +1,88 @@
+package com.chat.service.read;
+
+import com.chat.entity.Chat;
+import com.chat.repository.ChatRepository;
+import com.chat.repository.ChatRoomParticipantRepository;
+import com.chat.service.dtos.ChatRoomUnReadCount;
+import com.chat.service.dtos.ChatUnReadCount;
+import com.chat.service.dtos.LastChatRead;
+import com.chat.service.dtos.MemberUnReadCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅방 참여자마다 마지막으로 읽은 채팅 ID 하나만 저장합니다.
+ * 채팅 ID 가 워터마크 이하인 채팅은 모두 읽은 것으로 보며, 채팅 저장 시 참여자 수와 무관하게 UPDATE 한 번으로 처리됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.read.mode", havingValue = "watermark")
+public class WatermarkChatReadTracker implements ChatReadTracker {
+
+    private final ChatRepository chatRepository;
+    private final ChatRoomParticipantRepository chatRoomParticipantRepository;
+
+    @Override
+    public void saveChatRead(Long senderId, Long chatRoomId, Chat chat) {
+        // 발신자와 채팅방에 접속 중인 참여자의 워터마크를 새 채팅으로 이동
+        chatRoomParticipantRepository.updateLastReadChatIds(chatRoomId, senderId, chat.getId());
+    }
+
+    @Override
+    public void readUpTo(Long memberId, Long chatRoomId, Long chatId) {
+        chatRoomParticipantRepository.updateLastReadChatIdUpTo(memberId, chatRoomId, chatId);
+    }
+
+    @Override
+    public Long countUnReadChats(Long chatRoomId, Long memberId) {
+        return chatRepository.countUnReadBy(chatRoomId, memberId);
+    }
+
+    @Override
+    public Map<Long, Long> countUnReadChatsByChatRoom(Long memberId) {
+        return chatRoomParticipantRepository.countUnReadChatsBy(memberId)
+                .stream()
+                .collect(Collectors.toMap(ChatRoomUnReadCount::getChatRoomId, ChatRoomUnReadCount::getUnReadCount));
+    }
+
+    @Override
+    public Map<Long, Long> countUnReadChatsByMember(Long chatRoomId) {
+        return chatRoomParticipantRepository.countMemberUnReadChatsBy(chatRoomId)
+                .stream()
+                .collect(Collectors.toMap(MemberUnReadCount::getMemberId, MemberUnReadCount::getUnReadCount));
+    }
+
+    @Override
+    public Long countUnReadMembers(Long chatId) {
+        return chatRoomParticipantRepository.countUnReadMembersBy(chatId);
+    }
+
+    @Override
+    public Map<Long, Long> countUnReadMembers(List<Long> chatIds) {
+        if (chatIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return chatRoomParticipantRepository.countUnReadMembersBy(chatIds)
+                .stream()
+                .collect(Collectors.toMap(ChatUnReadCount::getChatId, ChatUnReadCount::getUnReadCount));
+    }
+
+    @Override
+    public List<LastChatRead> findLastReadChats(Long chatRoomId) {
+        return chatRoomParticipantRepository.findLastReadChatsBy(chatRoomId);
+    }
+
+    @Override
+    public LastChatRead findLastReadChat(Long memberId, Long chatRoomId) {
+        return chatRoomParticipantRepository.findLastReadChatBy(memberId, chatRoomId)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+}
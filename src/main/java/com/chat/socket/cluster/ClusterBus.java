@@ -0,0 +1,35 @@
+package com.chat.socket.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 같은 서비스를 실행 중인 다른 노드들과 웹소켓 프레임을 주고받는 메시지 버스입니다.
+ * 각 노드는 자기 노드의 세션에만 전송하므로, 다른 노드에 접속한 회원에게는 이 버스로 프레임을 넘깁니다.
+ */
+public interface ClusterBus {
+
+    String getNodeId();
+
+    /**
+     * 자신을 제외한 다른 노드에 이벤트를 발행합니다. 네트워크 전송 때문에 호출 스레드를 막지 않습니다.
+     */
+    void publish(ClusterEvent event);
+
+    /**
+     * 지정한 노드에만 이벤트를 발행합니다. 그 노드와 연결되어 있지 않으면 발행하지 않습니다.
+     * true 를 돌려줘도 상대 노드가 받았다는 뜻은 아니므로, 유실되면 안 되는 이벤트는 상대 노드의 응답으로 확인해야 합니다.
+     *
+     * @return 발행했으면 true, 연결된 노드가 아니거나 전송 대기열이 가득 차 버렸으면 false
+     */
+    boolean publishTo(String nodeId, ClusterEvent event);
+
+    /**
+     * 다른 노드가 발행한 이벤트를 받을 구독자를 등록합니다. 같은 노드에서 발행한 이벤트는 전달되지 않습니다.
+     */
+    void subscribe(Consumer<ClusterEvent> subscriber);
+
+    /**
+     * 다른 노드가 연결되거나 끊길 때 알림을 받을 리스너를 등록합니다. 등록 시점에 이미 연결된 노드도 연결로 알립니다.
+     */
+    void subscribeMembership(ClusterMembershipListener listener);
+}
@@ -0,0 +1,22 @@
+package com.chat.socket.cluster;
+
+import lombok.Getter;
+
+/**
+ * 다른 노드로 전달하는 웹소켓 프레임입니다. payload 는 이미 직렬화된 UTF-8 JSON 이라 수신 노드에서 다시 직렬화하지 않습니다.
+ */
+@Getter
+public class ClusterEvent {
+
+    private final ClusterEventType type;
+    private final String originNodeId;
+    private final long targetId;
+    private final byte[] payload;
+
+    public ClusterEvent(ClusterEventType type, String originNodeId, long targetId, byte[] payload) {
+        this.type = type;
+        this.originNodeId = originNodeId;
+        this.targetId = targetId;
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,19 @@
+package com.chat.socket.cluster;
+
+public enum ClusterEventType {
+
+    // 채팅방에 접속한 모든 세션에 전달 (targetId = 채팅방 ID)
+    ROOM_MESSAGE,
+    // 한 회원의 세션에 전달 (targetId = 회원 ID)
+    MEMBER_MESSAGE,
+    // 담당 노드가 아닌 노드가 받은 채팅 전송 프레임을 담당 노드로 전달 (targetId = 채팅방 ID, payload = 전달 ID 8 바이트 + JSON 프레임)
+    FORWARD_SEND,
+    // 채팅방 참여자 구성이 바뀌어 다른 노드의 참여자 캐시를 무효화 (targetId = 채팅방 ID, payload 없음)
+    MEMBERSHIP_EVICT,
+    // 채팅방에 전파한 채팅, 받은 노드는 최근 채팅 버퍼에도 보관 (targetId = 채팅방 ID, payload = 채팅 ID 8 바이트 + 프레임)
+    ROOM_CHAT,
+    // 노드 사이 연결이 살아 있는지 확인, 받은 노드는 같은 연결로 되돌려 보내고 구독자에게 전달하지 않음 (payload 없음)
+    HEARTBEAT,
+    // 담당 노드가 넘겨받은 채팅을 저장 단계에 넣었음을 넘긴 노드에 알림 (targetId = 전달 ID, payload 없음)
+    FORWARD_ACK
+}
@@ -0,0 +1,139 @@
+package com.chat.socket.cluster;
+
+import com.chat.socket.fanout.FanOutEngine;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.socket.resume.RecentChatBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * 이 노드에서 만든 프레임을 다른 노드에 발행하고, 다른 노드가 발행한 프레임을 이 노드의 세션에만 전달합니다.
+ * 다른 노드가 전파한 채팅은 {@link RecentChatBuffer} 에도 보관해, 담당 노드가 아닌 노드에 재접속한 클라이언트도 버퍼에서 이어받습니다.
+ * 버스 스레드에서 보관하므로 같은 채팅방의 재접속 이어받기와 겹치면 같은 채팅을 두 번 받을 수 있지만 빠지지는 않습니다.
+ */
+@Slf4j
+@Component
+public class ClusterFanOut {
+
+    private final ClusterBus clusterBus;
+    private final ChatRoomManager chatRoomManager;
+    private final WebsocketSessionManager websocketSessionManager;
+    private final FanOutEngine fanOutEngine;
+    private final RecentChatBuffer recentChatBuffer;
+
+    public ClusterFanOut(ClusterBus clusterBus,
+                         ChatRoomManager chatRoomManager,
+                         WebsocketSessionManager websocketSessionManager,
+                         FanOutEngine fanOutEngine,
+                         RecentChatBuffer recentChatBuffer) {
+        this.clusterBus = clusterBus;
+        this.chatRoomManager = chatRoomManager;
+        this.websocketSessionManager = websocketSessionManager;
+        this.fanOutEngine = fanOutEngine;
+        this.recentChatBuffer = recentChatBuffer;
+
+        clusterBus.subscribe(this::deliver);
+    }
+
+    public void publishToRoom(Long chatRoomId, TextMessage frame) {
+        clusterBus.publish(new ClusterEvent(ClusterEventType.ROOM_MESSAGE, clusterBus.getNodeId(), chatRoomId, frame.asBytes()));
+    }
+
+    /**
+     * 저장된 채팅 프레임을 채팅 ID 와 함께 발행해 받은 노드가 최근 채팅 버퍼에 보관할 수 있게 합니다.
+     */
+    public void publishChatToRoom(Long chatRoomId, long chatId, TextMessage frame) {
+        byte[] payload = ByteBuffer.allocate(Long.BYTES + frame.getPayloadLength())
+                .putLong(chatId)
+                .put(frame.asBytes())
+                .array();
+        clusterBus.publish(new ClusterEvent(ClusterEventType.ROOM_CHAT, clusterBus.getNodeId(), chatRoomId, payload));
+    }
+
+    public void publishToMember(Long memberId, TextMessage frame) {
+        clusterBus.publish(new ClusterEvent(ClusterEventType.MEMBER_MESSAGE, clusterBus.getNodeId(), memberId, frame.asBytes()));
+    }
+
+    /**
+     * 채팅 전송 프레임을 채팅방 담당 노드에만 넘깁니다.
+     * 담당 노드는 받은 채팅을 저장 단계에 넣은 뒤 전달 ID 로 응답합니다.
+     *
+     * @return 넘겼으면 true, 담당 노드와 연결되어 있지 않으면 false
+     */
+    public boolean forwardToOwner(String ownerNodeId, Long chatRoomId, long forwardId, String payload) {
+        byte[] json = payload.getBytes(StandardCharsets.UTF_8);
+        byte[] forwarded = ByteBuffer.allocate(Long.BYTES + json.length)
+                .putLong(forwardId)
+                .put(json)
+                .array();
+        return clusterBus.publishTo(ownerNodeId, new ClusterEvent(ClusterEventType.FORWARD_SEND, clusterBus.getNodeId(),
+                chatRoomId, forwarded));
+    }
+
+    /**
+     * 넘겨받은 채팅을 저장 단계에 넣었음을 넘긴 노드에 알립니다.
+     */
+    public void acknowledgeForward(String forwarderNodeId, long forwardId) {
+        clusterBus.publishTo(forwarderNodeId, new ClusterEvent(ClusterEventType.FORWARD_ACK, clusterBus.getNodeId(),
+                forwardId, new byte[0]));
+    }
+
+    private void deliver(ClusterEvent event) {
+        if (event.getType() == ClusterEventType.FORWARD_SEND || event.getType() == ClusterEventType.FORWARD_ACK
+                || event.getType() == ClusterEventType.MEMBERSHIP_EVICT) {
+            // 채팅 전송과 응답은 메시지 파이프라인이 직접 구독하고, 참여자 캐시 무효화는 캐시가 직접 구독
+            return;
+        }
+
+        if (event.getType() == ClusterEventType.ROOM_CHAT) {
+            deliverChat(event);
+            return;
+        }
+
+        TextMessage frame = new TextMessage(event.getPayload());
+
+        switch (event.getType()) {
+            case ROOM_MESSAGE:
+                broadcastToRoom(event.getTargetId(), frame);
+                break;
+            case MEMBER_MESSAGE:
+                WebSocketSession session = websocketSessionManager.getSessionBy(event.getTargetId());
+                if (session != null) {
+                    fanOutEngine.send(session, frame);
+                }
+                break;
+            default:
+                log.warn("Unknown cluster event type : {}", event.getType());
+        }
+    }
+
+    private void deliverChat(ClusterEvent event) {
+        byte[] payload = event.getPayload();
+        if (payload.length < Long.BYTES) {
+            log.warn("Ignore chat without chat id from node : {}", event.getOriginNodeId());
+            return;
+        }
+
+        long chatId = ByteBuffer.wrap(payload).getLong();
+        TextMessage frame = new TextMessage(Arrays.copyOfRange(payload, Long.BYTES, payload.length));
+
+        // 세션에 보내기 전에 보관해야 이어받는 세션이 등록 전에 전파된 채팅을 버퍼에서 찾는다
+        recentChatBuffer.append(event.getTargetId(), chatId, frame);
+        broadcastToRoom(event.getTargetId(), frame);
+    }
+
+    private void broadcastToRoom(long chatRoomId, TextMessage frame) {
+        Set<WebSocketSession> sessions = chatRoomManager.findWebSocketSessionBy(chatRoomId);
+        if (!sessions.isEmpty()) {
+            fanOutEngine.broadcast(sessions, frame);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.chat.socket.cluster;
+
+/**
+ * 다른 노드가 클러스터 버스에 연결되거나 끊기는 것을 전달받습니다.
+ */
+public interface ClusterMembershipListener {
+
+    void joined(String nodeId);
+
+    void left(String nodeId);
+}
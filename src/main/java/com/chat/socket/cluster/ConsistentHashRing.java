@@ -0,0 +1,125 @@
+package com.chat.socket.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 채팅방 ID 를 노드에 배정하는 consistent-hash 링입니다.
+ * 노드마다 가상 노드를 여러 개 두어 부하를 고르게 나누고, 노드가 추가되거나 빠질 때 그 노드의 구간에 속한 채팅방만 옮겨집니다.
+ * 조회는 정렬된 토큰 배열에서 이진 탐색하며, 노드 변경 시에는 배열을 새로 만들어 교체하므로 조회 중 잠금이 없습니다.
+ */
+public class ConsistentHashRing {
+
+    private final int virtualNodes;
+    private volatile Snapshot snapshot = new Snapshot(new long[0], new String[0], Collections.emptySet());
+
+    public ConsistentHashRing(int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive : " + virtualNodes);
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    public synchronized void addNode(String nodeId) {
+        Set<String> nodes = new TreeSet<>(snapshot.nodes);
+        if (nodes.add(nodeId)) {
+            snapshot = build(nodes);
+        }
+    }
+
+    public synchronized void removeNode(String nodeId) {
+        Set<String> nodes = new TreeSet<>(snapshot.nodes);
+        if (nodes.remove(nodeId)) {
+            snapshot = build(nodes);
+        }
+    }
+
+    /**
+     * @return key 를 담당하는 노드 ID, 링이 비어 있으면 null
+     */
+    public String ownerOf(long key) {
+        Snapshot current = snapshot;
+        if (current.tokens.length == 0) {
+            return null;
+        }
+
+        int index = Arrays.binarySearch(current.tokens, mix(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        // 마지막 토큰보다 크면 링의 처음으로 돌아간다
+        if (index == current.tokens.length) {
+            index = 0;
+        }
+        return current.owners[index];
+    }
+
+    public Set<String> getNodes() {
+        return snapshot.nodes;
+    }
+
+    private Snapshot build(Set<String> nodes) {
+        TreeMap<Long, String> ring = new TreeMap<>();
+        for (String nodeId : nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                // 토큰이 겹치면 노드 ID 순서가 앞선 노드가 가지도록 해 모든 노드에서 같은 링이 만들어진다
+                ring.putIfAbsent(tokenOf(nodeId, i), nodeId);
+            }
+        }
+
+        long[] tokens = new long[ring.size()];
+        String[] owners = new String[ring.size()];
+        int index = 0;
+        for (var entry : ring.entrySet()) {
+            tokens[index] = entry.getKey();
+            owners[index] = entry.getValue();
+            index++;
+        }
+        return new Snapshot(tokens, owners, Collections.unmodifiableSet(nodes));
+    }
+
+    private static long tokenOf(String nodeId, int replica) {
+        byte[] digest = sha256(nodeId + "#" + replica);
+        long token = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            token = (token << 8) | (digest[i] & 0xFF);
+        }
+        return token;
+    }
+
+    // 연속된 채팅방 ID 가 링 위에 고르게 흩어지도록 섞는다 (MurmurHash3 fmix64)
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    private static final class Snapshot {
+        private final long[] tokens;
+        private final String[] owners;
+        private final Set<String> nodes;
+
+        private Snapshot(long[] tokens, String[] owners, Set<String> nodes) {
+            this.tokens = tokens;
+            this.owners = owners;
+            this.nodes = nodes;
+        }
+    }
+}
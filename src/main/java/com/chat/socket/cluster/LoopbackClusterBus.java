@@ -0,0 +1,119 @@
+package com.chat.socket.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 한 JVM 안에서 같은 {@link Network} 에 참여한 버스끼리 이벤트를 주고받습니다.
+ * 단일 노드로 실행할 때의 기본 구현이며, 여러 노드를 한 프로세스에서 띄우는 테스트에서도 사용합니다.
+ * 같은 네트워크에 참여하거나 떠난 버스를 다른 버스의 노드 목록 리스너에 알립니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.cluster.mode", havingValue = "local", matchIfMissing = true)
+public class LoopbackClusterBus implements ClusterBus {
+
+    private final String nodeId;
+    private final Network network;
+    private final List<Consumer<ClusterEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final List<ClusterMembershipListener> membershipListeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public LoopbackClusterBus(@Value("${chat.cluster.node-id:${random.uuid}}") String nodeId) {
+        this(nodeId, new Network());
+    }
+
+    public LoopbackClusterBus(String nodeId, Network network) {
+        this.nodeId = nodeId;
+        this.network = network;
+        network.join(this);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        for (LoopbackClusterBus node : network.nodes) {
+            if (node != this) {
+                node.deliver(event);
+            }
+        }
+    }
+
+    @Override
+    public boolean publishTo(String nodeId, ClusterEvent event) {
+        for (LoopbackClusterBus node : network.nodes) {
+            if (node != this && node.nodeId.equals(nodeId)) {
+                node.deliver(event);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void subscribeMembership(ClusterMembershipListener listener) {
+        membershipListeners.add(listener);
+        for (LoopbackClusterBus node : network.nodes) {
+            if (node != this) {
+                listener.joined(node.nodeId);
+            }
+        }
+    }
+
+    /**
+     * 네트워크를 떠나 다른 버스에 이 노드가 끊긴 것을 알립니다.
+     */
+    public void leave() {
+        network.leave(this);
+    }
+
+    private void deliver(ClusterEvent event) {
+        for (Consumer<ClusterEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                log.error("Failed to handle cluster event for target : {}", event.getTargetId(), e);
+            }
+        }
+    }
+
+    /**
+     * 이벤트를 주고받는 버스 묶음입니다.
+     */
+    public static class Network {
+
+        private final List<LoopbackClusterBus> nodes = new CopyOnWriteArrayList<>();
+
+        private void join(LoopbackClusterBus node) {
+            for (LoopbackClusterBus other : nodes) {
+                other.membershipListeners.forEach(listener -> listener.joined(node.nodeId));
+            }
+            nodes.add(node);
+        }
+
+        private void leave(LoopbackClusterBus node) {
+            if (!nodes.remove(node)) {
+                return;
+            }
+            for (LoopbackClusterBus other : nodes) {
+                other.membershipListeners.forEach(listener -> listener.left(node.nodeId));
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.chat.socket.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * 채팅방마다 채팅 저장과 순서를 책임지는 노드를 정합니다.
+ * 모든 노드가 같은 노드 목록과 가상 노드 수로 링을 만들므로 별도 조율 없이 같은 담당 노드를 계산합니다.
+ * 클러스터 버스에 노드가 연결되면 링에 추가하고 끊기면 빼서, 끊긴 노드가 담당하던 채팅방을 남은 노드에 다시 나눕니다.
+ * 노드마다 연결 상태를 감지하는 시점이 달라 재배정 중에는 잠시 두 노드가 같은 채팅방을 담당할 수 있습니다.
+ * 이때 넘겨받은 채팅은 버리지 않고 저장하며, 채팅 ID 는 DB 시퀀스에서 하나씩 받으므로 담당 노드가 바뀐 뒤에도 채팅방 안에서 증가합니다.
+ */
+@Slf4j
+@Component
+public class RoomOwnership {
+
+    private final String nodeId;
+    private final ConsistentHashRing ring;
+
+    public RoomOwnership(ClusterBus clusterBus,
+                         @Value("${chat.cluster.members:}") String members,
+                         @Value("${chat.cluster.virtual-nodes:160}") int virtualNodes) {
+        this.nodeId = clusterBus.getNodeId();
+        this.ring = new ConsistentHashRing(virtualNodes);
+
+        ring.addNode(nodeId);
+        for (String member : members.split(",")) {
+            if (!member.isBlank()) {
+                ring.addNode(member.trim());
+            }
+        }
+        log.info("Room ownership ring nodes : {}", ring.getNodes());
+
+        clusterBus.subscribeMembership(new ClusterMembershipListener() {
+            @Override
+            public void joined(String memberNodeId) {
+                join(memberNodeId);
+            }
+
+            @Override
+            public void left(String memberNodeId) {
+                leave(memberNodeId);
+            }
+        });
+    }
+
+    public boolean isOwner(Long chatRoomId) {
+        return nodeId.equals(ownerOf(chatRoomId));
+    }
+
+    public String ownerOf(Long chatRoomId) {
+        return ring.ownerOf(chatRoomId);
+    }
+
+    public Set<String> getNodes() {
+        return ring.getNodes();
+    }
+
+    public void join(String memberNodeId) {
+        ring.addNode(memberNodeId);
+        log.info("Node {} joined, room ownership ring nodes : {}", memberNodeId, ring.getNodes());
+    }
+
+    public void leave(String memberNodeId) {
+        // 자기 자신은 빼지 않는다, 링이 비면 어느 채팅방도 담당하지 않게 된다
+        if (nodeId.equals(memberNodeId)) {
+            return;
+        }
+        ring.removeNode(memberNodeId);
+        log.info("Node {} left, room ownership ring nodes : {}", memberNodeId, ring.getNodes());
+    }
+}
@@ -0,0 +1,593 @@
+package com.chat.socket.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 노드마다 설정된 주소에 TCP 포트를 열고 설정된 다른 노드들에 연결해 이벤트를 주고받습니다.
+ * 프레임은 [길이 int][타입 byte][발행 노드 ID UTF][대상 ID long][payload 길이 int][payload] 형식입니다.
+ * 연결을 맺으면 공유 비밀키의 HMAC 으로 서로를 인증하며, 인증하지 못한 연결은 끊습니다.
+ * 다른 노드마다 전송 대기열과 전송 스레드를 두므로 응답하지 않는 노드가 다른 노드로의 전송을 막지 않고,
+ * 한 노드에서 발행한 이벤트의 순서는 각 수신 노드에서 유지됩니다.
+ * 전송 스레드는 시작하자마자 연결해 인증 중에 받은 노드 ID 로 노드 목록 리스너에 알리고, 연결이 끊기면 끊긴 것을 알립니다.
+ * 연결이 끊긴 노드는 재연결 간격을 늘려 가며 다시 연결하며, 끊긴 동안의 이벤트는 전달되지 않습니다.
+ * 보낼 이벤트가 없으면 heartbeat 를 보내고 받은 노드는 같은 연결로 되돌려 보냅니다.
+ * 연결은 남아 있지만 응답하지 않는 노드는 heartbeat 제한 시간 안에 아무것도 돌아오지 않으면 연결을 끊어 노드 목록에서 뺍니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.cluster.mode", havingValue = "tcp")
+public class TcpClusterBus implements ClusterBus {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+    private static final int HANDSHAKE_TIMEOUT_MILLIS = 1000;
+    private static final long INITIAL_RECONNECT_BACKOFF_MILLIS = 100;
+    private static final long MAX_RECONNECT_BACKOFF_MILLIS = 5000;
+    private static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
+    private static final long DEFAULT_HEARTBEAT_INTERVAL_MILLIS = 1000;
+    // 이 횟수만큼 heartbeat 가 돌아오지 않으면 응답하지 않는 노드로 본다
+    private static final int HEARTBEAT_MISS_LIMIT = 3;
+
+    private static final int HANDSHAKE_MAGIC = 0x43484154;
+    private static final int NONCE_LENGTH = 16;
+    private static final byte SERVER_ROLE = 1;
+    private static final byte CLIENT_ROLE = 2;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final ClusterEventType[] EVENT_TYPES = ClusterEventType.values();
+
+    private final String nodeId;
+    private final String bindAddress;
+    private final int port;
+    private final int sendQueueCapacity;
+    private final SecretKeySpec secretKey;
+    private final long heartbeatIntervalMillis;
+    private final int heartbeatTimeoutMillis;
+    private final byte[] heartbeatFrame;
+    private final SecureRandom random = new SecureRandom();
+    private final List<Peer> peers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<ClusterEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final List<ClusterMembershipListener> membershipListeners = new CopyOnWriteArrayList<>();
+    private final LongAdder droppedCount = new LongAdder();
+
+    private volatile boolean running;
+    private ServerSocket serverSocket;
+    private final List<Socket> acceptedSockets = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public TcpClusterBus(@Value("${chat.cluster.node-id:${random.uuid}}") String nodeId,
+                         @Value("${chat.cluster.bind-address:127.0.0.1}") String bindAddress,
+                         @Value("${chat.cluster.port:7800}") int port,
+                         @Value("${chat.cluster.peers:}") String peers,
+                         @Value("${chat.cluster.send-queue-capacity:10000}") int sendQueueCapacity,
+                         @Value("${chat.cluster.secret:}") String secret,
+                         @Value("${chat.cluster.heartbeat-interval-ms:1000}") long heartbeatIntervalMillis) {
+        this(nodeId, bindAddress, port, parsePeers(peers), sendQueueCapacity, secret, heartbeatIntervalMillis);
+    }
+
+    public TcpClusterBus(String nodeId, String bindAddress, int port, List<InetSocketAddress> peers,
+                         int sendQueueCapacity, String secret) {
+        this(nodeId, bindAddress, port, peers, sendQueueCapacity, secret, DEFAULT_HEARTBEAT_INTERVAL_MILLIS);
+    }
+
+    public TcpClusterBus(String nodeId, String bindAddress, int port, List<InetSocketAddress> peers,
+                         int sendQueueCapacity, String secret, long heartbeatIntervalMillis) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("chat.cluster.secret must be set to authenticate cluster peers");
+        }
+        if (heartbeatIntervalMillis <= 0) {
+            throw new IllegalArgumentException("heartbeatIntervalMillis must be positive : " + heartbeatIntervalMillis);
+        }
+
+        this.nodeId = nodeId;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.sendQueueCapacity = sendQueueCapacity;
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), MAC_ALGORITHM);
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+        this.heartbeatTimeoutMillis = Math.toIntExact(heartbeatIntervalMillis * HEARTBEAT_MISS_LIMIT);
+        this.heartbeatFrame = encode(new ClusterEvent(ClusterEventType.HEARTBEAT, nodeId, 0, new byte[0]));
+        peers.forEach(this::addPeer);
+    }
+
+    @PostConstruct
+    public synchronized void start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(bindAddress, port));
+        running = true;
+
+        startDaemon("cluster-acceptor-" + nodeId, this::accept);
+        peers.forEach(Peer::start);
+        log.info("Cluster bus node {} listening on {}:{}", nodeId, bindAddress, getLocalPort());
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        running = false;
+        closeQuietly(serverSocket);
+        acceptedSockets.forEach(this::closeQuietly);
+        peers.forEach(Peer::stop);
+    }
+
+    public synchronized void addPeer(InetSocketAddress address) {
+        Peer peer = new Peer(address);
+        peers.add(peer);
+        if (running) {
+            peer.start();
+        }
+    }
+
+    public int getLocalPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(ClusterEvent event) {
+        if (peers.isEmpty()) {
+            return;
+        }
+
+        byte[] frame = encode(event);
+        for (Peer peer : peers) {
+            peer.offer(frame, event);
+        }
+    }
+
+    @Override
+    public boolean publishTo(String nodeId, ClusterEvent event) {
+        for (Peer peer : peers) {
+            if (nodeId.equals(peer.remoteNodeId)) {
+                return peer.offer(encode(event), event);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @Override
+    public void subscribeMembership(ClusterMembershipListener listener) {
+        membershipListeners.add(listener);
+        for (Peer peer : peers) {
+            String remoteNodeId = peer.remoteNodeId;
+            if (remoteNodeId != null) {
+                listener.joined(remoteNodeId);
+            }
+        }
+    }
+
+    private void accept() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                acceptedSockets.add(socket);
+                startDaemon("cluster-reader-" + nodeId + "-" + socket.getPort(), () -> read(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Failed to accept cluster connection on node {}", nodeId, e);
+                }
+            }
+        }
+    }
+
+    private void read(Socket socket) {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            String remoteNodeId = acceptHandshake(socket, input, output);
+            log.info("Cluster node {} connected to node {}", remoteNodeId, nodeId);
+
+            // 연결한 노드는 보낼 이벤트가 없어도 heartbeat 를 보내므로, 제한 시간 동안 아무것도 오지 않으면 끊는다
+            socket.setSoTimeout(heartbeatTimeoutMillis);
+            while (running) {
+                ClusterEvent event = decode(readFrame(input));
+                if (event.getType() == ClusterEventType.HEARTBEAT) {
+                    writeFrame(output, heartbeatFrame);
+                    output.flush();
+                    continue;
+                }
+                dispatch(event);
+            }
+        } catch (EOFException e) {
+            log.debug("Cluster connection closed on node {}", nodeId);
+        } catch (IOException e) {
+            if (running) {
+                log.warn("Closed cluster connection from {} on node {}", socket.getRemoteSocketAddress(), nodeId, e);
+            }
+        } finally {
+            acceptedSockets.remove(socket);
+            closeQuietly(socket);
+        }
+    }
+
+    /**
+     * 연결한 노드가 같은 비밀키를 가진 노드인지 확인하고, 이 노드도 같은 비밀키를 가졌음을 증명합니다.
+     * 양쪽이 만든 임의 값에 역할을 붙여 서명하므로 이전 연결의 서명을 재사용하거나 되돌려 보낼 수 없습니다.
+     *
+     * @return 연결한 노드의 ID
+     */
+    private String acceptHandshake(Socket socket, DataInputStream input, DataOutputStream output) throws IOException {
+        socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+
+        if (input.readInt() != HANDSHAKE_MAGIC) {
+            throw new IOException("Invalid cluster handshake");
+        }
+        byte[] clientNonce = readNonce(input);
+
+        byte[] serverNonce = newNonce();
+        output.write(serverNonce);
+        output.writeUTF(nodeId);
+        output.write(sign(SERVER_ROLE, clientNonce, nodeId));
+        output.flush();
+
+        String remoteNodeId = input.readUTF();
+        verify(input, CLIENT_ROLE, serverNonce, remoteNodeId);
+        return remoteNodeId;
+    }
+
+    private void notifyMembership(String remoteNodeId, boolean joined) {
+        for (ClusterMembershipListener listener : membershipListeners) {
+            try {
+                if (joined) {
+                    listener.joined(remoteNodeId);
+                } else {
+                    listener.left(remoteNodeId);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to handle cluster membership change of node : {}", remoteNodeId, e);
+            }
+        }
+    }
+
+    private void dispatch(ClusterEvent event) {
+        if (nodeId.equals(event.getOriginNodeId())) {
+            return;
+        }
+
+        for (Consumer<ClusterEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                log.error("Failed to handle cluster event for target : {}", event.getTargetId(), e);
+            }
+        }
+    }
+
+    private byte[] newNonce() {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        random.nextBytes(nonce);
+        return nonce;
+    }
+
+    private byte[] sign(byte role, byte[] nonce, String signerNodeId) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secretKey);
+            mac.update(role);
+            mac.update(nonce);
+            mac.update(signerNodeId.getBytes(StandardCharsets.UTF_8));
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign cluster handshake", e);
+        }
+    }
+
+    private void verify(DataInputStream input, byte role, byte[] nonce, String signerNodeId) throws IOException {
+        byte[] expected = sign(role, nonce, signerNodeId);
+        byte[] signature = new byte[expected.length];
+        input.readFully(signature);
+        if (!MessageDigest.isEqual(expected, signature)) {
+            throw new IOException("Cluster node " + signerNodeId + " failed authentication");
+        }
+    }
+
+    private static byte[] readFrame(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > MAX_FRAME_LENGTH) {
+            throw new IOException("Invalid cluster frame length : " + length);
+        }
+
+        byte[] frame = new byte[length];
+        input.readFully(frame);
+        return frame;
+    }
+
+    private static void writeFrame(DataOutputStream output, byte[] frame) throws IOException {
+        output.writeInt(frame.length);
+        output.write(frame);
+    }
+
+    private static byte[] readNonce(DataInputStream input) throws IOException {
+        byte[] nonce = new byte[NONCE_LENGTH];
+        input.readFully(nonce);
+        return nonce;
+    }
+
+    private static byte[] encode(ClusterEvent event) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(event.getPayload().length + 64);
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeByte(event.getType().ordinal());
+            output.writeUTF(event.getOriginNodeId());
+            output.writeLong(event.getTargetId());
+            output.writeInt(event.getPayload().length);
+            output.write(event.getPayload());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode cluster event", e);
+        }
+    }
+
+    private static ClusterEvent decode(byte[] frame) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(frame));
+        int typeCode = input.readUnsignedByte();
+        if (typeCode >= EVENT_TYPES.length) {
+            throw new IOException("Unknown cluster event type : " + typeCode);
+        }
+        String originNodeId = input.readUTF();
+        long targetId = input.readLong();
+        int payloadLength = input.readInt();
+        if (payloadLength < 0 || payloadLength > input.available()) {
+            throw new IOException("Invalid cluster payload length : " + payloadLength);
+        }
+        byte[] payload = new byte[payloadLength];
+        input.readFully(payload);
+
+        return new ClusterEvent(EVENT_TYPES[typeCode], originNodeId, targetId, payload);
+    }
+
+    private static List<InetSocketAddress> parsePeers(String peers) {
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        for (String peer : peers.split(",")) {
+            String trimmed = peer.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            int separator = trimmed.lastIndexOf(':');
+            addresses.add(InetSocketAddress.createUnresolved(
+                    trimmed.substring(0, separator), Integer.parseInt(trimmed.substring(separator + 1))));
+        }
+        return addresses;
+    }
+
+    private Thread startDaemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            log.debug("Failed to close cluster resource", e);
+        }
+    }
+
+    /**
+     * 다른 노드로 나가는 연결입니다. 연결과 쓰기는 이 노드 전용 전송 스레드에서만 수행합니다.
+     */
+    private final class Peer {
+
+        private final InetSocketAddress address;
+        private final BlockingQueue<byte[]> sendQueue = new ArrayBlockingQueue<>(sendQueueCapacity);
+        private Thread writer;
+        private Socket socket;
+        private DataOutputStream output;
+        private long reconnectBackoffMillis = INITIAL_RECONNECT_BACKOFF_MILLIS;
+        private long nextConnectNanos = System.nanoTime();
+        // 인증을 마친 연결의 상대 노드 ID, 연결되어 있지 않으면 null
+        private volatile String remoteNodeId;
+
+        private Peer(InetSocketAddress address) {
+            this.address = address;
+        }
+
+        private void start() {
+            writer = startDaemon("cluster-sender-" + nodeId + "-" + address.getPort(), this::send);
+        }
+
+        private void stop() {
+            if (writer != null) {
+                writer.interrupt();
+            }
+            closeQuietly(socket);
+        }
+
+        private boolean offer(byte[] frame, ClusterEvent event) {
+            // 전파 스레드를 막지 않도록 대기열이 가득 차면 버린다
+            if (!sendQueue.offer(frame)) {
+                droppedCount.increment();
+                log.warn("Cluster send queue to {} is full, dropped event for target : {}", address, event.getTargetId());
+                return false;
+            }
+            return true;
+        }
+
+        private void send() {
+            try {
+                while (running) {
+                    if (!connected()) {
+                        // 연결하지 못한 동안 쌓인 이벤트는 버리고 다음 재연결 시각까지 기다린다
+                        dropQueued();
+                        TimeUnit.NANOSECONDS.sleep(nextConnectNanos - System.nanoTime());
+                        continue;
+                    }
+                    // 보낼 이벤트가 없으면 heartbeat 를 보내 상대 노드가 되돌려 보내도록 한다
+                    byte[] frame = sendQueue.poll(heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+                    write(frame != null ? frame : heartbeatFrame);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                disconnect();
+            }
+        }
+
+        private void dropQueued() {
+            while (sendQueue.poll() != null) {
+                droppedCount.increment();
+            }
+        }
+
+        private void write(byte[] frame) {
+            try {
+                writeFrame(output, frame);
+                // 대기열에 더 보낼 프레임이 없을 때만 flush 해 연속 발행을 한 번에 보낸다
+                if (sendQueue.isEmpty()) {
+                    output.flush();
+                }
+            } catch (IOException e) {
+                droppedCount.increment();
+                log.warn("Failed to send cluster frame to {} from node {}", address, nodeId, e);
+                disconnect();
+                scheduleReconnect();
+            }
+        }
+
+        /**
+         * 연결되어 있지 않으면 재연결 간격이 지난 경우에만 연결을 시도합니다.
+         */
+        private boolean connected() {
+            if (socket != null) {
+                return true;
+            }
+            if (System.nanoTime() - nextConnectNanos < 0) {
+                return false;
+            }
+
+            try {
+                connect();
+                reconnectBackoffMillis = INITIAL_RECONNECT_BACKOFF_MILLIS;
+                return true;
+            } catch (IOException e) {
+                log.warn("Failed to connect cluster node {} from node {}, retry in {} ms : {}",
+                        address, nodeId, reconnectBackoffMillis, e.getMessage());
+                disconnect();
+                scheduleReconnect();
+                return false;
+            }
+        }
+
+        private void connect() throws IOException {
+            InetSocketAddress resolved = address.isUnresolved()
+                    ? new InetSocketAddress(address.getHostString(), address.getPort())
+                    : address;
+
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(resolved, CONNECT_TIMEOUT_MILLIS);
+            output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            remoteNodeId = handshake(input);
+            log.info("Cluster node {} connected to node {} at {}", nodeId, remoteNodeId, address);
+
+            Socket connected = socket;
+            startDaemon("cluster-heartbeat-" + nodeId + "-" + address.getPort(), () -> awaitHeartbeats(connected, input));
+            notifyMembership(remoteNodeId, true);
+        }
+
+        /**
+         * 상대 노드가 되돌려 보내는 heartbeat 를 읽습니다.
+         * 제한 시간 안에 돌아오지 않으면 연결을 닫아, 전송 스레드가 다음 쓰기에서 끊긴 것을 알고 노드 목록에서 빼도록 합니다.
+         */
+        private void awaitHeartbeats(Socket connected, DataInputStream input) {
+            try {
+                while (running && !connected.isClosed()) {
+                    readFrame(input);
+                }
+            } catch (IOException e) {
+                if (running && !connected.isClosed()) {
+                    log.warn("No heartbeat from cluster node {} in {} ms, closing connection from node {} : {}",
+                            address, heartbeatTimeoutMillis, nodeId, e.getMessage());
+                }
+            } finally {
+                closeQuietly(connected);
+            }
+        }
+
+        private String handshake(DataInputStream input) throws IOException {
+            socket.setSoTimeout(HANDSHAKE_TIMEOUT_MILLIS);
+
+            byte[] clientNonce = newNonce();
+            output.writeInt(HANDSHAKE_MAGIC);
+            output.write(clientNonce);
+            output.flush();
+
+            byte[] serverNonce = readNonce(input);
+            String serverNodeId = input.readUTF();
+            verify(input, SERVER_ROLE, clientNonce, serverNodeId);
+
+            output.writeUTF(nodeId);
+            output.write(sign(CLIENT_ROLE, serverNonce, nodeId));
+            output.flush();
+
+            socket.setSoTimeout(heartbeatTimeoutMillis);
+            return serverNodeId;
+        }
+
+        private void scheduleReconnect() {
+            nextConnectNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(reconnectBackoffMillis);
+            reconnectBackoffMillis = Math.min(reconnectBackoffMillis * 2, MAX_RECONNECT_BACKOFF_MILLIS);
+        }
+
+        private void disconnect() {
+            closeQuietly(socket);
+            socket = null;
+            output = null;
+
+            String disconnectedNodeId = remoteNodeId;
+            if (disconnectedNodeId != null) {
+                remoteNodeId = null;
+                notifyMembership(disconnectedNodeId, false);
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.chat.socket.coalesce;
+
+import com.chat.socket.fanout.FanOutEngine;
+import com.chat.socket.fanout.OutboundFrame;
+import com.chat.utils.annotation.VisibleForTesting;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 회원별로 채팅방 목록 갱신(UPDATE_CHAT_ROOM) 프레임을 모았다가 주기마다 한 번씩 보냅니다.
+ * 같은 채팅방의 갱신이 주기 안에 여러 번 들어오면 마지막 프레임만 남기므로, 회원은 채팅방마다 최신 마지막 채팅과 읽지 않은 채팅 수만 받습니다.
+ * 주기가 0 이하면 모으지 않고 바로 보냅니다.
+ */
+@Slf4j
+@Component
+public class RoomUpdateCoalescer {
+
+    private final FanOutEngine fanOutEngine;
+    private final long flushIntervalMillis;
+    private final ScheduledExecutorService flushExecutor;
+
+    private final Map<Long, PendingUpdates> pendingUpdates = new ConcurrentHashMap<>();
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder coalescedCount = new LongAdder();
+    private final LongAdder sentCount = new LongAdder();
+
+    public RoomUpdateCoalescer(FanOutEngine fanOutEngine,
+                               @Value("${chat.room-update.flush-interval-ms:100}") long flushIntervalMillis) {
+        this.fanOutEngine = fanOutEngine;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        if (flushIntervalMillis > 0) {
+            this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "room-update-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flushExecutor.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.flushExecutor = null;
+        }
+    }
+
+    public void submit(Long memberId, WebSocketSession session, Long chatRoomId, OutboundFrame frame) {
+        submittedCount.increment();
+
+        if (flushExecutor == null) {
+            send(session, frame);
+            return;
+        }
+
+        // 주기 처리 중 비워져 제거된 대기열이면 새로 만들어 다시 넣는다
+        while (true) {
+            PendingUpdates pending = pendingUpdates.computeIfAbsent(memberId, key -> new PendingUpdates());
+            Boolean replaced = pending.offer(session, chatRoomId, frame);
+            if (replaced != null) {
+                if (replaced) {
+                    coalescedCount.increment();
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 모인 갱신을 회원별로 보냅니다. 이번 주기에 갱신이 없던 회원의 대기열은 제거합니다.
+     */
+    @VisibleForTesting
+    public void flush() {
+        for (Map.Entry<Long, PendingUpdates> entry : pendingUpdates.entrySet()) {
+            PendingUpdates pending = entry.getValue();
+            Drained drained = pending.drainOrRetire();
+
+            if (drained == null) {
+                pendingUpdates.remove(entry.getKey(), pending);
+                continue;
+            }
+
+            for (OutboundFrame frame : drained.frames.values()) {
+                send(drained.session, frame);
+            }
+        }
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount.sum();
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public int getPendingMembers() {
+        return pendingUpdates.size();
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+    }
+
+    // 예외가 스케줄 밖으로 나가면 이후 주기가 실행되지 않는다
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush chat room updates", e);
+        }
+    }
+
+    private void send(WebSocketSession session, OutboundFrame frame) {
+        if (!session.isOpen()) {
+            return;
+        }
+
+        try {
+            fanOutEngine.send(session, frame);
+            sentCount.increment();
+        } catch (RuntimeException e) {
+            log.warn("Failed to send chat room update to session : {}", session.getId(), e);
+        }
+    }
+
+    private static class PendingUpdates {
+
+        private WebSocketSession session;
+        private Map<Long, OutboundFrame> frames = new LinkedHashMap<>();
+        private boolean retired;
+
+        /**
+         * @return 같은 채팅방의 대기 중인 갱신을 바꿨으면 true, 새로 넣었으면 false, 제거된 대기열이면 null
+         */
+        private synchronized Boolean offer(WebSocketSession session, Long chatRoomId, OutboundFrame frame) {
+            if (retired) {
+                return null;
+            }
+
+            // 재접속으로 세션이 바뀌었으면 새 세션으로 보낸다
+            this.session = session;
+            return frames.put(chatRoomId, frame) != null;
+        }
+
+        private synchronized Drained drainOrRetire() {
+            if (frames.isEmpty()) {
+                retired = true;
+                return null;
+            }
+
+            Drained drained = new Drained(session, frames);
+            frames = new LinkedHashMap<>();
+            return drained;
+        }
+    }
+
+    private static class Drained {
+
+        private final WebSocketSession session;
+        private final Map<Long, OutboundFrame> frames;
+
+        private Drained(WebSocketSession session, Map<Long, OutboundFrame> frames) {
+            this.session = session;
+            this.frames = frames;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.chat.socket.codec;
+
+import com.chat.service.dtos.chat.ChatAck;
+import com.chat.service.dtos.chat.EnterChatRoom;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.service.dtos.chat.UpdateChatRoom;
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.chat.utils.message.MessageType;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * {@link WireProtocol#BINARY} 형식의 프레임을 인코딩, 디코딩합니다.
+ * 프레임은 [타입 byte][null 이 아닌 필드 비트 varint][필드...] 순서이며, 필드는 선언 순서대로 null 이 아닌 것만 씁니다.
+ * 숫자는 unsigned LEB128 varint, 문자열은 varint 길이 + UTF-8, 날짜는 UTC 기준 epoch 초(zigzag varint) + 나노초(varint) 입니다.
+ */
+@Component
+public class BinaryMessageCodec {
+
+    static final byte TYPE_CHAT_MESSAGE = 1;
+    static final byte TYPE_CHAT_ENTER = 2;
+    static final byte TYPE_UPDATE_CHAT_ROOM = 3;
+    static final byte TYPE_CHAT_ACK = 4;
+
+    public byte[] encode(BaseWebSocketMessage message) {
+        FrameWriter writer = new FrameWriter();
+
+        if (message instanceof SendChat sendChat) {
+            writer.writeByte(TYPE_CHAT_MESSAGE);
+            writer.writeFlags(sendChat.getSenderId(), sendChat.getSenderNickname(), sendChat.getChatRoomId(),
+                    sendChat.getMessage(), sendChat.getChatId(), sendChat.getUnReadCount(), sendChat.getCreateDate(),
+                    sendChat.getClientMessageId());
+            writer.writeLong(sendChat.getSenderId());
+            writer.writeString(sendChat.getSenderNickname());
+            writer.writeLong(sendChat.getChatRoomId());
+            writer.writeString(sendChat.getMessage());
+            writer.writeLong(sendChat.getChatId());
+            writer.writeLong(sendChat.getUnReadCount());
+            writer.writeDateTime(sendChat.getCreateDate());
+            writer.writeString(sendChat.getClientMessageId());
+        } else if (message instanceof EnterChatRoom enterChatRoom) {
+            writer.writeByte(TYPE_CHAT_ENTER);
+            writer.writeFlags(enterChatRoom.getMemberId(), enterChatRoom.getLastReadChatId());
+            writer.writeLong(enterChatRoom.getMemberId());
+            writer.writeLong(enterChatRoom.getLastReadChatId());
+        } else if (message instanceof UpdateChatRoom updateChatRoom) {
+            writer.writeByte(TYPE_UPDATE_CHAT_ROOM);
+            writer.writeFlags(updateChatRoom.getChatRoomId(), updateChatRoom.getTitle(), updateChatRoom.getLastMessage(),
+                    updateChatRoom.getUnReadCount(), updateChatRoom.getCreatedDate());
+            writer.writeLong(updateChatRoom.getChatRoomId());
+            writer.writeString(updateChatRoom.getTitle());
+            writer.writeString(updateChatRoom.getLastMessage());
+            writer.writeLong(updateChatRoom.getUnReadCount());
+            writer.writeDateTime(updateChatRoom.getCreatedDate());
+        } else if (message instanceof ChatAck chatAck) {
+            writer.writeByte(TYPE_CHAT_ACK);
+            writer.writeFlags(chatAck.getChatRoomId(), chatAck.getClientMessageId(), chatAck.getChatId(),
+                    chatAck.getCreateDate());
+            writer.writeLong(chatAck.getChatRoomId());
+            writer.writeString(chatAck.getClientMessageId());
+            writer.writeLong(chatAck.getChatId());
+            writer.writeDateTime(chatAck.getCreateDate());
+        } else {
+            throw new IllegalArgumentException("Unsupported binary message : " + message.getClass().getSimpleName());
+        }
+
+        return writer.toByteArray();
+    }
+
+    public BaseWebSocketMessage decode(ByteBuffer buffer) {
+        FrameReader reader = new FrameReader(buffer);
+        byte type = reader.readByte();
+        reader.readFlags();
+
+        switch (type) {
+            case TYPE_CHAT_MESSAGE:
+                return SendChat.builder()
+                        .messageType(MessageType.CHAT_MESSAGE)
+                        .senderId(reader.readLong())
+                        .senderNickname(reader.readString())
+                        .chatRoomId(reader.readLong())
+                        .message(reader.readString())
+                        .chatId(reader.readLong())
+                        .unReadCount(reader.readLong())
+                        .createDate(reader.readDateTime())
+                        .clientMessageId(reader.readString())
+                        .build();
+            case TYPE_CHAT_ENTER:
+                return EnterChatRoom.builder()
+                        .messageType(MessageType.CHAT_ENTER)
+                        .memberId(reader.readLong())
+                        .lastReadChatId(reader.readLong())
+                        .build();
+            case TYPE_UPDATE_CHAT_ROOM:
+                return UpdateChatRoom.builder()
+                        .messageType(MessageType.UPDATE_CHAT_ROOM)
+                        .chatRoomId(reader.readLong())
+                        .title(reader.readString())
+                        .lastMessage(reader.readString())
+                        .unReadCount(reader.readLong())
+                        .createdDate(reader.readDateTime())
+                        .build();
+            case TYPE_CHAT_ACK:
+                return ChatAck.builder()
+                        .messageType(MessageType.CHAT_ACK)
+                        .chatRoomId(reader.readLong())
+                        .clientMessageId(reader.readString())
+                        .chatId(reader.readLong())
+                        .createDate(reader.readDateTime())
+                        .build();
+            default:
+                throw new IllegalArgumentException("Unknown binary message type : " + type);
+        }
+    }
+
+    private static final class FrameWriter {
+
+        private byte[] bytes = new byte[64];
+        private int position;
+
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[position++] = (byte) value;
+        }
+
+        private void writeFlags(Object... fields) {
+            long flags = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i] != null) {
+                    flags |= 1L << i;
+                }
+            }
+            writeVarLong(flags);
+        }
+
+        private void writeLong(Long value) {
+            if (value != null) {
+                writeVarLong(value);
+            }
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                return;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(encoded.length);
+            ensureCapacity(encoded.length);
+            System.arraycopy(encoded, 0, bytes, position, encoded.length);
+            position += encoded.length;
+        }
+
+        private void writeDateTime(LocalDateTime value) {
+            if (value == null) {
+                return;
+            }
+            long epochSecond = value.toEpochSecond(ZoneOffset.UTC);
+            writeVarLong((epochSecond << 1) ^ (epochSecond >> 63));
+            writeVarLong(value.getNano());
+        }
+
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[position++] = (byte) value;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (position + additional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + additional));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, position);
+        }
+    }
+
+    private static final class FrameReader {
+
+        private final ByteBuffer buffer;
+        private long flags;
+        private int fieldIndex;
+
+        private FrameReader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private byte readByte() {
+            return buffer.get();
+        }
+
+        private void readFlags() {
+            flags = readVarLong();
+        }
+
+        private Long readLong() {
+            return nextFieldPresent() ? readVarLong() : null;
+        }
+
+        private String readString() {
+            if (!nextFieldPresent()) {
+                return null;
+            }
+            int length = (int) readVarLong();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid binary string length : " + length);
+            }
+
+            String value;
+            if (buffer.hasArray()) {
+                value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] encoded = new byte[length];
+                buffer.get(encoded);
+                value = new String(encoded, StandardCharsets.UTF_8);
+            }
+            return value;
+        }
+
+        private LocalDateTime readDateTime() {
+            if (!nextFieldPresent()) {
+                return null;
+            }
+            long zigzag = readVarLong();
+            long epochSecond = (zigzag >>> 1) ^ -(zigzag & 1);
+            int nano = (int) readVarLong();
+            return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        }
+
+        private boolean nextFieldPresent() {
+            return (flags & (1L << fieldIndex++)) != 0;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte current = buffer.get();
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in binary frame");
+        }
+    }
+}
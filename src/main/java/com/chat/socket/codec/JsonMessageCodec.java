@@ -0,0 +1,100 @@
+package com.chat.socket.codec;
+
+import com.chat.service.dtos.chat.EnterChatRoom;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.service.dtos.chat.UpdateChatRoom;
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.chat.utils.message.MessageType;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JSON 텍스트 프레임을 messageType 에 맞는 메시지로 디코딩합니다.
+ * 스트리밍 파서로 최상위 messageType 필드만 찾은 뒤, 타입별로 미리 만든 {@link ObjectReader} 로 바로 읽습니다.
+ * 다형성 타입 정보를 끈 매퍼를 사용하므로 타입 판별을 위한 버퍼링이나 중간 트리를 만들지 않습니다.
+ * messageType 이 없거나 알 수 없는 값이면 예외 없이 null 을 반환합니다.
+ */
+@Slf4j
+@Component
+public class JsonMessageCodec {
+
+    private static final String MESSAGE_TYPE_FIELD = "messageType";
+    private static final Map<String, MessageType> MESSAGE_TYPES = new HashMap<>();
+
+    static {
+        for (MessageType messageType : MessageType.values()) {
+            MESSAGE_TYPES.put(messageType.name(), messageType);
+        }
+    }
+
+    private final JsonFactory jsonFactory;
+    private final Map<MessageType, ObjectReader> readers = new EnumMap<>(MessageType.class);
+
+    public JsonMessageCodec(ObjectMapper objectMapper) {
+        // 타입은 이미 알고 읽으므로 하위 타입에서 @JsonTypeInfo 처리를 끈다
+        ObjectMapper typedMapper = objectMapper.copy()
+                .addMixIn(BaseWebSocketMessage.class, NoTypeInfo.class);
+
+        this.jsonFactory = typedMapper.getFactory();
+        readers.put(MessageType.CHAT_MESSAGE, typedMapper.readerFor(SendChat.class));
+        readers.put(MessageType.CHAT_ENTER, typedMapper.readerFor(EnterChatRoom.class));
+        readers.put(MessageType.UPDATE_CHAT_ROOM, typedMapper.readerFor(UpdateChatRoom.class));
+    }
+
+    /**
+     * @return 디코딩한 메시지, messageType 이 없거나 지원하지 않는 값이면 null
+     * @throws IOException JSON 형식이 잘못된 경우
+     */
+    public BaseWebSocketMessage decode(String payload) throws IOException {
+        MessageType messageType;
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            messageType = findMessageType(parser);
+        }
+
+        ObjectReader reader = messageType == null ? null : readers.get(messageType);
+        return reader == null ? null : reader.readValue(payload);
+    }
+
+    public BaseWebSocketMessage decode(byte[] payload) throws IOException {
+        MessageType messageType;
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            messageType = findMessageType(parser);
+        }
+
+        ObjectReader reader = messageType == null ? null : readers.get(messageType);
+        return reader == null ? null : reader.readValue(payload);
+    }
+
+    // 최상위 객체의 필드만 훑고 중첩된 값은 건너뛴다, 보통 첫 필드에서 끝난다
+    private MessageType findMessageType(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (MESSAGE_TYPE_FIELD.equals(fieldName)) {
+                return value == JsonToken.VALUE_STRING ? MESSAGE_TYPES.get(parser.getText()) : null;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NONE)
+    private abstract static class NoTypeInfo {
+    }
+}
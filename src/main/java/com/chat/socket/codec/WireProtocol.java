@@ -0,0 +1,25 @@
+package com.chat.socket.codec;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+
+/**
+ * 클라이언트가 Sec-WebSocket-Protocol 헤더로 고를 수 있는 메시지 형식입니다.
+ * 헤더가 없거나 JSON 을 고르면 기존 JSON 텍스트 프레임을 사용합니다.
+ */
+public final class WireProtocol {
+
+    public static final String JSON = "chat.json.v1";
+    public static final String BINARY = "chat.binary.v1";
+
+    // 클라이언트가 여러 개를 보내면 클라이언트가 보낸 순서대로 지원하는 첫 번째 형식이 선택된다
+    public static final List<String> SUPPORTED = List.of(BINARY, JSON);
+
+    private WireProtocol() {
+    }
+
+    public static boolean isBinary(WebSocketSession session) {
+        return BINARY.equals(session.getAcceptedProtocol());
+    }
+}
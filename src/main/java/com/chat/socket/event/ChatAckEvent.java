@@ -0,0 +1,16 @@
+package com.chat.socket.event;
+
+import com.chat.service.dtos.chat.ChatAck;
+import lombok.Getter;
+
+@Getter
+public class ChatAckEvent {
+
+    private Long senderId;
+    private ChatAck chatAck;
+
+    public ChatAckEvent(Long senderId, ChatAck chatAck) {
+        this.senderId = senderId;
+        this.chatAck = chatAck;
+    }
+}
@@ -0,0 +1,91 @@
+package com.chat.socket.event;
+
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.fanout.ChatFrameDispatcher;
+import com.chat.socket.pipeline.ChatEventRing;
+import com.chat.socket.pipeline.WaitStrategy;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 커밋된 채팅을 링 버퍼로 소비자 스레드에 넘깁니다.
+ * Spring 이벤트처럼 리스너를 찾아 호출하거나 이벤트마다 커밋 콜백을 등록하지 않고, 트랜잭션마다 콜백 하나로 커밋된 채팅을 모아 넣습니다.
+ * 소비자는 채팅 전파만 하고, DB 를 조회할 수 있는 재접속 이어받기 같은 작업은 {@link com.chat.socket.pipeline.MessagePipeline#fanOut} 단계에 남겨 소비자를 막지 않습니다.
+ * 이어받기와 전파가 다른 스레드에서 실행되므로 이어받는 세션은 같은 채팅을 다시 보내기와 전파로 두 번 받을 수 있으며, 클라이언트는 채팅 ID 로 걸러냅니다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.event-bus.type", havingValue = "ring")
+public class ChatEventBus {
+
+    private final ChatEventRing ring;
+
+    public ChatEventBus(ChatFrameDispatcher chatFrameDispatcher,
+                        @Value("${chat.event-bus.buffer-size:4096}") int bufferSize,
+                        @Value("${chat.event-bus.consumers:4}") int consumers,
+                        @Value("${chat.event-bus.wait-strategy:PARK}") WaitStrategy waitStrategy) {
+        this.ring = new ChatEventRing("chat-event", bufferSize, consumers, waitStrategy, chatFrameDispatcher::dispatchChat);
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에 저장 순서대로 넣고, 롤백되면 버립니다. 트랜잭션 밖이면 바로 넣습니다.
+     */
+    public void publishAfterCommit(SendChat sendChat) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(sendChat);
+            return;
+        }
+
+        PendingChats pendingChats = (PendingChats) TransactionSynchronizationManager.getResource(this);
+        if (pendingChats == null) {
+            pendingChats = new PendingChats();
+            TransactionSynchronizationManager.bindResource(this, pendingChats);
+            TransactionSynchronizationManager.registerSynchronization(pendingChats);
+        }
+        pendingChats.sendChats.add(sendChat);
+    }
+
+    public long getPublishedCount() {
+        return ring.getPublishedCount();
+    }
+
+    public long getBacklog() {
+        return ring.getBacklog();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ring.shutdown();
+    }
+
+    private void publish(SendChat sendChat) {
+        if (!ring.publish(sendChat.getChatRoomId(), sendChat)) {
+            log.warn("Chat event bus is shut down, drop chat : {}", sendChat.getChatId());
+        }
+    }
+
+    private class PendingChats implements TransactionSynchronization {
+
+        private final List<SendChat> sendChats = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            for (SendChat sendChat : sendChats) {
+                publish(sendChat);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChatEventBus.this);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.chat.socket.event;
+
+import com.chat.service.dtos.chat.SendChat;
+
+/**
+ * 채팅 저장 트랜잭션 안에서 호출되어, 커밋된 채팅만 채팅방에 전파되도록 넘깁니다.
+ * 아웃박스를 사용하면 {@link com.chat.socket.outbox.ChatOutboxWriter}, 아니면 chat.event-bus.type 에 따라
+ * Spring 이벤트({@link SpringChatEventPublisher}) 또는 링 버퍼({@link RingBufferChatEventPublisher}) 구현이 사용됩니다.
+ */
+public interface ChatEventPublisher {
+
+    void publish(SendChat sendChat);
+}
@@ -0,0 +1,16 @@
+package com.chat.socket.event;
+
+import com.chat.service.dtos.chat.ChatNack;
+import lombok.Getter;
+
+@Getter
+public class ChatNackEvent {
+
+    private Long senderId;
+    private ChatNack chatNack;
+
+    public ChatNackEvent(Long senderId, ChatNack chatNack) {
+        this.senderId = senderId;
+        this.chatNack = chatNack;
+    }
+}
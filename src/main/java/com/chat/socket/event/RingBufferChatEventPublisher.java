@@ -0,0 +1,22 @@
+package com.chat.socket.event;
+
+import com.chat.service.dtos.chat.SendChat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * 커밋 이후 {@link ChatEventBus} 의 링 버퍼에 넣어 전파합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("!${chat.outbox.enabled:false} and '${chat.event-bus.type:spring}' == 'ring'")
+public class RingBufferChatEventPublisher implements ChatEventPublisher {
+
+    private final ChatEventBus chatEventBus;
+
+    @Override
+    public void publish(SendChat sendChat) {
+        chatEventBus.publishAfterCommit(sendChat);
+    }
+}
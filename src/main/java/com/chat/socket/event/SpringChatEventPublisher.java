@@ -0,0 +1,23 @@
+package com.chat.socket.event;
+
+import com.chat.service.dtos.chat.SendChat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link PublishMessageEvent} 를 발행하고, 커밋 이후 {@link com.chat.socket.listener.ChatBroadcastListener} 가 전파합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("!${chat.outbox.enabled:false} and '${chat.event-bus.type:spring}' == 'spring'")
+public class SpringChatEventPublisher implements ChatEventPublisher {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public void publish(SendChat sendChat) {
+        publisher.publishEvent(new PublishMessageEvent(sendChat));
+    }
+}
@@ -0,0 +1,72 @@
+package com.chat.socket.fanout;
+
+import com.chat.service.dtos.chat.ChatAck;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.cluster.ClusterFanOut;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.socket.resume.RecentChatBuffer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * 저장이 끝난 채팅 프레임을 채팅방 참여자와 발신자에게 보냅니다.
+ * 커밋 이후 이벤트와 아웃박스 릴레이가 같은 전파 순서를 따르도록 fan-out 단계 안에서 호출해야 합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatFrameDispatcher {
+
+    private final FanOutEngine fanOutEngine;
+    private final ClusterFanOut clusterFanOut;
+    private final ChatRoomManager chatRoomManager;
+    private final WebsocketSessionManager websocketSessionManager;
+    private final RecentChatBuffer recentChatBuffer;
+
+    /**
+     * 저장된 채팅을 전파하고, clientMessageId 로 보낸 채팅이면 발신자에게 확인 응답을 보냅니다.
+     */
+    public void dispatchChat(SendChat sendChat) {
+        // 바이너리 형식 수신자에게 보낼 때 JSON 을 다시 파싱하지 않도록 원본 메시지로 프레임을 만든다
+        OutboundFrame frame = fanOutEngine.frame(sendChat);
+
+        try {
+            dispatch(sendChat.getChatRoomId(), sendChat.getChatId(), frame);
+        } finally {
+            // 다른 수신자에게 전송이 실패해도 저장은 끝났으므로 발신자에게는 확인 응답을 보낸다
+            if (sendChat.getClientMessageId() != null) {
+                sendAck(sendChat.getSenderId(), fanOutEngine.frame(ChatAck.of(sendChat)));
+            }
+        }
+    }
+
+    public void dispatch(Long chatRoomId, Long chatId, TextMessage frame) {
+        dispatch(chatRoomId, chatId, OutboundFrame.of(frame));
+    }
+
+    public void dispatch(Long chatRoomId, Long chatId, OutboundFrame frame) {
+        // 재접속한 클라이언트에게 다시 보낼 수 있도록 전파한 프레임을 보관
+        recentChatBuffer.append(chatRoomId, chatId, frame.getText());
+
+        // 다른 노드에 접속한 참여자에게는 클러스터 버스로 전달하고, 받은 노드도 최근 채팅 버퍼에 보관한다
+        clusterFanOut.publishChatToRoom(chatRoomId, chatId, frame.getText());
+        // 재접속 이어받기도 fan-out 단계에서 세션을 등록하므로, 전파 시점의 세션 목록을 사용해야 빠지는 채팅이 없다
+        fanOutEngine.broadcast(chatRoomManager.findWebSocketSessionBy(chatRoomId), frame);
+    }
+
+    public void sendAck(Long senderId, TextMessage ackFrame) {
+        sendAck(senderId, OutboundFrame.of(ackFrame));
+    }
+
+    // 발신자가 다른 노드에 접속해 있으면 클러스터 버스로 전달
+    public void sendAck(Long senderId, OutboundFrame ackFrame) {
+        WebSocketSession senderSession = websocketSessionManager.getSessionBy(senderId);
+        if (senderSession == null) {
+            clusterFanOut.publishToMember(senderId, ackFrame.getText());
+            return;
+        }
+        fanOutEngine.send(senderSession, ackFrame);
+    }
+}
@@ -0,0 +1,136 @@
+package com.chat.socket.fanout;
+
+import com.chat.exception.CustomException;
+import com.chat.exception.ErrorCode;
+import com.chat.socket.codec.BinaryMessageCodec;
+import com.chat.socket.codec.WireProtocol;
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * 전파할 메시지를 한 번만 직렬화해 모든 수신자가 같은 프레임을 공유하도록 전송합니다.
+ * 프레임은 UTF-8 바이트로 만든 {@link TextMessage} 라 불변이고, 전송 대기열에서 크기를 계산할 때도 다시 인코딩하지 않습니다.
+ * 바이너리 형식을 협상한 세션에는 {@link OutboundFrame} 마다 한 번만 변환한 바이너리 프레임을 보냅니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FanOutEngine {
+
+    private final ObjectMapper objectMapper;
+    private final BinaryMessageCodec binaryMessageCodec;
+
+    public TextMessage encode(Object message) {
+        return new TextMessage(writeValueAsBytes(message));
+    }
+
+    /**
+     * fieldName 값이 {@link FrameTemplate#SENTINEL} 인 메시지로 수신자별 프레임 템플릿을 만듭니다.
+     */
+    public FrameTemplate template(Object message, String fieldName) {
+        return FrameTemplate.of(writeValueAsBytes(message), fieldName);
+    }
+
+    /**
+     * 메시지를 한 번 직렬화해 원본 메시지와 함께 보관합니다. 바이너리 형식 세션에 보낼 때 JSON 을 다시 파싱하지 않습니다.
+     */
+    public OutboundFrame frame(BaseWebSocketMessage message) {
+        return OutboundFrame.of(encode(message), message);
+    }
+
+    /**
+     * 한 세션의 전송 실패가 나머지 수신자 전파를 멈추지 않도록 모든 세션에 전송한 뒤 실패를 알립니다.
+     */
+    public void broadcast(Collection<WebSocketSession> sessions, Object message) {
+        if (message instanceof BaseWebSocketMessage webSocketMessage) {
+            broadcast(sessions, frame(webSocketMessage));
+            return;
+        }
+        broadcast(sessions, encode(message));
+    }
+
+    public void broadcast(Collection<WebSocketSession> sessions, TextMessage frame) {
+        broadcast(sessions, OutboundFrame.of(frame));
+    }
+
+    public void broadcast(Collection<WebSocketSession> sessions, OutboundFrame frame) {
+        boolean failed = false;
+        for (WebSocketSession session : sessions) {
+            try {
+                session.sendMessage(messageFor(session, frame));
+            } catch (IOException e) {
+                failed = true;
+                log.warn("Failed to send websocket frame to session : {}", session.getId(), e);
+            }
+        }
+
+        if (failed) {
+            throw new CustomException(ErrorCode.CHAT_ROOM_BROADCAST_IO_EXCEPTION);
+        }
+    }
+
+    public void send(WebSocketSession session, TextMessage frame) {
+        send(session, OutboundFrame.of(frame));
+    }
+
+    public void send(WebSocketSession session, OutboundFrame frame) {
+        try {
+            session.sendMessage(messageFor(session, frame));
+        } catch (IOException e) {
+            throw new CustomException(ErrorCode.CHAT_ROOM_BROADCAST_IO_EXCEPTION);
+        }
+    }
+
+    private WebSocketMessage<?> messageFor(WebSocketSession session, OutboundFrame frame) {
+        if (!WireProtocol.isBinary(session)) {
+            return frame.getText();
+        }
+
+        // 바이너리 형식 세션에 처음 보낼 때 한 번만 변환해 같은 프레임의 수신자가 공유
+        byte[] binaryFrame = frame.getBinary();
+        if (binaryFrame == null) {
+            binaryFrame = toBinary(frame);
+            frame.setBinary(binaryFrame);
+        }
+        return binaryMessageOf(binaryFrame, frame.getText());
+    }
+
+    /**
+     * 프레임을 바이너리 형식으로 변환합니다. 바이너리 형식이 없는 메시지면 {@link OutboundFrame#NO_BINARY} 를 반환합니다.
+     */
+    private byte[] toBinary(OutboundFrame frame) {
+        try {
+            BaseWebSocketMessage message = frame.getMessage() != null
+                    ? frame.getMessage()
+                    : objectMapper.readValue(frame.getText().asBytes(), BaseWebSocketMessage.class);
+            return binaryMessageCodec.encode(message);
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("Send JSON frame to binary session, no binary encoding available", e);
+            return OutboundFrame.NO_BINARY;
+        }
+    }
+
+    // BinaryMessage 는 전송하면서 버퍼 위치가 이동하므로 바이트 배열은 공유하고 버퍼는 세션마다 감싼다
+    private WebSocketMessage<?> binaryMessageOf(byte[] binaryFrame, TextMessage frame) {
+        return binaryFrame == OutboundFrame.NO_BINARY ? frame : new BinaryMessage(binaryFrame);
+    }
+
+    private byte[] writeValueAsBytes(Object message) {
+        try {
+            return objectMapper.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new CustomException(ErrorCode.CHAT_ROOM_BROADCAST_IO_EXCEPTION);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.chat.socket.fanout;
+
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 한 번 직렬화한 JSON 에서 수신자마다 달라지는 숫자 필드 하나만 바꿔 끼우는 프레임 템플릿입니다.
+ * 필드 값으로 {@link #SENTINEL} 을 넣어 직렬화한 바이트를 필드 앞뒤로 나누어 두고,
+ * {@link #render(long)} 에서 앞부분 + 값 + 뒷부분을 이어 붙여 다시 직렬화하지 않고 프레임을 만듭니다.
+ */
+public final class FrameTemplate {
+
+    public static final long SENTINEL = Long.MIN_VALUE;
+
+    private final byte[] prefix;
+    private final byte[] suffix;
+
+    private FrameTemplate(byte[] prefix, byte[] suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /**
+     * @param json      fieldName 값이 {@link #SENTINEL} 로 직렬화된 JSON
+     * @param fieldName 수신자마다 바꿔 끼울 숫자 필드 이름
+     */
+    public static FrameTemplate of(byte[] json, String fieldName) {
+        // 문자열 값 안의 따옴표는 이스케이프되므로 이 패턴은 실제 필드에서만 일치한다
+        byte[] pattern = ("\"" + fieldName + "\":" + SENTINEL).getBytes(StandardCharsets.UTF_8);
+        int fieldIndex = indexOf(json, pattern);
+        if (fieldIndex < 0) {
+            throw new IllegalArgumentException("Sentinel field not found in frame : " + fieldName);
+        }
+
+        int valueIndex = fieldIndex + pattern.length - String.valueOf(SENTINEL).length();
+        int suffixIndex = fieldIndex + pattern.length;
+
+        byte[] prefix = new byte[valueIndex];
+        System.arraycopy(json, 0, prefix, 0, valueIndex);
+        byte[] suffix = new byte[json.length - suffixIndex];
+        System.arraycopy(json, suffixIndex, suffix, 0, suffix.length);
+
+        return new FrameTemplate(prefix, suffix);
+    }
+
+    public TextMessage render(long value) {
+        byte[] valueBytes = Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+
+        byte[] frame = new byte[prefix.length + valueBytes.length + suffix.length];
+        System.arraycopy(prefix, 0, frame, 0, prefix.length);
+        System.arraycopy(valueBytes, 0, frame, prefix.length, valueBytes.length);
+        System.arraycopy(suffix, 0, frame, prefix.length + valueBytes.length, suffix.length);
+
+        return new TextMessage(frame);
+    }
+
+    private static int indexOf(byte[] source, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= source.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (source[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,55 @@
+package com.chat.socket.fanout;
+
+import com.chat.utils.message.BaseWebSocketMessage;
+import org.springframework.web.socket.TextMessage;
+
+/**
+ * 한 번의 전파에서 모든 수신자가 공유하는 프레임입니다.
+ * JSON 프레임은 만들 때 한 번 직렬화하고, 바이너리 프레임은 바이너리 형식 세션에 처음 보낼 때 한 번만 인코딩해 이후 수신자와 공유합니다.
+ * 원본 메시지가 있으면 메시지에서 바로 인코딩하고, 다른 노드나 아웃박스에서 받은 JSON 프레임만 있으면 한 번 파싱해 인코딩합니다.
+ */
+public final class OutboundFrame {
+
+    // 바이너리 형식이 없는 메시지도 다시 변환하지 않도록 결과를 표시
+    static final byte[] NO_BINARY = new byte[0];
+
+    private final TextMessage text;
+    private final BaseWebSocketMessage message;
+    private volatile byte[] binary;
+
+    private OutboundFrame(TextMessage text, BaseWebSocketMessage message) {
+        this.text = text;
+        this.message = message;
+    }
+
+    public static OutboundFrame of(TextMessage text) {
+        return new OutboundFrame(text, null);
+    }
+
+    /**
+     * text 는 message 를 직렬화한 프레임이어야 합니다.
+     */
+    public static OutboundFrame of(TextMessage text, BaseWebSocketMessage message) {
+        return new OutboundFrame(text, message);
+    }
+
+    public TextMessage getText() {
+        return text;
+    }
+
+    BaseWebSocketMessage getMessage() {
+        return message;
+    }
+
+    /**
+     * 인코딩한 바이너리 프레임을 반환합니다. 아직 인코딩하지 않았으면 null, 바이너리 형식이 없으면 {@link #NO_BINARY} 를 반환합니다.
+     */
+    byte[] getBinary() {
+        return binary;
+    }
+
+    // 여러 스레드가 동시에 인코딩해도 결과가 같으므로 먼저 끝난 쪽을 덮어써도 된다
+    void setBinary(byte[] binary) {
+        this.binary = binary;
+    }
+}
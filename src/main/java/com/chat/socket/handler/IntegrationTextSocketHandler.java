@@ -2,30 +2,44 @@ package com.chat.socket.handler;
 
 import com.chat.exception.CustomException;
 import com.chat.exception.ErrorCode;
-import com.chat.service.ChatRoomService;
 import com.chat.service.MemberService;
-import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.codec.WireProtocol;
 import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.socket.outbound.OutboundSessionManager;
+import com.chat.socket.pipeline.MessagePipeline;
+import com.chat.socket.resume.ChatResumeCoordinator;
+import com.chat.socket.resume.ResumeToken;
 import com.chat.utils.consts.SessionConst;
-import com.chat.utils.message.BaseWebSocketMessage;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class IntegrationTextSocketHandler extends TextWebSocketHandler {
+public class IntegrationTextSocketHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
 
     private final WebsocketSessionManager websocketSessionManager;
-    private final ChatRoomService chatRoomService;
+    private final MessagePipeline messagePipeline;
+    private final OutboundSessionManager outboundSessionManager;
     private final MemberService memberService;
-    private final ObjectMapper objectMapper;
+    private final ChatResumeCoordinator chatResumeCoordinator;
+
+    // 클라이언트가 Sec-WebSocket-Protocol 로 고를 수 있는 형식, 헤더가 없으면 JSON
+    @Override
+    public List<String> getSubProtocols() {
+        return WireProtocol.SUPPORTED;
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
@@ -37,32 +51,37 @@ public class IntegrationTextSocketHandler extends TextWebSocketHandler {
         }
 
         Long loginMemberId = (Long) sessionObject;
-        websocketSessionManager.addSession(loginMemberId, session);
+        // 이후 모든 전송은 세션별 전송 대기열을 거친다
+        WebSocketSession outboundSession = outboundSessionManager.wrap(session);
+        websocketSessionManager.addSession(loginMemberId, outboundSession);
+
+        log.info("Connect Websocket member : {}, protocol : {}", loginMemberId, session.getAcceptedProtocol());
 
-        log.info("Connect Websocket member : {}", loginMemberId);
+        // 재접속이면 이전 채팅방에 다시 등록하고 놓친 채팅을 보낸다
+        Map<Long, Long> lastChatIds = ResumeToken.parse((String) session.getAttributes().get(SessionConst.RESUME_TOKEN));
+        if (!lastChatIds.isEmpty()) {
+            chatResumeCoordinator.resume(outboundSession, loginMemberId, lastChatIds);
+        }
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        String payload = message.getPayload();
-        BaseWebSocketMessage baseMessage = objectMapper.readValue(payload, BaseWebSocketMessage.class);
+        Long loginMemberId = (Long) session.getAttributes().get(SessionConst.SESSION_ID);
 
-        switch (baseMessage.getMessageType()) {
-            case CHAT_MESSAGE:
-                SendChat sendChat = (SendChat) baseMessage;
-                Long chatRoomId = sendChat.getChatRoomId();
-                Long loginMemberId = (Long) session.getAttributes().get(SessionConst.SESSION_ID);
+        // 디코딩, 저장, 전파는 메시지 파이프라인에서 처리
+        messagePipeline.submit(session.getId(), loginMemberId, message.getPayload());
+    }
 
-                log.info("chat : {} member : {}", payload, loginMemberId);
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        Long loginMemberId = (Long) session.getAttributes().get(SessionConst.SESSION_ID);
 
-                chatRoomService.broadCastMessage(sendChat);
-                chatRoomService.broadcastToChatRoomMembers(chatRoomId);
+        // 컨테이너가 버퍼를 재사용할 수 있으므로 파이프라인에 넘기기 전에 복사
+        ByteBuffer payload = message.getPayload();
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
 
-                break;
-            default:
-                //todo 채팅 메시지 예외처리
-                log.info("exception");
-        }
+        messagePipeline.submit(session.getId(), loginMemberId, bytes);
     }
 
     @Override
@@ -71,7 +90,8 @@ public class IntegrationTextSocketHandler extends TextWebSocketHandler {
 
         log.info("close Websocket member : {}", loginMemberId);
 
-        memberService.removeSession(loginMemberId);
+        outboundSessionManager.remove(session);
+        memberService.removeSession(loginMemberId, session);
     }
 
 }
@@ -1,5 +1,6 @@
 package com.chat.socket.interceptor;
 
+import com.chat.socket.resume.ResumeToken;
 import com.chat.utils.consts.SessionConst;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -26,6 +27,12 @@ public class ChatHandshakeInterceptor implements HandshakeInterceptor {
                 if (loginMemberId != null) {
                     attributes.put(SessionConst.SESSION_ID, loginMemberId); // WebSocketSession의 attributes에 저장
                 }
+
+                // 재접속이면 채팅방별 마지막으로 받은 채팅 ID 를 연결 이후 이어받기에 사용
+                String resumeToken = servletRequest.getParameter(ResumeToken.PARAMETER_NAME);
+                if (resumeToken != null) {
+                    attributes.put(SessionConst.RESUME_TOKEN, resumeToken);
+                }
             } else {
                 return false;
             }
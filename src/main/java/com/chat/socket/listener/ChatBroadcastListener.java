@@ -1,33 +1,43 @@
 package com.chat.socket.listener;
 
-import com.chat.exception.CustomException;
-import com.chat.exception.ErrorCode;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.event.ChatAckEvent;
+import com.chat.socket.event.ChatNackEvent;
 import com.chat.socket.event.PublishMessageEvent;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.chat.socket.fanout.ChatFrameDispatcher;
+import com.chat.socket.fanout.FanOutEngine;
+import com.chat.socket.pipeline.MessagePipeline;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
-import org.springframework.web.socket.TextMessage;
-import org.springframework.web.socket.WebSocketSession;
-
-import java.io.IOException;
 
 @Component
 @RequiredArgsConstructor
 public class ChatBroadcastListener {
 
-    private final ObjectMapper objectMapper;
+    private final FanOutEngine fanOutEngine;
+    private final MessagePipeline messagePipeline;
+    private final ChatFrameDispatcher chatFrameDispatcher;
 
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void publishMessageToSessions(PublishMessageEvent event) {
-        try {
-            String sendChatMessage = objectMapper.writeValueAsString(event.getSendChat());
-            for (WebSocketSession session : event.getSessions()) {
-                session.sendMessage(new TextMessage(sendChatMessage));
-            }
-        } catch (IOException e) {
-            throw new CustomException(ErrorCode.CHAT_ROOM_BROADCAST_IO_EXCEPTION);
-        }
+        SendChat sendChat = event.getSendChat();
+
+        // 커밋한 스레드를 막지 않도록 채팅방 순서를 지키는 fan-out 단계에서 전송
+        messagePipeline.fanOut(sendChat.getChatRoomId(), () -> chatFrameDispatcher.dispatchChat(sendChat));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publishAckToSender(ChatAckEvent event) {
+        // 재전송된 채팅의 확인 응답도 같은 채팅방의 전파 순서를 따른다
+        messagePipeline.fanOut(event.getChatAck().getChatRoomId(),
+                () -> chatFrameDispatcher.sendAck(event.getSenderId(), fanOutEngine.frame(event.getChatAck())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void publishNackToSender(ChatNackEvent event) {
+        messagePipeline.fanOut(event.getChatNack().getChatRoomId(),
+                () -> chatFrameDispatcher.sendAck(event.getSenderId(), fanOutEngine.frame(event.getChatNack())));
     }
 }
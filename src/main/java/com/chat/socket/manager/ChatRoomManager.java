@@ -3,10 +3,11 @@ package com.chat.socket.manager;
 import com.chat.exception.CustomException;
 import com.chat.exception.ErrorCode;
 import com.chat.service.dtos.chat.EnterChatRoom;
+import com.chat.socket.fanout.FanOutEngine;
+import com.chat.socket.fanout.OutboundFrame;
 import com.chat.utils.annotation.VisibleForTesting;
 import com.chat.utils.consts.SessionConst;
 import com.chat.utils.valid.IdValidator;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -15,99 +16,88 @@ import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.Collections;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ChatRoomManager {
 
-    private final Map<Long, Set<WebSocketSession>> chatRooms = new ConcurrentHashMap<>();
-    private final Map<Long, Set<Long>> memberToRoomsMap = new ConcurrentHashMap<>();
-    private final ObjectMapper objectMapper;
+    private final RoomSessionRegistry registry = new RoomSessionRegistry();
+    private final FanOutEngine fanOutEngine;
 
     public void addSessionToRoom(WebSocketSession session, Long chatRoomId) {
 
         IdValidator.requireChatRoomId(chatRoomId);
         Long loginMemberId = (Long) session.getAttributes().get(SessionConst.SESSION_ID);
 
-        chatRooms.computeIfAbsent(chatRoomId, key -> ConcurrentHashMap.newKeySet()).add(session);
-        memberToRoomsMap.computeIfAbsent(loginMemberId, k -> ConcurrentHashMap.newKeySet()).add(chatRoomId);
+        registry.add(chatRoomId, loginMemberId, session);
     }
 
     public void broadcastEnterChatRoom(Long chatRoomId, EnterChatRoom enterChatRoom) {
+        broadcastToRoom(chatRoomId, fanOutEngine.frame(enterChatRoom));
+    }
 
-        IdValidator.requireChatRoomId(chatRoomId);
+    public void broadcastToRoom(Long chatRoomId, TextMessage frame) {
+        broadcastToRoom(chatRoomId, OutboundFrame.of(frame));
+    }
 
-        try {
-            String enterChatRoomMessage = objectMapper.writeValueAsString(enterChatRoom);
-            Set<WebSocketSession> sessions = chatRooms.get(chatRoomId);
+    public void broadcastToRoom(Long chatRoomId, OutboundFrame frame) {
 
-            for (WebSocketSession session : sessions) {
-                session.sendMessage(new TextMessage(enterChatRoomMessage));
-            }
-        } catch (IOException e) {
-            throw new CustomException(ErrorCode.CHAT_ROOM_BROADCAST_IO_EXCEPTION);
-        }
+        IdValidator.requireChatRoomId(chatRoomId);
+
+        fanOutEngine.broadcast(findWebSocketSessionBy(chatRoomId), frame);
     }
 
     public Set<WebSocketSession> getWebSocketSessionBy(Long chatRoomId) {
-        Set<WebSocketSession> sessions = chatRooms.get(chatRoomId);
+        Set<WebSocketSession> sessions = registry.getSessions(chatRoomId);
         if (sessions == null || sessions.isEmpty()) {
             throw new CustomException(ErrorCode.WEB_SOCKET_SESSION_NOT_EXIST);
         }
         return sessions;
     }
 
+    /**
+     * 이 노드에서 채팅방에 접속 중인 세션을 반환합니다. 세션이 없으면 빈 집합을 반환합니다.
+     */
+    public Set<WebSocketSession> findWebSocketSessionBy(Long chatRoomId) {
+        Set<WebSocketSession> sessions = registry.getSessions(chatRoomId);
+        return sessions == null ? Collections.emptySet() : sessions;
+    }
+
     public Set<Long> getChatRoomIdsBy(Long memberId) {
-        return memberToRoomsMap.get(memberId);
+        return registry.getChatRoomIds(memberId);
     }
 
     public void removeChatRoomSession(Long chatRoomId, Long memberId) {
-        Set<WebSocketSession> sessions = chatRooms.get(chatRoomId);
-        if (sessions == null) {
-            return;
-        }
-
-        List<WebSocketSession> toRemove = new ArrayList<>();
-        for (WebSocketSession session : sessions) {
-            Object userIdObj = session.getAttributes().get(SessionConst.SESSION_ID);
-            if (userIdObj instanceof Long && ((Long) userIdObj).equals(memberId)) {
-                toRemove.add(session);
-            }
-        }
-        sessions.removeAll(toRemove);
-
-        for (WebSocketSession session : toRemove) {
-            if (session.isOpen()) {
-                try {
-                    session.close(CloseStatus.NORMAL);
-                } catch (IOException e) {
-                    log.warn("Failed to close WebSocket session for memberId={} in chatRoomId={}", memberId, chatRoomId, e);
-                }
-            }
-        }
-
-        Set<Long> rooms = memberToRoomsMap.get(memberId);
-        if (rooms != null) {
-            rooms.remove(chatRoomId);
-            if (rooms.isEmpty()) {
-                memberToRoomsMap.remove(memberId);
-            }
-        }
+        closeQuietly(registry.remove(chatRoomId, memberId), chatRoomId, memberId);
+    }
 
-        if (sessions.isEmpty()) {
-            chatRooms.remove(chatRoomId);
-        }
+    /**
+     * 채팅방에 등록된 회원의 세션이 닫히는 세션일 때만 제거합니다.
+     * 재접속해 새 세션이 등록된 뒤 이전 세션이 늦게 닫히면 새 세션을 제거하거나 닫지 않습니다.
+     *
+     * @return 닫히는 세션을 제거했으면 true
+     */
+    public boolean removeChatRoomSession(Long chatRoomId, Long memberId, WebSocketSession closingSession) {
+        WebSocketSession removed = registry.remove(chatRoomId, memberId, closingSession.getId());
+        closeQuietly(removed, chatRoomId, memberId);
+        return removed != null;
     }
 
     @VisibleForTesting
     public void clearAll() {
-        chatRooms.clear();
-        memberToRoomsMap.clear();
+        registry.clear();
+    }
+
+    private void closeQuietly(WebSocketSession session, Long chatRoomId, Long memberId) {
+        if (session != null && session.isOpen()) {
+            try {
+                session.close(CloseStatus.NORMAL);
+            } catch (IOException e) {
+                log.warn("Failed to close WebSocket session for memberId={} in chatRoomId={}", memberId, chatRoomId, e);
+            }
+        }
     }
 }
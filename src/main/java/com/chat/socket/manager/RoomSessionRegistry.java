@@ -0,0 +1,230 @@
+package com.chat.socket.manager;
+
+import org.jctools.maps.NonBlockingHashMapLong;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 채팅방별 세션과 회원별 참여 채팅방을 기본형 long 키 동시성 맵으로 관리합니다.
+ * (채팅방, 회원) → 세션 인덱스를 두어 입장, 퇴장 시 채팅방의 세션을 훑지 않고 키로 바로 찾습니다.
+ * 비어 있는 채팅방과 회원 항목은 제거합니다. 항목을 비운 스레드가 항목의 잠금 안에서 제거 표시를 남기므로,
+ * 제거와 동시에 들어온 등록은 제거된 항목에 기록하지 않고 새 항목을 만들어 다시 시도합니다.
+ * 조회는 잠금 없이 수행하며, 잠금 안에서는 I/O 를 하지 않습니다.
+ */
+public class RoomSessionRegistry {
+
+    private final NonBlockingHashMapLong<RoomSessions> rooms = new NonBlockingHashMapLong<>();
+    private final NonBlockingHashMapLong<MemberRooms> memberRooms = new NonBlockingHashMapLong<>();
+
+    public void add(long chatRoomId, long memberId, WebSocketSession session) {
+        // 제거 표시된 항목을 받았다면 맵에서 빠질 항목이므로 새 항목에 다시 등록
+        while (!roomSessionsOf(chatRoomId).put(memberId, session)) {
+            Thread.onSpinWait();
+        }
+        while (!memberRoomsOf(memberId).add(chatRoomId)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * @return 제거한 세션, 채팅방에 회원의 세션이 없으면 null
+     */
+    public WebSocketSession remove(long chatRoomId, long memberId) {
+        WebSocketSession removed = null;
+
+        RoomSessions roomSessions = rooms.get(chatRoomId);
+        if (roomSessions != null) {
+            removed = roomSessions.remove(memberId);
+            if (roomSessions.isRemoved()) {
+                rooms.remove(chatRoomId, roomSessions);
+            }
+        }
+
+        removeMemberRoom(chatRoomId, memberId);
+        return removed;
+    }
+
+    /**
+     * 채팅방에 등록된 회원의 세션이 주어진 세션일 때만 제거합니다.
+     * 재접속한 새 세션이 등록된 뒤에 이전 세션이 닫혀도 새 세션과 회원의 참여 채팅방은 그대로 둡니다.
+     *
+     * @return 제거한 세션, 채팅방에 회원의 세션이 없거나 다른 세션이 등록되어 있으면 null
+     */
+    public WebSocketSession remove(long chatRoomId, long memberId, String sessionId) {
+        RoomSessions roomSessions = rooms.get(chatRoomId);
+        if (roomSessions == null) {
+            return null;
+        }
+
+        WebSocketSession removed = roomSessions.remove(memberId, sessionId);
+        if (removed == null) {
+            return null;
+        }
+        if (roomSessions.isRemoved()) {
+            rooms.remove(chatRoomId, roomSessions);
+        }
+
+        removeMemberRoom(chatRoomId, memberId);
+        return removed;
+    }
+
+    public WebSocketSession get(long chatRoomId, long memberId) {
+        RoomSessions roomSessions = rooms.get(chatRoomId);
+        return roomSessions == null ? null : roomSessions.get(memberId);
+    }
+
+    /**
+     * @return 채팅방의 세션 집합, 채팅방이 없으면 null
+     */
+    public Set<WebSocketSession> getSessions(long chatRoomId) {
+        RoomSessions roomSessions = rooms.get(chatRoomId);
+        return roomSessions == null ? null : roomSessions.sessions;
+    }
+
+    /**
+     * @return 회원이 참여 중인 채팅방 ID 집합, 없으면 null
+     */
+    public Set<Long> getChatRoomIds(long memberId) {
+        MemberRooms chatRoomIds = memberRooms.get(memberId);
+        return chatRoomIds == null ? null : chatRoomIds.chatRoomIds.keySet();
+    }
+
+    public void clear() {
+        rooms.clear();
+        memberRooms.clear();
+    }
+
+    private void removeMemberRoom(long chatRoomId, long memberId) {
+        MemberRooms chatRoomIds = memberRooms.get(memberId);
+        if (chatRoomIds != null) {
+            chatRoomIds.remove(chatRoomId);
+            if (chatRoomIds.isRemoved()) {
+                memberRooms.remove(memberId, chatRoomIds);
+            }
+        }
+    }
+
+    private RoomSessions roomSessionsOf(long chatRoomId) {
+        RoomSessions roomSessions = rooms.get(chatRoomId);
+        if (roomSessions != null && !roomSessions.isRemoved()) {
+            return roomSessions;
+        }
+
+        RoomSessions created = new RoomSessions();
+        while (true) {
+            RoomSessions existing = rooms.putIfAbsent(chatRoomId, created);
+            if (existing == null) {
+                return created;
+            }
+            if (!existing.isRemoved()) {
+                return existing;
+            }
+            // 제거 표시 후 아직 맵에서 빠지지 않은 항목은 대신 치운다
+            rooms.remove(chatRoomId, existing);
+        }
+    }
+
+    private MemberRooms memberRoomsOf(long memberId) {
+        MemberRooms chatRoomIds = memberRooms.get(memberId);
+        if (chatRoomIds != null && !chatRoomIds.isRemoved()) {
+            return chatRoomIds;
+        }
+
+        MemberRooms created = new MemberRooms();
+        while (true) {
+            MemberRooms existing = memberRooms.putIfAbsent(memberId, created);
+            if (existing == null) {
+                return created;
+            }
+            if (!existing.isRemoved()) {
+                return existing;
+            }
+            memberRooms.remove(memberId, existing);
+        }
+    }
+
+    /**
+     * 한 채팅방의 회원별 세션 인덱스와 전파용 세션 집합입니다.
+     * 두 자료구조를 함께 바꾸는 등록과 제거는 잠금 안에서 수행해, 같은 회원의 동시 등록에도 교체된 세션이 집합에 남지 않게 합니다.
+     */
+    private static final class RoomSessions {
+
+        private final NonBlockingHashMapLong<WebSocketSession> byMember = new NonBlockingHashMapLong<>();
+        private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
+        private volatile boolean removed;
+
+        /**
+         * @return 등록했으면 true, 이미 제거 표시된 항목이면 false
+         */
+        private synchronized boolean put(long memberId, WebSocketSession session) {
+            if (removed) {
+                return false;
+            }
+
+            WebSocketSession previous = byMember.put(memberId, session);
+            sessions.add(session);
+            if (previous != null && previous != session) {
+                sessions.remove(previous);
+            }
+            return true;
+        }
+
+        private synchronized WebSocketSession remove(long memberId) {
+            WebSocketSession removedSession = byMember.remove(memberId);
+            if (removedSession != null) {
+                sessions.remove(removedSession);
+            }
+            if (byMember.isEmpty()) {
+                removed = true;
+            }
+            return removedSession;
+        }
+
+        private synchronized WebSocketSession remove(long memberId, String sessionId) {
+            WebSocketSession registered = byMember.get(memberId);
+            if (registered == null || !registered.getId().equals(sessionId)) {
+                return null;
+            }
+            return remove(memberId);
+        }
+
+        private WebSocketSession get(long memberId) {
+            return byMember.get(memberId);
+        }
+
+        private boolean isRemoved() {
+            return removed;
+        }
+    }
+
+    /**
+     * 한 회원이 참여 중인 채팅방 ID 집합입니다.
+     */
+    private static final class MemberRooms {
+
+        private final NonBlockingHashMapLong<Boolean> chatRoomIds = new NonBlockingHashMapLong<>();
+        private volatile boolean removed;
+
+        private synchronized boolean add(long chatRoomId) {
+            if (removed) {
+                return false;
+            }
+
+            chatRoomIds.put(chatRoomId, Boolean.TRUE);
+            return true;
+        }
+
+        private synchronized void remove(long chatRoomId) {
+            chatRoomIds.remove(chatRoomId);
+            if (chatRoomIds.isEmpty()) {
+                removed = true;
+            }
+        }
+
+        private boolean isRemoved() {
+            return removed;
+        }
+    }
+}
@@ -33,6 +33,26 @@ public class WebsocketSessionManager {
             return;
         }
 
+        closeQuietly(memberId, session);
+    }
+
+    /**
+     * 회원의 세션이 닫히는 세션일 때만 제거합니다.
+     * 재접속해 새 세션이 등록된 뒤 이전 세션이 늦게 닫히면 새 세션을 제거하거나 닫지 않습니다.
+     */
+    public void removeSession(Long memberId, WebSocketSession closingSession) {
+        WebSocketSession session = activeMemberSessions.get(memberId);
+
+        if (session == null || !session.getId().equals(closingSession.getId())) {
+            return;
+        }
+
+        if (activeMemberSessions.remove(memberId, session)) {
+            closeQuietly(memberId, session);
+        }
+    }
+
+    private void closeQuietly(Long memberId, WebSocketSession session) {
         if (session.isOpen()) {
             try {
                 session.close(CloseStatus.NORMAL);
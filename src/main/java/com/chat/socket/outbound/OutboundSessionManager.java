@@ -0,0 +1,98 @@
+package com.chat.socket.outbound;
+
+import com.chat.utils.thread.VirtualThreads;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 연결된 웹소켓 세션을 {@link OutboundWebSocketSession} 으로 감싸고 세션별 전송 대기열 지표를 제공합니다.
+ * 모든 세션은 하나의 전송 스레드 풀을 공유합니다.
+ * 한 세션의 전송이 막혀 공용 스레드를 붙잡지 않도록, 감시 스레드가 전송 시간 한도를 넘긴 세션을 주기적으로 끊습니다.
+ * 세션 종료는 전송 스레드 풀과 분리된 실행기에서 수행합니다.
+ */
+@Slf4j
+@Component
+public class OutboundSessionManager {
+
+    private static final long MIN_CHECK_INTERVAL_MILLIS = 10;
+
+    private final Map<String, OutboundWebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final ExecutorService senderExecutor;
+    private final ExecutorService closeExecutor;
+    private final ScheduledExecutorService watchdog;
+    private final int maxQueuedMessages;
+    private final long maxQueuedBytes;
+    private final long sendTimeLimitMillis;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    public OutboundSessionManager(@Value("${chat.outbound.sender-threads:4}") int senderThreads,
+                                  @Value("${chat.outbound.max-queued-messages:1000}") int maxQueuedMessages,
+                                  @Value("${chat.outbound.max-queued-bytes:1048576}") long maxQueuedBytes,
+                                  @Value("${chat.outbound.send-time-limit-ms:10000}") long sendTimeLimitMillis,
+                                  @Value("${chat.outbound.slow-consumer-policy:DISCONNECT}") SlowConsumerPolicy slowConsumerPolicy,
+                                  @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.senderExecutor = createSenderExecutor(senderThreads, virtualThreads);
+        this.closeExecutor = Executors.newCachedThreadPool(VirtualThreads.threadFactory("outbound-closer-", false));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(
+                VirtualThreads.threadFactory("outbound-watchdog-", false));
+        this.maxQueuedMessages = maxQueuedMessages;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+
+        long checkIntervalMillis = Math.max(MIN_CHECK_INTERVAL_MILLIS, sendTimeLimitMillis / 4);
+        watchdog.scheduleWithFixedDelay(this::checkSendTimeLimits,
+                checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public OutboundWebSocketSession wrap(WebSocketSession session) {
+        return sessions.computeIfAbsent(session.getId(), key -> new OutboundWebSocketSession(
+                session, senderExecutor, closeExecutor, maxQueuedMessages, maxQueuedBytes, sendTimeLimitMillis,
+                slowConsumerPolicy));
+    }
+
+    public void remove(WebSocketSession session) {
+        sessions.remove(session.getId());
+    }
+
+    public List<OutboundWebSocketSession> getSessions() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        senderExecutor.shutdownNow();
+        closeExecutor.shutdownNow();
+    }
+
+    private void checkSendTimeLimits() {
+        long now = System.nanoTime();
+        for (OutboundWebSocketSession session : sessions.values()) {
+            session.checkSendTimeLimit(now);
+        }
+    }
+
+    // 가상 스레드를 사용하면 세션마다 전송 스레드를 두어, 소켓 쓰기가 막힌 세션이 공용 스레드를 붙잡지 않게 한다
+    private static ExecutorService createSenderExecutor(int senderThreads, boolean virtualThreads) {
+        if (virtualThreads) {
+            ExecutorService virtualExecutor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            if (virtualExecutor != null) {
+                return virtualExecutor;
+            }
+        }
+        return Executors.newFixedThreadPool(senderThreads, VirtualThreads.threadFactory("outbound-sender-", false));
+    }
+}
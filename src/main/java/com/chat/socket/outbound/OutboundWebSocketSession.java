@@ -0,0 +1,218 @@
+package com.chat.socket.outbound;
+
+import com.chat.utils.consts.SessionConst;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전송할 메시지를 세션별 대기열에 넣고 공용 전송 스레드에서 순서대로 보내는 세션입니다.
+ * sendMessage 는 대기열에 넣기만 하므로 느린 클라이언트가 전파 중인 스레드를 막지 않습니다.
+ * 한 세션의 전송은 항상 한 스레드만 수행하므로 원본 세션에 동시에 쓰지 않습니다.
+ * 대기 중인 메시지 수나 크기가 한도를 넘으면 {@link SlowConsumerPolicy} 에 따라 메시지를 버리거나 세션을 끊습니다.
+ * 한 메시지의 전송이 전송 시간 한도를 넘겨 막혀 있으면 정책과 무관하게 세션을 끊어 공용 전송 스레드를 돌려받습니다.
+ */
+@Slf4j
+public class OutboundWebSocketSession extends WebSocketSessionDecorator {
+
+    // 한 번 전송 작업을 잡았을 때 보낼 최대 메시지 수, 넘으면 다른 세션에 스레드를 양보
+    private static final int DRAIN_BATCH_SIZE = 64;
+
+    private final Executor executor;
+    private final Executor closeExecutor;
+    private final int maxQueuedMessages;
+    private final long maxQueuedBytes;
+    private final long sendTimeLimitNanos;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    private final Queue<WebSocketMessage<?>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedMessages = new AtomicInteger();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final AtomicInteger maxObservedQueuedMessages = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean evicted = new AtomicBoolean();
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    // 원본 세션에 전송 중인지와 그 전송을 시작한 시각
+    private volatile boolean sending;
+    private volatile long sendStartNanos;
+
+    /**
+     * @param executor      대기열을 비우는 공용 전송 실행기
+     * @param closeExecutor 세션 종료 실행기, 전송 스레드가 모두 막혀 있어도 끊을 수 있도록 전송 실행기와 분리합니다
+     */
+    public OutboundWebSocketSession(WebSocketSession delegate, Executor executor, Executor closeExecutor,
+                                    int maxQueuedMessages, long maxQueuedBytes, long sendTimeLimitMillis,
+                                    SlowConsumerPolicy slowConsumerPolicy) {
+        super(delegate);
+        this.executor = executor;
+        this.closeExecutor = closeExecutor;
+        this.maxQueuedMessages = maxQueuedMessages;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMillis);
+        this.slowConsumerPolicy = slowConsumerPolicy;
+    }
+
+    /**
+     * 메시지를 전송 대기열에 넣습니다. 실제 전송은 전송 스레드에서 이루어집니다.
+     */
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (evicted.get() || checkSendTimeLimit(System.nanoTime()) || !isOpen()) {
+            droppedCount.increment();
+            return;
+        }
+
+        int payloadLength = message.getPayloadLength();
+        int messages = queuedMessages.incrementAndGet();
+        long bytes = queuedBytes.addAndGet(payloadLength);
+        if (messages > maxQueuedMessages || bytes > maxQueuedBytes) {
+            release(payloadLength);
+            handleOverflow();
+            return;
+        }
+
+        maxObservedQueuedMessages.accumulateAndGet(messages, Math::max);
+        queue.offer(message);
+        scheduleDrain();
+    }
+
+    public Long getMemberId() {
+        return (Long) getAttributes().get(SessionConst.SESSION_ID);
+    }
+
+    public int getQueuedMessages() {
+        return queuedMessages.get();
+    }
+
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    public int getMaxObservedQueuedMessages() {
+        return maxObservedQueuedMessages.get();
+    }
+
+    public long getSentCount() {
+        return sentCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public boolean isEvicted() {
+        return evicted.get();
+    }
+
+    /**
+     * 진행 중인 전송이 전송 시간 한도를 넘겼으면 세션을 끊습니다. 이번 호출로 끊었으면 true 를 반환합니다.
+     */
+    public boolean checkSendTimeLimit(long nowNanos) {
+        if (evicted.get() || !sending || nowNanos - sendStartNanos <= sendTimeLimitNanos) {
+            return false;
+        }
+
+        log.warn("Websocket send to member : {} exceeded time limit {} ms",
+                getMemberId(), TimeUnit.NANOSECONDS.toMillis(sendTimeLimitNanos));
+        evict();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+            WebSocketMessage<?> message = queue.poll();
+            if (message == null) {
+                break;
+            }
+
+            // 바이너리 메시지는 전송하면서 버퍼 위치가 이동하므로 크기를 먼저 읽어 둔다
+            int payloadLength = message.getPayloadLength();
+            try {
+                if (evicted.get()) {
+                    droppedCount.increment();
+                    continue;
+                }
+                sendStartNanos = System.nanoTime();
+                sending = true;
+                getDelegate().sendMessage(message);
+                sentCount.increment();
+            } catch (IOException | RuntimeException e) {
+                failedCount.increment();
+                log.warn("Failed to send websocket message to member : {}", getMemberId(), e);
+            } finally {
+                sending = false;
+                release(payloadLength);
+            }
+        }
+
+        draining.set(false);
+        // 플래그를 내리는 사이 들어온 메시지는 여기서 다시 전송 작업을 잡는다
+        if (!queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void handleOverflow() {
+        droppedCount.increment();
+
+        if (slowConsumerPolicy == SlowConsumerPolicy.DISCONNECT) {
+            evict();
+            return;
+        }
+        log.debug("Drop websocket message for slow member : {}", getMemberId());
+    }
+
+    private void evict() {
+        if (!evicted.compareAndSet(false, true)) {
+            return;
+        }
+
+        log.warn("Disconnect slow websocket member : {}, queued messages : {}", getMemberId(), queuedMessages.get());
+
+        WebSocketMessage<?> message;
+        while ((message = queue.poll()) != null) {
+            droppedCount.increment();
+            release(message.getPayloadLength());
+        }
+
+        // 전송 스레드가 모두 막혀 있어도 끊을 수 있도록 종료는 전송 실행기 밖에서 수행
+        closeExecutor.execute(() -> {
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to close slow websocket member : {}", getMemberId(), e);
+            }
+        });
+    }
+
+    private void release(int payloadLength) {
+        queuedMessages.decrementAndGet();
+        queuedBytes.addAndGet(-payloadLength);
+    }
+}
@@ -0,0 +1,12 @@
+package com.chat.socket.outbound;
+
+/**
+ * 세션의 전송 대기열이 한도를 넘었을 때의 처리 방식입니다.
+ */
+public enum SlowConsumerPolicy {
+
+    // 한도를 넘은 메시지를 버리고 세션은 유지
+    DROP,
+    // 세션을 끊고 대기 중인 메시지를 모두 버림
+    DISCONNECT
+}
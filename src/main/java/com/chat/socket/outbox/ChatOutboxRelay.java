@@ -0,0 +1,265 @@
+package com.chat.socket.outbox;
+
+import com.chat.entity.ChatOutbox;
+import com.chat.repository.ChatOutboxRepository;
+import com.chat.socket.cluster.RoomOwnership;
+import com.chat.socket.fanout.ChatFrameDispatcher;
+import com.chat.socket.pipeline.MessagePipeline;
+import com.chat.utils.annotation.VisibleForTesting;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 아웃박스에 쌓인 채팅을 주기마다 묶음으로 읽어 채팅방 순서대로 전파하고 전파 완료로 표시합니다.
+ * 전파 후 표시 전에 서버가 내려가면 다음 실행에서 다시 보내므로 같은 채팅을 두 번 받을 수 있으며, 클라이언트는 채팅 ID 로 걸러냅니다.
+ * 채팅방마다 채팅 ID 순서로 읽어 fan-out 단계 한 샤드에서 보내므로 커밋 이후 이벤트로 보내던 때와 전파 순서가 같습니다.
+ */
+@Slf4j
+@Component
+public class ChatOutboxRelay {
+
+    private static final long DISPATCH_TIMEOUT_MILLIS = 30_000;
+
+    private final ChatOutboxRepository chatOutboxRepository;
+    private final MessagePipeline messagePipeline;
+    private final ChatFrameDispatcher chatFrameDispatcher;
+    private final RoomOwnership roomOwnership;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final long retentionMillis;
+    private final ScheduledExecutorService relayExecutor;
+
+    private final LongAdder deliveredCount = new LongAdder();
+    private final LongAdder totalLagMillis = new LongAdder();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+
+    public ChatOutboxRelay(ChatOutboxRepository chatOutboxRepository,
+                           MessagePipeline messagePipeline,
+                           ChatFrameDispatcher chatFrameDispatcher,
+                           RoomOwnership roomOwnership,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${chat.outbox.enabled:false}") boolean enabled,
+                           @Value("${chat.outbox.poll-interval-ms:50}") long pollIntervalMillis,
+                           @Value("${chat.outbox.batch-size:500}") int batchSize,
+                           @Value("${chat.outbox.retention-ms:600000}") long retentionMillis) {
+        this.chatOutboxRepository = chatOutboxRepository;
+        this.messagePipeline = messagePipeline;
+        this.chatFrameDispatcher = chatFrameDispatcher;
+        this.roomOwnership = roomOwnership;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.batchSize = batchSize;
+        this.retentionMillis = retentionMillis;
+
+        if (enabled) {
+            this.relayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "chat-outbox-relay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            relayExecutor.scheduleWithFixedDelay(this::relaySafely, pollIntervalMillis, pollIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+            relayExecutor.scheduleWithFixedDelay(this::purgeSafely, retentionMillis, retentionMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            this.relayExecutor = null;
+        }
+    }
+
+    /**
+     * 전파하지 않은 항목이 있는 채팅방 중 이 노드가 담당하는 채팅방의 항목만 묶음으로 읽어 전파하고, 전파한 항목을 한 번에 완료로 표시합니다.
+     * 다른 노드가 담당하는 항목은 읽지 않으므로 그 노드가 밀려 있어도 이 노드의 전파가 막히지 않습니다.
+     * 묶음이 가득 차 있으면 쌓인 항목이 남아 있으므로 바로 다음 묶음을 읽습니다.
+     *
+     * @return 전파 완료로 표시한 항목 수
+     */
+    @VisibleForTesting
+    public int relay() throws InterruptedException {
+        List<Long> ownedChatRoomIds = chatOutboxRepository.findUndeliveredChatRoomIds().stream()
+                .filter(roomOwnership::isOwner)
+                .collect(Collectors.toList());
+
+        int relayed = 0;
+        // IN 절이 너무 길어지지 않도록 채팅방도 묶음 크기만큼 나누어 읽는다
+        for (int from = 0; from < ownedChatRoomIds.size(); from += batchSize) {
+            List<Long> chatRoomIds = ownedChatRoomIds.subList(from, Math.min(from + batchSize, ownedChatRoomIds.size()));
+            while (true) {
+                List<ChatOutbox> entries = chatOutboxRepository.findUndeliveredIn(chatRoomIds, PageRequest.of(0, batchSize));
+                int delivered = relayBatch(entries);
+                relayed += delivered;
+
+                if (entries.size() < batchSize || delivered == 0) {
+                    break;
+                }
+            }
+        }
+        return relayed;
+    }
+
+    /**
+     * 보관 기간이 지난 전파 완료 항목을 지웁니다.
+     */
+    @VisibleForTesting
+    public int purge() {
+        long cutoffMillis = System.currentTimeMillis() - retentionMillis;
+        Integer deleted = transactionTemplate.execute(status -> chatOutboxRepository.deleteDeliveredBefore(cutoffMillis));
+        return deleted == null ? 0 : deleted;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getPollIntervalMillis() {
+        return pollIntervalMillis;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.sum();
+    }
+
+    public long getAverageLagMillis() {
+        long count = deliveredCount.sum();
+        return count == 0 ? 0 : totalLagMillis.sum() / count;
+    }
+
+    public long getMaxLagMillis() {
+        return maxLagMillis.get();
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis.get();
+    }
+
+    public long getPendingCount() {
+        return chatOutboxRepository.countUndelivered();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (relayExecutor != null) {
+            relayExecutor.shutdownNow();
+        }
+    }
+
+    private int relayBatch(List<ChatOutbox> entries) throws InterruptedException {
+        // 읽는 사이 담당 노드가 바뀐 채팅방은 새 담당 노드의 릴레이가 전파한다
+        Map<Long, List<ChatOutbox>> entriesByRoom = new LinkedHashMap<>();
+        for (ChatOutbox entry : entries) {
+            if (roomOwnership.isOwner(entry.getChatRoomId())) {
+                entriesByRoom.computeIfAbsent(entry.getChatRoomId(), key -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        if (entriesByRoom.isEmpty()) {
+            return 0;
+        }
+
+        Queue<Long> deliveredIds = new ConcurrentLinkedQueue<>();
+        CountDownLatch latch = new CountDownLatch(entriesByRoom.size());
+        for (Map.Entry<Long, List<ChatOutbox>> roomEntries : entriesByRoom.entrySet()) {
+            boolean submitted = messagePipeline.fanOut(roomEntries.getKey(), () -> {
+                try {
+                    for (ChatOutbox entry : roomEntries.getValue()) {
+                        deliver(entry);
+                        deliveredIds.add(entry.getId());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+
+            if (!submitted) {
+                latch.countDown();
+            }
+        }
+
+        // 시간 안에 끝나지 않은 채팅방은 표시하지 않고 다음 실행에서 다시 보낸다
+        if (!latch.await(DISPATCH_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            log.warn("Timed out waiting for chat outbox dispatch, undelivered entries will be retried");
+        }
+
+        List<Long> outboxIds = new ArrayList<>(deliveredIds);
+        if (outboxIds.isEmpty()) {
+            return 0;
+        }
+
+        long deliveredAtMillis = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> chatOutboxRepository.markDelivered(outboxIds, deliveredAtMillis));
+        return outboxIds.size();
+    }
+
+    private void deliver(ChatOutbox entry) {
+        try {
+            chatFrameDispatcher.dispatch(entry.getChatRoomId(), entry.getChatId(), new TextMessage(entry.getPayload()));
+        } catch (RuntimeException e) {
+            // 실패한 세션을 뺀 나머지 참여자에게는 이미 보냈으므로 다시 보내지 않는다
+            log.warn("Failed to deliver chat outbox entry to some sessions : {}", entry.getId(), e);
+        }
+
+        if (entry.getAckPayload() != null) {
+            try {
+                chatFrameDispatcher.sendAck(entry.getSenderId(), new TextMessage(entry.getAckPayload()));
+            } catch (RuntimeException e) {
+                log.warn("Failed to send chat ack for outbox entry : {}", entry.getId(), e);
+            }
+        }
+
+        recordLag(System.currentTimeMillis() - entry.getCreatedAtMillis());
+    }
+
+    // 커밋 직전 저장한 시각부터 세션에 전송을 마친 시각까지의 지연
+    private void recordLag(long lagMillis) {
+        deliveredCount.increment();
+        totalLagMillis.add(lagMillis);
+        lastLagMillis.set(lagMillis);
+        maxLagMillis.accumulateAndGet(lagMillis, Math::max);
+    }
+
+    // 예외가 스케줄 밖으로 나가면 이후 주기가 실행되지 않는다
+    private void relaySafely() {
+        try {
+            relay();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay chat outbox", e);
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge delivered chat outbox entries", e);
+        }
+    }
+}
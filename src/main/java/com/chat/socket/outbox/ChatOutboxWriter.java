@@ -0,0 +1,35 @@
+package com.chat.socket.outbox;
+
+import com.chat.entity.ChatOutbox;
+import com.chat.repository.ChatOutboxRepository;
+import com.chat.service.dtos.chat.ChatAck;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.event.ChatEventPublisher;
+import com.chat.socket.fanout.FanOutEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅을 저장하는 트랜잭션 안에서 전파할 프레임을 아웃박스에 함께 저장합니다.
+ * 채팅과 아웃박스 항목은 함께 커밋되거나 함께 롤백되므로, 커밋된 채팅은 서버가 내려가도 릴레이가 전파합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.outbox.enabled", havingValue = "true")
+public class ChatOutboxWriter implements ChatEventPublisher {
+
+    private final FanOutEngine fanOutEngine;
+    private final ChatOutboxRepository chatOutboxRepository;
+
+    @Override
+    public void publish(SendChat sendChat) {
+        String payload = fanOutEngine.encode(sendChat).getPayload();
+        String ackPayload = sendChat.getClientMessageId() != null
+                ? fanOutEngine.encode(ChatAck.of(sendChat)).getPayload()
+                : null;
+
+        chatOutboxRepository.save(new ChatOutbox(sendChat.getChatRoomId(), sendChat.getChatId(),
+                sendChat.getSenderId(), payload, ackPayload, System.currentTimeMillis()));
+    }
+}
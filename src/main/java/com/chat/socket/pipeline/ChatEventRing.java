@@ -0,0 +1,213 @@
+package com.chat.socket.pipeline;
+
+import com.chat.service.dtos.chat.SendChat;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 미리 할당한 슬롯을 재사용하는 채팅 이벤트 링 버퍼입니다.
+ * 소비자마다 자기 링을 두고 채팅방 ID 로 넣을 링을 고르므로, 같은 채팅방의 채팅은 넣은 순서대로 한 소비자에서 처리됩니다.
+ * 한 소비자가 느려져도 그 소비자의 링에 넣는 생산자만 기다리고, 다른 채팅방의 전파는 막히지 않습니다.
+ * 생산자는 슬롯 번호를 원자적으로 할당받아 여러 스레드에서 동시에 넣을 수 있고, 소비자가 지나가지 않은 슬롯은 덮어쓰지 않고 물러나며 기다립니다.
+ * 슬롯에는 저장 단계에서 받은 채팅을 그대로 담으므로 넣을 때 새로 할당하는 객체가 없습니다.
+ */
+@Slf4j
+public class ChatEventRing {
+
+    private static final int PRODUCER_SPIN_TRIES = 100;
+    private static final int PRODUCER_YIELD_TRIES = 100;
+    private static final long PRODUCER_MIN_PARK_NANOS = 1_000;
+    private static final long PRODUCER_MAX_PARK_NANOS = 1_000_000;
+
+    private final String name;
+    private final Partition[] partitions;
+    private final WaitStrategy waitStrategy;
+    private final Consumer<SendChat> chatHandler;
+
+    private volatile boolean running = true;
+
+    public ChatEventRing(String name, int bufferSize, int consumerCount, WaitStrategy waitStrategy,
+                         Consumer<SendChat> chatHandler) {
+        if (Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of two : " + bufferSize);
+        }
+
+        this.name = name;
+        this.waitStrategy = waitStrategy;
+        this.chatHandler = chatHandler;
+
+        this.partitions = new Partition[consumerCount];
+        for (int i = 0; i < consumerCount; i++) {
+            partitions[i] = new Partition(bufferSize, name + "-ring-" + i, this::consume);
+        }
+        for (Partition partition : partitions) {
+            partition.consumer.start();
+        }
+    }
+
+    public boolean publish(long shardKey, SendChat sendChat) {
+        if (!running) {
+            return false;
+        }
+
+        Partition partition = partitions[Math.floorMod(shardKey, partitions.length)];
+        long sequence = partition.claimSequence.incrementAndGet();
+
+        // 한 바퀴 전의 슬롯을 소비자가 지나갈 때까지 기다린다
+        long wrapPoint = sequence - partition.slots.length;
+        if (wrapPoint > partition.cachedConsumerSequence) {
+            long consumerSequence;
+            int attempts = 0;
+            while (wrapPoint > (consumerSequence = partition.consumerSequence.get())) {
+                if (!running) {
+                    return false;
+                }
+                backOff(attempts++);
+            }
+            partition.cachedConsumerSequence = consumerSequence;
+        }
+
+        Slot slot = partition.slots[(int) (sequence & partition.mask)];
+        slot.sendChat = sendChat;
+        partition.publishedCount.increment();
+        // volatile 쓰기로 앞의 필드가 소비자에게 보이도록 공개한다
+        slot.publishedSequence = sequence;
+
+        // 공개한 뒤에 잠든 소비자가 있는지 확인해야 소비자가 이 슬롯을 놓치고 잠들지 않는다
+        if (partition.consumerWaiting) {
+            LockSupport.unpark(partition.consumer);
+        }
+        return true;
+    }
+
+    public long getPublishedCount() {
+        long count = 0;
+        for (Partition partition : partitions) {
+            count += partition.publishedCount.sum();
+        }
+        return count;
+    }
+
+    /**
+     * 넣었지만 아직 소비자가 지나가지 않은 슬롯 수입니다.
+     */
+    public long getBacklog() {
+        long backlog = 0;
+        for (Partition partition : partitions) {
+            backlog += partition.claimSequence.get() - partition.consumerSequence.get();
+        }
+        return backlog;
+    }
+
+    public int getBufferSize() {
+        return partitions[0].slots.length;
+    }
+
+    public void shutdown() {
+        running = false;
+        for (Partition partition : partitions) {
+            partition.consumer.interrupt();
+        }
+    }
+
+    private void consume(Partition partition) {
+        long next = partition.consumerSequence.get() + 1;
+        int idleCount = 0;
+
+        while (running) {
+            Slot slot = partition.slots[(int) (next & partition.mask)];
+            if (slot.publishedSequence != next) {
+                if (waitStrategy.shouldBlock(idleCount)) {
+                    awaitPublish(partition, slot, next);
+                    idleCount = 0;
+                } else {
+                    idleCount = waitStrategy.idle(idleCount);
+                }
+                continue;
+            }
+            idleCount = 0;
+
+            handle(slot);
+
+            // 처리를 마친 뒤에 번호를 올려야 생산자가 슬롯을 덮어쓰지 않는다
+            partition.consumerSequence.lazySet(next);
+            next++;
+        }
+    }
+
+    // 잠들겠다고 표시한 뒤 슬롯을 한 번 더 확인하므로, 그 사이 공개된 채팅은 생산자가 깨우거나 여기서 바로 찾는다
+    private void awaitPublish(Partition partition, Slot slot, long sequence) {
+        partition.consumerWaiting = true;
+        try {
+            if (slot.publishedSequence != sequence && running) {
+                LockSupport.park(this);
+            }
+        } finally {
+            partition.consumerWaiting = false;
+        }
+    }
+
+    private void handle(Slot slot) {
+        SendChat sendChat = slot.sendChat;
+        // 처리한 채팅을 슬롯이 계속 붙잡고 있지 않도록 비운다
+        slot.sendChat = null;
+
+        try {
+            chatHandler.accept(sendChat);
+        } catch (RuntimeException e) {
+            log.warn("Failed to handle event in ring {}", name, e);
+        }
+    }
+
+    // 소비자가 금방 따라잡는 경우를 위해 잠시 회전한 뒤, 점점 길게 잠들어 CPU 를 놓아 준다
+    private void backOff(int attempts) {
+        if (attempts < PRODUCER_SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (attempts < PRODUCER_SPIN_TRIES + PRODUCER_YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            int shift = Math.min(attempts - PRODUCER_SPIN_TRIES - PRODUCER_YIELD_TRIES, 10);
+            LockSupport.parkNanos(Math.min(PRODUCER_MIN_PARK_NANOS << shift, PRODUCER_MAX_PARK_NANOS));
+        }
+    }
+
+    /**
+     * 소비자 하나가 읽는 링입니다.
+     */
+    private static class Partition {
+
+        private final Slot[] slots;
+        private final int mask;
+        // 마지막으로 할당한 슬롯 번호
+        private final AtomicLong claimSequence = new AtomicLong(-1);
+        // 소비자가 처리를 마친 마지막 슬롯 번호
+        private final AtomicLong consumerSequence = new AtomicLong(-1);
+        private final LongAdder publishedCount = new LongAdder();
+
+        private final Thread consumer;
+
+        private volatile long cachedConsumerSequence = -1;
+        private volatile boolean consumerWaiting;
+
+        private Partition(int bufferSize, String consumerName, Consumer<Partition> consumeLoop) {
+            this.slots = new Slot[bufferSize];
+            this.mask = bufferSize - 1;
+            for (int i = 0; i < bufferSize; i++) {
+                slots[i] = new Slot();
+            }
+
+            this.consumer = new Thread(() -> consumeLoop.accept(this), consumerName);
+            consumer.setDaemon(true);
+        }
+    }
+
+    private static class Slot {
+
+        private SendChat sendChat;
+        private volatile long publishedSequence = -1;
+    }
+}
@@ -0,0 +1,32 @@
+package com.chat.socket.pipeline;
+
+import lombok.Getter;
+
+@Getter
+public class InboundFrame {
+
+    private final String sessionId;
+    private final Long memberId;
+    private final String payload;
+    // 바이너리 형식으로 받은 프레임이면 payload 대신 사용
+    private final byte[] binaryPayload;
+
+    public InboundFrame(String sessionId, Long memberId, String payload) {
+        this(sessionId, memberId, payload, null);
+    }
+
+    public InboundFrame(String sessionId, Long memberId, byte[] binaryPayload) {
+        this(sessionId, memberId, null, binaryPayload);
+    }
+
+    private InboundFrame(String sessionId, Long memberId, String payload, byte[] binaryPayload) {
+        this.sessionId = sessionId;
+        this.memberId = memberId;
+        this.payload = payload;
+        this.binaryPayload = binaryPayload;
+    }
+
+    public boolean isBinary() {
+        return binaryPayload != null;
+    }
+}
@@ -0,0 +1,332 @@
+package com.chat.socket.pipeline;
+
+import com.chat.exception.CustomException;
+import com.chat.exception.ErrorCode;
+import com.chat.service.ChatRoomService;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.cluster.ClusterBus;
+import com.chat.socket.cluster.ClusterEvent;
+import com.chat.socket.cluster.ClusterEventType;
+import com.chat.socket.cluster.ClusterFanOut;
+import com.chat.socket.cluster.ClusterMembershipListener;
+import com.chat.socket.cluster.RoomOwnership;
+import com.chat.socket.codec.BinaryMessageCodec;
+import com.chat.socket.codec.JsonMessageCodec;
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.chat.utils.thread.VirtualThreads;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 웹소켓 수신 메시지를 디코딩 → 저장 → 전파 단계로 나누어 컨테이너 I/O 스레드 밖에서 처리합니다.
+ * 디코딩은 세션 단위, 저장과 전파는 채팅방 단위로 샤딩되어 같은 채팅방의 메시지 순서가 유지됩니다.
+ * 담당 노드로 넘긴 채팅은 담당 노드의 응답을 기다리고, 제한 시간 안에 응답이 없거나 담당 노드가 끊기면 이 노드에서 저장합니다.
+ */
+@Slf4j
+@Component
+public class MessagePipeline {
+
+    private static final long MIN_FORWARD_CHECK_INTERVAL_MILLIS = 10;
+
+    private final ChatRoomService chatRoomService;
+    private final ObjectMapper objectMapper;
+    private final BinaryMessageCodec binaryMessageCodec;
+    private final JsonMessageCodec jsonMessageCodec;
+    private final RoomOwnership roomOwnership;
+    private final ClusterFanOut clusterFanOut;
+
+    private final ShardedStage<InboundFrame> decodeStage;
+    private final ShardedStage<SendChat> persistStage;
+    private final ShardedStage<Runnable> fanOutStage;
+    private final PendingForwards pendingForwards;
+    private final ScheduledExecutorService forwardWatchdog;
+
+    public MessagePipeline(ChatRoomService chatRoomService,
+                           ObjectMapper objectMapper,
+                           BinaryMessageCodec binaryMessageCodec,
+                           JsonMessageCodec jsonMessageCodec,
+                           ClusterBus clusterBus,
+                           RoomOwnership roomOwnership,
+                           ClusterFanOut clusterFanOut,
+                           @Value("${chat.pipeline.decode-threads:2}") int decodeThreads,
+                           @Value("${chat.pipeline.persist-threads:4}") int persistThreads,
+                           @Value("${chat.pipeline.fan-out-threads:4}") int fanOutThreads,
+                           @Value("${chat.pipeline.queue-capacity:1024}") int queueCapacity,
+                           @Value("${chat.pipeline.group-commit.enabled:false}") boolean groupCommitEnabled,
+                           @Value("${chat.pipeline.group-commit.window-ms:5}") long groupCommitWindowMs,
+                           @Value("${chat.pipeline.group-commit.max-batch-size:100}") int groupCommitMaxBatchSize,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                           @Value("${chat.cluster.forward-ack-timeout-ms:3000}") long forwardAckTimeoutMillis) {
+        this.chatRoomService = chatRoomService;
+        this.objectMapper = objectMapper;
+        this.binaryMessageCodec = binaryMessageCodec;
+        this.jsonMessageCodec = jsonMessageCodec;
+        this.roomOwnership = roomOwnership;
+        this.clusterFanOut = clusterFanOut;
+
+        // 가상 스레드를 사용하면 저장 단계의 블로킹 JPA 호출이 플랫폼 스레드를 붙잡지 않는다
+        this.decodeStage = new ShardedStage<>("decode", decodeThreads, queueCapacity,
+                ShardedStage.threadFactory("decode", virtualThreads), this::decode);
+        this.persistStage = groupCommitEnabled
+                ? ShardedStage.batching("persist", persistThreads, queueCapacity,
+                ShardedStage.threadFactory("persist", virtualThreads),
+                groupCommitMaxBatchSize, Duration.ofMillis(groupCommitWindowMs), this::persistBatch)
+                : new ShardedStage<>("persist", persistThreads, queueCapacity,
+                ShardedStage.threadFactory("persist", virtualThreads), this::persist);
+        this.fanOutStage = new ShardedStage<>("fan-out", fanOutThreads, queueCapacity,
+                ShardedStage.threadFactory("fan-out", virtualThreads), Runnable::run);
+
+        this.pendingForwards = new PendingForwards(forwardAckTimeoutMillis);
+        this.forwardWatchdog = Executors.newSingleThreadScheduledExecutor(
+                VirtualThreads.threadFactory("forward-watchdog-", false));
+        long checkIntervalMillis = Math.max(MIN_FORWARD_CHECK_INTERVAL_MILLIS, forwardAckTimeoutMillis / 4);
+        forwardWatchdog.scheduleWithFixedDelay(() -> persistUnacknowledged(pendingForwards.expire(), "timed out"),
+                checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+
+        clusterBus.subscribe(this::receiveClusterEvent);
+        clusterBus.subscribeMembership(new ClusterMembershipListener() {
+            @Override
+            public void joined(String nodeId) {
+            }
+
+            @Override
+            public void left(String nodeId) {
+                // 끊긴 담당 노드의 응답은 오지 않으므로 제한 시간을 기다리지 않고 바로 저장
+                persistUnacknowledged(pendingForwards.removeOwnedBy(nodeId), "owner left");
+            }
+        });
+    }
+
+    public boolean submit(String sessionId, Long memberId, String payload) {
+        return decodeStage.submit(sessionId.hashCode(), new InboundFrame(sessionId, memberId, payload));
+    }
+
+    public boolean submit(String sessionId, Long memberId, byte[] binaryPayload) {
+        return decodeStage.submit(sessionId.hashCode(), new InboundFrame(sessionId, memberId, binaryPayload));
+    }
+
+    /**
+     * 채팅방 전파 작업을 채팅방 순서를 지키며 실행합니다.
+     */
+    public boolean fanOut(Long chatRoomId, Runnable task) {
+        return fanOutStage.submit(chatRoomId, task);
+    }
+
+    public List<StageMetrics> getStageMetrics() {
+        return List.of(decodeStage.getMetrics(), persistStage.getMetrics(), fanOutStage.getMetrics());
+    }
+
+    /**
+     * 담당 노드로 넘긴 뒤 응답을 기다리는 채팅 수입니다.
+     */
+    public int getPendingForwardCount() {
+        return pendingForwards.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forwardWatchdog.shutdownNow();
+        decodeStage.shutdown();
+        persistStage.shutdown();
+        fanOutStage.shutdown();
+    }
+
+    private void decode(InboundFrame frame) {
+        BaseWebSocketMessage baseMessage;
+        try {
+            baseMessage = frame.isBinary()
+                    ? binaryMessageCodec.decode(ByteBuffer.wrap(frame.getBinaryPayload()))
+                    : jsonMessageCodec.decode(frame.getPayload());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to decode websocket message from member : {}", frame.getMemberId(), e);
+            return;
+        }
+
+        if (baseMessage == null) {
+            log.warn("Ignore websocket message of unknown type from member : {}", frame.getMemberId());
+            return;
+        }
+
+        switch (baseMessage.getMessageType()) {
+            case CHAT_MESSAGE:
+                SendChat sendChat = (SendChat) baseMessage;
+                log.debug("chat room : {} member : {}", sendChat.getChatRoomId(), frame.getMemberId());
+
+                if (!roomOwnership.isOwner(sendChat.getChatRoomId())) {
+                    // 채팅방 담당 노드에서 저장 순서를 정하도록 프레임을 넘긴다, 노드 사이는 JSON 으로 주고받는다
+                    String ownerNodeId = roomOwnership.ownerOf(sendChat.getChatRoomId());
+                    if (forwardToOwner(ownerNodeId, frame, sendChat)) {
+                        break;
+                    }
+                    // 담당 노드와 아직 연결되지 않았거나 끊겨 링에서 빠지기 전이면 채팅을 버리지 않고 이 노드에서 저장
+                    log.warn("Owner node {} of chat room : {} is not connected, persist locally",
+                            ownerNodeId, sendChat.getChatRoomId());
+                }
+                persistStage.submit(sendChat.getChatRoomId(), sendChat);
+                break;
+            default:
+                log.warn("Ignore websocket message of unsupported type {} from member : {}",
+                        baseMessage.getMessageType(), frame.getMemberId());
+        }
+    }
+
+    /**
+     * 응답을 기다릴 채팅으로 먼저 등록한 뒤 넘겨야, 담당 노드가 바로 응답해도 응답을 놓치지 않습니다.
+     */
+    private boolean forwardToOwner(String ownerNodeId, InboundFrame frame, SendChat sendChat) {
+        long forwardId = pendingForwards.register(ownerNodeId, sendChat);
+        if (clusterFanOut.forwardToOwner(ownerNodeId, sendChat.getChatRoomId(), forwardId, jsonPayloadOf(frame, sendChat))) {
+            return true;
+        }
+        pendingForwards.acknowledge(forwardId);
+        return false;
+    }
+
+    /**
+     * 담당 노드에서 저장되었는지 알 수 없는 채팅을 이 노드에서 저장합니다.
+     * 저장 단계에도 넣지 못하면 발신자에게 거절 응답을 보내 다시 보내도록 합니다.
+     */
+    private void persistUnacknowledged(List<SendChat> sendChats, String reason) {
+        for (SendChat sendChat : sendChats) {
+            log.warn("Forwarded chat in chat room : {} was not acknowledged ({}), persist locally",
+                    sendChat.getChatRoomId(), reason);
+            if (!persistStage.submit(sendChat.getChatRoomId(), sendChat)) {
+                chatRoomService.rejectMessage(sendChat, ErrorCode.CHAT_PERSIST_FAILED);
+            }
+        }
+    }
+
+    private String jsonPayloadOf(InboundFrame frame, SendChat sendChat) {
+        if (!frame.isBinary()) {
+            return frame.getPayload();
+        }
+
+        try {
+            return objectMapper.writeValueAsString(sendChat);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode forwarded chat", e);
+        }
+    }
+
+    private void receiveClusterEvent(ClusterEvent event) {
+        if (event.getType() == ClusterEventType.FORWARD_SEND) {
+            receiveForwardedSend(event);
+        } else if (event.getType() == ClusterEventType.FORWARD_ACK && !pendingForwards.acknowledge(event.getTargetId())) {
+            log.debug("Late forward ack {} from node : {}", event.getTargetId(), event.getOriginNodeId());
+        }
+    }
+
+    /**
+     * 다른 노드가 이 노드를 담당 노드로 보고 넘긴 채팅을 저장 단계에 넣고 넘긴 노드에 응답합니다.
+     * 노드 목록이 바뀌는 중에는 이 노드의 링과 다를 수 있지만, 채팅이 버려지지 않도록 담당 여부와 관계없이 저장합니다.
+     * 넘겨받은 채팅은 다른 노드로 다시 넘기지 않으므로 노드 사이를 오가지 않습니다.
+     * 저장 단계에 넣지 못하면 응답하지 않으므로 넘긴 노드가 제한 시간 뒤 직접 저장합니다.
+     */
+    private void receiveForwardedSend(ClusterEvent event) {
+        byte[] payload = event.getPayload();
+        if (payload.length < Long.BYTES) {
+            log.warn("Ignore forwarded chat without forward id from node : {}", event.getOriginNodeId());
+            return;
+        }
+
+        long forwardId = ByteBuffer.wrap(payload).getLong();
+        BaseWebSocketMessage baseMessage;
+        try {
+            baseMessage = jsonMessageCodec.decode(Arrays.copyOfRange(payload, Long.BYTES, payload.length));
+        } catch (IOException e) {
+            log.warn("Failed to decode forwarded chat from node : {}", event.getOriginNodeId(), e);
+            return;
+        }
+
+        if (baseMessage instanceof SendChat sendChat && persistStage.submit(sendChat.getChatRoomId(), sendChat)) {
+            clusterFanOut.acknowledgeForward(event.getOriginNodeId(), forwardId);
+        }
+    }
+
+    private void persist(SendChat sendChat) {
+        Long chatRoomId = sendChat.getChatRoomId();
+
+        // 커밋 후 ChatEventPublisher 구현이 채팅 전파를 fan-out 단계에 넣는다
+        // 재전송이나 거절된 채팅은 채팅방이 바뀌지 않았으므로 채팅방 목록 갱신도 보내지 않는다
+        if (!saveChatOrReject(sendChat)) {
+            return;
+        }
+        fanOut(chatRoomId, () -> chatRoomService.broadcastToChatRoomMembers(chatRoomId));
+    }
+
+    /**
+     * 채팅을 개별 트랜잭션으로 저장합니다.
+     * 최근 저장 기록에서 벗어난 재전송은 유니크 제약 조건에 걸리므로 이미 저장된 채팅으로 확인 응답만 보냅니다.
+     *
+     * @return 새 채팅을 저장했으면 true
+     */
+    private boolean saveChat(SendChat sendChat) {
+        try {
+            return chatRoomService.broadCastMessage(sendChat);
+        } catch (DataIntegrityViolationException e) {
+            if (!chatRoomService.acknowledgeDuplicate(sendChat)) {
+                throw e;
+            }
+            log.debug("Duplicated chat from member : {} client message : {}",
+                    sendChat.getSenderId(), sendChat.getClientMessageId());
+            return false;
+        }
+    }
+
+    /**
+     * 채팅을 저장하고, 저장하지 못하면 발신자에게 거절 응답을 보냅니다.
+     *
+     * @return 새 채팅을 저장했으면 true
+     */
+    private boolean saveChatOrReject(SendChat sendChat) {
+        try {
+            return saveChat(sendChat);
+        } catch (RuntimeException e) {
+            log.error("Failed to persist chat in chat room : {} from member : {}",
+                    sendChat.getChatRoomId(), sendChat.getSenderId(), e);
+            chatRoomService.rejectMessage(sendChat, e instanceof CustomException customException
+                    ? customException.getErrorCode()
+                    : ErrorCode.CHAT_PERSIST_FAILED);
+            return false;
+        }
+    }
+
+    /**
+     * 같은 샤드에 모인 채팅을 하나의 트랜잭션으로 저장합니다.
+     * 묶음 중 하나라도 실패하면 전체가 롤백되므로, 이때는 채팅마다 개별 트랜잭션으로 다시 저장합니다.
+     */
+    private void persistBatch(List<SendChat> sendChats) {
+        // 채팅방 목록 갱신은 새 채팅을 저장한 채팅방마다 한 번만 전파
+        Set<Long> chatRoomIds = new LinkedHashSet<>();
+        try {
+            chatRoomIds.addAll(chatRoomService.broadCastMessages(sendChats));
+        } catch (RuntimeException e) {
+            log.warn("Group commit failed for {} chats, retrying one by one", sendChats.size(), e);
+            for (SendChat sendChat : sendChats) {
+                if (saveChatOrReject(sendChat)) {
+                    chatRoomIds.add(sendChat.getChatRoomId());
+                }
+            }
+        }
+
+        for (Long chatRoomId : chatRoomIds) {
+            fanOut(chatRoomId, () -> chatRoomService.broadcastToChatRoomMembers(chatRoomId));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.chat.socket.pipeline;
+
+import com.chat.service.dtos.chat.SendChat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 담당 노드로 넘겼지만 아직 받았다는 응답이 오지 않은 채팅입니다.
+ * 응답 제한 시간이 지나거나 담당 노드가 끊기면 꺼내, 넘긴 노드가 채팅을 버리지 않고 직접 저장하도록 돌려줍니다.
+ * 응답과 만료가 겹쳐도 둘 중 먼저 꺼낸 쪽만 채팅을 가져갑니다.
+ */
+public class PendingForwards {
+
+    private final long timeoutNanos;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, PendingForward> pending = new ConcurrentHashMap<>();
+
+    public PendingForwards(long timeoutMillis) {
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    /**
+     * @return 담당 노드가 응답에 담아 돌려줄 전달 ID
+     */
+    public long register(String ownerNodeId, SendChat sendChat) {
+        long forwardId = sequence.incrementAndGet();
+        pending.put(forwardId, new PendingForward(ownerNodeId, sendChat, System.nanoTime() + timeoutNanos));
+        return forwardId;
+    }
+
+    /**
+     * @return 기다리던 전달이면 true, 이미 만료되어 직접 저장하기로 했으면 false
+     */
+    public boolean acknowledge(long forwardId) {
+        return pending.remove(forwardId) != null;
+    }
+
+    public List<SendChat> expire() {
+        long now = System.nanoTime();
+        List<SendChat> expired = new ArrayList<>();
+        pending.forEach((forwardId, forward) -> {
+            if (now - forward.deadlineNanos >= 0 && pending.remove(forwardId, forward)) {
+                expired.add(forward.sendChat);
+            }
+        });
+        return expired;
+    }
+
+    public List<SendChat> removeOwnedBy(String ownerNodeId) {
+        List<SendChat> removed = new ArrayList<>();
+        pending.forEach((forwardId, forward) -> {
+            if (forward.ownerNodeId.equals(ownerNodeId) && pending.remove(forwardId, forward)) {
+                removed.add(forward.sendChat);
+            }
+        });
+        return removed;
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    private static class PendingForward {
+
+        private final String ownerNodeId;
+        private final SendChat sendChat;
+        private final long deadlineNanos;
+
+        private PendingForward(String ownerNodeId, SendChat sendChat, long deadlineNanos) {
+            this.ownerNodeId = ownerNodeId;
+            this.sendChat = sendChat;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.chat.socket.pipeline;
+
+import com.chat.utils.thread.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 샤드마다 크기가 제한된 대기열과 전용 스레드 하나를 두고 작업을 처리하는 파이프라인 단계입니다.
+ * 같은 샤드 키의 작업은 항상 같은 스레드에서 들어온 순서대로 처리됩니다.
+ * 대기열이 가득 차면 submit 이 대기하므로 앞 단계로 배압이 전달됩니다.
+ * batching 으로 생성하면 대기 시간 또는 최대 개수까지 모인 작업을 한 번에 처리합니다.
+ * 가상 스레드 팩토리를 넘기면 샤드 스레드가 가상 스레드로 실행되어, 블로킹 저장이 많은 단계도 샤드 수를 크게 잡을 수 있습니다.
+ */
+@Slf4j
+public class ShardedStage<T> {
+
+    private final String name;
+    private final Consumer<List<T>> handler;
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+    private final List<BlockingQueue<StageTask<T>>> queues;
+    private final List<Thread> workers;
+    private final StageMetrics metrics;
+
+    private volatile boolean running = true;
+
+    public ShardedStage(String name, int shardCount, int queueCapacity, Consumer<T> handler) {
+        this(name, shardCount, queueCapacity, platformThreadFactory(name), handler);
+    }
+
+    public ShardedStage(String name, int shardCount, int queueCapacity, ThreadFactory threadFactory,
+                        Consumer<T> handler) {
+        this(name, shardCount, queueCapacity, threadFactory, 1, 0, items -> handler.accept(items.get(0)));
+    }
+
+    private ShardedStage(String name, int shardCount, int queueCapacity, ThreadFactory threadFactory,
+                         int maxBatchSize, long batchWindowNanos, Consumer<List<T>> handler) {
+        this.name = name;
+        this.handler = handler;
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindowNanos = batchWindowNanos;
+        this.queues = new ArrayList<>(shardCount);
+        this.workers = new ArrayList<>(shardCount);
+
+        for (int i = 0; i < shardCount; i++) {
+            BlockingQueue<StageTask<T>> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+
+            workers.add(threadFactory.newThread(() -> work(queue)));
+        }
+
+        this.metrics = new StageMetrics(name, this::queueDepth);
+        workers.forEach(Thread::start);
+    }
+
+    /**
+     * 첫 작업을 꺼낸 뒤 batchWindow 동안 또는 maxBatchSize 개가 될 때까지 같은 샤드의 작업을 모아 한 번에 처리하는 단계를 생성합니다.
+     */
+    public static <T> ShardedStage<T> batching(String name, int shardCount, int queueCapacity,
+                                               int maxBatchSize, Duration batchWindow, Consumer<List<T>> handler) {
+        return batching(name, shardCount, queueCapacity, platformThreadFactory(name), maxBatchSize, batchWindow, handler);
+    }
+
+    public static <T> ShardedStage<T> batching(String name, int shardCount, int queueCapacity, ThreadFactory threadFactory,
+                                               int maxBatchSize, Duration batchWindow, Consumer<List<T>> handler) {
+        return new ShardedStage<>(name, shardCount, queueCapacity, threadFactory, maxBatchSize, batchWindow.toNanos(),
+                handler);
+    }
+
+    public static ThreadFactory threadFactory(String name, boolean virtual) {
+        return VirtualThreads.threadFactory("pipeline-" + name + "-", virtual);
+    }
+
+    /**
+     * 샤드 키에 해당하는 대기열에 작업을 넣습니다. 대기열이 가득 차면 자리가 날 때까지 대기합니다.
+     *
+     * @return 단계가 종료되었거나 대기 중 인터럽트되어 작업을 넣지 못하면 false
+     */
+    public boolean submit(long shardKey, T item) {
+        if (!running) {
+            return false;
+        }
+
+        BlockingQueue<StageTask<T>> queue = queues.get(Math.floorMod(shardKey, queues.size()));
+        try {
+            queue.put(new StageTask<>(item, System.nanoTime()));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while submitting to pipeline stage {}", name);
+            return false;
+        }
+    }
+
+    public StageMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void shutdown() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
+
+    private static ThreadFactory platformThreadFactory(String name) {
+        return threadFactory(name, false);
+    }
+
+    private void work(BlockingQueue<StageTask<T>> queue) {
+        List<StageTask<T>> batch = new ArrayList<>(maxBatchSize);
+        List<T> items = new ArrayList<>(maxBatchSize);
+
+        while (running) {
+            batch.clear();
+            items.clear();
+            try {
+                batch.add(queue.take());
+                collectBatch(queue, batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            for (StageTask<T> task : batch) {
+                items.add(task.item);
+            }
+
+            boolean success = true;
+            try {
+                handler.accept(items);
+            } catch (Exception e) {
+                success = false;
+                log.error("Failed to process pipeline stage {}", name, e);
+            }
+
+            long completedNanos = System.nanoTime();
+            for (StageTask<T> task : batch) {
+                metrics.record(completedNanos - task.enqueuedNanos, success);
+            }
+        }
+    }
+
+    private void collectBatch(BlockingQueue<StageTask<T>> queue, List<StageTask<T>> batch) throws InterruptedException {
+        if (maxBatchSize <= 1) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + batchWindowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remainingNanos = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remainingNanos <= 0) {
+                return;
+            }
+
+            StageTask<T> task = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (task == null) {
+                return;
+            }
+            batch.add(task);
+        }
+    }
+
+    private int queueDepth() {
+        int depth = 0;
+        for (BlockingQueue<StageTask<T>> queue : queues) {
+            depth += queue.size();
+        }
+        return depth;
+    }
+
+    private static final class StageTask<T> {
+        private final T item;
+        private final long enqueuedNanos;
+
+        private StageTask(T item, long enqueuedNanos) {
+            this.item = item;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.chat.socket.pipeline;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * 파이프라인 단계별 대기열 길이와 처리 지연 시간을 집계합니다.
+ * 지연 시간은 대기열에 들어간 시점부터 처리가 끝난 시점까지입니다.
+ */
+public class StageMetrics {
+
+    @Getter
+    private final String name;
+    private final IntSupplier queueDepthSupplier;
+
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public StageMetrics(String name, IntSupplier queueDepthSupplier) {
+        this.name = name;
+        this.queueDepthSupplier = queueDepthSupplier;
+    }
+
+    void record(long latencyNanos, boolean success) {
+        processedCount.increment();
+        if (!success) {
+            failedCount.increment();
+        }
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    public int getQueueDepth() {
+        return queueDepthSupplier.getAsInt();
+    }
+
+    public long getProcessedCount() {
+        return processedCount.sum();
+    }
+
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public long getAverageLatencyNanos() {
+        long count = processedCount.sum();
+        return count == 0 ? 0 : totalLatencyNanos.sum() / count;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+}
@@ -0,0 +1,60 @@
+package com.chat.socket.pipeline;
+
+/**
+ * 링 버퍼 소비자가 다음 이벤트를 기다리는 방식입니다.
+ */
+public enum WaitStrategy {
+
+    /**
+     * 코어 하나를 계속 점유하는 대신 이벤트가 들어오자마자 처리합니다.
+     */
+    BUSY_SPIN {
+        @Override
+        int idle(int idleCount) {
+            Thread.onSpinWait();
+            return idleCount + 1;
+        }
+
+        @Override
+        boolean shouldBlock(int idleCount) {
+            return false;
+        }
+    },
+
+    /**
+     * 잠시 회전한 뒤 양보하고, 그래도 이벤트가 없으면 생산자가 깨울 때까지 잠들어 CPU 를 놓아 줍니다.
+     * 잠든 동안에는 주기적으로 깨어나지 않습니다.
+     */
+    PARK {
+        @Override
+        int idle(int idleCount) {
+            if (idleCount < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+            return idleCount + 1;
+        }
+
+        @Override
+        boolean shouldBlock(int idleCount) {
+            return idleCount >= SPIN_TRIES + YIELD_TRIES;
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+
+    /**
+     * @param idleCount 이벤트를 기다리며 연속으로 호출한 횟수
+     * @return 다음 호출에 넘길 횟수
+     */
+    abstract int idle(int idleCount);
+
+    /**
+     * 회전과 양보를 그만두고 생산자가 깨울 때까지 잠들지 정합니다.
+     *
+     * @param idleCount 이벤트를 기다리며 연속으로 호출한 횟수
+     */
+    abstract boolean shouldBlock(int idleCount);
+}
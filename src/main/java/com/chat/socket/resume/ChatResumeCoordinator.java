@@ -0,0 +1,91 @@
+package com.chat.socket.resume;
+
+import com.chat.service.ChatRoomParticipantService;
+import com.chat.service.ChatService;
+import com.chat.service.dtos.ChatHistoryPage;
+import com.chat.service.dtos.chat.ResumeChatRoom;
+import com.chat.service.membership.RoomMembershipCache;
+import com.chat.socket.fanout.FanOutEngine;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.socket.pipeline.MessagePipeline;
+import com.chat.utils.message.MessageType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 재접속한 세션을 이전에 접속해 있던 채팅방에 다시 등록하고 끊긴 동안 놓친 채팅을 보냅니다.
+ * 놓친 채팅이 {@link RecentChatBuffer} 에 모두 남아 있으면 보관된 프레임을 그대로 보내고,
+ * 그렇지 않으면 DB 에서 한 페이지를 조회해 {@link MessageType#CHAT_RESUME} 프레임으로 보냅니다.
+ *
+ * 채팅방 등록과 재전송은 해당 채팅방의 fan-out 단계에서 실행합니다.
+ * 이 작업보다 먼저 전파된 채팅은 버퍼에 있고, 이후에 전파되는 채팅은 등록된 세션으로 전달되므로 빠지는 채팅이 없습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatResumeCoordinator {
+
+    private final RecentChatBuffer recentChatBuffer;
+    private final RoomMembershipCache roomMembershipCache;
+    private final ChatRoomParticipantService chatRoomParticipantService;
+    private final ChatService chatService;
+    private final ChatRoomManager chatRoomManager;
+    private final MessagePipeline messagePipeline;
+    private final FanOutEngine fanOutEngine;
+
+    public void resume(WebSocketSession session, Long memberId, Map<Long, Long> lastChatIds) {
+        for (Map.Entry<Long, Long> entry : lastChatIds.entrySet()) {
+            Long chatRoomId = entry.getKey();
+            long lastChatId = entry.getValue();
+
+            // 참여하지 않은 채팅방은 이어받지 않는다
+            if (!roomMembershipCache.get(chatRoomId).contains(memberId)) {
+                log.info("Skip resume, member : {} is not in chat room : {}", memberId, chatRoomId);
+                continue;
+            }
+
+            chatRoomParticipantService.enterChatRoom(chatRoomId, memberId);
+            messagePipeline.fanOut(chatRoomId, () -> resumeChatRoom(session, memberId, chatRoomId, lastChatId));
+        }
+    }
+
+    private void resumeChatRoom(WebSocketSession session, Long memberId, Long chatRoomId, long lastChatId) {
+        // 이어받기 전에 연결이 다시 끊겼다면 채팅방에 등록하지 않는다
+        if (!session.isOpen()) {
+            return;
+        }
+
+        chatRoomManager.addSessionToRoom(session, chatRoomId);
+
+        List<TextMessage> missedFrames = recentChatBuffer.findAfter(chatRoomId, lastChatId);
+        if (missedFrames != null) {
+            for (TextMessage frame : missedFrames) {
+                fanOutEngine.send(session, frame);
+            }
+            log.debug("Resume chat room : {} member : {} from buffer, replayed : {}",
+                    chatRoomId, memberId, missedFrames.size());
+            return;
+        }
+
+        ChatHistoryPage chatHistoryPage
+                = chatService.findChatHistoryPage(chatRoomId, memberId, null, lastChatId, null);
+        ResumeChatRoom resumeChatRoom = ResumeChatRoom.builder()
+                .messageType(MessageType.CHAT_RESUME)
+                .chatRoomId(chatRoomId)
+                .lastChatId(lastChatId)
+                .chatHistories(chatHistoryPage.getChatHistories())
+                .nextCursor(chatHistoryPage.getNextCursor())
+                .hasNext(chatHistoryPage.isHasNext())
+                .build();
+
+        fanOutEngine.send(session, fanOutEngine.encode(resumeChatRoom));
+        log.debug("Resume chat room : {} member : {} from database, chats : {}",
+                chatRoomId, memberId, chatHistoryPage.getChatHistories().size());
+    }
+}
@@ -0,0 +1,148 @@
+package com.chat.socket.resume;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 채팅방별로 최근 전파한 채팅 프레임을 고정 크기 링 버퍼에 보관해 재접속한 클라이언트가 놓친 채팅을 다시 보냅니다.
+ * 프레임은 전파할 때 만든 것을 그대로 보관하므로 재전송할 때 다시 직렬화하지 않습니다.
+ * 담당 노드에서는 채팅방의 모든 채팅이 같은 fan-out 스레드에서, 다른 노드에서는 담당 노드의 발행 순서대로 추가되므로 채팅 ID 는 오름차순으로 들어옵니다.
+ * 담당 노드가 바뀌는 중에 순서가 어긋난 채팅은 보관하지 않고, 그 채팅 ID 이하로는 버퍼를 믿지 않고 DB 에서 조회하게 합니다.
+ */
+@Component
+public class RecentChatBuffer {
+
+    private final int capacity;
+    private final int maxRooms;
+
+    private final Map<Long, RoomRing> rings = new ConcurrentHashMap<>();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public RecentChatBuffer(@Value("${chat.resume.buffer-size:256}") int capacity,
+                            @Value("${chat.resume.max-rooms:10000}") int maxRooms) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive : " + capacity);
+        }
+        this.capacity = capacity;
+        this.maxRooms = maxRooms;
+    }
+
+    public void append(Long chatRoomId, long chatId, TextMessage frame) {
+        RoomRing ring = rings.get(chatRoomId);
+        if (ring == null) {
+            if (rings.size() >= maxRooms) {
+                evictAny();
+            }
+            ring = rings.computeIfAbsent(chatRoomId, key -> new RoomRing(capacity));
+        }
+        ring.append(chatId, frame);
+    }
+
+    /**
+     * lastChatId 이후의 채팅 프레임을 오름차순으로 반환합니다.
+     *
+     * @return 놓친 채팅 프레임, 버퍼가 lastChatId 이후의 채팅을 모두 담고 있다고 보장할 수 없으면 null
+     */
+    public List<TextMessage> findAfter(Long chatRoomId, long lastChatId) {
+        RoomRing ring = rings.get(chatRoomId);
+        List<TextMessage> frames = ring == null ? null : ring.findAfter(lastChatId);
+
+        if (frames == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return frames;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public int size() {
+        return rings.size();
+    }
+
+    public void clear() {
+        rings.clear();
+    }
+
+    // 버퍼가 사라진 채팅방은 DB 에서 다시 조회하므로 어떤 채팅방을 비워도 정확성에는 영향이 없다
+    private void evictAny() {
+        Iterator<Long> iterator = rings.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static class RoomRing {
+
+        private final long[] chatIds;
+        private final TextMessage[] frames;
+
+        private int head; // 다음에 쓸 위치
+        private int count;
+        // 이 채팅 ID 이하의 채팅은 버퍼에 없을 수 있다, 처음 추가한 채팅이나 마지막으로 밀려난 채팅의 ID
+        private long lowWatermark;
+
+        private RoomRing(int capacity) {
+            this.chatIds = new long[capacity];
+            this.frames = new TextMessage[capacity];
+        }
+
+        private synchronized void append(long chatId, TextMessage frame) {
+            if (count > 0 && chatId <= chatIds[(head - 1 + chatIds.length) % chatIds.length]) {
+                lowWatermark = Math.max(lowWatermark, chatId);
+                return;
+            }
+
+            if (count == 0) {
+                lowWatermark = chatId;
+            } else if (count == chatIds.length) {
+                lowWatermark = chatIds[head];
+            }
+
+            chatIds[head] = chatId;
+            frames[head] = frame;
+            head = (head + 1) % chatIds.length;
+            if (count < chatIds.length) {
+                count++;
+            }
+        }
+
+        private synchronized List<TextMessage> findAfter(long lastChatId) {
+            if (count == 0 || lastChatId < lowWatermark) {
+                return null;
+            }
+
+            int oldest = (head - count + chatIds.length) % chatIds.length;
+            List<TextMessage> missed = null;
+            for (int i = 0; i < count; i++) {
+                int index = (oldest + i) % chatIds.length;
+                if (chatIds[index] > lastChatId) {
+                    if (missed == null) {
+                        missed = new ArrayList<>(count - i);
+                    }
+                    missed.add(frames[index]);
+                }
+            }
+
+            return missed == null ? Collections.emptyList() : missed;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.chat.socket.resume;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 재접속 시 클라이언트가 보내는 채팅방별 마지막으로 받은 채팅 ID 입니다.
+ * 웹소켓 연결 요청의 resume 파라미터로 채팅방ID:채팅ID 를 쉼표로 이어 보냅니다. (예: resume=12:3401,15:220)
+ */
+public final class ResumeToken {
+
+    public static final String PARAMETER_NAME = "resume";
+
+    private static final int MAX_ROOMS = 100;
+
+    private ResumeToken() {
+    }
+
+    /**
+     * 형식이 잘못된 항목은 건너뜁니다.
+     *
+     * @return 채팅방 ID 별 마지막으로 받은 채팅 ID, 요청한 순서를 유지
+     */
+    public static Map<Long, Long> parse(String token) {
+        if (token == null || token.isBlank()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, Long> lastChatIds = new LinkedHashMap<>();
+        for (String entry : token.split(",")) {
+            if (lastChatIds.size() >= MAX_ROOMS) {
+                break;
+            }
+
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+
+            try {
+                long chatRoomId = Long.parseLong(entry.substring(0, separator).trim());
+                long lastChatId = Long.parseLong(entry.substring(separator + 1).trim());
+                if (chatRoomId > 0 && lastChatId >= 0) {
+                    lastChatIds.put(chatRoomId, lastChatId);
+                }
+            } catch (NumberFormatException ignored) {
+                // 잘못된 항목은 무시하고 나머지 채팅방만 이어받는다
+            }
+        }
+
+        return lastChatIds;
+    }
+}
@@ -2,4 +2,5 @@ package com.chat.utils.consts;
 
 public abstract class SessionConst {
     public static final String SESSION_ID = "SessionId";
+    public static final String RESUME_TOKEN = "ResumeToken";
 }
@@ -0,0 +1,35 @@
+package com.chat.utils.key;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅방 참여자 구성을 나타내는 고유 키를 생성합니다.
+ * 회원 ID 를 중복 제거 후 정렬해 SHA-256 으로 해싱하므로, 순서와 무관하게 같은 참여자 구성은 항상 같은 키를 가집니다.
+ */
+public class MemberSetKey {
+
+    public static final int LENGTH = 64;
+
+    public static String of(Collection<Long> memberIds) {
+        String canonical = memberIds.stream()
+                .distinct()
+                .sorted()
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        return HexFormat.of().formatHex(sha256(canonical));
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
@@ -10,6 +10,9 @@ public enum MessageType {
     CHAT_MESSAGE("CHAT_MESSAGE"),
     CHAT_ENTER("채팅방 접속"),
     UPDATE_CHAT_ROOM("UPDATE_CHAT_ROOM"),
+    CHAT_RESUME("재접속 채팅 내역"),
+    CHAT_ACK("채팅 저장 확인"),
+    CHAT_NACK("채팅 저장 거절"),
     ;
 
     private final String description;
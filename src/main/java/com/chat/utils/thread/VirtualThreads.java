@@ -0,0 +1,88 @@
+package com.chat.utils.thread;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실행 중인 JVM 이 지원하면 가상 스레드를, 아니면 데몬 플랫폼 스레드를 만듭니다.
+ * 빌드는 Java 17 로 하므로 Java 21 의 가상 스레드 API 는 리플렉션으로 호출합니다.
+ * 현재 빌드 툴체인인 Java 17 에서 실행하면 spring.threads.virtual.enabled 를 켜도 모두 플랫폼 스레드로 실행되어 효과가 없습니다.
+ * Java 21 런타임에서 두 모드의 최대 동시 전송자 수를 비교하려면 loadTest 태스크로 VirtualThreadLoadTest 를 실행합니다.
+ * 가상 스레드에서 synchronized 블록 안에서 블로킹 I/O 를 하면 캐리어 스레드가 묶이므로, 가상 스레드로 실행되는 경로에서는 락으로 I/O 를 감싸지 않습니다.
+ */
+@Slf4j
+public final class VirtualThreads {
+
+    private static final int VIRTUAL_THREAD_FEATURE_VERSION = 21;
+
+    private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR =
+            findMethod(Executors.class, "newVirtualThreadPerTaskExecutor");
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        // Java 19, 20 에도 메서드는 있지만 preview 기능이라 켜지 않으면 호출할 수 없다
+        return Runtime.version().feature() >= VIRTUAL_THREAD_FEATURE_VERSION
+                && OF_VIRTUAL != null && NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * virtual 이 true 이고 지원되면 namePrefix 뒤에 번호를 붙인 가상 스레드를, 아니면 데몬 플랫폼 스레드를 만드는 팩토리를 반환합니다.
+     */
+    public static ThreadFactory threadFactory(String namePrefix, boolean virtual) {
+        if (virtual && !isSupported()) {
+            log.warn("Virtual threads are not supported on Java {}, use platform threads for {}",
+                    Runtime.version().feature(), namePrefix);
+        }
+
+        if (virtual && isSupported()) {
+            try {
+                Object builder = OF_VIRTUAL.invoke(null);
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Failed to create virtual thread factory, fall back to platform threads", e);
+            }
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 작업마다 새 가상 스레드로 실행하는 실행기를 반환합니다. 지원되지 않으면 null 을 반환합니다.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            return null;
+        }
+
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            log.warn("Failed to create virtual thread executor", e);
+            return null;
+        }
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- JPA @Index 로 표현할 수 없는 PostgreSQL 전용 인덱스
+-- 읽지 않은 채팅읽음만 담는 부분 인덱스 (읽음 처리된 행이 대부분이라 인덱스 크기가 작게 유지된다)
+CREATE INDEX IF NOT EXISTS idx_chat_read_unread
+    ON chat_read (member_id, chat_id)
+    WHERE is_read = false;
+
+-- 전파하지 않은 아웃박스 항목만 담는 부분 인덱스 (릴레이가 담당 채팅방의 항목을 채팅 ID 순서로 읽는다)
+CREATE INDEX IF NOT EXISTS idx_chat_outbox_undelivered_room
+    ON chat_outbox (chat_room_id, chat_id)
+    WHERE delivered_at_millis IS NULL;
@@ -12,6 +12,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class MemberFixture {
 
@@ -34,6 +36,17 @@ public class MemberFixture {
         return memberRepository.save(member);
     }
 
+    /**
+     * 비밀번호 해시는 느리므로 한 번만 만들어 모든 회원이 같이 씁니다.
+     */
+    public List<Member> saveEncryptPasswordBy(List<String> usernames) {
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<Member> members = usernames.stream()
+                .map(username -> Member.of(username, encodedPassword, NICKNAME))
+                .toList();
+        return memberRepository.saveAll(members);
+    }
+
     public LoginResponse loginBy(String username, String requestUrl) {
         LoginRequest request = LoginRequest
                 .builder()
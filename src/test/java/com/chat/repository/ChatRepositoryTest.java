@@ -109,6 +109,30 @@ class ChatRepositoryTest {
         assertThat(chatHistory.get(1)).isEqualTo(secondChat);
     }
 
+    @Test
+    @DisplayName("채팅 ID 커서를 기준으로 이전, 이후 채팅을 조회한다.")
+    void findChatsByCursorTest() {
+        // given
+        Member member = createMember("member");
+        ChatRoom chatRoom = createChatRoom("title");
+
+        Chat firstChat = chatRepository.save(new Chat("first", member, chatRoom));
+        Chat secondChat = chatRepository.save(new Chat("second", member, chatRoom));
+        Chat thirdChat = chatRepository.save(new Chat("third", member, chatRoom));
+
+        Pageable limitTwo = PageRequest.of(0, 2);
+
+        // when
+        List<Chat> latestChats = chatRepository.findLatestChats(chatRoom.getId(), limitTwo);
+        List<Chat> beforeChats = chatRepository.findChatsBefore(chatRoom.getId(), thirdChat.getId(), limitTwo);
+        List<Chat> afterChats = chatRepository.findChatsAfter(chatRoom.getId(), firstChat.getId(), limitTwo);
+
+        // then
+        assertThat(latestChats).containsExactly(thirdChat, secondChat);
+        assertThat(beforeChats).containsExactly(secondChat, firstChat);
+        assertThat(afterChats).containsExactly(secondChat, thirdChat);
+    }
+
     private Member createMember(String username) {
         String commonPassword = "password";
         Member member = Member.of(username, commonPassword, username);
@@ -1,5 +1,7 @@
 package com.chat.repository;
 
+import com.chat.entity.Chat;
+import com.chat.entity.ChatRead;
 import com.chat.entity.ChatRoom;
 import com.chat.entity.ChatRoomParticipant;
 import com.chat.entity.Member;
@@ -27,6 +29,10 @@ class ChatRoomParticipantRepositoryTest {
     @Autowired
     private MemberRepository memberRepository;
     @Autowired
+    private ChatRepository chatRepository;
+    @Autowired
+    private ChatReadRepository chatReadRepository;
+    @Autowired
     private EntityManager em;
 
     @Test
@@ -229,6 +235,75 @@ class ChatRoomParticipantRepositoryTest {
         assertThat(chatRoomParticipant.getMember()).isEqualTo(member);
     }
 
+    @Test
+    @DisplayName("기존 채팅읽음 정보로 참여자별 마지막 읽은 채팅 ID 를 채운다.")
+    void backfillLastReadChatIdsTest() {
+        // given
+        Member firstMember = createMemberBy("first");
+        Member secondMember = createMemberBy("second");
+        Member thirdMember = createMemberBy("third");
+        ChatRoom chatRoom = createChatRoomBy("title");
+
+        chatRoomParticipantRepository.save(new ChatRoomParticipant(false, firstMember, chatRoom));
+        chatRoomParticipantRepository.save(new ChatRoomParticipant(false, secondMember, chatRoom));
+        chatRoomParticipantRepository.save(new ChatRoomParticipant(false, thirdMember, chatRoom));
+
+        Chat firstChat = chatRepository.save(new Chat("first", firstMember, chatRoom));
+        chatReadRepository.save(new ChatRead(true, firstMember, firstChat));
+        chatReadRepository.save(new ChatRead(true, secondMember, firstChat));
+        chatReadRepository.save(new ChatRead(false, thirdMember, firstChat));
+
+        Chat secondChat = chatRepository.save(new Chat("second", firstMember, chatRoom));
+        chatReadRepository.save(new ChatRead(true, firstMember, secondChat));
+        chatReadRepository.save(new ChatRead(false, secondMember, secondChat));
+        chatReadRepository.save(new ChatRead(false, thirdMember, secondChat));
+
+        // when
+        int updatedCount = chatRoomParticipantRepository.backfillLastReadChatIds();
+        em.clear();
+
+        // then
+        assertThat(updatedCount).isEqualTo(3);
+        assertThat(chatRoomParticipantRepository.findChatRoomBy(chatRoom.getId(), firstMember.getId()).getLastReadChatId())
+                .isEqualTo(secondChat.getId());
+        assertThat(chatRoomParticipantRepository.findChatRoomBy(chatRoom.getId(), secondMember.getId()).getLastReadChatId())
+                .isEqualTo(firstChat.getId());
+        assertThat(chatRoomParticipantRepository.findChatRoomBy(chatRoom.getId(), thirdMember.getId()).getLastReadChatId())
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("마지막 읽은 채팅 ID 채우기를 다시 실행해도 이미 채워진 값은 되돌리지 않는다.")
+    void backfillLastReadChatIdsTwiceTest() {
+        // given
+        Member firstMember = createMemberBy("first");
+        Member secondMember = createMemberBy("second");
+        ChatRoom chatRoom = createChatRoomBy("title");
+
+        chatRoomParticipantRepository.save(new ChatRoomParticipant(false, firstMember, chatRoom));
+        chatRoomParticipantRepository.save(new ChatRoomParticipant(false, secondMember, chatRoom));
+
+        Chat firstChat = chatRepository.save(new Chat("first", firstMember, chatRoom));
+        chatReadRepository.save(new ChatRead(true, firstMember, firstChat));
+        chatReadRepository.save(new ChatRead(true, secondMember, firstChat));
+        chatRoomParticipantRepository.backfillLastReadChatIds();
+
+        // watermark 방식으로 전환한 뒤 읽은 채팅은 ChatRead 없이 마지막 읽은 채팅 ID 만 올린다
+        Chat secondChat = chatRepository.save(new Chat("second", firstMember, chatRoom));
+        chatRoomParticipantRepository.updateLastReadChatIdUpTo(firstMember.getId(), chatRoom.getId(), secondChat.getId());
+        em.clear();
+
+        // when
+        chatRoomParticipantRepository.backfillLastReadChatIds();
+        em.clear();
+
+        // then
+        assertThat(chatRoomParticipantRepository.findChatRoomBy(chatRoom.getId(), firstMember.getId()).getLastReadChatId())
+                .isEqualTo(secondChat.getId());
+        assertThat(chatRoomParticipantRepository.findChatRoomBy(chatRoom.getId(), secondMember.getId()).getLastReadChatId())
+                .isEqualTo(firstChat.getId());
+    }
+
     private Member createMemberBy(String username) {
         String commonPassword = "commonPassword";
         Member member = Member.of(username, commonPassword, username);
@@ -1,10 +1,12 @@
 package com.chat.repository;
 
 import com.chat.entity.ChatRoom;
+import com.chat.utils.key.MemberSetKey;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
@@ -55,6 +57,19 @@ class ChatRoomRepositoryTest {
                         .sorted().collect(Collectors.joining(", ")));
     }
 
+    @Test
+    @DisplayName("같은 참여자 구성 키를 가진 채팅방은 저장할 수 없다.")
+    void saveDuplicatedMemberSetKeyTest() {
+        // given
+        String memberSetKey = MemberSetKey.of(List.of(1L, 2L));
+        chatRoomRepository.saveAndFlush(ChatRoom.of("first", memberSetKey));
+
+        // when // then
+        assertThat(chatRoomRepository.existsByMemberSetKey(memberSetKey)).isTrue();
+        assertThatThrownBy(() -> chatRoomRepository.saveAndFlush(ChatRoom.of("second", MemberSetKey.of(List.of(2L, 1L)))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     private String generateDefaultTitle(List<String> participants) {
         return participants.stream()
                 .sorted()
@@ -0,0 +1,149 @@
+package com.chat.repository;
+
+import com.chat.fixture.CapturedSqlInspector;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 자주 실행되는 리포지토리 메서드를 실제로 호출해 Hibernate 가 만든 SQL 을 캡처하고, H2 의 EXPLAIN 으로 전체 테이블 스캔이 발생하지 않는지 검증합니다.
+ * JPQL 이 바뀌어 인덱스를 타지 못하게 되면 이 테스트가 실패합니다.
+ */
+@Transactional
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.chat.fixture.CapturedSqlInspector")
+class QueryPlanTest {
+
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private ChatRepository chatRepository;
+    @Autowired
+    private ChatReadRepository chatReadRepository;
+    @Autowired
+    private ChatRoomParticipantRepository chatRoomParticipantRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private EntityManager em;
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                hotQuery("ChatRepository.findLatestChats",
+                        test -> test.chatRepository.findLatestChats(1L, PageRequest.of(0, 51))),
+                hotQuery("ChatRepository.findChatsBefore",
+                        test -> test.chatRepository.findChatsBefore(1L, 100L, PageRequest.of(0, 51))),
+                hotQuery("ChatRepository.findChatsAfter",
+                        test -> test.chatRepository.findChatsAfter(1L, 100L, PageRequest.of(0, 51))),
+                hotQuery("ChatRepository.countUnReadBy",
+                        test -> test.chatRepository.countUnReadBy(1L, 1L)),
+                hotQuery("ChatReadRepository.findUnReadCountBy(chatRoomId, memberId)",
+                        test -> test.chatReadRepository.findUnReadCountBy(1L, 1L)),
+                hotQuery("ChatReadRepository.findUnReadCountsBy",
+                        test -> test.chatReadRepository.findUnReadCountsBy(List.of(1L, 2L, 3L))),
+                hotQuery("ChatReadRepository.findUnReadCountsByMember",
+                        test -> test.chatReadRepository.findUnReadCountsByMember(1L)),
+                hotQuery("ChatReadRepository.findMemberUnReadCountsBy",
+                        test -> test.chatReadRepository.findMemberUnReadCountsBy(1L)),
+                hotQuery("ChatReadRepository.findBy",
+                        test -> test.chatReadRepository.findBy(1L, 1L)),
+                hotQuery("ChatReadRepository.updateUnreadChatReadsToRead",
+                        test -> test.chatReadRepository.updateUnreadChatReadsToRead(1L, 1L)),
+                hotQuery("ChatReadRepository.updateUnreadChatReadsToReadUpTo",
+                        test -> test.chatReadRepository.updateUnreadChatReadsToReadUpTo(1L, 1L, 100L)),
+                hotQuery("ChatRoomParticipantRepository.findAllFetchChatRoomBy",
+                        test -> test.chatRoomParticipantRepository.findAllFetchChatRoomBy(1L)),
+                hotQuery("ChatRoomParticipantRepository.findAllFetchMemberIn",
+                        test -> test.chatRoomParticipantRepository.findAllFetchMemberIn(List.of(1L, 2L, 3L))),
+                hotQuery("ChatRoomParticipantRepository.findChatRoomBy",
+                        test -> test.chatRoomParticipantRepository.findChatRoomBy(1L, 1L)),
+                hotQuery("ChatRoomParticipantRepository.countUnReadChatsBy",
+                        test -> test.chatRoomParticipantRepository.countUnReadChatsBy(1L)),
+                hotQuery("ChatRoomParticipantRepository.countMemberUnReadChatsBy",
+                        test -> test.chatRoomParticipantRepository.countMemberUnReadChatsBy(1L)),
+                hotQuery("ChatRoomParticipantRepository.updateLastReadChatIds",
+                        test -> test.chatRoomParticipantRepository.updateLastReadChatIds(1L, 1L, 100L)),
+                hotQuery("ChatRoomParticipantRepository.updateLastReadChatIdUpTo",
+                        test -> test.chatRoomParticipantRepository.updateLastReadChatIdUpTo(1L, 1L, 100L)),
+                hotQuery("MemberRepository.findMemberIdsIn",
+                        test -> test.memberRepository.findMemberIdsIn(1L)),
+                hotQuery("MemberRepository.findByUsername",
+                        test -> test.memberRepository.findByUsername("username"))
+        );
+    }
+
+    @DisplayName("자주 실행되는 쿼리는 인덱스를 사용한다.")
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesIndexTest(String queryName, Consumer<QueryPlanTest> query) {
+        // given
+        // 대기 중인 쓰기가 함께 캡처되지 않도록 먼저 내보낸다
+        em.flush();
+
+        // when
+        CapturedSqlInspector.start();
+        query.accept(this);
+        List<String> statements = CapturedSqlInspector.stop();
+
+        // then
+        assertThat(statements).as("%s 실행 SQL", queryName).isNotEmpty();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(plan)
+                    .as("%s 실행 계획%n%s%n%s", queryName, sql, plan)
+                    .doesNotContain(TABLE_SCAN);
+        }
+    }
+
+    private static Arguments hotQuery(String queryName, Consumer<QueryPlanTest> query) {
+        return Arguments.of(queryName, query);
+    }
+
+    private String explain(String sql) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                bindSampleParameters(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * 실행 계획만 확인하므로 파라미터에는 컬럼 타입에 맞는 임의의 값을 넣습니다.
+     * 타입이 다른 값을 넣으면 H2 가 컬럼 쪽을 변환해 인덱스를 쓰지 못하므로 문자열 컬럼에는 문자열을 넣습니다.
+     */
+    private void bindSampleParameters(PreparedStatement statement) throws SQLException {
+        ParameterMetaData metaData = statement.getParameterMetaData();
+        for (int i = 1; i <= metaData.getParameterCount(); i++) {
+            int type = metaData.getParameterType(i);
+            if (type == Types.VARCHAR || type == Types.CHAR) {
+                statement.setString(i, "1");
+            } else if (type == Types.BOOLEAN) {
+                statement.setBoolean(i, true);
+            } else {
+                statement.setLong(i, 1L);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.chat.service;
+
+import com.chat.api.response.chatroom.ChatRoomsResponse;
+import com.chat.entity.Chat;
+import com.chat.entity.ChatRoom;
+import com.chat.entity.ChatRoomParticipant;
+import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.repository.ChatRepository;
+import com.chat.repository.ChatRoomParticipantRepository;
+import com.chat.service.read.ChatReadTracker;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@Transactional
+@SpringBootTest
+class ChatRoomListBenchmarkTest {
+
+    private static final int CHAT_ROOM_COUNT = 300;
+    private static final int OPPONENT_COUNT = 10;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+    @Autowired
+    private ChatService chatService;
+    @Autowired
+    private ChatReadTracker chatReadTracker;
+    @Autowired
+    private ChatRepository chatRepository;
+    @Autowired
+    private ChatRoomParticipantRepository chatRoomParticipantRepository;
+    @Autowired
+    private TestDataFixture fixture;
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    @DisplayName("채팅방 300개에 참여한 회원의 채팅방 목록을 채팅방별 조회 방식과 비교해 쿼리 수와 조회 시간을 측정한다.")
+    void findChatRoomsBenchmarkTest() {
+        // given
+        Member member = fixture.savedMemberBy("member");
+        List<Member> opponents = new ArrayList<>();
+        for (int i = 0; i < OPPONENT_COUNT; i++) {
+            opponents.add(fixture.savedMemberBy("opponent" + i));
+        }
+
+        for (int i = 0; i < CHAT_ROOM_COUNT; i++) {
+            Member opponent = opponents.get(i % OPPONENT_COUNT);
+            List<Member> participants = new ArrayList<>();
+            participants.add(member);
+            participants.add(opponent);
+            ChatRoom chatRoom = fixture.savedChatRoomBy("title" + i, participants);
+
+            chatService.saveChat(opponent.getId(), chatRoom.getId(), "message" + i);
+        }
+        fixture.flushAllData();
+
+        Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // when
+        statistics.clear();
+        long legacyStartTime = System.nanoTime();
+        Map<Long, Long> legacyUnReadCounts = findChatRoomsPerRoom(member.getId());
+        long legacyNanos = System.nanoTime() - legacyStartTime;
+        long legacyStatementCount = statistics.getPrepareStatementCount();
+        fixture.flushAllData();
+
+        statistics.clear();
+        long startTime = System.nanoTime();
+        List<ChatRoomsResponse> chatRooms = chatRoomService.findChatRooms(member.getId());
+        long nanos = System.nanoTime() - startTime;
+        long statementCount = statistics.getPrepareStatementCount();
+
+        System.out.printf("채팅방 %d 개%n", CHAT_ROOM_COUNT);
+        System.out.printf("채팅방별 조회 - 실행 쿼리: %d, 조회 시간: %d ms%n",
+                legacyStatementCount, TimeUnit.NANOSECONDS.toMillis(legacyNanos));
+        System.out.printf("일괄 조회     - 실행 쿼리: %d, 조회 시간: %d ms%n",
+                statementCount, TimeUnit.NANOSECONDS.toMillis(nanos));
+
+        // then
+        assertThat(chatRooms).hasSize(CHAT_ROOM_COUNT);
+        assertThat(statementCount).isLessThanOrEqualTo(4L);
+        assertThat(legacyStatementCount).isGreaterThanOrEqualTo(3L * CHAT_ROOM_COUNT);
+
+        for (ChatRoomsResponse chatRoom : chatRooms) {
+            assertThat(chatRoom.getUnReadCount()).isEqualTo(legacyUnReadCounts.get(chatRoom.getChatRoomId()));
+            assertThat(chatRoom.getLastMessage()).startsWith("message");
+            assertThat(chatRoom.getOpponents()).hasSize(1);
+        }
+    }
+
+    // 채팅방마다 마지막 채팅, 읽지 않은 채팅 수, 참여자를 조회하던 기존 방식
+    private Map<Long, Long> findChatRoomsPerRoom(Long memberId) {
+        List<ChatRoomParticipant> chatRoomParticipants = chatRoomParticipantRepository.findAllBy(memberId);
+
+        return chatRoomParticipants.stream()
+                .map(chatRoomParticipant -> chatRoomParticipant.getChatRoom().getId())
+                .collect(Collectors.toMap(chatRoomId -> chatRoomId, chatRoomId -> {
+                    List<Chat> lastChat = chatRepository.findLastChatBy(chatRoomId, PageRequest.of(0, 1));
+                    assertThat(lastChat).hasSize(1);
+                    chatRoomParticipantRepository.findAllFetchMemberBy(chatRoomId);
+                    return chatReadTracker.countUnReadChats(chatRoomId, memberId);
+                }));
+    }
+}
@@ -0,0 +1,149 @@
+package com.chat.service;
+
+import com.chat.entity.ChatRoom;
+import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.socket.cluster.ClusterBus;
+import com.chat.socket.cluster.ClusterFanOut;
+import com.chat.socket.cluster.LoopbackClusterBus;
+import com.chat.socket.codec.BinaryMessageCodec;
+import com.chat.socket.fanout.FanOutEngine;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.socket.resume.RecentChatBuffer;
+import com.chat.utils.consts.SessionConst;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 채팅방 목록 갱신이 다른 노드에 접속한 참여자에게도 전달되는지 확인합니다.
+ * 애플리케이션의 클러스터 버스를 테스트의 다른 노드와 같은 {@link LoopbackClusterBus.Network} 에 참여시킵니다.
+ */
+@SpringBootTest(properties = "chat.cluster.mode=test")
+class ChatRoomServiceClusterTest {
+
+    private static final LoopbackClusterBus.Network NETWORK = new LoopbackClusterBus.Network();
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+    @Autowired
+    private WebsocketSessionManager websocketSessionManager;
+    @Autowired
+    private TestDataFixture fixture;
+
+    private final List<Long> connectedMemberIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        connectedMemberIds.forEach(websocketSessionManager::removeSession);
+    }
+
+    @Test
+    @DisplayName("이 노드에 세션이 없는 참여자에게는 채팅방 목록 갱신을 클러스터 버스로 넘겨, 접속한 다른 노드가 전송한다.")
+    void broadcastToRemoteMemberTest() throws Exception {
+        // given
+        Member localMember = fixture.savedMemberBy("clusterLocalMember");
+        Member remoteMember = fixture.savedMemberBy("clusterRemoteMember");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(localMember, remoteMember));
+
+        List<String> localReceived = new CopyOnWriteArrayList<>();
+        websocketSessionManager.addSession(localMember.getId(), sessionOf(localMember.getId(), localReceived));
+        connectedMemberIds.add(localMember.getId());
+
+        RemoteNode remoteNode = new RemoteNode(new LoopbackClusterBus("remote", NETWORK));
+        List<String> remoteReceived = remoteNode.connect(remoteMember.getId());
+
+        try {
+            // when
+            chatRoomService.broadcastToChatRoomMembers(chatRoom.getId());
+            awaitSize(remoteReceived, 1);
+            awaitSize(localReceived, 1);
+
+            // then
+            assertThat(remoteReceived).singleElement().asString()
+                    .contains("UPDATE_CHAT_ROOM", "\"chatRoomId\":" + chatRoom.getId());
+            assertThat(localReceived).singleElement().asString()
+                    .contains("UPDATE_CHAT_ROOM", "\"chatRoomId\":" + chatRoom.getId());
+        } finally {
+            remoteNode.clusterBus.leave();
+        }
+    }
+
+    private void awaitSize(List<String> received, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static WebSocketSession sessionOf(Long memberId, List<String> received) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SessionConst.SESSION_ID, memberId);
+        given(session.getAttributes()).willReturn(attributes);
+        given(session.isOpen()).willReturn(true);
+        given(session.getId()).willReturn("cluster-" + memberId);
+        try {
+            willAnswer(invocation -> {
+                received.add(((TextMessage) invocation.getArgument(0)).getPayload());
+                return null;
+            }).given(session).sendMessage(any());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return session;
+    }
+
+    @TestConfiguration
+    static class ClusterConfig {
+
+        @Bean
+        ClusterBus clusterBus() {
+            return new LoopbackClusterBus("application", NETWORK);
+        }
+    }
+
+    /**
+     * 같은 네트워크에 참여한 다른 노드의 세션 관리와 클러스터 전파 구성입니다.
+     */
+    private static class RemoteNode {
+
+        private final LoopbackClusterBus clusterBus;
+        private final WebsocketSessionManager websocketSessionManager = new WebsocketSessionManager();
+
+        private RemoteNode(LoopbackClusterBus clusterBus) {
+            this.clusterBus = clusterBus;
+            FanOutEngine fanOutEngine = new FanOutEngine(new ObjectMapper(), new BinaryMessageCodec());
+            new ClusterFanOut(clusterBus, new ChatRoomManager(fanOutEngine), websocketSessionManager, fanOutEngine,
+                    new RecentChatBuffer(16, 100));
+        }
+
+        private List<String> connect(Long memberId) {
+            List<String> received = new CopyOnWriteArrayList<>();
+            websocketSessionManager.addSession(memberId, sessionOf(memberId, received));
+            return received;
+        }
+    }
+}
@@ -4,15 +4,24 @@ import com.chat.api.response.chatroom.ChatRoomsResponse;
 import com.chat.entity.ChatRoom;
 import com.chat.entity.ChatRoomParticipant;
 import com.chat.entity.Member;
+import com.chat.exception.CustomException;
 import com.chat.fixture.TestDataFixture;
 import com.chat.repository.ChatRoomParticipantRepository;
 import com.chat.repository.ChatRoomRepository;
 import com.chat.service.dtos.SaveChatRoomDTO;
+import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.utils.key.MemberSetKey;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -21,6 +30,10 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 
 @Transactional
 @SpringBootTest
@@ -29,11 +42,17 @@ class ChatRoomServiceTest {
     @Autowired
     private ChatRoomService chatRoomService;
     @Autowired
+    private ChatService chatService;
+    @Autowired
     private ChatRoomRepository chatRoomRepository;
     @Autowired
     private ChatRoomParticipantRepository chatRoomParticipantRepository;
     @Autowired
+    private WebsocketSessionManager websocketSessionManager;
+    @Autowired
     private TestDataFixture fixture;
+    @Autowired
+    private EntityManager em;
 
     @Test
     @DisplayName("채팅방을 저장한다.")
@@ -81,6 +100,38 @@ class ChatRoomServiceTest {
                 .containsExactlyInAnyOrderElementsOf(expectedMemberIds);
     }
 
+    @Test
+    @DisplayName("같은 참여자로 구성된 채팅방은 순서와 무관하게 중복 생성할 수 없다.")
+    void saveDuplicatedChatRoomTest() {
+        // given
+        Member sender = fixture.savedMemberBy("sender");
+        Member firstReceiver = fixture.savedMemberBy("firstReceiver");
+        Member secondReceiver = fixture.savedMemberBy("secondReceiver");
+
+        SaveChatRoomDTO firstDto = SaveChatRoomDTO
+                .builder()
+                .title("title")
+                .senderId(sender.getId())
+                .receiverIds(Set.of(firstReceiver.getId(), secondReceiver.getId()))
+                .build();
+        Long savedChatRoomId = chatRoomService.saveChatRoom(firstDto);
+
+        SaveChatRoomDTO duplicatedDto = SaveChatRoomDTO
+                .builder()
+                .title("other title")
+                .senderId(secondReceiver.getId())
+                .receiverIds(Set.of(sender.getId(), firstReceiver.getId()))
+                .build();
+
+        // when // then
+        assertThatThrownBy(() -> chatRoomService.saveChatRoom(duplicatedDto))
+                .isInstanceOf(CustomException.class);
+
+        ChatRoom chatRoom = chatRoomRepository.findById(savedChatRoomId).get();
+        assertThat(chatRoom.getMemberSetKey())
+                .isEqualTo(MemberSetKey.of(List.of(secondReceiver.getId(), firstReceiver.getId(), sender.getId())));
+    }
+
     @Test
     @DisplayName("채팅방 목록을 조회한다.")
     void findChatRoomsTest() {
@@ -107,6 +158,79 @@ class ChatRoomServiceTest {
         assertThat(chatRooms).hasSize(3);
     }
 
+    @Test
+    @DisplayName("채팅을 저장하면 채팅방 목록의 마지막 메시지가 갱신된다.")
+    void findChatRoomsLastChatTest() {
+        // given
+        Member first = fixture.savedMemberBy("first");
+        Member second = fixture.savedMemberBy("second");
+
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", createParticipantsBy(first, second));
+
+        chatService.saveChat(first.getId(), chatRoom.getId(), "firstMessage");
+        Long lastChatId = chatService.saveChat(second.getId(), chatRoom.getId(), "lastMessage");
+        fixture.flushAllData();
+
+        // when
+        List<ChatRoomsResponse> chatRooms = chatRoomService.findChatRooms(first.getId());
+
+        // then
+        assertThat(chatRooms).hasSize(1);
+        assertThat(chatRooms.get(0).getLastMessage()).isEqualTo("lastMessage");
+        assertThat(chatRooms.get(0).getCreatedDate()).isNotNull();
+
+        ChatRoom findChatRoom = chatRoomRepository.findById(chatRoom.getId()).get();
+        assertThat(findChatRoom.getLastChatId()).isEqualTo(lastChatId);
+        assertThat(findChatRoom.getLastSenderId()).isEqualTo(second.getId());
+    }
+
+    @Test
+    @DisplayName("접속하지 않은 참여자가 있어도 접속한 참여자 모두에게 채팅방 목록 갱신을 보내고, 읽지 않은 채팅 수는 한 번에 조회한다.")
+    void broadcastToChatRoomMembersTest() throws Exception {
+        // given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            members.add(fixture.savedMemberBy("roomUpdateMember" + i));
+        }
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", members);
+        chatService.saveChat(members.get(1).getId(), chatRoom.getId(), "message");
+        fixture.flushAllData();
+
+        // 첫 번째 참여자만 접속하지 않은 상태
+        List<WebSocketSession> sessions = new ArrayList<>();
+        for (Member member : members.subList(1, members.size())) {
+            WebSocketSession session = mock(WebSocketSession.class);
+            given(session.isOpen()).willReturn(true);
+            websocketSessionManager.addSession(member.getId(), session);
+            sessions.add(session);
+        }
+
+        Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // when
+        chatRoomService.broadcastToChatRoomMembers(chatRoom.getId());
+        long statementCount = statistics.getPrepareStatementCount();
+
+        // then
+        assertThat(statementCount).isLessThanOrEqualTo(3L);
+
+        ArgumentCaptor<TextMessage> senderFrame = ArgumentCaptor.forClass(TextMessage.class);
+        verify(sessions.get(0), timeout(3000)).sendMessage(senderFrame.capture());
+        assertThat(senderFrame.getValue().getPayload()).contains("\"unReadCount\":0");
+
+        for (WebSocketSession receiverSession : sessions.subList(1, sessions.size())) {
+            ArgumentCaptor<TextMessage> receiverFrame = ArgumentCaptor.forClass(TextMessage.class);
+            verify(receiverSession, timeout(3000)).sendMessage(receiverFrame.capture());
+            assertThat(receiverFrame.getValue().getPayload()).contains("\"unReadCount\":1");
+        }
+
+        for (Member member : members) {
+            websocketSessionManager.removeSession(member.getId());
+        }
+    }
+
     // todo 채팅, 안읽은 채팅 수 테스트 필요
 
     // todo connect & broadCastMessage 테스트 필요
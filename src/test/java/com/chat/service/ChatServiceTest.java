@@ -3,8 +3,14 @@ package com.chat.service;
 import com.chat.entity.*;
 import com.chat.fixture.TestDataFixture;
 import com.chat.repository.*;
+import com.chat.exception.CustomException;
 import com.chat.service.dtos.ChatHistory;
+import com.chat.service.dtos.ChatHistoryPage;
 import com.chat.service.dtos.SaveChatData;
+import com.chat.service.read.ChatReadTracker;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +21,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @Transactional
 @SpringBootTest
@@ -27,7 +34,11 @@ class ChatServiceTest {
     @Autowired
     private ChatReadRepository chatReadRepository;
     @Autowired
+    private ChatReadTracker chatReadTracker;
+    @Autowired
     private TestDataFixture fixture;
+    @Autowired
+    private EntityManager em;
 
     @Test
     @DisplayName("채팅 메시지를 저장한다.")
@@ -124,4 +135,169 @@ class ChatServiceTest {
         assertThat(firstChat.getUnReadCount()).isEqualTo(1L);
         assertThat(firstChat.getMessage()).isEqualTo("message");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("채팅 ID 커서로 채팅목록을 과거 방향으로 나누어 조회한다.")
+    void findChatHistoryPageTest() {
+        // given
+        Member firstMember = fixture.savedMemberBy("firstMember");
+        Member secondMember = fixture.savedMemberBy("secondMember");
+
+        List<Member> participants = new ArrayList<>();
+        participants.add(firstMember);
+        participants.add(secondMember);
+
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", participants);
+        Long chatRoomId = chatRoom.getId();
+
+        List<Long> chatIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            chatIds.add(chatService.saveChat(secondMember.getId(), chatRoomId, "message" + i));
+        }
+
+        // when
+        ChatHistoryPage latestPage
+                = chatService.findChatHistoryPage(chatRoomId, firstMember.getId(), null, null, 2);
+        ChatHistoryPage middlePage
+                = chatService.findChatHistoryPage(chatRoomId, firstMember.getId(), latestPage.getNextCursor(), null, 2);
+        ChatHistoryPage lastPage
+                = chatService.findChatHistoryPage(chatRoomId, firstMember.getId(), middlePage.getNextCursor(), null, 2);
+
+        // then
+        assertThat(latestPage.getChatHistories()).extracting(ChatHistory::getChatId)
+                .containsExactly(chatIds.get(3), chatIds.get(4));
+        assertThat(latestPage.isHasNext()).isTrue();
+        assertThat(latestPage.getNextCursor()).isEqualTo(chatIds.get(3));
+
+        assertThat(middlePage.getChatHistories()).extracting(ChatHistory::getChatId)
+                .containsExactly(chatIds.get(1), chatIds.get(2));
+        assertThat(middlePage.isHasNext()).isTrue();
+
+        assertThat(lastPage.getChatHistories()).extracting(ChatHistory::getChatId)
+                .containsExactly(chatIds.get(0));
+        assertThat(lastPage.isHasNext()).isFalse();
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("afterChatId 로 이후 채팅을 조회하면 조회된 페이지의 마지막 채팅까지만 읽음 처리한다.")
+    void findChatHistoryPageAfterReadUpToTest() {
+        // given
+        Member firstMember = fixture.savedMemberBy("firstMember");
+        Member secondMember = fixture.savedMemberBy("secondMember");
+
+        List<Member> participants = new ArrayList<>();
+        participants.add(firstMember);
+        participants.add(secondMember);
+
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", participants);
+        Long chatRoomId = chatRoom.getId();
+
+        List<Long> chatIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            chatIds.add(chatService.saveChat(secondMember.getId(), chatRoomId, "message" + i));
+        }
+
+        // when
+        ChatHistoryPage afterPage
+                = chatService.findChatHistoryPage(chatRoomId, firstMember.getId(), null, chatIds.get(0), 2);
+
+        // then
+        assertThat(afterPage.getChatHistories()).extracting(ChatHistory::getChatId)
+                .containsExactly(chatIds.get(1), chatIds.get(2));
+        assertThat(afterPage.isHasNext()).isTrue();
+        assertThat(chatReadTracker.countUnReadChats(chatRoomId, firstMember.getId())).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("beforeChatId 와 afterChatId 를 함께 사용하면 예외가 발생한다.")
+    void findChatHistoryPageInvalidCursorTest() {
+        // given
+        Member member = fixture.savedMemberBy("member");
+        List<Member> participants = new ArrayList<>();
+        participants.add(member);
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", participants);
+
+        // when // then
+        assertThatThrownBy(() -> chatService.findChatHistoryPage(chatRoom.getId(), member.getId(), 10L, 1L, 10))
+                .isInstanceOf(CustomException.class);
+    }
+
+    @Test
+    @DisplayName("채팅목록 조회 시 채팅 수와 무관하게 일정한 수의 쿼리만 실행된다.")
+    void findChatHistoryStatementCountTest() {
+        // given
+        Member firstMember = fixture.savedMemberBy("firstMember");
+        Member secondMember = fixture.savedMemberBy("secondMember");
+
+        List<Member> participants = new ArrayList<>();
+        participants.add(firstMember);
+        participants.add(secondMember);
+
+        ChatRoom smallChatRoom = fixture.savedChatRoomBy("small", participants);
+        ChatRoom largeChatRoom = fixture.savedChatRoomBy("large", participants);
+
+        for (int i = 0; i < 2; i++) {
+            chatService.saveChat(secondMember.getId(), smallChatRoom.getId(), "message" + i);
+        }
+        for (int i = 0; i < 20; i++) {
+            chatService.saveChat(secondMember.getId(), largeChatRoom.getId(), "message" + i);
+        }
+        fixture.flushAllData();
+
+        Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // when
+        statistics.clear();
+        List<ChatHistory> smallHistory = chatService.findChatHistory(smallChatRoom.getId(), firstMember.getId());
+        em.flush();
+        long smallStatementCount = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ChatHistory> largeHistory = chatService.findChatHistory(largeChatRoom.getId(), firstMember.getId());
+        em.flush();
+        long largeStatementCount = statistics.getPrepareStatementCount();
+
+        // then
+        // 회원 조회 / 읽음 일괄 UPDATE / 채팅 조회 / 읽지 않은 회원 수 GROUP BY 조회
+        assertThat(smallHistory).hasSize(2);
+        assertThat(largeHistory).hasSize(20);
+        assertThat(largeStatementCount).isEqualTo(smallStatementCount);
+        assertThat(largeStatementCount).isLessThanOrEqualTo(4L);
+        assertThat(largeHistory).extracting(ChatHistory::getUnReadCount).containsOnly(0L);
+    }
+
+    @Test
+    @DisplayName("50명 채팅방에 채팅을 저장해도 참여자 수와 무관하게 일정한 수의 쿼리만 실행된다.")
+    void saveChatStatementCountTest() {
+        // given
+        List<Member> participants = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            participants.add(fixture.savedMemberBy("member" + i));
+        }
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", participants);
+        Long senderId = participants.get(0).getId();
+
+        // 시퀀스 할당 등 첫 저장에만 발생하는 쿼리 제외
+        chatService.saveChat(senderId, chatRoom.getId(), "warm up");
+        fixture.flushAllData();
+
+        Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // when
+        chatService.saveChat(senderId, chatRoom.getId(), "message");
+        em.flush();
+
+        // then
+        // 회원, 채팅방 조회 / 채팅 ID 시퀀스 조회 / 채팅 INSERT / 이전 채팅 읽음 처리 / 채팅읽음 배치 INSERT
+        // / 마지막 채팅 스냅샷 조건부 UPDATE
+        // 참여자 정보는 첫 저장 시 캐시되어 조회하지 않고, 변경 감지로 채팅방을 다시 UPDATE 하지 않는다
+        long statementCount = statistics.getPrepareStatementCount();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(51L);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(statementCount).isLessThanOrEqualTo(7L);
+    }
+}
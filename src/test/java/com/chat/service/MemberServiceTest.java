@@ -3,18 +3,32 @@ package com.chat.service;
 import com.chat.api.request.member.JoinRequest;
 import com.chat.api.request.member.LoginRequest;
 import com.chat.api.response.member.GetMembersResponse;
+import com.chat.entity.ChatRoom;
 import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.repository.ChatRoomParticipantRepository;
 import com.chat.repository.MemberRepository;
 import com.chat.service.dtos.LoginResponse;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.utils.consts.SessionConst;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.socket.WebSocketSession;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @Transactional
 @SpringBootTest
@@ -24,6 +38,19 @@ class MemberServiceTest {
     private MemberService memberService;
     @Autowired
     private MemberRepository memberRepository;
+    @Autowired
+    private ChatRoomParticipantRepository chatRoomParticipantRepository;
+    @Autowired
+    private ChatRoomManager chatRoomManager;
+    @Autowired
+    private WebsocketSessionManager websocketSessionManager;
+    @Autowired
+    private TestDataFixture fixture;
+
+    @AfterEach
+    void tearDown() {
+        chatRoomManager.clearAll();
+    }
 
     @Test
     @DisplayName("사용자가 회원가입한다.")
@@ -85,7 +112,68 @@ class MemberServiceTest {
         assertThat(members).hasSize(3);
     }
 
-    // todo removeSession 테스트 필요
+    @Test
+    @DisplayName("재접속한 새 세션이 등록된 뒤 이전 세션이 닫히면 새 세션과 채팅방 참여를 그대로 둔다.")
+    void removeStaleSessionAfterResumeTest() throws Exception {
+        // given
+        Member member = fixture.savedMemberBy("resumeMember");
+        Long memberId = member.getId();
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(member));
+        Long chatRoomId = chatRoom.getId();
+        chatRoomParticipantRepository.findChatRoomBy(chatRoomId, memberId).enterChatRoom();
+
+        WebSocketSession oldSession = sessionOf(memberId, "old");
+        connect(memberId, chatRoomId, oldSession);
+        // 이전 세션이 닫히기 전에 재접속해 이어받은 새 세션
+        WebSocketSession newSession = sessionOf(memberId, "new");
+        connect(memberId, chatRoomId, newSession);
+
+        // when
+        memberService.removeSession(memberId, oldSession);
+
+        // then
+        assertThat(websocketSessionManager.getSessionBy(memberId)).isEqualTo(newSession);
+        assertThat(chatRoomManager.findWebSocketSessionBy(chatRoomId)).containsExactly(newSession);
+        assertThat(chatRoomManager.getChatRoomIdsBy(memberId)).containsExactly(chatRoomId);
+        assertThat(chatRoomParticipantRepository.findChatRoomBy(chatRoomId, memberId).isParticipate()).isTrue();
+        verify(newSession, never()).close(any());
+    }
+
+    @Test
+    @DisplayName("등록된 세션이 닫히면 채팅방에서 나가고 세션을 정리한다.")
+    void removeCurrentSessionTest() throws Exception {
+        // given
+        Member member = fixture.savedMemberBy("closeMember");
+        Long memberId = member.getId();
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(member));
+        Long chatRoomId = chatRoom.getId();
+        chatRoomParticipantRepository.findChatRoomBy(chatRoomId, memberId).enterChatRoom();
+
+        WebSocketSession session = sessionOf(memberId, "current");
+        connect(memberId, chatRoomId, session);
+
+        // when
+        memberService.removeSession(memberId, session);
+
+        // then
+        assertThat(websocketSessionManager.getSessionBy(memberId)).isNull();
+        assertThat(chatRoomManager.findWebSocketSessionBy(chatRoomId)).isEmpty();
+        assertThat(chatRoomManager.getChatRoomIdsBy(memberId)).isNull();
+        assertThat(chatRoomParticipantRepository.findChatRoomBy(chatRoomId, memberId).isParticipate()).isFalse();
+    }
+
+    private void connect(Long memberId, Long chatRoomId, WebSocketSession session) {
+        websocketSessionManager.addSession(memberId, session);
+        chatRoomManager.addSessionToRoom(session, chatRoomId);
+    }
+
+    private WebSocketSession sessionOf(Long memberId, String sessionId) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        given(session.getAttributes()).willReturn(Map.of(SessionConst.SESSION_ID, memberId));
+        given(session.getId()).willReturn(sessionId);
+        given(session.isOpen()).willReturn(true);
+        return session;
+    }
 
     private Long joinMember(String username, String password, String nickname) {
         JoinRequest request = JoinRequest.builder()
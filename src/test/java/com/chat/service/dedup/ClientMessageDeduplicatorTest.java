@@ -0,0 +1,143 @@
+package com.chat.service.dedup;
+
+import com.chat.entity.ChatRoom;
+import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.repository.ChatRepository;
+import com.chat.service.ChatRoomService;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.utils.message.MessageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ClientMessageDeduplicatorTest {
+
+    @Autowired
+    private ClientMessageDeduplicator clientMessageDeduplicator;
+    @Autowired
+    private ChatRoomService chatRoomService;
+    @Autowired
+    private ChatRepository chatRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TestDataFixture fixture;
+
+    @AfterEach
+    void tearDown() {
+        clientMessageDeduplicator.clear();
+    }
+
+    @Test
+    @DisplayName("발신자마다 최근 clientMessageId 만 보관하고 오래된 것부터 밀려난다.")
+    void windowTest() {
+        // given
+        ClientMessageDeduplicator deduplicator = new ClientMessageDeduplicator(2, 100);
+        deduplicator.remember(1L, "a", 10L);
+        deduplicator.remember(1L, "b", 11L);
+        deduplicator.findChatId(1L, "a"); // 최근 사용으로 갱신
+
+        // when
+        deduplicator.remember(1L, "c", 12L);
+
+        // then
+        assertThat(deduplicator.findChatId(1L, "a")).isEqualTo(10L);
+        assertThat(deduplicator.findChatId(1L, "b")).isNull();
+        assertThat(deduplicator.findChatId(1L, "c")).isEqualTo(12L);
+        assertThat(deduplicator.findChatId(2L, "a")).isNull();
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백되면 기록한 clientMessageId 를 지운다.")
+    void forgetOnRollbackTest() {
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            clientMessageDeduplicator.remember(1L, "rollback", 10L);
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(clientMessageDeduplicator.findChatId(1L, "rollback")).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 clientMessageId 로 다시 보낸 채팅은 저장하지 않는다.")
+    void retrySameClientMessageIdTest() {
+        // given
+        Member sender = fixture.savedMemberBy("dedupRetrySender");
+        Member receiver = fixture.savedMemberBy("dedupRetryReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+
+        SendChat first = createSendChat(sender.getId(), chatRoom.getId(), "retry-1");
+        SendChat retry = createSendChat(sender.getId(), chatRoom.getId(), "retry-1");
+
+        // when
+        chatRoomService.broadCastMessage(first);
+        chatRoomService.broadCastMessage(retry);
+
+        // then
+        assertThat(chatRepository.findChatHistory(chatRoom.getId())).hasSize(1);
+        assertThat(clientMessageDeduplicator.findChatId(sender.getId(), "retry-1")).isEqualTo(first.getChatId());
+        assertThat(retry.getChatId()).isNull();
+    }
+
+    @Test
+    @DisplayName("최근 기록에서 벗어난 재전송은 유니크 제약 조건으로 막고, 저장된 채팅 ID 로 확인 응답한다.")
+    void uniqueConstraintBackstopTest() {
+        // given
+        Member sender = fixture.savedMemberBy("dedupBackstopSender");
+        Member receiver = fixture.savedMemberBy("dedupBackstopReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+
+        SendChat first = createSendChat(sender.getId(), chatRoom.getId(), "backstop-1");
+        chatRoomService.broadCastMessage(first);
+        clientMessageDeduplicator.clear();
+
+        SendChat retry = createSendChat(sender.getId(), chatRoom.getId(), "backstop-1");
+
+        // when & then
+        assertThatThrownBy(() -> chatRoomService.broadCastMessage(retry))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(chatRoomService.acknowledgeDuplicate(retry)).isTrue();
+        assertThat(clientMessageDeduplicator.findChatId(sender.getId(), "backstop-1")).isEqualTo(first.getChatId());
+        assertThat(chatRepository.findChatHistory(chatRoom.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("저장된 채팅이 없거나 clientMessageId 가 없으면 중복으로 확인 응답하지 않는다.")
+    void acknowledgeNotDuplicatedTest() {
+        // given
+        Member sender = fixture.savedMemberBy("dedupNotDuplicatedSender");
+        Member receiver = fixture.savedMemberBy("dedupNotDuplicatedReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+
+        SendChat notSaved = createSendChat(sender.getId(), chatRoom.getId(), "not-saved-1");
+        SendChat withoutClientMessageId = createSendChat(sender.getId(), chatRoom.getId(), null);
+
+        // when & then
+        assertThat(chatRoomService.acknowledgeDuplicate(notSaved)).isFalse();
+        assertThat(chatRoomService.acknowledgeDuplicate(withoutClientMessageId)).isFalse();
+        assertThat(clientMessageDeduplicator.findChatId(sender.getId(), "not-saved-1")).isNull();
+    }
+
+    private SendChat createSendChat(Long senderId, Long chatRoomId, String clientMessageId) {
+        return SendChat.builder()
+                .messageType(MessageType.CHAT_MESSAGE)
+                .senderId(senderId)
+                .chatRoomId(chatRoomId)
+                .message("message")
+                .clientMessageId(clientMessageId)
+                .build();
+    }
+}
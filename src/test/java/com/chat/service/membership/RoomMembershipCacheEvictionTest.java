@@ -0,0 +1,102 @@
+package com.chat.service.membership;
+
+import com.chat.repository.ChatRoomParticipantRepository;
+import com.chat.service.dtos.ParticipantMembership;
+import com.chat.socket.cluster.LoopbackClusterBus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 참여자 캐시의 무효화가 조회와 겹치거나 다른 노드에서 발생하는 경우를 확인합니다.
+ */
+class RoomMembershipCacheEvictionTest {
+
+    private static final Long CHAT_ROOM_ID = 1L;
+    private static final Long MEMBER_ID = 10L;
+
+    @Test
+    @DisplayName("참여자 정보를 조회하는 도중에 무효화되면 조회한 결과를 캐시하지 않는다.")
+    void evictDuringLoadTest() {
+        // given
+        ChatRoomParticipantRepository repository = mock(ChatRoomParticipantRepository.class);
+        RoomMembershipCache cache = new RoomMembershipCache(
+                repository, new LoopbackClusterBus("node", new LoopbackClusterBus.Network()), 100);
+
+        given(repository.findMembershipsBy(CHAT_ROOM_ID))
+                .willAnswer(invocation -> {
+                    // 이전 참여자 정보를 읽은 뒤 입장이 커밋되어 무효화된다
+                    cache.evict(CHAT_ROOM_ID);
+                    return List.of(new ParticipantMembership(MEMBER_ID, false));
+                })
+                .willReturn(List.of(new ParticipantMembership(MEMBER_ID, true)));
+
+        // when
+        RoomMembership staleMembership = cache.get(CHAT_ROOM_ID);
+        RoomMembership membership = cache.get(CHAT_ROOM_ID);
+        RoomMembership cachedMembership = cache.get(CHAT_ROOM_ID);
+
+        // then
+        assertThat(staleMembership.isParticipateAt(0)).isFalse();
+        assertThat(membership.isParticipateAt(0)).isTrue();
+        assertThat(cachedMembership).isSameAs(membership);
+        verify(repository, times(2)).findMembershipsBy(CHAT_ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("한 노드에서 참여자 캐시를 무효화하면 다른 노드의 캐시도 무효화된다.")
+    void clusterEvictTest() {
+        // given
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        ChatRoomParticipantRepository firstRepository = mock(ChatRoomParticipantRepository.class);
+        ChatRoomParticipantRepository secondRepository = mock(ChatRoomParticipantRepository.class);
+        RoomMembershipCache first = new RoomMembershipCache(firstRepository, new LoopbackClusterBus("first", network), 100);
+        RoomMembershipCache second = new RoomMembershipCache(secondRepository, new LoopbackClusterBus("second", network), 100);
+
+        given(secondRepository.findMembershipsBy(CHAT_ROOM_ID))
+                .willReturn(List.of(new ParticipantMembership(MEMBER_ID, false)))
+                .willReturn(List.of(new ParticipantMembership(MEMBER_ID, true)));
+        RoomMembership beforeMembership = second.get(CHAT_ROOM_ID);
+
+        // when
+        first.evict(CHAT_ROOM_ID);
+        RoomMembership afterMembership = second.get(CHAT_ROOM_ID);
+
+        // then
+        assertThat(beforeMembership.isParticipateAt(0)).isFalse();
+        assertThat(afterMembership.isParticipateAt(0)).isTrue();
+        assertThat(second.size()).isEqualTo(1);
+        verify(secondRepository, times(2)).findMembershipsBy(CHAT_ROOM_ID);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 연결되면 끊긴 동안 놓쳤을 수 있는 무효화 대신 캐시를 모두 비운다.")
+    void clearOnJoinTest() {
+        // given
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        ChatRoomParticipantRepository repository = mock(ChatRoomParticipantRepository.class);
+        RoomMembershipCache cache = new RoomMembershipCache(repository, new LoopbackClusterBus("first", network), 100);
+
+        given(repository.findMembershipsBy(CHAT_ROOM_ID))
+                .willReturn(List.of(new ParticipantMembership(MEMBER_ID, false)))
+                .willReturn(List.of(new ParticipantMembership(MEMBER_ID, true)));
+        RoomMembership beforeMembership = cache.get(CHAT_ROOM_ID);
+
+        // when
+        new LoopbackClusterBus("second", network);
+        RoomMembership afterMembership = cache.get(CHAT_ROOM_ID);
+
+        // then
+        assertThat(beforeMembership.isParticipateAt(0)).isFalse();
+        assertThat(afterMembership.isParticipateAt(0)).isTrue();
+        assertThat(cache.getClearCount()).isEqualTo(1);
+        verify(repository, times(2)).findMembershipsBy(CHAT_ROOM_ID);
+    }
+}
@@ -0,0 +1,105 @@
+package com.chat.service.membership;
+
+import com.chat.entity.ChatRoom;
+import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.service.ChatRoomParticipantService;
+import com.chat.service.ChatService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+class RoomMembershipCacheTest {
+
+    @Autowired
+    private RoomMembershipCache roomMembershipCache;
+    @Autowired
+    private ChatRoomParticipantService chatRoomParticipantService;
+    @Autowired
+    private ChatService chatService;
+    @Autowired
+    private TestDataFixture fixture;
+
+    @Test
+    @DisplayName("채팅방 참여자 정보를 한 번 조회한 뒤에는 캐시에서 반환한다.")
+    void getTest() {
+        // given
+        Member first = fixture.savedMemberBy("first");
+        Member second = fixture.savedMemberBy("second");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", createParticipantsBy(first, second));
+
+        long hitCount = roomMembershipCache.getHitCount();
+        long missCount = roomMembershipCache.getMissCount();
+
+        // when
+        RoomMembership firstMembership = roomMembershipCache.get(chatRoom.getId());
+        RoomMembership secondMembership = roomMembershipCache.get(chatRoom.getId());
+
+        // then
+        assertThat(secondMembership).isSameAs(firstMembership);
+        assertThat(firstMembership.size()).isEqualTo(2);
+        assertThat(firstMembership.contains(first.getId())).isTrue();
+        assertThat(firstMembership.contains(second.getId())).isTrue();
+        assertThat(roomMembershipCache.getMissCount()).isEqualTo(missCount + 1);
+        assertThat(roomMembershipCache.getHitCount()).isEqualTo(hitCount + 1);
+    }
+
+    @Test
+    @DisplayName("채팅방에 입장하면 캐시가 무효화되어 변경된 접속 여부를 다시 조회한다.")
+    void evictOnEnterChatRoomTest() {
+        // given
+        Member first = fixture.savedMemberBy("first");
+        Member second = fixture.savedMemberBy("second");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", createParticipantsBy(first, second));
+
+        RoomMembership beforeMembership = roomMembershipCache.get(chatRoom.getId());
+
+        // when
+        chatRoomParticipantService.enterChatRoom(chatRoom.getId(), second.getId());
+        RoomMembership afterMembership = roomMembershipCache.get(chatRoom.getId());
+
+        // then
+        assertThat(afterMembership).isNotSameAs(beforeMembership);
+        for (int i = 0; i < afterMembership.size(); i++) {
+            boolean expected = afterMembership.memberIdAt(i) == second.getId();
+            assertThat(afterMembership.isParticipateAt(i)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("캐시된 채팅방에 채팅을 저장할 때는 참여자 정보를 다시 조회하지 않는다.")
+    void noMembershipQueryOnSendTest() {
+        // given
+        Member first = fixture.savedMemberBy("first");
+        Member second = fixture.savedMemberBy("second");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", createParticipantsBy(first, second));
+
+        chatService.saveChat(first.getId(), chatRoom.getId(), "warm up");
+        fixture.flushAllData();
+
+        long missCount = roomMembershipCache.getMissCount();
+
+        // when
+        chatService.saveChat(second.getId(), chatRoom.getId(), "message");
+
+        // then
+        assertThat(roomMembershipCache.getMissCount()).isEqualTo(missCount);
+    }
+
+    private List<Member> createParticipantsBy(Member first, Member second) {
+        List<Member> participants = new ArrayList<>();
+        participants.add(first);
+        participants.add(second);
+
+        return participants;
+    }
+}
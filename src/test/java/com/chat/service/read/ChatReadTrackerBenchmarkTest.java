@@ -0,0 +1,157 @@
+package com.chat.service.read;
+
+import com.chat.entity.Chat;
+import com.chat.entity.ChatRoom;
+import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.repository.ChatReadRepository;
+import com.chat.repository.ChatRepository;
+import com.chat.repository.ChatRoomParticipantRepository;
+import com.chat.repository.MemberRepository;
+import com.chat.service.dtos.LastChatRead;
+import com.chat.service.membership.RoomMembershipCache;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@Transactional
+@SpringBootTest
+class ChatReadTrackerBenchmarkTest {
+
+    private static final int MEMBER_COUNT = 100;
+    private static final int SENDER_COUNT = 5;
+    private static final int CHAT_COUNT = 30;
+    private static final int QUERY_ITERATIONS = 200;
+
+    @Autowired
+    private ChatRepository chatRepository;
+    @Autowired
+    private ChatReadRepository chatReadRepository;
+    @Autowired
+    private ChatRoomParticipantRepository chatRoomParticipantRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private RoomMembershipCache roomMembershipCache;
+    @Autowired
+    private TestDataFixture fixture;
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    @DisplayName("row 방식과 watermark 방식의 쓰기 증폭과 조회 시간을 비교하고 두 방식의 결과가 같은지 확인한다.")
+    void compareReadTrackingModesTest() {
+        // given
+        ChatReadTracker rowTracker = new RowChatReadTracker(chatReadRepository, memberRepository, roomMembershipCache);
+        ChatReadTracker watermarkTracker = new WatermarkChatReadTracker(chatRepository, chatRoomParticipantRepository);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            members.add(fixture.savedMemberBy("member" + i));
+        }
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", members);
+        Long chatRoomId = chatRoom.getId();
+
+        List<Chat> chats = new ArrayList<>();
+        for (int i = 0; i < CHAT_COUNT; i++) {
+            chats.add(fixture.savedSimpleChat("message" + i, members.get(i % SENDER_COUNT), chatRoom));
+        }
+        fixture.flushAllData();
+
+        Statistics statistics = em.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // when
+        statistics.clear();
+        for (Chat chat : chats) {
+            rowTracker.saveChatRead(senderIdOf(chat, members), chatRoomId, chat);
+        }
+        em.flush();
+        long rowStatementCount = statistics.getPrepareStatementCount();
+        long rowInsertCount = statistics.getEntityInsertCount();
+
+        statistics.clear();
+        for (Chat chat : chats) {
+            watermarkTracker.saveChatRead(senderIdOf(chat, members), chatRoomId, chat);
+        }
+        em.flush();
+        long watermarkStatementCount = statistics.getPrepareStatementCount();
+        long watermarkInsertCount = statistics.getEntityInsertCount();
+        em.clear();
+
+        long rowQueryNanos = measureQueries(rowTracker, chatRoomId, members);
+        long watermarkQueryNanos = measureQueries(watermarkTracker, chatRoomId, members);
+
+        System.out.printf("채팅 %d 개, 참여자 %d 명%n", CHAT_COUNT, MEMBER_COUNT);
+        System.out.printf("row       - 실행 쿼리: %d, 저장 행: %d, 조회 평균: %d us%n",
+                rowStatementCount, rowInsertCount, TimeUnit.NANOSECONDS.toMicros(rowQueryNanos));
+        System.out.printf("watermark - 실행 쿼리: %d, 저장 행: %d, 조회 평균: %d us%n",
+                watermarkStatementCount, watermarkInsertCount, TimeUnit.NANOSECONDS.toMicros(watermarkQueryNanos));
+
+        // then
+        assertThat(rowInsertCount).isEqualTo((long) CHAT_COUNT * MEMBER_COUNT);
+        assertThat(watermarkInsertCount).isZero();
+        assertThat(watermarkStatementCount).isLessThan(rowStatementCount);
+
+        for (Member member : members.subList(0, SENDER_COUNT * 2)) {
+            assertThat(watermarkTracker.countUnReadChats(chatRoomId, member.getId()))
+                    .isEqualTo(rowTracker.countUnReadChats(chatRoomId, member.getId()));
+
+            LastChatRead rowLastRead = rowTracker.findLastReadChat(member.getId(), chatRoomId);
+            LastChatRead watermarkLastRead = watermarkTracker.findLastReadChat(member.getId(), chatRoomId);
+            assertThat(watermarkLastRead == null ? null : watermarkLastRead.getLastChatReadId())
+                    .isEqualTo(rowLastRead == null ? null : rowLastRead.getLastChatReadId());
+        }
+
+        // 참여자 전체를 한 번에 조회한 결과도 참여자별 조회와 같다
+        Map<Long, Long> rowUnReadCounts = rowTracker.countUnReadChatsByMember(chatRoomId);
+        assertThat(watermarkTracker.countUnReadChatsByMember(chatRoomId)).isEqualTo(rowUnReadCounts);
+        for (Member member : members) {
+            assertThat(rowUnReadCounts.getOrDefault(member.getId(), 0L))
+                    .isEqualTo(rowTracker.countUnReadChats(chatRoomId, member.getId()));
+        }
+
+        for (Chat chat : chats) {
+            assertThat(watermarkTracker.countUnReadMembers(chat.getId()))
+                    .isEqualTo(rowTracker.countUnReadMembers(chat.getId()));
+        }
+
+        assertThat(toMap(watermarkTracker.findLastReadChats(chatRoomId)))
+                .isEqualTo(toMap(rowTracker.findLastReadChats(chatRoomId)));
+    }
+
+    private long measureQueries(ChatReadTracker tracker, Long chatRoomId, List<Member> members) {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < QUERY_ITERATIONS; i++) {
+            Long memberId = members.get(i % MEMBER_COUNT).getId();
+            tracker.countUnReadChats(chatRoomId, memberId);
+            tracker.findLastReadChats(chatRoomId);
+        }
+        return (System.nanoTime() - startTime) / QUERY_ITERATIONS;
+    }
+
+    private Long senderIdOf(Chat chat, List<Member> members) {
+        int index = Integer.parseInt(chat.getMessage().substring("message".length()));
+        return members.get(index % SENDER_COUNT).getId();
+    }
+
+    private Map<Long, Long> toMap(List<LastChatRead> lastChatReads) {
+        return lastChatReads.stream()
+                .collect(Collectors.toMap(LastChatRead::getMemberId, LastChatRead::getLastChatReadId));
+    }
+}
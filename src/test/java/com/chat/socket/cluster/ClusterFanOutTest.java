@@ -0,0 +1,223 @@
+package com.chat.socket.cluster;
+
+import com.chat.service.ChatRoomParticipantService;
+import com.chat.service.ChatService;
+import com.chat.service.dtos.ParticipantMembership;
+import com.chat.service.membership.RoomMembership;
+import com.chat.service.membership.RoomMembershipCache;
+import com.chat.socket.codec.BinaryMessageCodec;
+import com.chat.socket.fanout.ChatFrameDispatcher;
+import com.chat.socket.fanout.FanOutEngine;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.socket.pipeline.MessagePipeline;
+import com.chat.socket.resume.ChatResumeCoordinator;
+import com.chat.socket.resume.RecentChatBuffer;
+import com.chat.utils.consts.SessionConst;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 한 프로세스에서 여러 노드를 띄워 다른 노드에 접속한 세션까지 채팅이 전달되는지 확인합니다.
+ */
+class ClusterFanOutTest {
+
+    private static final String CLUSTER_SECRET = "cluster-secret";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<TcpClusterBus> tcpBuses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        tcpBuses.forEach(TcpClusterBus::shutdown);
+    }
+
+    @Test
+    @DisplayName("채팅방 메시지는 다른 노드에서 그 채팅방에 접속한 세션에만 전달된다.")
+    void loopbackRoomMessageTest() {
+        // given
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        Node first = new Node(new LoopbackClusterBus("first", network));
+        Node second = new Node(new LoopbackClusterBus("second", network));
+        Node third = new Node(new LoopbackClusterBus("third", network));
+
+        List<String> firstReceived = first.connect(1L, 10L);
+        List<String> secondReceived = second.connect(2L, 10L);
+        List<String> thirdReceived = third.connect(3L, 20L);
+
+        // when
+        first.broadcastToRoom(10L, "{\"message\":\"hello\"}");
+
+        // then
+        assertThat(firstReceived).containsExactly("{\"message\":\"hello\"}");
+        assertThat(secondReceived).containsExactly("{\"message\":\"hello\"}");
+        assertThat(thirdReceived).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TCP 버스로 연결된 노드들은 발행 순서대로 채팅방 메시지와 회원 메시지를 전달받는다.")
+    void tcpMultiNodeTest() throws Exception {
+        // given
+        Node first = new Node(startTcpBus("first"));
+        Node second = new Node(startTcpBus("second"));
+        Node third = new Node(startTcpBus("third"));
+        connectAll();
+
+        List<String> secondReceived = second.connect(2L, 10L);
+        List<String> thirdReceived = third.connect(3L, 10L);
+        List<String> otherRoomReceived = third.connect(4L, 20L);
+
+        int messageCount = 100;
+        List<String> expected = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < messageCount; i++) {
+            String payload = "{\"message\":\"message" + i + "\"}";
+            expected.add(payload);
+            first.broadcastToRoom(10L, payload);
+        }
+        first.clusterFanOut.publishToMember(4L, new TextMessage("{\"unReadCount\":1}"));
+
+        // then
+        awaitSize(secondReceived, messageCount);
+        awaitSize(thirdReceived, messageCount);
+        awaitSize(otherRoomReceived, 1);
+        assertThat(secondReceived).containsExactlyElementsOf(expected);
+        assertThat(thirdReceived).containsExactlyElementsOf(expected);
+        assertThat(otherRoomReceived).containsExactly("{\"unReadCount\":1}");
+    }
+
+    @Test
+    @DisplayName("다른 노드가 전파한 채팅도 최근 채팅 버퍼에 보관해, 담당 노드가 아닌 노드에 재접속해도 버퍼에서 이어받는다.")
+    void resumeOnNonOwnerNodeTest() throws Exception {
+        // given
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        Node owner = new Node(new LoopbackClusterBus("owner", network));
+        Node other = new Node(new LoopbackClusterBus("other", network));
+
+        for (long chatId = 1; chatId <= 3; chatId++) {
+            owner.chatFrameDispatcher.dispatch(10L, chatId, new TextMessage("{\"chatId\":" + chatId + "}"));
+        }
+
+        RoomMembershipCache roomMembershipCache = mock(RoomMembershipCache.class);
+        given(roomMembershipCache.get(10L)).willReturn(RoomMembership.of(List.of(new ParticipantMembership(2L, true))));
+        ChatService chatService = mock(ChatService.class);
+        MessagePipeline messagePipeline = mock(MessagePipeline.class);
+        given(messagePipeline.fanOut(anyLong(), any())).willAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(1)).run();
+            return true;
+        });
+        ChatResumeCoordinator chatResumeCoordinator = new ChatResumeCoordinator(other.recentChatBuffer,
+                roomMembershipCache, mock(ChatRoomParticipantService.class), chatService, other.chatRoomManager,
+                messagePipeline, other.fanOutEngine);
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        WebSocketSession session = other.sessionOf(2L, received);
+
+        // when
+        chatResumeCoordinator.resume(session, 2L, Map.of(10L, 1L));
+
+        // then
+        assertThat(received).containsExactly("{\"chatId\":2}", "{\"chatId\":3}");
+        assertThat(other.chatRoomManager.findWebSocketSessionBy(10L)).containsExactly(session);
+        verify(chatService, never()).findChatHistoryPage(any(), any(), any(), any(), any());
+    }
+
+    private TcpClusterBus startTcpBus(String nodeId) throws IOException {
+        TcpClusterBus bus = new TcpClusterBus(nodeId, "127.0.0.1", 0, List.of(), 1024, CLUSTER_SECRET);
+        bus.start();
+        tcpBuses.add(bus);
+        return bus;
+    }
+
+    private void connectAll() {
+        for (TcpClusterBus bus : tcpBuses) {
+            for (TcpClusterBus peer : tcpBuses) {
+                if (bus != peer) {
+                    bus.addPeer(new InetSocketAddress("127.0.0.1", peer.getLocalPort()));
+                }
+            }
+        }
+    }
+
+    private void awaitSize(List<String> received, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * 한 노드의 세션 관리와 클러스터 전파 구성입니다.
+     */
+    private class Node {
+
+        private final FanOutEngine fanOutEngine = new FanOutEngine(objectMapper, new BinaryMessageCodec());
+        private final ChatRoomManager chatRoomManager = new ChatRoomManager(fanOutEngine);
+        private final WebsocketSessionManager websocketSessionManager = new WebsocketSessionManager();
+        private final RecentChatBuffer recentChatBuffer = new RecentChatBuffer(16, 100);
+        private final ClusterFanOut clusterFanOut;
+        private final ChatFrameDispatcher chatFrameDispatcher;
+
+        private Node(ClusterBus clusterBus) {
+            this.clusterFanOut = new ClusterFanOut(clusterBus, chatRoomManager, websocketSessionManager, fanOutEngine,
+                    recentChatBuffer);
+            this.chatFrameDispatcher = new ChatFrameDispatcher(fanOutEngine, clusterFanOut, chatRoomManager,
+                    websocketSessionManager, recentChatBuffer);
+        }
+
+        private List<String> connect(Long memberId, Long chatRoomId) {
+            List<String> received = new CopyOnWriteArrayList<>();
+            WebSocketSession session = sessionOf(memberId, received);
+
+            websocketSessionManager.addSession(memberId, session);
+            chatRoomManager.addSessionToRoom(session, chatRoomId);
+            return received;
+        }
+
+        private WebSocketSession sessionOf(Long memberId, List<String> received) {
+            WebSocketSession session = mock(WebSocketSession.class);
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put(SessionConst.SESSION_ID, memberId);
+            given(session.getAttributes()).willReturn(attributes);
+            given(session.isOpen()).willReturn(true);
+            try {
+                willAnswer(invocation -> {
+                    received.add(((TextMessage) invocation.getArgument(0)).getPayload());
+                    return null;
+                }).given(session).sendMessage(any());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return session;
+        }
+
+        private void broadcastToRoom(Long chatRoomId, String payload) {
+            TextMessage frame = new TextMessage(payload);
+            clusterFanOut.publishToRoom(chatRoomId, frame);
+            chatRoomManager.broadcastToRoom(chatRoomId, frame);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.chat.socket.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅방 10만 개를 노드에 배정해 노드별 부하 편차와 노드 추가, 제거 시 옮겨지는 채팅방 비율을 확인합니다.
+ */
+class ConsistentHashRingTest {
+
+    private static final int ROOM_COUNT = 100_000;
+    private static final int NODE_COUNT = 10;
+    private static final int VIRTUAL_NODES = 160;
+
+    @Test
+    @DisplayName("가상 노드를 두면 채팅방이 노드에 고르게 배정된다.")
+    void loadSkewTest() {
+        // given
+        ConsistentHashRing ring = createRing(NODE_COUNT, VIRTUAL_NODES);
+
+        // when
+        Map<String, Integer> loads = countLoads(ring);
+
+        // then
+        double average = (double) ROOM_COUNT / NODE_COUNT;
+        int max = loads.values().stream().mapToInt(Integer::intValue).max().orElseThrow();
+        int min = loads.values().stream().mapToInt(Integer::intValue).min().orElseThrow();
+        assertThat(loads).hasSize(NODE_COUNT);
+        assertThat(max / average).isLessThan(1.3);
+        assertThat(min / average).isGreaterThan(0.7);
+    }
+
+    @Test
+    @DisplayName("가상 노드가 하나뿐이면 부하 편차가 크다.")
+    void loadSkewWithoutVirtualNodesTest() {
+        // given
+        ConsistentHashRing ring = createRing(NODE_COUNT, 1);
+
+        // when
+        Map<String, Integer> loads = countLoads(ring);
+
+        // then
+        double average = (double) ROOM_COUNT / NODE_COUNT;
+        int max = loads.values().stream().mapToInt(Integer::intValue).max().orElseThrow();
+        assertThat(max / average).isGreaterThan(1.3);
+    }
+
+    @Test
+    @DisplayName("노드가 추가되면 새 노드로 가는 채팅방만 옮겨진다.")
+    void movementOnJoinTest() {
+        // given
+        ConsistentHashRing ring = createRing(NODE_COUNT, VIRTUAL_NODES);
+        String[] before = assign(ring);
+
+        // when
+        ring.addNode("node-new");
+        String[] after = assign(ring);
+
+        // then
+        int moved = 0;
+        for (int roomId = 0; roomId < ROOM_COUNT; roomId++) {
+            if (!before[roomId].equals(after[roomId])) {
+                moved++;
+                assertThat(after[roomId]).isEqualTo("node-new");
+            }
+        }
+
+        double movedRatio = (double) moved / ROOM_COUNT;
+        double idealRatio = 1.0 / (NODE_COUNT + 1);
+        assertThat(movedRatio).isBetween(idealRatio * 0.7, idealRatio * 1.3);
+    }
+
+    @Test
+    @DisplayName("노드가 빠지면 그 노드의 채팅방만 남은 노드로 옮겨진다.")
+    void movementOnLeaveTest() {
+        // given
+        ConsistentHashRing ring = createRing(NODE_COUNT, VIRTUAL_NODES);
+        String[] before = assign(ring);
+
+        // when
+        ring.removeNode("node-3");
+        String[] after = assign(ring);
+
+        // then
+        for (int roomId = 0; roomId < ROOM_COUNT; roomId++) {
+            if (!before[roomId].equals(after[roomId])) {
+                assertThat(before[roomId]).isEqualTo("node-3");
+            }
+            assertThat(after[roomId]).isNotEqualTo("node-3");
+        }
+    }
+
+    @Test
+    @DisplayName("노드를 추가한 순서와 무관하게 같은 노드 목록이면 같은 담당 노드를 계산한다.")
+    void deterministicOwnerTest() {
+        // given
+        ConsistentHashRing forward = createRing(NODE_COUNT, VIRTUAL_NODES);
+        ConsistentHashRing reverse = new ConsistentHashRing(VIRTUAL_NODES);
+        for (int i = NODE_COUNT - 1; i >= 0; i--) {
+            reverse.addNode("node-" + i);
+        }
+
+        // when & then
+        for (long roomId = 0; roomId < ROOM_COUNT; roomId++) {
+            assertThat(reverse.ownerOf(roomId)).isEqualTo(forward.ownerOf(roomId));
+        }
+    }
+
+    private ConsistentHashRing createRing(int nodeCount, int virtualNodes) {
+        ConsistentHashRing ring = new ConsistentHashRing(virtualNodes);
+        for (int i = 0; i < nodeCount; i++) {
+            ring.addNode("node-" + i);
+        }
+        return ring;
+    }
+
+    private Map<String, Integer> countLoads(ConsistentHashRing ring) {
+        Map<String, Integer> loads = new HashMap<>();
+        for (long roomId = 0; roomId < ROOM_COUNT; roomId++) {
+            loads.merge(ring.ownerOf(roomId), 1, Integer::sum);
+        }
+        return loads;
+    }
+
+    private String[] assign(ConsistentHashRing ring) {
+        String[] owners = new String[ROOM_COUNT];
+        for (int roomId = 0; roomId < ROOM_COUNT; roomId++) {
+            owners[roomId] = ring.ownerOf(roomId);
+        }
+        return owners;
+    }
+}
@@ -0,0 +1,77 @@
+package com.chat.socket.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 클러스터 버스에 노드가 연결되거나 끊길 때 채팅방 담당 노드가 다시 나뉘는지 확인합니다.
+ */
+class RoomOwnershipTest {
+
+    private static final int ROOM_COUNT = 1000;
+    private static final int VIRTUAL_NODES = 160;
+
+    @Test
+    @DisplayName("같은 네트워크의 노드들은 연결된 노드로 같은 링을 만든다.")
+    void joinTest() {
+        // given
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        RoomOwnership first = new RoomOwnership(new LoopbackClusterBus("first", network), "", VIRTUAL_NODES);
+
+        // when
+        RoomOwnership second = new RoomOwnership(new LoopbackClusterBus("second", network), "", VIRTUAL_NODES);
+
+        // then
+        assertThat(first.getNodes()).containsExactlyInAnyOrder("first", "second");
+        assertThat(second.getNodes()).containsExactlyInAnyOrder("first", "second");
+        for (long chatRoomId = 0; chatRoomId < ROOM_COUNT; chatRoomId++) {
+            assertThat(first.ownerOf(chatRoomId)).isEqualTo(second.ownerOf(chatRoomId));
+        }
+    }
+
+    @Test
+    @DisplayName("노드가 끊기면 그 노드가 담당하던 채팅방만 남은 노드에 다시 나뉜다.")
+    void leaveTest() {
+        // given
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        RoomOwnership first = new RoomOwnership(new LoopbackClusterBus("first", network), "", VIRTUAL_NODES);
+        RoomOwnership second = new RoomOwnership(new LoopbackClusterBus("second", network), "", VIRTUAL_NODES);
+        LoopbackClusterBus thirdBus = new LoopbackClusterBus("third", network);
+        new RoomOwnership(thirdBus, "", VIRTUAL_NODES);
+
+        String[] before = new String[ROOM_COUNT];
+        for (int chatRoomId = 0; chatRoomId < ROOM_COUNT; chatRoomId++) {
+            before[chatRoomId] = first.ownerOf((long) chatRoomId);
+        }
+
+        // when
+        thirdBus.leave();
+
+        // then
+        assertThat(first.getNodes()).containsExactlyInAnyOrder("first", "second");
+        for (int chatRoomId = 0; chatRoomId < ROOM_COUNT; chatRoomId++) {
+            String after = first.ownerOf((long) chatRoomId);
+            assertThat(after).isEqualTo(second.ownerOf((long) chatRoomId)).isNotEqualTo("third");
+            if (!before[chatRoomId].equals("third")) {
+                assertThat(after).isEqualTo(before[chatRoomId]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("노드 목록이 바뀌어도 자기 자신은 링에서 빠지지 않는다.")
+    void leaveSelfTest() {
+        // given
+        RoomOwnership ownership = new RoomOwnership(
+                new LoopbackClusterBus("first", new LoopbackClusterBus.Network()), "", VIRTUAL_NODES);
+
+        // when
+        ownership.leave("first");
+
+        // then
+        assertThat(ownership.getNodes()).containsExactly("first");
+        assertThat(ownership.isOwner(1L)).isTrue();
+    }
+}
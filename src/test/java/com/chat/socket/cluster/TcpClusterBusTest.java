@@ -0,0 +1,278 @@
+package com.chat.socket.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TCP 버스의 노드 인증, 잘못된 프레임 처리, 응답하지 않는 노드와의 격리와 heartbeat 로 끊긴 노드를 감지하는지 확인합니다.
+ */
+class TcpClusterBusTest {
+
+    private static final String CLUSTER_SECRET = "cluster-secret";
+    private static final String LOCALHOST = "127.0.0.1";
+    private static final long HEARTBEAT_INTERVAL_MILLIS = 50;
+
+    private final List<TcpClusterBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(TcpClusterBus::shutdown);
+    }
+
+    @Test
+    @DisplayName("비밀키가 없으면 TCP 버스를 만들 수 없다.")
+    void secretRequiredTest() {
+        assertThatThrownBy(() -> new TcpClusterBus("node", LOCALHOST, 0, List.of(), 1024, ""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("비밀키가 다른 노드의 이벤트는 받지 않는다.")
+    void rejectUnauthenticatedPeerTest() throws Exception {
+        // given
+        TcpClusterBus receiver = startBus("receiver", CLUSTER_SECRET);
+        TcpClusterBus stranger = startBus("stranger", "other-secret");
+        TcpClusterBus member = startBus("member", CLUSTER_SECRET);
+        List<ClusterEvent> received = subscribe(receiver);
+        stranger.addPeer(addressOf(receiver));
+        member.addPeer(addressOf(receiver));
+
+        // when
+        stranger.publish(event("stranger", 1L));
+        member.publish(event("member", 2L));
+
+        // then
+        awaitSize(received, 1);
+        assertThat(received).extracting(ClusterEvent::getOriginNodeId).containsExactly("member");
+    }
+
+    @Test
+    @DisplayName("알 수 없는 이벤트 타입을 받으면 그 연결만 끊고 다른 노드의 이벤트는 계속 받는다.")
+    void unknownEventTypeTest() throws Exception {
+        // given
+        TcpClusterBus receiver = startBus("receiver", CLUSTER_SECRET);
+        TcpClusterBus member = startBus("member", CLUSTER_SECRET);
+        List<ClusterEvent> received = subscribe(receiver);
+        member.addPeer(addressOf(receiver));
+
+        try (Socket socket = new Socket(LOCALHOST, receiver.getLocalPort())) {
+            socket.setSoTimeout(5000);
+            DataInputStream input = new DataInputStream(socket.getInputStream());
+            DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+            handshake("raw", input, output);
+
+            // when
+            output.writeInt(1);
+            output.writeByte(ClusterEventType.values().length);
+            output.flush();
+
+            // then
+            assertThat(input.read()).isEqualTo(-1);
+        }
+
+        member.publish(event("member", 1L));
+        awaitSize(received, 1);
+        assertThat(received).extracting(ClusterEvent::getTargetId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("응답하지 않는 노드가 있어도 다른 노드로의 전송은 막히지 않는다.")
+    void unresponsivePeerTest() throws Exception {
+        // given - 연결은 받지만 인증에 응답하지 않는 노드
+        try (ServerSocket unresponsive = new ServerSocket(0, 50, InetAddress.getByName(LOCALHOST))) {
+            TcpClusterBus sender = startBus("sender", CLUSTER_SECRET);
+            TcpClusterBus receiver = startBus("receiver", CLUSTER_SECRET);
+            List<ClusterEvent> received = subscribe(receiver);
+            sender.addPeer(new InetSocketAddress(LOCALHOST, unresponsive.getLocalPort()));
+            sender.addPeer(addressOf(receiver));
+
+            // when
+            int eventCount = 100;
+            for (long i = 0; i < eventCount; i++) {
+                sender.publish(event("sender", i));
+            }
+
+            // then - 응답하지 않는 노드의 인증 대기 시간 안에 모두 도착한다
+            awaitSize(received, eventCount, 500);
+            assertThat(received).extracting(ClusterEvent::getTargetId)
+                    .containsExactlyElementsOf(sequence(eventCount));
+        }
+    }
+
+    @Test
+    @DisplayName("보낼 이벤트가 없어도 heartbeat 로 연결을 유지해 노드 목록에서 빠지지 않는다.")
+    void idleConnectionKeptByHeartbeatTest() throws Exception {
+        // given
+        TcpClusterBus sender = startBus("sender", CLUSTER_SECRET, HEARTBEAT_INTERVAL_MILLIS);
+        TcpClusterBus receiver = startBus("receiver", CLUSTER_SECRET, HEARTBEAT_INTERVAL_MILLIS);
+        List<String> membership = subscribeMembership(sender);
+        List<ClusterEvent> received = subscribe(receiver);
+        sender.addPeer(addressOf(receiver));
+        awaitMembership(membership, "+receiver");
+
+        // when - heartbeat 제한 시간보다 오래 아무것도 보내지 않는다
+        Thread.sleep(HEARTBEAT_INTERVAL_MILLIS * 10);
+
+        // then
+        assertThat(membership).containsExactly("+receiver");
+        assertThat(sender.publishTo("receiver", event("sender", 1L))).isTrue();
+        awaitSize(received, 1);
+        assertThat(received).extracting(ClusterEvent::getTargetId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("인증 뒤 응답하지 않는 노드는 heartbeat 가 돌아오지 않으면 끊긴 노드로 알리고 그 노드로는 발행하지 않는다.")
+    void silentPeerLeavesTest() throws Exception {
+        // given - 인증까지 마친 뒤 아무것도 읽거나 보내지 않는 노드
+        try (ServerSocket silent = new ServerSocket(0, 50, InetAddress.getByName(LOCALHOST))) {
+            TcpClusterBus sender = startBus("sender", CLUSTER_SECRET, HEARTBEAT_INTERVAL_MILLIS);
+            List<String> membership = subscribeMembership(sender);
+            sender.addPeer(new InetSocketAddress(LOCALHOST, silent.getLocalPort()));
+
+            try (Socket socket = silent.accept()) {
+                acceptHandshake("silent", new DataInputStream(socket.getInputStream()),
+                        new DataOutputStream(socket.getOutputStream()));
+                awaitMembership(membership, "+silent");
+
+                // when
+                awaitMembership(membership, "-silent");
+
+                // then
+                assertThat(membership).containsExactly("+silent", "-silent");
+                assertThat(sender.publishTo("silent", event("sender", 1L))).isFalse();
+            }
+        }
+    }
+
+    private TcpClusterBus startBus(String nodeId, String secret) throws IOException {
+        TcpClusterBus bus = new TcpClusterBus(nodeId, LOCALHOST, 0, List.of(), 1024, secret);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    private TcpClusterBus startBus(String nodeId, String secret, long heartbeatIntervalMillis) throws IOException {
+        TcpClusterBus bus = new TcpClusterBus(nodeId, LOCALHOST, 0, List.of(), 1024, secret, heartbeatIntervalMillis);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    private InetSocketAddress addressOf(TcpClusterBus bus) {
+        return new InetSocketAddress(LOCALHOST, bus.getLocalPort());
+    }
+
+    private List<ClusterEvent> subscribe(TcpClusterBus bus) {
+        List<ClusterEvent> received = new CopyOnWriteArrayList<>();
+        bus.subscribe(received::add);
+        return received;
+    }
+
+    private ClusterEvent event(String originNodeId, long targetId) {
+        return new ClusterEvent(ClusterEventType.ROOM_MESSAGE, originNodeId, targetId, new byte[]{1, 2, 3});
+    }
+
+    private List<Long> sequence(int count) {
+        List<Long> sequence = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            sequence.add(i);
+        }
+        return sequence;
+    }
+
+    // TcpClusterBus 의 연결 측 인증 절차
+    private void handshake(String nodeId, DataInputStream input, DataOutputStream output) throws Exception {
+        byte[] clientNonce = new byte[16];
+        output.writeInt(0x43484154);
+        output.write(clientNonce);
+        output.flush();
+
+        byte[] serverNonce = new byte[16];
+        input.readFully(serverNonce);
+        input.readUTF();
+        input.readFully(new byte[32]);
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(CLUSTER_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        mac.update((byte) 2);
+        mac.update(serverNonce);
+        mac.update(nodeId.getBytes(StandardCharsets.UTF_8));
+        output.writeUTF(nodeId);
+        output.write(mac.doFinal());
+        output.flush();
+    }
+
+    // TcpClusterBus 의 연결을 받는 측 인증 절차
+    private void acceptHandshake(String nodeId, DataInputStream input, DataOutputStream output) throws Exception {
+        assertThat(input.readInt()).isEqualTo(0x43484154);
+        byte[] clientNonce = new byte[16];
+        input.readFully(clientNonce);
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(CLUSTER_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        mac.update((byte) 1);
+        mac.update(clientNonce);
+        mac.update(nodeId.getBytes(StandardCharsets.UTF_8));
+        output.write(new byte[16]);
+        output.writeUTF(nodeId);
+        output.write(mac.doFinal());
+        output.flush();
+
+        input.readUTF();
+        input.readFully(new byte[32]);
+    }
+
+    private List<String> subscribeMembership(TcpClusterBus bus) {
+        List<String> membership = new CopyOnWriteArrayList<>();
+        bus.subscribeMembership(new ClusterMembershipListener() {
+            @Override
+            public void joined(String nodeId) {
+                membership.add("+" + nodeId);
+            }
+
+            @Override
+            public void left(String nodeId) {
+                membership.add("-" + nodeId);
+            }
+        });
+        return membership;
+    }
+
+    private void awaitMembership(List<String> membership, String change) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!membership.contains(change) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(membership).contains(change);
+    }
+
+    private void awaitSize(List<ClusterEvent> received, int size) throws InterruptedException {
+        awaitSize(received, size, 5000);
+    }
+
+    private void awaitSize(List<ClusterEvent> received, int size, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (received.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
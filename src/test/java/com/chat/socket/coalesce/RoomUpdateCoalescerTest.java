@@ -0,0 +1,105 @@
+package com.chat.socket.coalesce;
+
+import com.chat.socket.codec.BinaryMessageCodec;
+import com.chat.socket.fanout.FanOutEngine;
+import com.chat.socket.fanout.OutboundFrame;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RoomUpdateCoalescerTest {
+
+    // 주기 실행과 겹치지 않도록 충분히 길게 두고 flush 를 직접 호출한다
+    private static final long MANUAL_FLUSH_INTERVAL_MILLIS = 60_000;
+
+    private final FanOutEngine fanOutEngine = new FanOutEngine(new ObjectMapper(), new BinaryMessageCodec());
+
+    @Test
+    @DisplayName("주기 안에 같은 채팅방 갱신이 여러 번 오면 마지막 갱신만 보낸다.")
+    void coalesceTest() throws Exception {
+        // given
+        RoomUpdateCoalescer coalescer = new RoomUpdateCoalescer(fanOutEngine, MANUAL_FLUSH_INTERVAL_MILLIS);
+        WebSocketSession session = mockSession();
+
+        for (int i = 1; i <= 10; i++) {
+            coalescer.submit(1L, session, 100L, OutboundFrame.of(new TextMessage("room100-" + i)));
+        }
+        coalescer.submit(1L, session, 200L, OutboundFrame.of(new TextMessage("room200-1")));
+
+        // when
+        coalescer.flush();
+
+        // then
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(2)).sendMessage(captor.capture());
+        assertThat(captor.getAllValues()).extracting(TextMessage::getPayload)
+                .containsExactly("room100-10", "room200-1");
+        assertThat(coalescer.getSubmittedCount()).isEqualTo(11);
+        assertThat(coalescer.getCoalescedCount()).isEqualTo(9);
+        assertThat(coalescer.getSentCount()).isEqualTo(2);
+
+        coalescer.shutdown();
+    }
+
+    @Test
+    @DisplayName("갱신이 없는 주기가 지나면 회원의 대기열을 제거하고, 이후 갱신은 새 대기열로 보낸다.")
+    void retireIdleMemberTest() throws Exception {
+        // given
+        RoomUpdateCoalescer coalescer = new RoomUpdateCoalescer(fanOutEngine, MANUAL_FLUSH_INTERVAL_MILLIS);
+        WebSocketSession session = mockSession();
+        coalescer.submit(1L, session, 100L, OutboundFrame.of(new TextMessage("first")));
+        coalescer.flush();
+
+        // when
+        coalescer.flush();
+        int pendingMembers = coalescer.getPendingMembers();
+        coalescer.submit(1L, session, 100L, OutboundFrame.of(new TextMessage("second")));
+        coalescer.flush();
+
+        // then
+        assertThat(pendingMembers).isZero();
+        verify(session, times(2)).sendMessage(any());
+        assertThat(coalescer.getSentCount()).isEqualTo(2);
+
+        coalescer.shutdown();
+    }
+
+    @Test
+    @DisplayName("주기가 0 이면 모으지 않고 바로 보내며, 닫힌 세션에는 보내지 않는다.")
+    void sendImmediatelyTest() throws Exception {
+        // given
+        RoomUpdateCoalescer coalescer = new RoomUpdateCoalescer(fanOutEngine, 0);
+        WebSocketSession session = mockSession();
+        WebSocketSession closedSession = mock(WebSocketSession.class);
+        given(closedSession.isOpen()).willReturn(false);
+
+        // when
+        coalescer.submit(1L, session, 100L, OutboundFrame.of(new TextMessage("first")));
+        coalescer.submit(1L, session, 100L, OutboundFrame.of(new TextMessage("second")));
+        coalescer.submit(2L, closedSession, 100L, OutboundFrame.of(new TextMessage("closed")));
+
+        // then
+        verify(session, times(2)).sendMessage(any());
+        verify(closedSession, never()).sendMessage(any());
+        assertThat(coalescer.getCoalescedCount()).isZero();
+        assertThat(coalescer.getPendingMembers()).isZero();
+    }
+
+    private WebSocketSession mockSession() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        given(session.isOpen()).willReturn(true);
+        given(session.getId()).willReturn("session");
+        return session;
+    }
+}
@@ -0,0 +1,119 @@
+package com.chat.socket.codec;
+
+import com.chat.service.dtos.chat.EnterChatRoom;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.service.dtos.chat.UpdateChatRoom;
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.chat.utils.message.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+/**
+ * 메시지 종류별로 기존 Jackson JSON 프레임과 바이너리 프레임의 크기, 인코딩/디코딩 할당량과 시간을 비교합니다.
+ * 시간은 실행 환경에 따라 흔들리므로 출력만 하고, 크기와 할당량으로 검증합니다.
+ */
+@Tag("benchmark")
+class BinaryCodecBenchmarkTest {
+
+    private static final int WARM_UP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final BinaryMessageCodec codec = new BinaryMessageCodec();
+
+    private long sink;
+
+    @Test
+    @DisplayName("바이너리 프레임은 JSON 프레임보다 작고 인코딩, 디코딩할 때 덜 할당한다.")
+    void frameSizeAndCostBenchmarkTest() throws Exception {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeThat(threadMXBean).isInstanceOf(com.sun.management.ThreadMXBean.class);
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeThat(allocationBean.isThreadAllocatedMemorySupported()).isTrue();
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 30, 15);
+        List<BaseWebSocketMessage> messages = List.of(
+                SendChat.builder()
+                        .messageType(MessageType.CHAT_MESSAGE)
+                        .senderId(1_234L)
+                        .senderNickname("nickname")
+                        .chatRoomId(56_789L)
+                        .message("오늘 회의는 3시에 시작합니다.")
+                        .chatId(9_876_543L)
+                        .unReadCount(4L)
+                        .createDate(now)
+                        .build(),
+                EnterChatRoom.builder()
+                        .messageType(MessageType.CHAT_ENTER)
+                        .memberId(1_234L)
+                        .lastReadChatId(9_876_543L)
+                        .build(),
+                UpdateChatRoom.builder()
+                        .messageType(MessageType.UPDATE_CHAT_ROOM)
+                        .chatRoomId(56_789L)
+                        .lastMessage("오늘 회의는 3시에 시작합니다.")
+                        .unReadCount(4L)
+                        .createdDate(now)
+                        .build());
+
+        for (BaseWebSocketMessage message : messages) {
+            // given
+            byte[] json = objectMapper.writeValueAsBytes(message);
+            byte[] binary = codec.encode(message);
+            for (int i = 0; i < WARM_UP; i++) {
+                encodeAndDecodeJson(message);
+                encodeAndDecodeBinary(message);
+            }
+
+            // when
+            long jsonAllocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+            long jsonStartTime = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                encodeAndDecodeJson(message);
+            }
+            long jsonNanos = System.nanoTime() - jsonStartTime;
+            long jsonAllocated = allocationBean.getThreadAllocatedBytes(threadId) - jsonAllocatedBefore;
+
+            long binaryAllocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+            long binaryStartTime = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                encodeAndDecodeBinary(message);
+            }
+            long binaryNanos = System.nanoTime() - binaryStartTime;
+            long binaryAllocated = allocationBean.getThreadAllocatedBytes(threadId) - binaryAllocatedBefore;
+
+            System.out.printf("%-16s JSON %4d byte, %5d ns/op, %5d byte/op | 바이너리 %4d byte, %5d ns/op, %5d byte/op%n",
+                    message.getMessageType(), json.length, jsonNanos / ITERATIONS, jsonAllocated / ITERATIONS,
+                    binary.length, binaryNanos / ITERATIONS, binaryAllocated / ITERATIONS);
+
+            // then
+            assertThat(binary.length).isLessThan(json.length);
+            assertThat(binaryAllocated).isLessThan(jsonAllocated);
+        }
+        assertThat(sink).isPositive();
+    }
+
+    private void encodeAndDecodeJson(BaseWebSocketMessage message) throws Exception {
+        byte[] encoded = objectMapper.writeValueAsBytes(message);
+        BaseWebSocketMessage decoded = objectMapper.readValue(encoded, BaseWebSocketMessage.class);
+        sink += encoded.length + decoded.getMessageType().ordinal();
+    }
+
+    private void encodeAndDecodeBinary(BaseWebSocketMessage message) {
+        byte[] encoded = codec.encode(message);
+        BaseWebSocketMessage decoded = codec.decode(ByteBuffer.wrap(encoded));
+        sink += encoded.length + decoded.getMessageType().ordinal();
+    }
+}
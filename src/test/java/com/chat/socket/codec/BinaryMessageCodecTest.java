@@ -0,0 +1,124 @@
+package com.chat.socket.codec;
+
+import com.chat.service.dtos.chat.ChatAck;
+import com.chat.service.dtos.chat.EnterChatRoom;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.service.dtos.chat.UpdateChatRoom;
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.chat.utils.message.MessageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryMessageCodecTest {
+
+    private final BinaryMessageCodec codec = new BinaryMessageCodec();
+
+    @Test
+    @DisplayName("채팅 메시지를 바이너리로 인코딩한 뒤 디코딩하면 같은 값을 가진다.")
+    void sendChatRoundTripTest() {
+        // given
+        SendChat sendChat = SendChat.builder()
+                .messageType(MessageType.CHAT_MESSAGE)
+                .senderId(300L)
+                .senderNickname("닉네임")
+                .chatRoomId(1_000_000L)
+                .message("안녕하세요")
+                .chatId(Long.MAX_VALUE)
+                .unReadCount(0L)
+                .createDate(LocalDateTime.of(2025, 1, 1, 12, 30, 15, 123_456_000))
+                .clientMessageId("8f14e45f-ceea-467f-a0e6-1c1b2b3c4d5e")
+                .build();
+
+        // when
+        BaseWebSocketMessage decoded = codec.decode(ByteBuffer.wrap(codec.encode(sendChat)));
+
+        // then
+        assertThat(decoded).isInstanceOf(SendChat.class)
+                .usingRecursiveComparison()
+                .isEqualTo(sendChat);
+    }
+
+    @Test
+    @DisplayName("null 인 필드는 비트로만 표시되고 디코딩 시 null 로 복원된다.")
+    void nullFieldTest() {
+        // given - 클라이언트가 보내는 채팅에는 저장 후 채워지는 필드가 없다
+        SendChat sendChat = SendChat.builder()
+                .messageType(MessageType.CHAT_MESSAGE)
+                .senderId(1L)
+                .chatRoomId(2L)
+                .message("message")
+                .build();
+
+        // when
+        byte[] encoded = codec.encode(sendChat);
+        SendChat decoded = (SendChat) codec.decode(ByteBuffer.wrap(encoded));
+
+        // then
+        assertThat(encoded).hasSize(1 + 1 + 1 + 1 + 1 + "message".length());
+        assertThat(decoded.getSenderNickname()).isNull();
+        assertThat(decoded.getChatId()).isNull();
+        assertThat(decoded.getCreateDate()).isNull();
+        assertThat(decoded.getMessage()).isEqualTo("message");
+    }
+
+    @Test
+    @DisplayName("채팅방 입장, 채팅방 갱신 메시지도 인코딩 후 디코딩하면 같은 값을 가진다.")
+    void enterAndUpdateRoundTripTest() {
+        // given
+        EnterChatRoom enterChatRoom = EnterChatRoom.builder()
+                .messageType(MessageType.CHAT_ENTER)
+                .memberId(5L)
+                .lastReadChatId(128L)
+                .build();
+        UpdateChatRoom updateChatRoom = UpdateChatRoom.builder()
+                .messageType(MessageType.UPDATE_CHAT_ROOM)
+                .chatRoomId(7L)
+                .lastMessage("마지막 채팅")
+                .unReadCount(3L)
+                .createdDate(LocalDateTime.of(1969, 12, 31, 23, 59))
+                .build();
+
+        // when
+        BaseWebSocketMessage decodedEnter = codec.decode(ByteBuffer.wrap(codec.encode(enterChatRoom)));
+        BaseWebSocketMessage decodedUpdate = codec.decode(ByteBuffer.wrap(codec.encode(updateChatRoom)));
+
+        // then
+        assertThat(decodedEnter).usingRecursiveComparison().isEqualTo(enterChatRoom);
+        assertThat(decodedUpdate).usingRecursiveComparison().isEqualTo(updateChatRoom);
+    }
+
+    @Test
+    @DisplayName("채팅 저장 확인 메시지도 인코딩 후 디코딩하면 같은 값을 가진다.")
+    void chatAckRoundTripTest() {
+        // given
+        ChatAck chatAck = ChatAck.builder()
+                .messageType(MessageType.CHAT_ACK)
+                .chatRoomId(7L)
+                .clientMessageId("client-1")
+                .chatId(1024L)
+                .createDate(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .build();
+
+        // when
+        BaseWebSocketMessage decoded = codec.decode(ByteBuffer.wrap(codec.encode(chatAck)));
+
+        // then
+        assertThat(decoded).isInstanceOf(ChatAck.class)
+                .usingRecursiveComparison()
+                .isEqualTo(chatAck);
+    }
+
+    @Test
+    @DisplayName("알 수 없는 타입 바이트는 예외가 발생한다.")
+    void unknownTypeTest() {
+        // when & then
+        assertThatThrownBy(() -> codec.decode(ByteBuffer.wrap(new byte[]{99, 0})))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
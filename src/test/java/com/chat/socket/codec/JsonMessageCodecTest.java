@@ -0,0 +1,145 @@
+package com.chat.socket.codec;
+
+import com.chat.service.dtos.chat.EnterChatRoom;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.service.dtos.chat.UpdateChatRoom;
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.chat.utils.message.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+class JsonMessageCodecTest {
+
+    private static final int WARM_UP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final JsonMessageCodec codec = new JsonMessageCodec(objectMapper);
+
+    private long sink;
+
+    @Test
+    @DisplayName("messageType 에 맞는 메시지로 디코딩하며 필드 순서와 무관하다.")
+    void decodeTest() throws IOException {
+        // given
+        String payload = "{\"chatRoomId\":3,\"message\":\"안녕\",\"extra\":{\"messageType\":\"CHAT_ENTER\"}," +
+                "\"messageType\":\"CHAT_MESSAGE\",\"senderId\":7}";
+
+        // when
+        BaseWebSocketMessage decoded = codec.decode(payload);
+
+        // then
+        assertThat(decoded).isInstanceOf(SendChat.class);
+        SendChat sendChat = (SendChat) decoded;
+        assertThat(sendChat.getMessageType()).isEqualTo(MessageType.CHAT_MESSAGE);
+        assertThat(sendChat.getChatRoomId()).isEqualTo(3L);
+        assertThat(sendChat.getSenderId()).isEqualTo(7L);
+        assertThat(sendChat.getMessage()).isEqualTo("안녕");
+    }
+
+    @Test
+    @DisplayName("기존 ObjectMapper 로 직렬화한 메시지를 같은 값으로 디코딩한다.")
+    void decodeSerializedMessagesTest() throws IOException {
+        // given
+        EnterChatRoom enterChatRoom = EnterChatRoom.builder()
+                .messageType(MessageType.CHAT_ENTER)
+                .memberId(1L)
+                .lastReadChatId(10L)
+                .build();
+        UpdateChatRoom updateChatRoom = UpdateChatRoom.builder()
+                .messageType(MessageType.UPDATE_CHAT_ROOM)
+                .chatRoomId(2L)
+                .lastMessage("마지막 채팅")
+                .unReadCount(5L)
+                .createdDate(LocalDateTime.of(2025, 1, 1, 12, 30))
+                .build();
+
+        // when
+        BaseWebSocketMessage decodedEnter = codec.decode(objectMapper.writeValueAsString(enterChatRoom));
+        BaseWebSocketMessage decodedUpdate = codec.decode(objectMapper.writeValueAsBytes(updateChatRoom));
+
+        // then
+        assertThat(decodedEnter).usingRecursiveComparison().isEqualTo(enterChatRoom);
+        assertThat(decodedUpdate).usingRecursiveComparison().isEqualTo(updateChatRoom);
+    }
+
+    @DisplayName("messageType 이 없거나 알 수 없으면 예외 없이 null 을 반환한다.")
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            "{\"messageType\":\"UNKNOWN\",\"chatRoomId\":1}",
+            "{\"messageType\":\"DEFAULT\"}",
+            "{\"messageType\":3}",
+            "{\"chatRoomId\":1}",
+            "[1,2,3]"
+    })
+    void unknownMessageTypeTest(String payload) throws IOException {
+        // when & then
+        assertThat(codec.decode(payload)).isNull();
+    }
+
+    @Test
+    @DisplayName("JSON 형식이 잘못되면 IOException 이 발생한다.")
+    void malformedJsonTest() {
+        // when & then
+        assertThatThrownBy(() -> codec.decode("{\"messageType\":"))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("채팅 프레임 하나를 디코딩할 때 기존 다형성 디코딩보다 적게 할당한다.")
+    void decodeAllocationTest() throws IOException {
+        // given
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeThat(threadMXBean).isInstanceOf(com.sun.management.ThreadMXBean.class);
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeThat(allocationBean.isThreadAllocatedMemorySupported()).isTrue();
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        String payload = "{\"messageType\":\"CHAT_MESSAGE\",\"senderId\":1234,\"chatRoomId\":56789," +
+                "\"message\":\"오늘 회의는 3시에 시작합니다.\"}";
+        for (int i = 0; i < WARM_UP; i++) {
+            decodeWithObjectMapper(payload);
+            decodeWithCodec(payload);
+        }
+
+        // when
+        long threadId = Thread.currentThread().getId();
+        // 처리량은 JsonMessageCodecBenchmark 로 측정하고, 여기서는 실행 환경에 덜 흔들리는 할당량만 비교한다
+        long legacyAllocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            decodeWithObjectMapper(payload);
+        }
+        long legacyAllocated = allocationBean.getThreadAllocatedBytes(threadId) - legacyAllocatedBefore;
+
+        long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ITERATIONS; i++) {
+            decodeWithCodec(payload);
+        }
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        // then
+        assertThat(sink).isPositive();
+        assertThat(allocated).isLessThan(legacyAllocated);
+    }
+
+    private void decodeWithObjectMapper(String payload) throws IOException {
+        BaseWebSocketMessage message = objectMapper.readValue(payload, BaseWebSocketMessage.class);
+        sink += message.getMessageType().ordinal() + 1;
+    }
+
+    private void decodeWithCodec(String payload) throws IOException {
+        BaseWebSocketMessage message = codec.decode(payload);
+        sink += message.getMessageType().ordinal() + 1;
+    }
+}
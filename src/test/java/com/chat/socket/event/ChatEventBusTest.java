@@ -0,0 +1,96 @@
+package com.chat.socket.event;
+
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.fanout.ChatFrameDispatcher;
+import com.chat.socket.pipeline.WaitStrategy;
+import com.chat.utils.message.MessageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ChatEventBusTest {
+
+    private final ChatFrameDispatcher chatFrameDispatcher = mock(ChatFrameDispatcher.class);
+    private final ChatEventBus chatEventBus = new ChatEventBus(chatFrameDispatcher, 16, 2, WaitStrategy.PARK);
+
+    @AfterEach
+    void tearDown() {
+        chatEventBus.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 넣은 채팅은 커밋된 뒤에 저장 순서대로 전파된다.")
+    void publishAfterCommitTest() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        chatEventBus.publishAfterCommit(sendChatOf(1L));
+        chatEventBus.publishAfterCommit(sendChatOf(2L));
+
+        verify(chatFrameDispatcher, after(100).never()).dispatchChat(any());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        // when
+        TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+
+        // then
+        ArgumentCaptor<SendChat> captor = ArgumentCaptor.forClass(SendChat.class);
+        verify(chatFrameDispatcher, timeout(3000).times(2)).dispatchChat(captor.capture());
+        assertThat(captor.getAllValues()).extracting(SendChat::getChatId).containsExactly(1L, 2L);
+        assertThat(synchronizations).hasSize(1);
+        assertThat(TransactionSynchronizationManager.getResource(chatEventBus)).isNull();
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백되면 넣은 채팅을 전파하지 않는다.")
+    void dropOnRollbackTest() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        chatEventBus.publishAfterCommit(sendChatOf(1L));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        // when
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // then
+        verify(chatFrameDispatcher, after(200).never()).dispatchChat(any());
+        assertThat(TransactionSynchronizationManager.getResource(chatEventBus)).isNull();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 넣은 채팅은 바로 전파된다.")
+    void publishWithoutTransactionTest() {
+        // when
+        chatEventBus.publishAfterCommit(sendChatOf(1L));
+
+        // then
+        verify(chatFrameDispatcher, timeout(3000).times(1)).dispatchChat(any());
+        assertThat(chatEventBus.getPublishedCount()).isEqualTo(1);
+    }
+
+    private SendChat sendChatOf(Long chatId) {
+        return SendChat.builder()
+                .messageType(MessageType.CHAT_MESSAGE)
+                .chatRoomId(1L)
+                .chatId(chatId)
+                .message("message")
+                .build();
+    }
+}
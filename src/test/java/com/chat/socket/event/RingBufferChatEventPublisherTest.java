@@ -0,0 +1,146 @@
+package com.chat.socket.event;
+
+import com.chat.entity.ChatRoom;
+import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.service.dedup.ClientMessageDeduplicator;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.socket.pipeline.MessagePipeline;
+import com.chat.utils.consts.SessionConst;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 링 버퍼 모드로 띄운 애플리케이션에서 파이프라인으로 받은 채팅이 링 버퍼를 거쳐 전파되는지 확인합니다.
+ */
+@SpringBootTest(properties = "chat.event-bus.type=ring")
+class RingBufferChatEventPublisherTest {
+
+    @Autowired
+    private ChatEventPublisher chatEventPublisher;
+    @Autowired
+    private ChatEventBus chatEventBus;
+    @Autowired
+    private MessagePipeline messagePipeline;
+    @Autowired
+    private ClientMessageDeduplicator clientMessageDeduplicator;
+    @Autowired
+    private ChatRoomManager chatRoomManager;
+    @Autowired
+    private WebsocketSessionManager websocketSessionManager;
+    @Autowired
+    private TestDataFixture fixture;
+
+    private final List<Long> connectedMemberIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        chatRoomManager.clearAll();
+        connectedMemberIds.forEach(websocketSessionManager::removeSession);
+        clientMessageDeduplicator.clear();
+    }
+
+    @Test
+    @DisplayName("파이프라인으로 받은 채팅은 커밋된 뒤 링 버퍼로 넘겨 채팅방 세션에 순서대로 전파하고 발신자에게 확인 응답한다.")
+    void dispatchThroughRingTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("ringSender");
+        Member receiver = fixture.savedMemberBy("ringReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        Long chatRoomId = chatRoom.getId();
+
+        List<String> senderReceived = connect(sender.getId());
+        List<String> receiverReceived = connectToRoom(receiver.getId(), chatRoomId);
+        long publishedBefore = chatEventBus.getPublishedCount();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            messagePipeline.submit("sender", sender.getId(),
+                    chatPayload(sender.getId(), chatRoomId, "message" + i, "ring-" + i));
+        }
+        awaitCount(senderReceived, "CHAT_ACK", 3);
+        awaitCount(receiverReceived, "CHAT_MESSAGE", 3);
+
+        // then
+        assertThat(chatEventPublisher).isInstanceOf(RingBufferChatEventPublisher.class);
+        assertThat(chatEventBus.getPublishedCount()).isGreaterThanOrEqualTo(publishedBefore + 3);
+        assertThat(receiverReceived).filteredOn(frame -> frame.contains("CHAT_MESSAGE"))
+                .hasSize(3)
+                .satisfies(frames -> {
+                    for (int i = 0; i < 3; i++) {
+                        assertThat(frames.get(i)).contains("message" + i);
+                    }
+                });
+        assertThat(senderReceived).filteredOn(frame -> frame.contains("CHAT_ACK"))
+                .hasSize(3)
+                .satisfies(frames -> {
+                    for (int i = 0; i < 3; i++) {
+                        assertThat(frames.get(i)).contains("ring-" + i);
+                    }
+                });
+    }
+
+    private List<String> connect(Long memberId) {
+        List<String> received = new CopyOnWriteArrayList<>();
+        websocketSessionManager.addSession(memberId, mockSessionOf(memberId, received));
+        connectedMemberIds.add(memberId);
+        return received;
+    }
+
+    private List<String> connectToRoom(Long memberId, Long chatRoomId) {
+        List<String> received = new CopyOnWriteArrayList<>();
+        chatRoomManager.addSessionToRoom(mockSessionOf(memberId, received), chatRoomId);
+        return received;
+    }
+
+    private WebSocketSession mockSessionOf(Long memberId, List<String> received) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SessionConst.SESSION_ID, memberId);
+        given(session.getAttributes()).willReturn(attributes);
+        given(session.isOpen()).willReturn(true);
+        given(session.getId()).willReturn("ring-" + memberId);
+        try {
+            willAnswer(invocation -> {
+                received.add(((TextMessage) invocation.getArgument(0)).getPayload());
+                return null;
+            }).given(session).sendMessage(any());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return session;
+    }
+
+    private String chatPayload(Long senderId, Long chatRoomId, String message, String clientMessageId) {
+        return "{\"messageType\":\"CHAT_MESSAGE\",\"senderId\":" + senderId + ",\"chatRoomId\":" + chatRoomId
+                + ",\"message\":\"" + message + "\",\"clientMessageId\":\"" + clientMessageId + "\"}";
+    }
+
+    private void awaitCount(List<String> received, String messageType, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.stream().filter(frame -> frame.contains(messageType)).count() < count
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.chat.socket.fanout;
+
+import com.chat.service.dtos.chat.ResumeChatRoom;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.codec.BinaryMessageCodec;
+import com.chat.socket.codec.WireProtocol;
+import com.chat.utils.message.BaseWebSocketMessage;
+import com.chat.utils.message.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class FanOutEngineTest {
+
+    private final ObjectMapper objectMapper = spy(new ObjectMapper().findAndRegisterModules());
+    private final BinaryMessageCodec binaryMessageCodec = spy(new BinaryMessageCodec());
+    private final FanOutEngine fanOutEngine = new FanOutEngine(objectMapper, binaryMessageCodec);
+
+    @Test
+    @DisplayName("바이너리 형식 세션들에는 메시지에서 한 번 인코딩한 바이트를 공유하고 JSON 을 다시 파싱하지 않는다.")
+    void shareBinaryFrameTest() throws Exception {
+        // given
+        WebSocketSession firstBinarySession = sessionOf(WireProtocol.BINARY);
+        WebSocketSession secondBinarySession = sessionOf(WireProtocol.BINARY);
+        WebSocketSession jsonSession = sessionOf(WireProtocol.JSON);
+        OutboundFrame frame = fanOutEngine.frame(sendChat());
+
+        // when
+        fanOutEngine.broadcast(List.of(firstBinarySession, jsonSession, secondBinarySession), frame);
+        fanOutEngine.send(firstBinarySession, frame);
+
+        // then
+        BinaryMessage first = captureBinary(firstBinarySession, 2).get(0);
+        BinaryMessage second = captureBinary(secondBinarySession, 1).get(0);
+        assertThat(first.getPayload().array()).isSameAs(second.getPayload().array());
+        verify(jsonSession).sendMessage(frame.getText());
+        verify(binaryMessageCodec, times(1)).encode(any());
+        verify(objectMapper, never()).readValue(any(byte[].class), eq(BaseWebSocketMessage.class));
+    }
+
+    @Test
+    @DisplayName("JSON 프레임만 있으면 한 번만 파싱해 인코딩한다.")
+    void parseTextFrameOnceTest() throws Exception {
+        // given
+        WebSocketSession firstBinarySession = sessionOf(WireProtocol.BINARY);
+        WebSocketSession secondBinarySession = sessionOf(WireProtocol.BINARY);
+        OutboundFrame frame = OutboundFrame.of(fanOutEngine.encode(sendChat()));
+
+        // when
+        fanOutEngine.broadcast(List.of(firstBinarySession, secondBinarySession), frame);
+
+        // then
+        assertThat(captureBinary(firstBinarySession, 1).get(0).getPayload().array())
+                .isSameAs(captureBinary(secondBinarySession, 1).get(0).getPayload().array());
+        verify(objectMapper, times(1)).readValue(any(byte[].class), eq(BaseWebSocketMessage.class));
+    }
+
+    @Test
+    @DisplayName("바이너리 형식이 없는 메시지는 한 번만 변환을 시도하고 JSON 프레임으로 보낸다.")
+    void noBinaryFormTest() throws Exception {
+        // given
+        WebSocketSession firstBinarySession = sessionOf(WireProtocol.BINARY);
+        WebSocketSession secondBinarySession = sessionOf(WireProtocol.BINARY);
+        OutboundFrame frame = fanOutEngine.frame(ResumeChatRoom.builder()
+                .messageType(MessageType.CHAT_RESUME)
+                .chatRoomId(1L)
+                .lastChatId(10L)
+                .build());
+
+        // when
+        fanOutEngine.broadcast(List.of(firstBinarySession, secondBinarySession), frame);
+
+        // then
+        verify(firstBinarySession).sendMessage(frame.getText());
+        verify(secondBinarySession).sendMessage(frame.getText());
+        verify(binaryMessageCodec, times(1)).encode(any());
+    }
+
+    private WebSocketSession sessionOf(String protocol) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        given(session.getAcceptedProtocol()).willReturn(protocol);
+        return session;
+    }
+
+    private List<BinaryMessage> captureBinary(WebSocketSession session, int count) throws Exception {
+        ArgumentCaptor<BinaryMessage> captor = ArgumentCaptor.forClass(BinaryMessage.class);
+        verify(session, times(count)).sendMessage(captor.capture());
+        assertThat(captor.getAllValues()).hasOnlyElementsOfType(BinaryMessage.class);
+        return captor.getAllValues();
+    }
+
+    private SendChat sendChat() {
+        return SendChat.builder()
+                .messageType(MessageType.CHAT_MESSAGE)
+                .senderId(1L)
+                .chatRoomId(10L)
+                .chatId(100L)
+                .message("hello")
+                .unReadCount(1L)
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.chat.socket.fanout;
+
+import com.chat.service.dtos.chat.UpdateChatRoom;
+import com.chat.utils.message.MessageType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FrameTemplateTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("템플릿에 값을 끼운 프레임은 전체를 직렬화한 JSON 과 같다.")
+    void renderTest() throws Exception {
+        // given
+        LocalDateTime createdDate = LocalDateTime.of(2025, 1, 1, 12, 30);
+        FrameTemplate template = FrameTemplate.of(
+                objectMapper.writeValueAsBytes(updateChatRoomOf("안녕하세요", FrameTemplate.SENTINEL, createdDate)),
+                "unReadCount");
+
+        // when
+        TextMessage frame = template.render(7L);
+
+        // then
+        String expected = objectMapper.writeValueAsString(updateChatRoomOf("안녕하세요", 7L, createdDate));
+        assertThat(frame.getPayload()).isEqualTo(expected);
+        assertThat(frame.getPayloadLength()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    @DisplayName("메시지 본문에 필드와 같은 문자열이 있어도 실제 필드 값만 바꾼다.")
+    void renderWithFieldLikeMessageTest() throws Exception {
+        // given
+        String lastMessage = "\"unReadCount\":" + FrameTemplate.SENTINEL;
+        LocalDateTime createdDate = LocalDateTime.of(2025, 1, 1, 12, 30);
+        FrameTemplate template = FrameTemplate.of(
+                objectMapper.writeValueAsBytes(updateChatRoomOf(lastMessage, FrameTemplate.SENTINEL, createdDate)),
+                "unReadCount");
+
+        // when
+        TextMessage frame = template.render(0L);
+
+        // then
+        String expected = objectMapper.writeValueAsString(updateChatRoomOf(lastMessage, 0L, createdDate));
+        assertThat(frame.getPayload()).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("센티널 값이 없는 필드로 템플릿을 만들면 예외가 발생한다.")
+    void missingSentinelTest() throws Exception {
+        // given
+        byte[] json = objectMapper.writeValueAsBytes(updateChatRoomOf("message", 3L, LocalDateTime.now()));
+
+        // when & then
+        assertThatThrownBy(() -> FrameTemplate.of(json, "unReadCount"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private UpdateChatRoom updateChatRoomOf(String lastMessage, Long unReadCount, LocalDateTime createdDate) {
+        return UpdateChatRoom.builder()
+                .messageType(MessageType.UPDATE_CHAT_ROOM)
+                .chatRoomId(1L)
+                .lastMessage(lastMessage)
+                .unReadCount(unReadCount)
+                .createdDate(createdDate)
+                .build();
+    }
+}
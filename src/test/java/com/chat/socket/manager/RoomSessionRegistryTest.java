@@ -0,0 +1,275 @@
+package com.chat.socket.manager;
+
+import com.chat.utils.consts.SessionConst;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.standard.StandardWebSocketSession;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomSessionRegistryTest {
+
+    @Test
+    @DisplayName("회원의 세션을 채팅방에서 제거하면 채팅방과 회원 항목이 모두 정리된다.")
+    void addAndRemoveTest() {
+        // given
+        RoomSessionRegistry registry = new RoomSessionRegistry();
+        WebSocketSession first = sessionOf(1L);
+        WebSocketSession second = sessionOf(2L);
+        registry.add(10L, 1L, first);
+        registry.add(10L, 2L, second);
+        registry.add(20L, 1L, first);
+
+        // when
+        WebSocketSession removed = registry.remove(10L, 1L);
+
+        // then
+        assertThat(removed).isSameAs(first);
+        assertThat(registry.getSessions(10L)).containsExactly(second);
+        assertThat(registry.get(10L, 1L)).isNull();
+        assertThat(registry.getChatRoomIds(1L)).containsExactly(20L);
+
+        registry.remove(10L, 2L);
+        registry.remove(20L, 1L);
+        assertThat(registry.getSessions(10L)).isNull();
+        assertThat(registry.getChatRoomIds(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 회원이 다시 입장하면 이전 세션을 새 세션으로 교체한다.")
+    void replaceSessionTest() {
+        // given
+        RoomSessionRegistry registry = new RoomSessionRegistry();
+        WebSocketSession before = sessionOf(1L);
+        WebSocketSession after = sessionOf(1L);
+        registry.add(10L, 1L, before);
+
+        // when
+        registry.add(10L, 1L, after);
+
+        // then
+        assertThat(registry.getSessions(10L)).containsExactly(after);
+        assertThat(registry.get(10L, 1L)).isSameAs(after);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 입장과 퇴장을 반복해도 마지막 상태가 일관된다.")
+    void concurrentJoinAndLeaveStressTest() throws InterruptedException {
+        // given
+        int threadCount = 8;
+        int membersPerThread = 50;
+        int roomCount = 16;
+        int operationCount = 20_000;
+        RoomSessionRegistry registry = new RoomSessionRegistry();
+        Map<Long, Set<Long>> expectedRooms = new ConcurrentHashMap<>();
+        Map<Long, WebSocketSession> sessions = new HashMap<>();
+        for (long memberId = 0; memberId < (long) threadCount * membersPerThread; memberId++) {
+            sessions.put(memberId, sessionOf(memberId));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threadCount);
+
+        // when - 스레드마다 담당 회원만 조작하고, 채팅방은 모든 스레드가 공유
+        for (int t = 0; t < threadCount; t++) {
+            long firstMemberId = (long) t * membersPerThread;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < operationCount; i++) {
+                        long memberId = firstMemberId + random.nextInt(membersPerThread);
+                        long chatRoomId = random.nextInt(roomCount);
+                        Set<Long> rooms = expectedRooms.computeIfAbsent(memberId, key -> new HashSet<>());
+                        if (random.nextBoolean()) {
+                            registry.add(chatRoomId, memberId, sessions.get(memberId));
+                            rooms.add(chatRoomId);
+                        } else {
+                            registry.remove(chatRoomId, memberId);
+                            rooms.remove(chatRoomId);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        // then
+        Map<Long, Set<WebSocketSession>> expectedSessions = new HashMap<>();
+        for (Map.Entry<Long, Set<Long>> entry : expectedRooms.entrySet()) {
+            Long memberId = entry.getKey();
+            Set<Long> rooms = entry.getValue();
+
+            if (rooms.isEmpty()) {
+                assertThat(registry.getChatRoomIds(memberId)).isNull();
+            } else {
+                assertThat(registry.getChatRoomIds(memberId)).containsExactlyInAnyOrderElementsOf(rooms);
+            }
+            for (Long chatRoomId : rooms) {
+                expectedSessions.computeIfAbsent(chatRoomId, key -> new HashSet<>()).add(sessions.get(memberId));
+            }
+        }
+
+        for (long chatRoomId = 0; chatRoomId < roomCount; chatRoomId++) {
+            Set<WebSocketSession> expected = expectedSessions.get(chatRoomId);
+            if (expected == null) {
+                assertThat(registry.getSessions(chatRoomId)).isNull();
+            } else {
+                assertThat(registry.getSessions(chatRoomId)).containsExactlyInAnyOrderElementsOf(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("마지막 회원의 퇴장과 다른 회원의 입장이 겹쳐도 입장한 세션이 사라지지 않는다.")
+    void concurrentLastLeaveAndJoinTest() throws Exception {
+        // given
+        int rounds = 10_000;
+        long chatRoomId = 10L;
+        RoomSessionRegistry registry = new RoomSessionRegistry();
+        WebSocketSession leaving = sessionOf(1L);
+        WebSocketSession joining = sessionOf(2L);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+
+        try {
+            for (int round = 0; round < rounds; round++) {
+                registry.add(chatRoomId, 1L, leaving);
+
+                // when - 채팅방을 비우는 퇴장과 입장을 동시에 실행
+                Future<?> leave = executor.submit(() -> {
+                    await(barrier);
+                    registry.remove(chatRoomId, 1L);
+                });
+                Future<?> join = executor.submit(() -> {
+                    await(barrier);
+                    registry.add(chatRoomId, 2L, joining);
+                });
+                leave.get(5, TimeUnit.SECONDS);
+                join.get(5, TimeUnit.SECONDS);
+
+                // then
+                assertThat(registry.getSessions(chatRoomId)).as("round %d", round).containsExactly(joining);
+                assertThat(registry.get(chatRoomId, 2L)).as("round %d", round).isSameAs(joining);
+                assertThat(registry.getChatRoomIds(2L)).as("round %d", round).containsExactly(chatRoomId);
+
+                registry.remove(chatRoomId, 2L);
+                assertThat(registry.getSessions(chatRoomId)).isNull();
+                assertThat(registry.getChatRoomIds(2L)).isNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("한 회원이 채팅방 입장과 퇴장을 동시에 반복해도 참여 채팅방 항목이 사라지지 않는다.")
+    void concurrentMemberRoomsTest() throws Exception {
+        // given
+        int rounds = 10_000;
+        long memberId = 1L;
+        RoomSessionRegistry registry = new RoomSessionRegistry();
+        WebSocketSession session = sessionOf(memberId);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+
+        try {
+            for (int round = 0; round < rounds; round++) {
+                registry.add(10L, memberId, session);
+
+                // when - 회원의 마지막 채팅방 퇴장과 다른 채팅방 입장을 동시에 실행
+                Future<?> leave = executor.submit(() -> {
+                    await(barrier);
+                    registry.remove(10L, memberId);
+                });
+                Future<?> join = executor.submit(() -> {
+                    await(barrier);
+                    registry.add(20L, memberId, session);
+                });
+                leave.get(5, TimeUnit.SECONDS);
+                join.get(5, TimeUnit.SECONDS);
+
+                // then
+                assertThat(registry.getChatRoomIds(memberId)).as("round %d", round).containsExactly(20L);
+
+                registry.remove(20L, memberId);
+                assertThat(registry.getChatRoomIds(memberId)).isNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 회원의 세션이 동시에 교체되어도 채팅방에는 인덱스에 남은 세션 하나만 남는다.")
+    void concurrentReplaceSessionTest() throws Exception {
+        // given
+        int rounds = 10_000;
+        long chatRoomId = 10L;
+        RoomSessionRegistry registry = new RoomSessionRegistry();
+        WebSocketSession first = sessionOf(1L);
+        WebSocketSession second = sessionOf(1L);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CyclicBarrier barrier = new CyclicBarrier(2);
+
+        try {
+            for (int round = 0; round < rounds; round++) {
+                // when
+                Future<?> firstJoin = executor.submit(() -> {
+                    await(barrier);
+                    registry.add(chatRoomId, 1L, first);
+                });
+                Future<?> secondJoin = executor.submit(() -> {
+                    await(barrier);
+                    registry.add(chatRoomId, 1L, second);
+                });
+                firstJoin.get(5, TimeUnit.SECONDS);
+                secondJoin.get(5, TimeUnit.SECONDS);
+
+                // then
+                WebSocketSession indexed = registry.get(chatRoomId, 1L);
+                assertThat(registry.getSessions(chatRoomId)).as("round %d", round).containsExactly(indexed);
+
+                registry.remove(chatRoomId, 1L);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private WebSocketSession sessionOf(Long memberId) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SessionConst.SESSION_ID, memberId);
+        return new StandardWebSocketSession(new HttpHeaders(), attributes, null, null);
+    }
+}
@@ -0,0 +1,197 @@
+package com.chat.socket.outbound;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class OutboundWebSocketSessionTest {
+
+    private static final long SEND_TIME_LIMIT_MILLIS = 10_000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ExecutorService closeExecutor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        closeExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("느린 세션이 전송 중에 막혀도 다른 세션으로의 전파는 막히지 않는다.")
+    void slowConsumerDoesNotBlockBroadcastTest() throws Exception {
+        // given
+        CountDownLatch blocker = new CountDownLatch(1);
+        WebSocketSession slowDelegate = mockSession("slow");
+        willAnswer(invocation -> {
+            blocker.await();
+            return null;
+        }).given(slowDelegate).sendMessage(any());
+
+        List<String> received = new CopyOnWriteArrayList<>();
+        WebSocketSession fastDelegate = mockSession("fast");
+        willAnswer(invocation -> {
+            received.add(((TextMessage) invocation.getArgument(0)).getPayload());
+            return null;
+        }).given(fastDelegate).sendMessage(any());
+
+        OutboundWebSocketSession slow = newSession(slowDelegate, executor, 3, 1024, SlowConsumerPolicy.DROP);
+        OutboundWebSocketSession fast = newSession(fastDelegate, executor, 100, 1024, SlowConsumerPolicy.DROP);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            TextMessage message = new TextMessage("message" + i);
+            slow.sendMessage(message);
+            fast.sendMessage(message);
+        }
+
+        // then
+        verify(fastDelegate, timeout(1000).times(10)).sendMessage(any());
+        assertThat(received).hasSize(10).isSortedAccordingTo(String::compareTo);
+        assertThat(slow.getDroppedCount()).isPositive();
+        assertThat(slow.getQueuedMessages()).isLessThanOrEqualTo(3);
+        assertThat(slow.isEvicted()).isFalse();
+
+        blocker.countDown();
+    }
+
+    @Test
+    @DisplayName("DISCONNECT 정책에서 대기열 크기를 넘으면 세션을 끊고 대기 중인 메시지를 버린다.")
+    void disconnectSlowConsumerTest() throws Exception {
+        // given
+        CountDownLatch blocker = new CountDownLatch(1);
+        WebSocketSession delegate = mockSession("slow");
+        willAnswer(invocation -> {
+            blocker.await();
+            return null;
+        }).given(delegate).sendMessage(any());
+
+        OutboundWebSocketSession session = newSession(delegate, executor, 100, 20, SlowConsumerPolicy.DISCONNECT);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            session.sendMessage(new TextMessage("0123456789"));
+        }
+
+        // then
+        verify(delegate, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(session.isEvicted()).isTrue();
+        assertThat(session.getQueuedBytes()).isLessThanOrEqualTo(10);
+
+        blocker.countDown();
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 전송해도 원본 세션에는 한 번에 한 스레드만 쓴다.")
+    void serializedSendTest() throws Exception {
+        // given
+        AtomicInteger concurrentSends = new AtomicInteger();
+        AtomicInteger maxConcurrentSends = new AtomicInteger();
+        WebSocketSession delegate = mockSession("session");
+        willAnswer(invocation -> {
+            maxConcurrentSends.accumulateAndGet(concurrentSends.incrementAndGet(), Math::max);
+            Thread.sleep(0, 1000);
+            concurrentSends.decrementAndGet();
+            return null;
+        }).given(delegate).sendMessage(any());
+
+        OutboundWebSocketSession session = newSession(delegate, executor, 10_000, 1_000_000, SlowConsumerPolicy.DROP);
+
+        int producerCount = 8;
+        int messageCount = 200;
+        ExecutorService producers = Executors.newFixedThreadPool(producerCount);
+        CountDownLatch done = new CountDownLatch(producerCount);
+
+        // when
+        for (int i = 0; i < producerCount; i++) {
+            producers.submit(() -> {
+                try {
+                    for (int j = 0; j < messageCount; j++) {
+                        session.sendMessage(new TextMessage("message"));
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        verify(delegate, timeout(5000).times(producerCount * messageCount)).sendMessage(any());
+        assertThat(maxConcurrentSends.get()).isEqualTo(1);
+        assertThat(session.getSentCount()).isEqualTo((long) producerCount * messageCount);
+        assertThat(session.getDroppedCount()).isZero();
+
+        producers.shutdown();
+    }
+
+    @Test
+    @DisplayName("전송이 전송 시간 한도를 넘겨 막히면 전송 스레드가 모두 막혀 있어도 세션을 끊는다.")
+    void sendTimeLimitTest() throws Exception {
+        // given
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch sending = new CountDownLatch(1);
+        WebSocketSession delegate = mockSession("stuck");
+        willAnswer(invocation -> {
+            sending.countDown();
+            blocker.await();
+            return null;
+        }).given(delegate).sendMessage(any());
+
+        // 전송 스레드가 하나뿐이라 이 세션의 전송이 막히면 전송 스레드가 모두 막힌다
+        ExecutorService singleSender = Executors.newSingleThreadExecutor();
+        OutboundWebSocketSession session = newSession(delegate, singleSender, 100, 1024, SlowConsumerPolicy.DROP);
+        session.sendMessage(new TextMessage("message"));
+        assertThat(sending.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        boolean beforeLimit = session.checkSendTimeLimit(System.nanoTime());
+        boolean afterLimit = session.checkSendTimeLimit(
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SEND_TIME_LIMIT_MILLIS + 1));
+
+        // then
+        assertThat(beforeLimit).isFalse();
+        assertThat(afterLimit).isTrue();
+        verify(delegate, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(session.isEvicted()).isTrue();
+
+        blocker.countDown();
+        singleSender.shutdownNow();
+    }
+
+    private OutboundWebSocketSession newSession(WebSocketSession delegate, ExecutorService sender,
+                                                int maxQueuedMessages, long maxQueuedBytes, SlowConsumerPolicy policy) {
+        return new OutboundWebSocketSession(delegate, sender, closeExecutor,
+                maxQueuedMessages, maxQueuedBytes, SEND_TIME_LIMIT_MILLIS, policy);
+    }
+
+    private WebSocketSession mockSession(String id) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        given(session.getId()).willReturn(id);
+        given(session.getAttributes()).willReturn(new HashMap<>());
+        given(session.isOpen()).willReturn(true);
+        return session;
+    }
+}
@@ -0,0 +1,306 @@
+package com.chat.socket.outbox;
+
+import com.chat.entity.ChatOutbox;
+import com.chat.entity.ChatRoom;
+import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.repository.ChatOutboxRepository;
+import com.chat.service.ChatRoomService;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.cluster.RoomOwnership;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.socket.resume.RecentChatBuffer;
+import com.chat.utils.consts.SessionConst;
+import com.chat.utils.message.MessageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// 주기 실행과 겹치지 않도록 주기를 길게 두고 relay 를 직접 호출한다, 묶음 크기를 작게 두어 여러 묶음을 읽는 경로도 확인한다
+@SpringBootTest(properties = {
+        "chat.outbox.enabled=true",
+        "chat.outbox.poll-interval-ms=600000",
+        "chat.outbox.batch-size=2"
+})
+class ChatOutboxRelayTest {
+
+    @Autowired
+    private ChatOutboxRelay chatOutboxRelay;
+    @Autowired
+    private ChatOutboxRepository chatOutboxRepository;
+    @Autowired
+    private ChatRoomService chatRoomService;
+    @Autowired
+    private ChatRoomManager chatRoomManager;
+    @Autowired
+    private RecentChatBuffer recentChatBuffer;
+    @Autowired
+    private RoomOwnership roomOwnership;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TestDataFixture fixture;
+
+    private final List<String> joinedNodeIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        chatRoomManager.clearAll();
+        recentChatBuffer.clear();
+        joinedNodeIds.forEach(roomOwnership::leave);
+    }
+
+    @Test
+    @DisplayName("채팅은 아웃박스에 함께 저장되고, 릴레이가 실행되기 전에는 전파되지 않는다.")
+    void writeOutboxWithChatTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("outboxWriteSender");
+        Member receiver = fixture.savedMemberBy("outboxWriteReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        WebSocketSession session = mockSessionOf(receiver.getId());
+        chatRoomManager.addSessionToRoom(session, chatRoom.getId());
+
+        // when
+        List<Long> chatIds = sendChats(sender.getId(), chatRoom.getId(), 1);
+
+        // then
+        List<ChatOutbox> entries = findEntriesOf(chatRoom.getId());
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getChatId()).isEqualTo(chatIds.get(0));
+        assertThat(entries.get(0).getPayload()).contains("CHAT_MESSAGE", "\"chatId\":" + chatIds.get(0));
+        assertThat(entries.get(0).getDeliveredAtMillis()).isNull();
+        verify(session, after(200).never()).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("릴레이는 채팅방 순서대로 전파하고, 한 세션의 전송이 실패해도 나머지 세션에 보낸 뒤 전파 완료로 표시한다.")
+    void relayInOrderTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("outboxRelaySender");
+        Member receiver = fixture.savedMemberBy("outboxRelayReceiver");
+        Member brokenReceiver = fixture.savedMemberBy("outboxRelayBrokenReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver, brokenReceiver));
+
+        WebSocketSession session = mockSessionOf(receiver.getId());
+        WebSocketSession brokenSession = mockSessionOf(brokenReceiver.getId());
+        willThrow(new IOException("broken pipe")).given(brokenSession).sendMessage(any());
+        chatRoomManager.addSessionToRoom(brokenSession, chatRoom.getId());
+        chatRoomManager.addSessionToRoom(session, chatRoom.getId());
+
+        List<Long> chatIds = sendChats(sender.getId(), chatRoom.getId(), 3);
+        long deliveredCount = chatOutboxRelay.getDeliveredCount();
+
+        // when
+        chatOutboxRelay.relay();
+
+        // then
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(3)).sendMessage(captor.capture());
+        List<String> payloads = captor.getAllValues().stream().map(TextMessage::getPayload).collect(Collectors.toList());
+        for (int i = 0; i < chatIds.size(); i++) {
+            assertThat(payloads.get(i)).contains("\"chatId\":" + chatIds.get(i));
+        }
+        verify(brokenSession, times(3)).sendMessage(any());
+
+        assertThat(findEntriesOf(chatRoom.getId()))
+                .allSatisfy(entry -> assertThat(entry.getDeliveredAtMillis()).isNotNull());
+        assertThat(chatOutboxRelay.getDeliveredCount()).isGreaterThanOrEqualTo(deliveredCount + 3);
+        assertThat(chatOutboxRelay.getMaxLagMillis()).isGreaterThanOrEqualTo(chatOutboxRelay.getLastLagMillis());
+        assertThat(recentChatBuffer.findAfter(chatRoom.getId(), chatIds.get(0))).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 담당하는 채팅방의 항목이 앞에 쌓여 있어도 이 노드가 담당하는 채팅방의 채팅을 전파한다.")
+    void relayBehindOtherNodeEntriesTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("outboxOwnerSender");
+        Member receiver = fixture.savedMemberBy("outboxOwnerReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        WebSocketSession session = mockSessionOf(receiver.getId());
+        chatRoomManager.addSessionToRoom(session, chatRoom.getId());
+
+        joinOtherNodeKeeping(chatRoom.getId());
+        Long otherChatRoomId = otherNodeChatRoomId();
+        // 묶음 크기보다 많은 다른 노드의 항목을 먼저 저장해 항목 ID 순서의 앞을 차지하게 한다
+        for (long chatId = 1; chatId <= 3; chatId++) {
+            chatOutboxRepository.save(new ChatOutbox(otherChatRoomId, chatId, sender.getId(),
+                    "{\"messageType\":\"CHAT_MESSAGE\"}", null, System.currentTimeMillis()));
+        }
+        List<Long> chatIds = sendChats(sender.getId(), chatRoom.getId(), 3);
+
+        // when
+        int relayed = chatOutboxRelay.relay();
+
+        // then
+        assertThat(relayed).isGreaterThanOrEqualTo(3);
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(3)).sendMessage(captor.capture());
+        for (int i = 0; i < chatIds.size(); i++) {
+            assertThat(captor.getAllValues().get(i).getPayload()).contains("\"chatId\":" + chatIds.get(i));
+        }
+        assertThat(findEntriesOf(otherChatRoomId))
+                .hasSize(3)
+                .allSatisfy(entry -> assertThat(entry.getDeliveredAtMillis()).isNull());
+
+        chatOutboxRepository.deleteAll(findEntriesOf(otherChatRoomId));
+    }
+
+    @Test
+    @DisplayName("전파 완료로 표시한 항목은 다시 보내지 않는다.")
+    void skipDeliveredTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("outboxSkipSender");
+        Member receiver = fixture.savedMemberBy("outboxSkipReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        WebSocketSession session = mockSessionOf(receiver.getId());
+        chatRoomManager.addSessionToRoom(session, chatRoom.getId());
+
+        sendChats(sender.getId(), chatRoom.getId(), 1);
+        chatOutboxRelay.relay();
+
+        // when
+        chatOutboxRelay.relay();
+
+        // then
+        verify(session, times(1)).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("채팅 저장이 롤백되면 아웃박스 항목도 남지 않는다.")
+    void rollbackTest() {
+        // given
+        Member sender = fixture.savedMemberBy("outboxRollbackSender");
+        Member receiver = fixture.savedMemberBy("outboxRollbackReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            sendChats(sender.getId(), chatRoom.getId(), 1);
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(findEntriesOf(chatRoom.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 전파 완료 항목만 지운다.")
+    void purgeTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("outboxPurgeSender");
+        Member receiver = fixture.savedMemberBy("outboxPurgeReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        sendChats(sender.getId(), chatRoom.getId(), 1);
+        chatOutboxRelay.relay();
+
+        // when
+        int deleted = chatOutboxRelay.purge();
+
+        // then
+        assertThat(deleted).isZero();
+        assertThat(findEntriesOf(chatRoom.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("발신자가 접속해 있지 않으면 세션에 보내지 않고, 다른 항목의 전파도 막지 않는다.")
+    void skipMissingSenderSessionTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("outboxAckSender");
+        Member receiver = fixture.savedMemberBy("outboxAckReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        WebSocketSession session = mockSessionOf(receiver.getId());
+        chatRoomManager.addSessionToRoom(session, chatRoom.getId());
+
+        SendChat sendChat = SendChat.builder()
+                .messageType(MessageType.CHAT_MESSAGE)
+                .senderId(sender.getId())
+                .chatRoomId(chatRoom.getId())
+                .message("message")
+                .clientMessageId("outbox-ack-1")
+                .build();
+        chatRoomService.broadCastMessage(sendChat);
+
+        // when
+        chatOutboxRelay.relay();
+
+        // then
+        ChatOutbox entry = findEntriesOf(chatRoom.getId()).get(0);
+        assertThat(entry.getAckPayload()).contains("CHAT_ACK", "outbox-ack-1");
+        assertThat(entry.getDeliveredAtMillis()).isNotNull();
+        verify(session, times(1)).sendMessage(any());
+    }
+
+    // 링에 노드를 하나 더해도 주어진 채팅방은 이 노드가 계속 담당하도록 노드 ID 를 고른다
+    private void joinOtherNodeKeeping(Long chatRoomId) {
+        for (int i = 0; ; i++) {
+            String nodeId = "outbox-other-" + i;
+            roomOwnership.join(nodeId);
+            if (roomOwnership.isOwner(chatRoomId)) {
+                joinedNodeIds.add(nodeId);
+                return;
+            }
+            roomOwnership.leave(nodeId);
+        }
+    }
+
+    private Long otherNodeChatRoomId() {
+        long chatRoomId = 1_000_000L;
+        while (roomOwnership.isOwner(chatRoomId)) {
+            chatRoomId++;
+        }
+        return chatRoomId;
+    }
+
+    private List<Long> sendChats(Long senderId, Long chatRoomId, int count) {
+        List<Long> chatIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SendChat sendChat = SendChat.builder()
+                    .messageType(MessageType.CHAT_MESSAGE)
+                    .senderId(senderId)
+                    .chatRoomId(chatRoomId)
+                    .message("message" + i)
+                    .build();
+            chatRoomService.broadCastMessage(sendChat);
+            chatIds.add(sendChat.getChatId());
+        }
+        return chatIds;
+    }
+
+    private List<ChatOutbox> findEntriesOf(Long chatRoomId) {
+        return chatOutboxRepository.findAll().stream()
+                .filter(entry -> entry.getChatRoomId().equals(chatRoomId))
+                .collect(Collectors.toList());
+    }
+
+    private WebSocketSession mockSessionOf(Long memberId) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SessionConst.SESSION_ID, memberId);
+        given(session.getAttributes()).willReturn(attributes);
+        given(session.isOpen()).willReturn(true);
+        given(session.getId()).willReturn("outbox-" + memberId);
+        return session;
+    }
+}
@@ -0,0 +1,183 @@
+package com.chat.socket.pipeline;
+
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.utils.message.MessageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+class ChatEventRingTest {
+
+    @Test
+    @DisplayName("여러 스레드가 넣어도 같은 채팅방의 이벤트는 넣은 순서대로 처리되고, 링을 여러 바퀴 돌아도 빠지지 않는다.")
+    void orderingPerRoomTest() throws InterruptedException {
+        // given
+        int roomCount = 8;
+        int messageCount = 500;
+        Map<Long, List<Long>> processed = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(roomCount * messageCount);
+
+        // 슬롯 수보다 훨씬 많이 넣어 생산자가 소비자를 기다리는 경로를 지나게 한다
+        ChatEventRing ring = new ChatEventRing("test", 64, 4, WaitStrategy.PARK, sendChat -> {
+            processed.computeIfAbsent(sendChat.getChatRoomId(), key -> new CopyOnWriteArrayList<>())
+                    .add(sendChat.getChatId());
+            latch.countDown();
+        });
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(roomCount);
+        for (long roomId = 0; roomId < roomCount; roomId++) {
+            long chatRoomId = roomId;
+            executor.submit(() -> {
+                for (long chatId = 0; chatId < messageCount; chatId++) {
+                    ring.publish(chatRoomId, sendChatOf(chatRoomId, chatId));
+                }
+            });
+        }
+
+        // then
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        for (List<Long> chatIds : processed.values()) {
+            assertThat(chatIds).hasSize(messageCount).isSorted();
+        }
+        assertThat(ring.getPublishedCount()).isEqualTo((long) roomCount * messageCount);
+
+        executor.shutdownNow();
+        ring.shutdown();
+    }
+
+    @Test
+    @DisplayName("한 소비자가 느려져 링이 가득 차도 다른 소비자의 링에 넣는 생산자는 기다리지 않는다.")
+    void slowConsumerTest() throws InterruptedException {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherRoomLatch = new CountDownLatch(100);
+        ChatEventRing ring = new ChatEventRing("test", 4, 2, WaitStrategy.PARK, sendChat -> {
+            if (sendChat.getChatRoomId() == 0L) {
+                awaitQuietly(release);
+            } else {
+                otherRoomLatch.countDown();
+            }
+        });
+
+        // 0 번 소비자가 첫 채팅을 처리하는 동안 멈추므로 슬롯 수만큼 넣으면 링이 가득 찬다
+        for (long chatId = 0; chatId < 4; chatId++) {
+            ring.publish(0L, sendChatOf(0L, chatId));
+        }
+
+        // when
+        for (long chatId = 0; chatId < 100; chatId++) {
+            ring.publish(1L, sendChatOf(1L, chatId));
+        }
+
+        // then
+        assertThat(otherRoomLatch.await(3, TimeUnit.SECONDS)).isTrue();
+
+        release.countDown();
+        ring.shutdown();
+    }
+
+    @Test
+    @DisplayName("PARK 소비자는 채팅이 없으면 주기적으로 깨어나지 않고 잠들었다가, 채팅이 들어오면 깨어나 처리한다.")
+    void parkUntilPublishedTest() throws InterruptedException {
+        // given
+        CountDownLatch latch = new CountDownLatch(1);
+        ChatEventRing ring = new ChatEventRing("park-test", 8, 1, WaitStrategy.PARK, sendChat -> latch.countDown());
+        Thread consumer = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("park-test-ring-0"))
+                .findFirst()
+                .orElseThrow();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (consumer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(consumer.getState()).isEqualTo(Thread.State.WAITING);
+
+        // when
+        ring.publish(1L, sendChatOf(1L, 1L));
+
+        // then
+        assertThat(latch.await(3, TimeUnit.SECONDS)).isTrue();
+
+        ring.shutdown();
+    }
+
+    @Test
+    @DisplayName("채팅을 넣을 때 생산자 스레드에서 새로 할당하는 객체가 없다.")
+    void publishAllocationTest() throws InterruptedException {
+        // given
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeThat(threadMXBean).isInstanceOf(com.sun.management.ThreadMXBean.class);
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeThat(allocationBean.isThreadAllocatedMemorySupported()).isTrue();
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        int count = 10_000;
+        CountDownLatch latch = new CountDownLatch(2 * count);
+        ChatEventRing ring = new ChatEventRing("test", 32_768, 1, WaitStrategy.BUSY_SPIN, sendChat -> latch.countDown());
+        List<SendChat> sendChats = new ArrayList<>();
+        for (long chatId = 0; chatId < count; chatId++) {
+            sendChats.add(sendChatOf(chatId % 16, chatId));
+        }
+        // 한 바퀴를 넘기지 않는 개수만큼 먼저 넣어 JIT 를 데운다
+        for (SendChat sendChat : sendChats) {
+            ring.publish(sendChat.getChatRoomId(), sendChat);
+        }
+
+        // when
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < count; i++) {
+            SendChat sendChat = sendChats.get(i);
+            ring.publish(sendChat.getChatRoomId(), sendChat);
+        }
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        // then
+        // 채팅마다 객체 하나만 할당해도 16 바이트 이상이므로, 채팅 수보다 적으면 넣는 경로에서 할당하지 않은 것이다
+        assertThat(allocated).isLessThan(count);
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+
+        ring.shutdown();
+    }
+
+    @Test
+    @DisplayName("슬롯 수가 2 의 거듭제곱이 아니면 만들 수 없다.")
+    void bufferSizeTest() {
+        // when & then
+        assertThatThrownBy(() -> new ChatEventRing("test", 100, 1, WaitStrategy.PARK, sendChat -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private SendChat sendChatOf(Long chatRoomId, Long chatId) {
+        return SendChat.builder()
+                .messageType(MessageType.CHAT_MESSAGE)
+                .chatRoomId(chatRoomId)
+                .chatId(chatId)
+                .message("message")
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.chat.socket.pipeline;
+
+import com.chat.entity.ChatRoom;
+import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.repository.ChatRepository;
+import com.chat.service.ChatRoomService;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.utils.consts.SessionConst;
+import com.chat.utils.message.MessageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 한 채팅방에 50명이 동시에 채팅을 보낼 때 채팅마다 트랜잭션을 커밋하는 방식과 그룹 커밋 방식의 처리량을 비교합니다.
+ * 인메모리 H2 는 fsync 비용이 없으므로 실제 PostgreSQL 보다 차이가 작게 측정됩니다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class GroupCommitBenchmarkTest {
+
+    private static final int SENDER_COUNT = 50;
+    private static final int MESSAGES_PER_SENDER = 10;
+    private static final int TOTAL_MESSAGES = SENDER_COUNT * MESSAGES_PER_SENDER;
+
+    @Autowired
+    private ChatRoomService chatRoomService;
+    @Autowired
+    private ChatRoomManager chatRoomManager;
+    @Autowired
+    private ChatRepository chatRepository;
+    @Autowired
+    private TestDataFixture fixture;
+
+    @AfterEach
+    void tearDown() {
+        chatRoomManager.clearAll();
+    }
+
+    @Test
+    @DisplayName("50명이 동시에 전송하는 채팅방에서 그룹 커밋의 처리량을 측정한다.")
+    void groupCommitThroughputTest() throws InterruptedException {
+        // given
+        List<Member> senders = new ArrayList<>();
+        for (int i = 0; i < SENDER_COUNT; i++) {
+            senders.add(fixture.savedMemberBy("groupCommitSender" + i));
+        }
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", senders);
+        Long chatRoomId = chatRoom.getId();
+        for (Member sender : senders) {
+            chatRoomManager.addSessionToRoom(mockSessionOf(sender.getId()), chatRoomId);
+        }
+
+        // when
+        long perMessageNanos = sendConcurrently(senders, chatRoomId, chatRoomService::broadCastMessage, () -> {
+        });
+
+        ShardedStage<SendChat> groupCommitStage = ShardedStage.batching(
+                "group-commit", 1, 1024, 100, Duration.ofMillis(5), chatRoomService::broadCastMessages);
+        long groupCommitNanos = sendConcurrently(senders, chatRoomId,
+                sendChat -> groupCommitStage.submit(chatRoomId, sendChat),
+                () -> awaitProcessed(groupCommitStage));
+        groupCommitStage.shutdown();
+
+        System.out.printf("동시 전송자 %d 명, 채팅 %d 개%n", SENDER_COUNT, TOTAL_MESSAGES);
+        System.out.printf("채팅별 커밋 - %d ms, %.0f msg/s%n",
+                TimeUnit.NANOSECONDS.toMillis(perMessageNanos), throughput(perMessageNanos));
+        System.out.printf("그룹 커밋   - %d ms, %.0f msg/s, 평균 지연 %d us%n",
+                TimeUnit.NANOSECONDS.toMillis(groupCommitNanos), throughput(groupCommitNanos),
+                TimeUnit.NANOSECONDS.toMicros(groupCommitStage.getMetrics().getAverageLatencyNanos()));
+
+        // then
+        assertThat(groupCommitStage.getMetrics().getFailedCount()).isZero();
+        assertThat(chatRepository.findChatHistory(chatRoomId)).hasSize(TOTAL_MESSAGES * 2);
+    }
+
+    private long sendConcurrently(List<Member> senders, Long chatRoomId,
+                                  Consumer<SendChat> send, Runnable awaitCompletion) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(SENDER_COUNT);
+        CountDownLatch ready = new CountDownLatch(SENDER_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(SENDER_COUNT);
+
+        for (Member sender : senders) {
+            executor.submit(() -> {
+                ready.countDown();
+                try {
+                    start.await();
+                    for (int i = 0; i < MESSAGES_PER_SENDER; i++) {
+                        send.accept(createSendChat(sender.getId(), chatRoomId, "message" + i));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        ready.await();
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await(60, TimeUnit.SECONDS);
+        awaitCompletion.run();
+        long elapsed = System.nanoTime() - startTime;
+
+        executor.shutdown();
+        return elapsed;
+    }
+
+    private void awaitProcessed(ShardedStage<SendChat> stage) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (stage.getMetrics().getProcessedCount() < TOTAL_MESSAGES && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private double throughput(long nanos) {
+        return TOTAL_MESSAGES / (nanos / 1_000_000_000.0);
+    }
+
+    private SendChat createSendChat(Long senderId, Long chatRoomId, String message) {
+        return SendChat.builder()
+                .messageType(MessageType.CHAT_MESSAGE)
+                .senderId(senderId)
+                .chatRoomId(chatRoomId)
+                .message(message)
+                .build();
+    }
+
+    private WebSocketSession mockSessionOf(Long memberId) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SessionConst.SESSION_ID, memberId);
+        given(session.getAttributes()).willReturn(attributes);
+        given(session.isOpen()).willReturn(true);
+        return session;
+    }
+}
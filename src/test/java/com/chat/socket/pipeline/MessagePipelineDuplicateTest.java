@@ -0,0 +1,229 @@
+package com.chat.socket.pipeline;
+
+import com.chat.entity.ChatRoom;
+import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.repository.ChatRepository;
+import com.chat.service.dedup.ClientMessageDeduplicator;
+import com.chat.socket.coalesce.RoomUpdateCoalescer;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.utils.consts.SessionConst;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 메시지 파이프라인으로 같은 clientMessageId 의 채팅을 다시 보냈을 때 저장, 전파, 확인 응답이 한 번씩만 일어나는지 확인합니다.
+ */
+@SpringBootTest
+class MessagePipelineDuplicateTest {
+
+    @Autowired
+    private MessagePipeline messagePipeline;
+    @Autowired
+    private ClientMessageDeduplicator clientMessageDeduplicator;
+    @Autowired
+    private RoomUpdateCoalescer roomUpdateCoalescer;
+    @Autowired
+    private ChatRoomManager chatRoomManager;
+    @Autowired
+    private WebsocketSessionManager websocketSessionManager;
+    @Autowired
+    private ChatRepository chatRepository;
+    @Autowired
+    private TestDataFixture fixture;
+
+    private final List<Long> connectedMemberIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        chatRoomManager.clearAll();
+        connectedMemberIds.forEach(websocketSessionManager::removeSession);
+        clientMessageDeduplicator.clear();
+    }
+
+    @Test
+    @DisplayName("최근 저장 기록에서 벗어난 재전송은 유니크 제약 조건으로 막고, 한 번만 저장하고 전파하며 두 번 모두 확인 응답한다.")
+    void retryOutsideDedupWindowTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("pipelineDupSender");
+        Member receiver = fixture.savedMemberBy("pipelineDupReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        Long chatRoomId = chatRoom.getId();
+
+        List<String> senderReceived = connect(sender.getId());
+        List<String> receiverReceived = connectToRoom(receiver.getId(), chatRoomId);
+        String payload = chatPayload(sender.getId(), chatRoomId, "pipeline-dup-1");
+
+        long updatesBefore = roomUpdateCoalescer.getSubmittedCount();
+        messagePipeline.submit("sender", sender.getId(), payload);
+        awaitCount(senderReceived, "CHAT_ACK", 1);
+        long submittedUpdates = awaitUpdateSubmitted(updatesBefore);
+
+        // when
+        // 최근 저장 기록을 비워 재전송이 DB 유니크 제약 조건까지 내려가게 한다
+        clientMessageDeduplicator.clear();
+        messagePipeline.submit("sender", sender.getId(), payload);
+        awaitCount(senderReceived, "CHAT_ACK", 2);
+        awaitFanOut(chatRoomId);
+
+        // then
+        assertThat(chatRepository.findChatHistory(chatRoomId)).hasSize(1);
+        Long chatId = chatRepository.findChatHistory(chatRoomId).get(0).getId();
+
+        assertThat(receiverReceived).filteredOn(frame -> frame.contains("CHAT_MESSAGE")).hasSize(1);
+        assertThat(senderReceived).filteredOn(frame -> frame.contains("CHAT_ACK"))
+                .hasSize(2)
+                .allSatisfy(frame -> assertThat(frame).contains("\"chatId\":" + chatId, "pipeline-dup-1"));
+        assertThat(roomUpdateCoalescer.getSubmittedCount()).isEqualTo(submittedUpdates);
+        assertThat(clientMessageDeduplicator.findChatId(sender.getId(), "pipeline-dup-1")).isEqualTo(chatId);
+    }
+
+    @Test
+    @DisplayName("최근 저장 기록에 있는 재전송은 저장하지 않고 채팅방 목록 갱신도 보내지 않는다.")
+    void retryInsideDedupWindowTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("pipelineWindowSender");
+        Member receiver = fixture.savedMemberBy("pipelineWindowReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        Long chatRoomId = chatRoom.getId();
+
+        List<String> senderReceived = connect(sender.getId());
+        String payload = chatPayload(sender.getId(), chatRoomId, "pipeline-window-1");
+
+        long updatesBefore = roomUpdateCoalescer.getSubmittedCount();
+        messagePipeline.submit("sender", sender.getId(), payload);
+        awaitCount(senderReceived, "CHAT_ACK", 1);
+        long submittedUpdates = awaitUpdateSubmitted(updatesBefore);
+
+        // when
+        messagePipeline.submit("sender", sender.getId(), payload);
+        awaitCount(senderReceived, "CHAT_ACK", 2);
+        awaitFanOut(chatRoomId);
+
+        // then
+        assertThat(chatRepository.findChatHistory(chatRoomId)).hasSize(1);
+        assertThat(roomUpdateCoalescer.getSubmittedCount()).isEqualTo(submittedUpdates);
+    }
+
+    @Test
+    @DisplayName("저장할 수 없는 clientMessageId 로 보낸 채팅은 저장하지 않고 발신자에게 거절 응답을 보낸다.")
+    void invalidClientMessageIdTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("pipelineNackSender");
+        Member receiver = fixture.savedMemberBy("pipelineNackReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        Long chatRoomId = chatRoom.getId();
+
+        List<String> senderReceived = connect(sender.getId());
+        String clientMessageId = "x".repeat(65);
+
+        // when
+        messagePipeline.submit("sender", sender.getId(), chatPayload(sender.getId(), chatRoomId, clientMessageId));
+        awaitCount(senderReceived, "CHAT_NACK", 1);
+
+        // then
+        assertThat(chatRepository.findChatHistory(chatRoomId)).isEmpty();
+        assertThat(senderReceived).singleElement().asString()
+                .contains("CHAT_NACK", "INVALID_CLIENT_MESSAGE_ID", clientMessageId);
+    }
+
+    @Test
+    @DisplayName("저장하다 실패한 채팅은 로그만 남기지 않고 발신자에게 실패 원인을 담은 거절 응답을 보낸다.")
+    void persistFailureNackTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("pipelineFailSender");
+        Long missingChatRoomId = Long.MAX_VALUE;
+
+        List<String> senderReceived = connect(sender.getId());
+
+        // when
+        messagePipeline.submit("sender", sender.getId(), chatPayload(sender.getId(), missingChatRoomId, "fail-1"));
+        awaitCount(senderReceived, "CHAT_NACK", 1);
+
+        // then
+        assertThat(senderReceived).singleElement().asString()
+                .contains("CHAT_NACK", "CHAT_ROOM_NOT_EXIST", "fail-1");
+    }
+
+    private List<String> connect(Long memberId) {
+        List<String> received = new CopyOnWriteArrayList<>();
+        websocketSessionManager.addSession(memberId, mockSessionOf(memberId, received));
+        connectedMemberIds.add(memberId);
+        return received;
+    }
+
+    private List<String> connectToRoom(Long memberId, Long chatRoomId) {
+        List<String> received = new CopyOnWriteArrayList<>();
+        chatRoomManager.addSessionToRoom(mockSessionOf(memberId, received), chatRoomId);
+        return received;
+    }
+
+    private WebSocketSession mockSessionOf(Long memberId, List<String> received) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SessionConst.SESSION_ID, memberId);
+        given(session.getAttributes()).willReturn(attributes);
+        given(session.isOpen()).willReturn(true);
+        given(session.getId()).willReturn("pipeline-" + memberId);
+        try {
+            willAnswer(invocation -> {
+                received.add(((TextMessage) invocation.getArgument(0)).getPayload());
+                return null;
+            }).given(session).sendMessage(any());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return session;
+    }
+
+    private String chatPayload(Long senderId, Long chatRoomId, String clientMessageId) {
+        return "{\"messageType\":\"CHAT_MESSAGE\",\"senderId\":" + senderId + ",\"chatRoomId\":" + chatRoomId
+                + ",\"message\":\"hello\",\"clientMessageId\":\"" + clientMessageId + "\"}";
+    }
+
+    private void awaitCount(List<String> received, String messageType, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.stream().filter(frame -> frame.contains(messageType)).count() < count
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    // 새 채팅은 저장이 끝난 뒤 채팅방 목록 갱신을 fan-out 단계에 넣으므로 확인 응답보다 늦을 수 있다
+    private long awaitUpdateSubmitted(long updatesBefore) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (roomUpdateCoalescer.getSubmittedCount() == updatesBefore && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(roomUpdateCoalescer.getSubmittedCount()).isGreaterThan(updatesBefore);
+        return roomUpdateCoalescer.getSubmittedCount();
+    }
+
+    // 채팅방 fan-out 단계는 순서대로 실행되므로, 먼저 들어간 전파 작업이 모두 끝날 때까지 기다린다
+    private void awaitFanOut(Long chatRoomId) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        messagePipeline.fanOut(chatRoomId, latch::countDown);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
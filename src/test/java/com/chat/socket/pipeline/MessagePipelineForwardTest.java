@@ -0,0 +1,222 @@
+package com.chat.socket.pipeline;
+
+import com.chat.service.ChatRoomService;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.cluster.ClusterEvent;
+import com.chat.socket.cluster.ClusterEventType;
+import com.chat.socket.cluster.ClusterFanOut;
+import com.chat.socket.cluster.LoopbackClusterBus;
+import com.chat.socket.cluster.RoomOwnership;
+import com.chat.socket.codec.BinaryMessageCodec;
+import com.chat.socket.codec.JsonMessageCodec;
+import com.chat.socket.fanout.FanOutEngine;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.socket.manager.WebsocketSessionManager;
+import com.chat.socket.resume.RecentChatBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 담당 노드가 아닌 노드가 받은 채팅이 담당 노드에만 넘어가고, 넘겨받은 채팅과 응답받지 못한 채팅은 버려지지 않는지 확인합니다.
+ */
+class MessagePipelineForwardTest {
+
+    private static final int VIRTUAL_NODES = 160;
+    private static final long FORWARD_ACK_TIMEOUT_MILLIS = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(node -> node.pipeline.shutdown());
+    }
+
+    @Test
+    @DisplayName("담당 노드가 아닌 노드가 받은 채팅은 담당 노드에만 넘겨 저장한다.")
+    void forwardToOwnerOnlyTest() {
+        // given
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        Node first = startNode("first", network, "");
+        Node second = startNode("second", network, "");
+        Node third = startNode("third", network, "");
+        List<ClusterEvent> thirdReceived = new CopyOnWriteArrayList<>();
+        third.clusterBus.subscribe(thirdReceived::add);
+
+        long chatRoomId = roomOwnedBy(second.roomOwnership, "first");
+
+        // when
+        second.pipeline.submit("session", 1L, chatPayload(chatRoomId));
+
+        // then
+        verify(first.chatRoomService, timeout(3000)).broadCastMessage(any(SendChat.class));
+        verify(second.chatRoomService, never()).broadCastMessage(any(SendChat.class));
+        verify(third.chatRoomService, never()).broadCastMessage(any(SendChat.class));
+        assertThat(thirdReceived).extracting(ClusterEvent::getType).doesNotContain(ClusterEventType.FORWARD_SEND);
+    }
+
+    @Test
+    @DisplayName("넘겨받은 채팅은 이 노드가 담당하지 않는 채팅방이어도 저장한다.")
+    void persistForwardedSendTest() {
+        // given
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        Node first = startNode("first", network, "");
+        Node second = startNode("second", network, "");
+        long chatRoomId = roomOwnedBy(second.roomOwnership, "first");
+
+        // when - 노드 목록이 바뀌는 중이라 second 를 담당 노드로 본 노드가 넘긴 채팅
+        first.clusterBus.publishTo("second", new ClusterEvent(ClusterEventType.FORWARD_SEND, "first", chatRoomId,
+                forwardedPayload(1L, chatRoomId)));
+
+        // then
+        verify(second.chatRoomService, timeout(3000)).broadCastMessage(any(SendChat.class));
+        verify(first.chatRoomService, after(100).never()).broadCastMessage(any(SendChat.class));
+    }
+
+    @Test
+    @DisplayName("담당 노드와 연결되어 있지 않으면 채팅을 버리지 않고 받은 노드에서 저장한다.")
+    void persistLocallyWhenOwnerUnreachableTest() {
+        // given - 설정에는 있지만 아직 연결되지 않은 노드
+        Node first = startNode("first", new LoopbackClusterBus.Network(), "ghost");
+        long chatRoomId = roomOwnedBy(first.roomOwnership, "ghost");
+
+        // when
+        first.pipeline.submit("session", 1L, chatPayload(chatRoomId));
+
+        // then
+        verify(first.chatRoomService, timeout(3000)).broadCastMessage(any(SendChat.class));
+    }
+
+    @Test
+    @DisplayName("담당 노드가 넘겨받은 채팅에 응답하면 넘긴 노드는 제한 시간이 지나도 다시 저장하지 않는다.")
+    void acknowledgedForwardTest() {
+        // given
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        Node first = startNode("first", network, "", FORWARD_ACK_TIMEOUT_MILLIS);
+        Node second = startNode("second", network, "", FORWARD_ACK_TIMEOUT_MILLIS);
+        long chatRoomId = roomOwnedBy(second.roomOwnership, "first");
+
+        // when
+        second.pipeline.submit("session", 1L, chatPayload(chatRoomId));
+
+        // then
+        verify(first.chatRoomService, timeout(3000)).broadCastMessage(any(SendChat.class));
+        verify(second.chatRoomService, after(FORWARD_ACK_TIMEOUT_MILLIS * 3).never()).broadCastMessage(any(SendChat.class));
+        assertThat(second.pipeline.getPendingForwardCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("담당 노드가 제한 시간 안에 응답하지 않으면 넘긴 채팅을 버리지 않고 받은 노드에서 저장한다.")
+    void unacknowledgedForwardTest() {
+        // given - 연결은 되어 있지만 넘겨받은 채팅을 처리하지 않는 담당 노드
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        LoopbackClusterBus silentOwner = new LoopbackClusterBus("first", network);
+        List<ClusterEvent> ownerReceived = new CopyOnWriteArrayList<>();
+        silentOwner.subscribe(ownerReceived::add);
+        Node second = startNode("second", network, "", FORWARD_ACK_TIMEOUT_MILLIS);
+        long chatRoomId = roomOwnedBy(second.roomOwnership, "first");
+
+        // when
+        second.pipeline.submit("session", 1L, chatPayload(chatRoomId));
+
+        // then
+        verify(second.chatRoomService, timeout(3000)).broadCastMessage(any(SendChat.class));
+        assertThat(ownerReceived).extracting(ClusterEvent::getType).containsExactly(ClusterEventType.FORWARD_SEND);
+        assertThat(second.pipeline.getPendingForwardCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("응답을 기다리는 중에 담당 노드가 끊기면 제한 시간을 기다리지 않고 받은 노드에서 저장한다.")
+    void ownerLeftBeforeAckTest() {
+        // given
+        LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+        LoopbackClusterBus silentOwner = new LoopbackClusterBus("first", network);
+        Node second = startNode("second", network, "", TimeUnit.MINUTES.toMillis(1));
+        long chatRoomId = roomOwnedBy(second.roomOwnership, "first");
+        second.pipeline.submit("session", 1L, chatPayload(chatRoomId));
+        awaitPendingForward(second.pipeline);
+
+        // when
+        silentOwner.leave();
+
+        // then
+        verify(second.chatRoomService, timeout(3000)).broadCastMessage(any(SendChat.class));
+        assertThat(second.pipeline.getPendingForwardCount()).isZero();
+    }
+
+    private Node startNode(String nodeId, LoopbackClusterBus.Network network, String members) {
+        return startNode(nodeId, network, members, TimeUnit.MINUTES.toMillis(1));
+    }
+
+    private Node startNode(String nodeId, LoopbackClusterBus.Network network, String members,
+                           long forwardAckTimeoutMillis) {
+        Node node = new Node(new LoopbackClusterBus(nodeId, network), members, forwardAckTimeoutMillis);
+        nodes.add(node);
+        return node;
+    }
+
+    private void awaitPendingForward(MessagePipeline pipeline) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (pipeline.getPendingForwardCount() == 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(pipeline.getPendingForwardCount()).isEqualTo(1);
+    }
+
+    private long roomOwnedBy(RoomOwnership roomOwnership, String nodeId) {
+        for (long chatRoomId = 1; ; chatRoomId++) {
+            if (nodeId.equals(roomOwnership.ownerOf(chatRoomId))) {
+                return chatRoomId;
+            }
+        }
+    }
+
+    private byte[] forwardedPayload(long forwardId, long chatRoomId) {
+        byte[] json = chatPayload(chatRoomId).getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Long.BYTES + json.length).putLong(forwardId).put(json).array();
+    }
+
+    private String chatPayload(long chatRoomId) {
+        return "{\"messageType\":\"CHAT_MESSAGE\",\"senderId\":1,\"chatRoomId\":" + chatRoomId + ",\"message\":\"hello\"}";
+    }
+
+    /**
+     * 한 노드의 메시지 파이프라인 구성입니다. 저장은 목 객체로 확인합니다.
+     */
+    private class Node {
+
+        private final LoopbackClusterBus clusterBus;
+        private final RoomOwnership roomOwnership;
+        private final ChatRoomService chatRoomService = mock(ChatRoomService.class);
+        private final MessagePipeline pipeline;
+
+        private Node(LoopbackClusterBus clusterBus, String members, long forwardAckTimeoutMillis) {
+            this.clusterBus = clusterBus;
+            this.roomOwnership = new RoomOwnership(clusterBus, members, VIRTUAL_NODES);
+
+            FanOutEngine fanOutEngine = new FanOutEngine(objectMapper, new BinaryMessageCodec());
+            ClusterFanOut clusterFanOut = new ClusterFanOut(clusterBus, new ChatRoomManager(fanOutEngine),
+                    new WebsocketSessionManager(), fanOutEngine, new RecentChatBuffer(16, 100));
+            this.pipeline = new MessagePipeline(chatRoomService, objectMapper, new BinaryMessageCodec(),
+                    new JsonMessageCodec(objectMapper), clusterBus, roomOwnership, clusterFanOut,
+                    1, 1, 1, 16, false, 5, 100, false, forwardAckTimeoutMillis);
+        }
+    }
+}
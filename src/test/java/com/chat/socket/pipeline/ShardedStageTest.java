@@ -0,0 +1,98 @@
+package com.chat.socket.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedStageTest {
+
+    @Test
+    @DisplayName("같은 샤드 키의 작업은 여러 스레드에서 넣어도 넣은 순서대로 처리된다.")
+    void orderingPerShardKeyTest() throws InterruptedException {
+        // given
+        int roomCount = 8;
+        int messageCount = 500;
+        Map<Long, List<Integer>> processed = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(roomCount * messageCount);
+
+        ShardedStage<long[]> stage = new ShardedStage<>("test", 4, 64, item -> {
+            processed.computeIfAbsent(item[0], key -> new CopyOnWriteArrayList<>()).add((int) item[1]);
+            latch.countDown();
+        });
+
+        // when
+        ExecutorService executor = Executors.newFixedThreadPool(roomCount);
+        for (long roomId = 0; roomId < roomCount; roomId++) {
+            long chatRoomId = roomId;
+            executor.submit(() -> {
+                for (int i = 0; i < messageCount; i++) {
+                    stage.submit(chatRoomId, new long[]{chatRoomId, i});
+                }
+            });
+        }
+
+        // then
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        for (List<Integer> messages : processed.values()) {
+            assertThat(messages).hasSize(messageCount).isSorted();
+        }
+        assertThat(stage.getMetrics().getProcessedCount()).isEqualTo((long) roomCount * messageCount);
+        assertThat(stage.getMetrics().getQueueDepth()).isZero();
+
+        executor.shutdown();
+        stage.shutdown();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 submit 이 대기하고, 처리 중 예외는 실패 건수로 집계된다.")
+    void backpressureAndFailureTest() throws InterruptedException {
+        // given
+        CountDownLatch blocker = new CountDownLatch(1);
+        ShardedStage<Integer> stage = new ShardedStage<>("test", 1, 1, item -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (item < 0) {
+                throw new IllegalStateException("fail");
+            }
+        });
+
+        stage.submit(0, -1); // 처리 중
+        while (stage.getMetrics().getQueueDepth() > 0) {
+            Thread.sleep(10);
+        }
+        stage.submit(0, 1);  // 대기열 1 칸 차지
+
+        // when
+        Thread producer = new Thread(() -> stage.submit(0, 2));
+        producer.start();
+        producer.join(200);
+
+        // then
+        assertThat(producer.isAlive()).isTrue();
+        assertThat(stage.getMetrics().getQueueDepth()).isEqualTo(1);
+
+        blocker.countDown();
+        producer.join(1000);
+        assertThat(producer.isAlive()).isFalse();
+
+        Thread.sleep(200);
+        assertThat(stage.getMetrics().getProcessedCount()).isEqualTo(3);
+        assertThat(stage.getMetrics().getFailedCount()).isEqualTo(1);
+        assertThat(stage.getMetrics().getMaxLatencyNanos()).isPositive();
+
+        stage.shutdown();
+    }
+}
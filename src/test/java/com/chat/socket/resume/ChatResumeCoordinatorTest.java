@@ -0,0 +1,162 @@
+package com.chat.socket.resume;
+
+import com.chat.entity.ChatRoom;
+import com.chat.entity.Member;
+import com.chat.fixture.TestDataFixture;
+import com.chat.service.ChatRoomService;
+import com.chat.service.dtos.chat.SendChat;
+import com.chat.socket.manager.ChatRoomManager;
+import com.chat.utils.consts.SessionConst;
+import com.chat.utils.message.MessageType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+class ChatResumeCoordinatorTest {
+
+    @Autowired
+    private ChatResumeCoordinator chatResumeCoordinator;
+    @Autowired
+    private ChatRoomService chatRoomService;
+    @Autowired
+    private ChatRoomManager chatRoomManager;
+    @Autowired
+    private RecentChatBuffer recentChatBuffer;
+    @Autowired
+    private TestDataFixture fixture;
+
+    @AfterEach
+    void tearDown() {
+        chatRoomManager.clearAll();
+        recentChatBuffer.clear();
+    }
+
+    @Test
+    @DisplayName("놓친 채팅이 버퍼에 남아 있으면 보관된 프레임을 순서대로 다시 보내고 채팅방에 다시 등록한다.")
+    void resumeFromBufferTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("resumeBufferSender");
+        Member receiver = fixture.savedMemberBy("resumeBufferReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        Long chatRoomId = chatRoom.getId();
+
+        List<Long> chatIds = sendChats(sender.getId(), chatRoomId, 3);
+        awaitBuffered(chatRoomId, chatIds);
+
+        WebSocketSession session = mockSessionOf(receiver.getId());
+
+        // when
+        chatResumeCoordinator.resume(session, receiver.getId(), Map.of(chatRoomId, chatIds.get(0)));
+
+        // then
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, timeout(3000).times(2)).sendMessage(captor.capture());
+        assertThat(captor.getAllValues()).extracting(TextMessage::getPayload)
+                .allSatisfy(payload -> assertThat(payload).contains("CHAT_MESSAGE"))
+                .satisfies(payloads -> {
+                    assertThat(payloads.get(0)).contains("\"chatId\":" + chatIds.get(1));
+                    assertThat(payloads.get(1)).contains("\"chatId\":" + chatIds.get(2));
+                });
+        assertThat(chatRoomManager.findWebSocketSessionBy(chatRoomId)).contains(session);
+    }
+
+    @Test
+    @DisplayName("놓친 채팅이 버퍼보다 많으면 DB 에서 조회한 채팅 내역을 CHAT_RESUME 프레임으로 보낸다.")
+    void resumeFromDatabaseTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("resumeDatabaseSender");
+        Member receiver = fixture.savedMemberBy("resumeDatabaseReceiver");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+        Long chatRoomId = chatRoom.getId();
+
+        List<Long> chatIds = sendChats(sender.getId(), chatRoomId, 3);
+        awaitBuffered(chatRoomId, chatIds);
+
+        WebSocketSession session = mockSessionOf(receiver.getId());
+
+        // when
+        chatResumeCoordinator.resume(session, receiver.getId(), Map.of(chatRoomId, chatIds.get(0) - 1));
+
+        // then
+        ArgumentCaptor<TextMessage> captor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, timeout(3000)).sendMessage(captor.capture());
+        String payload = captor.getValue().getPayload();
+        assertThat(payload).contains("CHAT_RESUME", "\"hasNext\":false");
+        for (Long chatId : chatIds) {
+            assertThat(payload).contains("\"chatId\":" + chatId);
+        }
+        assertThat(recentChatBuffer.getMissCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("참여하지 않은 채팅방은 이어받지 않는다.")
+    void skipNotParticipatedChatRoomTest() throws Exception {
+        // given
+        Member sender = fixture.savedMemberBy("resumeSkipSender");
+        Member receiver = fixture.savedMemberBy("resumeSkipReceiver");
+        Member stranger = fixture.savedMemberBy("resumeSkipStranger");
+        ChatRoom chatRoom = fixture.savedChatRoomBy("title", List.of(sender, receiver));
+
+        WebSocketSession session = mockSessionOf(stranger.getId());
+
+        // when
+        chatResumeCoordinator.resume(session, stranger.getId(), Map.of(chatRoom.getId(), 0L));
+
+        // then
+        assertThat(chatRoomManager.findWebSocketSessionBy(chatRoom.getId())).isEmpty();
+    }
+
+    private List<Long> sendChats(Long senderId, Long chatRoomId, int count) {
+        List<Long> chatIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SendChat sendChat = SendChat.builder()
+                    .messageType(MessageType.CHAT_MESSAGE)
+                    .senderId(senderId)
+                    .chatRoomId(chatRoomId)
+                    .message("message" + i)
+                    .build();
+            chatRoomService.broadCastMessage(sendChat);
+            chatIds.add(sendChat.getChatId());
+        }
+        return chatIds;
+    }
+
+    // 채팅 전파는 커밋 이후 fan-out 단계에서 비동기로 버퍼에 쌓인다
+    private void awaitBuffered(Long chatRoomId, List<Long> chatIds) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (System.currentTimeMillis() < deadline) {
+            List<TextMessage> frames = recentChatBuffer.findAfter(chatRoomId, chatIds.get(0));
+            if (frames != null && frames.size() == chatIds.size() - 1) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private WebSocketSession mockSessionOf(Long memberId) {
+        WebSocketSession session = mock(WebSocketSession.class);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(SessionConst.SESSION_ID, memberId);
+        given(session.getAttributes()).willReturn(attributes);
+        given(session.isOpen()).willReturn(true);
+        given(session.getId()).willReturn("resume-" + memberId);
+        return session;
+    }
+}
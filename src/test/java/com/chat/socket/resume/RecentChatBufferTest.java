@@ -0,0 +1,113 @@
+package com.chat.socket.resume;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentChatBufferTest {
+
+    @Test
+    @DisplayName("마지막으로 받은 채팅 이후의 프레임을 보관된 순서대로 반환한다.")
+    void findAfterTest() {
+        // given
+        RecentChatBuffer buffer = new RecentChatBuffer(8, 100);
+        for (long chatId = 1; chatId <= 5; chatId++) {
+            buffer.append(1L, chatId, frameOf(chatId));
+        }
+
+        // when
+        List<TextMessage> missed = buffer.findAfter(1L, 2L);
+        List<TextMessage> upToDate = buffer.findAfter(1L, 5L);
+
+        // then
+        assertThat(missed).extracting(TextMessage::getPayload).containsExactly("3", "4", "5");
+        assertThat(upToDate).isEmpty();
+        assertThat(buffer.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("버퍼에서 밀려난 채팅 이전부터 이어받으려 하면 null 을 반환한다.")
+    void gapExceedsBufferTest() {
+        // given
+        RecentChatBuffer buffer = new RecentChatBuffer(4, 100);
+        for (long chatId = 1; chatId <= 10; chatId++) {
+            buffer.append(1L, chatId, frameOf(chatId));
+        }
+
+        // when
+        List<TextMessage> exceeded = buffer.findAfter(1L, 5L);
+        List<TextMessage> covered = buffer.findAfter(1L, 6L);
+
+        // then
+        assertThat(exceeded).isNull();
+        assertThat(covered).extracting(TextMessage::getPayload).containsExactly("7", "8", "9", "10");
+        assertThat(buffer.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처음 보관한 채팅보다 이전 채팅이나 보관된 적 없는 채팅방은 DB 조회가 필요하다.")
+    void notCoveredBeforeFirstChatTest() {
+        // given
+        RecentChatBuffer buffer = new RecentChatBuffer(8, 100);
+        buffer.append(1L, 10L, frameOf(10L));
+        buffer.append(1L, 12L, frameOf(12L));
+
+        // when & then
+        assertThat(buffer.findAfter(1L, 9L)).isNull();
+        assertThat(buffer.findAfter(1L, 10L)).extracting(TextMessage::getPayload).containsExactly("12");
+        assertThat(buffer.findAfter(2L, 0L)).isNull();
+    }
+
+    @Test
+    @DisplayName("마지막 채팅보다 이전 채팅이 늦게 들어오면 보관하지 않고 그 채팅 이전부터는 DB 조회가 필요하다.")
+    void outOfOrderChatTest() {
+        // given
+        RecentChatBuffer buffer = new RecentChatBuffer(8, 100);
+        buffer.append(1L, 10L, frameOf(10L));
+        buffer.append(1L, 12L, frameOf(12L));
+
+        // when
+        buffer.append(1L, 11L, frameOf(11L));
+        buffer.append(1L, 13L, frameOf(13L));
+
+        // then
+        assertThat(buffer.findAfter(1L, 10L)).isNull();
+        assertThat(buffer.findAfter(1L, 11L)).extracting(TextMessage::getPayload).containsExactly("12", "13");
+    }
+
+    @Test
+    @DisplayName("보관할 채팅방 수를 넘으면 다른 채팅방의 버퍼를 비운다.")
+    void maxRoomsTest() {
+        // given
+        RecentChatBuffer buffer = new RecentChatBuffer(4, 2);
+
+        // when
+        buffer.append(1L, 1L, frameOf(1L));
+        buffer.append(2L, 2L, frameOf(2L));
+        buffer.append(3L, 3L, frameOf(3L));
+
+        // then
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(buffer.findAfter(3L, 3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재접속 토큰에서 형식이 잘못된 항목은 건너뛴다.")
+    void parseResumeTokenTest() {
+        // when
+        Map<Long, Long> lastChatIds = ResumeToken.parse("12:3401, 15:220,abc:1,7,-1:3");
+
+        // then
+        assertThat(lastChatIds).containsExactly(Map.entry(12L, 3401L), Map.entry(15L, 220L));
+        assertThat(ResumeToken.parse(null)).isEmpty();
+    }
+
+    private TextMessage frameOf(long chatId) {
+        return new TextMessage(String.valueOf(chatId));
+    }
+}
@@ -0,0 +1,232 @@
+package com.chat.utils.thread;
+
+import com.chat.ChatApplication;
+import com.chat.entity.ChatRoom;
+import com.chat.entity.Member;
+import com.chat.fixture.MemberFixture;
+import com.chat.fixture.TestDataFixture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 가상 스레드 모드를 끄고 켠 애플리케이션을 차례로 띄워, p99 응답 시간 목표 안에서 받을 수 있는 최대 동시 전송자 수를 비교합니다.
+ * 전송자마다 로그인한 뒤 실제 웹소켓으로 연결하고, 채팅을 보내 확인 응답을 받아야 다음 채팅을 보냅니다.
+ * 단계마다 전송자 수를 늘려, 보낸 때부터 확인 응답을 받을 때까지의 p99 가 목표를 넘기 직전 단계의 전송자 수를 최대치로 봅니다.
+ * 가상 스레드는 Java 21 이상에서만 만들어지므로 Java 21 런처로 실행하는 loadTest 태스크로 실행합니다.
+ * 인메모리 H2 에 저장하므로 결과는 절대값이 아니라 같은 조건에서 두 모드를 비교하는 용도로 봅니다.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final long TARGET_P99_MILLIS = 200;
+    private static final int[] SENDER_STEPS = {25, 50, 100, 200, 400};
+    private static final int MESSAGES_PER_SENDER = 20;
+    private static final int ROOM_SIZE = 10;
+    private static final long ACK_TIMEOUT_SECONDS = 30;
+
+    @Test
+    @DisplayName("가상 스레드 모드를 끄고 켰을 때 p99 목표 안에서 받을 수 있는 최대 동시 전송자 수를 비교한다.")
+    void maxConcurrentSendersTest() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "가상 스레드는 Java 21 이상에서만 지원되므로 loadTest 태스크로 실행한다");
+
+        // when
+        int platformMaxSenders = maxConcurrentSenders(false);
+        int virtualMaxSenders = maxConcurrentSenders(true);
+
+        // then
+        System.out.printf("max concurrent senders at p99 <= %d ms : platform threads=%d, virtual threads=%d%n",
+                TARGET_P99_MILLIS, platformMaxSenders, virtualMaxSenders);
+    }
+
+    private int maxConcurrentSenders(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        int maxSenderCount = SENDER_STEPS[SENDER_STEPS.length - 1];
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ChatApplication.class)
+                .properties("server.port=0", "spring.threads.virtual.enabled=" + virtualThreads)
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            // 클라이언트 쪽은 두 모드 모두 같은 플랫폼 스레드로 보내 서버 쪽 차이만 비교한다
+            ExecutorService clients = Executors.newFixedThreadPool(maxSenderCount);
+            List<Sender> senders = new ArrayList<>();
+            try {
+                senders.addAll(connectSenders(context, clients, port, mode, maxSenderCount));
+
+                // JIT 과 커넥션 풀을 데우는 첫 실행은 결과에서 뺀다
+                sendConcurrently(clients, senders.subList(0, SENDER_STEPS[0]), mode + "-warmup");
+
+                int maxSenders = 0;
+                for (int senderCount : SENDER_STEPS) {
+                    long[] latencies = sendConcurrently(clients, senders.subList(0, senderCount), mode + "-" + senderCount);
+                    long p99Millis = p99Millis(latencies);
+                    System.out.printf("%s threads, %d senders : p99=%d ms%n", mode, senderCount, p99Millis);
+
+                    if (p99Millis > TARGET_P99_MILLIS) {
+                        break;
+                    }
+                    maxSenders = senderCount;
+                }
+                return maxSenders;
+            } finally {
+                clients.shutdownNow();
+                for (Sender sender : senders) {
+                    sender.close();
+                }
+            }
+        }
+    }
+
+    private List<Sender> connectSenders(ConfigurableApplicationContext context, ExecutorService clients, int port,
+                                        String mode, int senderCount) throws Exception {
+        MemberFixture memberFixture = context.getBean(MemberFixture.class);
+        TestDataFixture fixture = context.getBean(TestDataFixture.class);
+
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < senderCount; i++) {
+            usernames.add(mode + "LoadSender" + i);
+        }
+        List<Member> members = memberFixture.saveEncryptPasswordBy(usernames);
+
+        // 채팅방마다 ROOM_SIZE 명이 같이 보내 채팅방 목록 갱신도 실제처럼 여러 명에게 전파된다
+        List<Future<Sender>> connecting = new ArrayList<>();
+        for (int from = 0; from < senderCount; from += ROOM_SIZE) {
+            List<Member> roomMembers = members.subList(from, Math.min(from + ROOM_SIZE, senderCount));
+            ChatRoom chatRoom = fixture.savedChatRoomBy("load", roomMembers);
+
+            for (Member member : roomMembers) {
+                connecting.add(clients.submit(() -> Sender.connect(
+                        memberFixture.loginRequestBy(member.getUsername(), port), member.getId(), chatRoom.getId(), port)));
+            }
+        }
+
+        List<Sender> senders = new ArrayList<>();
+        for (Future<Sender> sender : connecting) {
+            senders.add(sender.get());
+        }
+        return senders;
+    }
+
+    private long[] sendConcurrently(ExecutorService clients, List<Sender> senders, String runId) throws Exception {
+        CountDownLatch ready = new CountDownLatch(senders.size());
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<long[]>> results = new ArrayList<>();
+        for (Sender sender : senders) {
+            results.add(clients.submit(() -> {
+                ready.countDown();
+                start.await();
+                return sender.sendAll(runId, MESSAGES_PER_SENDER);
+            }));
+        }
+        ready.await();
+        start.countDown();
+
+        long[] latencies = new long[senders.size() * MESSAGES_PER_SENDER];
+        int index = 0;
+        for (Future<long[]> result : results) {
+            long[] senderLatencies = result.get();
+            System.arraycopy(senderLatencies, 0, latencies, index, senderLatencies.length);
+            index += senderLatencies.length;
+        }
+        return latencies;
+    }
+
+    private long p99Millis(long[] latencies) {
+        Arrays.sort(latencies);
+        int index = (int) Math.ceil(latencies.length * 0.99) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(latencies[index]);
+    }
+
+    /**
+     * 웹소켓 하나로 채팅을 보내고 확인 응답을 기다리는 전송자입니다.
+     */
+    private static class Sender {
+
+        private final WebSocketSession session;
+        private final Long memberId;
+        private final Long chatRoomId;
+        private final BlockingQueue<String> replies;
+
+        private Sender(WebSocketSession session, Long memberId, Long chatRoomId, BlockingQueue<String> replies) {
+            this.session = session;
+            this.memberId = memberId;
+            this.chatRoomId = chatRoomId;
+            this.replies = replies;
+        }
+
+        private static Sender connect(String jSessionId, Long memberId, Long chatRoomId, int port) throws Exception {
+            WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+            headers.add("Cookie", "JSESSIONID=" + jSessionId);
+
+            BlockingQueue<String> replies = new LinkedBlockingQueue<>();
+            TextWebSocketHandler handler = new TextWebSocketHandler() {
+                @Override
+                protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                    String payload = message.getPayload();
+                    if (payload.contains("\"CHAT_ACK\"") || payload.contains("\"CHAT_NACK\"")) {
+                        replies.add(payload);
+                    }
+                }
+            };
+
+            WebSocketSession session = new StandardWebSocketClient()
+                    .execute(handler, headers, URI.create("ws://localhost:" + port + "/ws/chat"))
+                    .get();
+            return new Sender(session, memberId, chatRoomId, replies);
+        }
+
+        private long[] sendAll(String runId, int count) throws Exception {
+            long[] latencies = new long[count];
+            for (int i = 0; i < count; i++) {
+                String clientMessageId = runId + "-" + memberId + "-" + i;
+
+                long sentAt = System.nanoTime();
+                session.sendMessage(new TextMessage(chatPayload(clientMessageId)));
+                String reply = replies.poll(ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                latencies[i] = System.nanoTime() - sentAt;
+
+                assertThat(reply).as("확인 응답을 받지 못한 채팅 : %s", clientMessageId)
+                        .contains("\"CHAT_ACK\"", clientMessageId);
+            }
+            return latencies;
+        }
+
+        private String chatPayload(String clientMessageId) {
+            return "{\"messageType\":\"CHAT_MESSAGE\",\"senderId\":" + memberId + ",\"chatRoomId\":" + chatRoomId
+                    + ",\"message\":\"load\",\"clientMessageId\":\"" + clientMessageId + "\"}";
+        }
+
+        private void close() {
+            try {
+                session.close();
+            } catch (IOException e) {
+                // 테스트를 마치며 닫는 연결이므로 실패해도 결과에 영향이 없다
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.chat.utils.thread;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+
+    @Test
+    @DisplayName("가상 스레드를 쓰지 않거나 지원하지 않는 JVM 이면 데몬 플랫폼 스레드를 만든다.")
+    void fallbackToPlatformThreadTest() {
+        // given
+        ThreadFactory threadFactory = VirtualThreads.threadFactory("test-", !VirtualThreads.isSupported());
+
+        // when
+        Thread thread = threadFactory.newThread(() -> {
+        });
+
+        // then
+        assertThat(thread.getName()).isEqualTo("test-0");
+        assertThat(thread.isDaemon()).isTrue();
+    }
+
+    @Test
+    @DisplayName("가상 스레드를 지원하지 않는 JVM 이면 가상 스레드 실행기를 만들지 않는다.")
+    void unsupportedExecutorTest() {
+        assumeTrue(!VirtualThreads.isSupported(), "가상 스레드를 지원하는 JVM 에서는 확인하지 않는다");
+
+        // when & then
+        assertThat(VirtualThreads.newVirtualThreadPerTaskExecutor()).isNull();
+    }
+
+    @Test
+    @DisplayName("가상 스레드를 지원하는 JVM 이면 이름에 번호를 붙인 가상 스레드를 만든다.")
+    void virtualThreadTest() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "가상 스레드는 Java 21 이상에서만 지원된다");
+
+        // given
+        ThreadFactory threadFactory = VirtualThreads.threadFactory("test-", true);
+
+        // when
+        Thread thread = threadFactory.newThread(() -> {
+        });
+
+        // then
+        assertThat(thread.getName()).isEqualTo("test-0");
+        assertThat((boolean) Thread.class.getMethod("isVirtual").invoke(thread)).isTrue();
+    }
+}